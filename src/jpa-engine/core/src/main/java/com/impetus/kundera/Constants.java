@@ -98,6 +98,10 @@ public interface Constants
     public final static String ON_FAIL_TRY_ALL_AVAILABLE = "on.fail.try.all.available";
     
     public final static String RETRY_DELAY = "retry.delay";
+
+    public final static String CIRCUIT_BREAKER_FAILURE_THRESHOLD = "circuit.breaker.failure.threshold";
+
+    public final static String CIRCUIT_BREAKER_OPEN_TIMEOUT = "circuit.breaker.open.timeout";
     
     public final static String RETRY = "retry";
     
@@ -70,6 +70,18 @@ public interface PersistenceProperties
      */
     public static final String KUNDERA_INDEX_HOME_DIR = "index.home.dir";
 
+    /**
+     * Whether Lucene index is written straight to disk and searched near real
+     * time, instead of being kept in memory and copied to disk on flush.
+     */
+    public static final String KUNDERA_INDEX_NRT = "index.nrt";
+
+    /** Interval in milliseconds at which near-real-time searcher is refreshed. */
+    public static final String KUNDERA_INDEX_REFRESH_INTERVAL = "index.refresh.interval";
+
+    /** Interval in milliseconds at which near-real-time index changes are committed. */
+    public static final String KUNDERA_INDEX_COMMIT_INTERVAL = "index.commit.interval";
+
     /** Option to create schema. */
     public static final String KUNDERA_DDL_AUTO_PREPARE = "kundera.ddl.auto.prepare";
 
@@ -82,6 +94,61 @@ public interface PersistenceProperties
 
     public static final String KUNDERA_BATCH_SIZE = "kundera.batch.size";
 
+    /** Number of primary keys fetched per client call while finding by many keys. */
+    public static final String KUNDERA_FIND_BATCH_SIZE = "kundera.find.batch.size";
+
+    /** Whether relations of fetched entities are to be loaded in batches. */
+    public static final String KUNDERA_RELATION_BATCH_FETCH = "kundera.relation.batch.fetch";
+
+    /** Whether full batches are written asynchronously by a flusher pool. */
+    public static final String KUNDERA_BATCH_ASYNC = "kundera.batch.async";
+
+    /** Number of flusher threads per client for asynchronous batches. */
+    public static final String KUNDERA_BATCH_ASYNC_THREADS = "kundera.batch.async.threads";
+
+    /** Maximum number of asynchronous batches in flight per client. */
+    public static final String KUNDERA_BATCH_MAX_IN_FLIGHT = "kundera.batch.max.inflight";
+
+    /**
+     * Whether snapshots of managed entities share immutable values (strings,
+     * wrappers, enums etc.) instead of copying them.
+     */
+    public static final String KUNDERA_SNAPSHOT_SHARE_IMMUTABLES = "kundera.snapshot.share.immutables";
+
+    /**
+     * Maximum number of entities kept in persistence context of an entity
+     * manager, least recently used clean entities being evicted. 0 or unset
+     * if unbounded.
+     */
+    public static final String KUNDERA_PERSISTENCE_CACHE_MAX_ENTRIES = "kundera.persistence.cache.max.entries";
+
+    /**
+     * Maximum estimated size in bytes of entities kept in persistence context
+     * of an entity manager. 0 or unset if unbounded.
+     */
+    public static final String KUNDERA_PERSISTENCE_CACHE_MAX_BYTES = "kundera.persistence.cache.max.bytes";
+
+    /** Number of parsed JPQL queries cached per entity manager factory, 0 to disable. */
+    public static final String KUNDERA_QUERY_PLAN_CACHE_SIZE = "kundera.query.plan.cache.size";
+
+    /**
+     * Whether entity index generated at build time is used, for jars or class
+     * folders holding one, instead of scanning them. Defaults to true.
+     */
+    public static final String KUNDERA_ENTITY_INDEX = "kundera.entity.index";
+
+    /** Number of threads reading class files while scanning classpath for entities. */
+    public static final String KUNDERA_SCAN_THREADS = "kundera.scan.threads";
+
+    /**
+     * Collector of metrics, either "jmx", "none" or class name of a
+     * {@link com.impetus.kundera.metrics.MetricsCollector}. Defaults to none.
+     */
+    public static final String KUNDERA_METRICS_COLLECTOR = "kundera.metrics.collector";
+
+    /** Number of rows fetched per round trip while iterating over query results. */
+    public static final String KUNDERA_QUERY_PAGE_SIZE = "kundera.query.page.size";
+
     public static final String KUNDERA_TRANSACTION_TIMEOUT = "kundera.transaction.timeout";
 
     /** Location where datastore file is stored */
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.classreading;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Index of entity classes, generated at build time by
+ * {@link EntityIndexProcessor}. Each jar or class folder holds its own index
+ * at {@link #LOCATION}, listing one class name per line; lines starting with
+ * '#' are comments.
+ */
+public final class EntityIndex
+{
+    /** Location of index within a jar or class folder. */
+    public static final String LOCATION = "META-INF/kundera/entity.index";
+
+    private static final String ENCODING = "UTF-8";
+
+    private EntityIndex()
+    {
+    }
+
+    /**
+     * Reads indexes of given jars or class folders. Locations holding no
+     * index are added to unindexed, to be scanned.
+     *
+     * @param locations
+     *            jars or class folders.
+     * @param unindexed
+     *            collects locations holding no index.
+     * @return names of indexed classes.
+     * @throws ResourceReadingException
+     *             if an index can not be read.
+     */
+    public static Set<String> read(URL[] locations, Collection<URL> unindexed)
+    {
+        Set<String> classNames = new LinkedHashSet<String>();
+        for (URL location : locations)
+        {
+            if (!read(location, classNames))
+            {
+                unindexed.add(location);
+            }
+        }
+        return classNames;
+    }
+
+    /**
+     * Reads index of a jar or class folder.
+     *
+     * @param location
+     *            jar or class folder.
+     * @return names of indexed classes, or null if location holds no index.
+     * @throws ResourceReadingException
+     *             if index can not be read.
+     */
+    public static Set<String> read(URL location)
+    {
+        Set<String> classNames = new LinkedHashSet<String>();
+        return read(location, classNames) ? classNames : null;
+    }
+
+    private static boolean read(URL location, Set<String> classNames)
+    {
+        String path = location.toExternalForm();
+        if (path.endsWith(".class"))
+        {
+            return false;
+        }
+
+        InputStream is;
+        try
+        {
+            URL index = path.endsWith("/") ? new URL(location, LOCATION) : new URL("jar:" + path + "!/" + LOCATION);
+            URLConnection connection = index.openConnection();
+            // do not keep jar open once read.
+            connection.setUseCaches(false);
+            is = connection.getInputStream();
+        }
+        catch (FileNotFoundException e)
+        {
+            return false;
+        }
+        catch (IOException e)
+        {
+            throw new ResourceReadingException(e);
+        }
+
+        try
+        {
+            read(is, classNames);
+            return true;
+        }
+        catch (IOException e)
+        {
+            throw new ResourceReadingException(e);
+        }
+    }
+
+    /**
+     * Reads an index, closing stream once read.
+     *
+     * @param is
+     *            index content.
+     * @param classNames
+     *            collects names of indexed classes.
+     * @throws IOException
+     *             if index can not be read.
+     */
+    static void read(InputStream is, Set<String> classNames) throws IOException
+    {
+        try
+        {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(is, ENCODING));
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#"))
+                {
+                    classNames.add(line);
+                }
+            }
+        }
+        finally
+        {
+            is.close();
+        }
+    }
+
+    /**
+     * @return encoding of index files.
+     */
+    static String getEncoding()
+    {
+        return ENCODING;
+    }
+}
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.classreading;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor writing {@link EntityIndex} of classes annotated with
+ * {@link javax.persistence.Entity} being compiled, so that entity metadata is
+ * loaded without scanning classpath at runtime. Enable it by passing
+ * <code>-processor com.impetus.kundera.classreading.EntityIndexProcessor</code>
+ * to javac, or listing it under <code>annotationProcessors</code> of
+ * maven-compiler-plugin.
+ * <p>
+ * Index already present in class output is merged, so that incremental builds
+ * compiling a subset of sources keep entities compiled before. Merged names
+ * whose classes are gone, or no longer annotated, are dropped.
+ */
+@SupportedAnnotationTypes(EntityIndexProcessor.ENTITY)
+public class EntityIndexProcessor extends AbstractProcessor
+{
+    static final String ENTITY = "javax.persistence.Entity";
+
+    private final Set<String> entities = new TreeSet<String>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+    {
+        for (TypeElement annotation : annotations)
+        {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation))
+            {
+                if (element.getKind() == ElementKind.CLASS)
+                {
+                    entities.add(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+                }
+            }
+        }
+
+        if (roundEnv.processingOver())
+        {
+            boolean merged = mergeIndex();
+            if (merged || !entities.isEmpty())
+            {
+                writeIndex();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds entities of index left in class output by an earlier compilation.
+     *
+     * @return true, if an earlier index was found.
+     */
+    private boolean mergeIndex()
+    {
+        Set<String> previous = new TreeSet<String>();
+        try
+        {
+            FileObject index = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+                    EntityIndex.LOCATION);
+            EntityIndex.read(index.openInputStream(), previous);
+        }
+        catch (IOException e)
+        {
+            // no index written before, compilers differ in exception thrown.
+            return false;
+        }
+
+        for (String className : previous)
+        {
+            if (!entities.contains(className) && isEntity(className))
+            {
+                entities.add(className);
+            }
+        }
+        return true;
+    }
+
+    private boolean isEntity(String className)
+    {
+        TypeElement element = processingEnv.getElementUtils().getTypeElement(className.replace('$', '.'));
+        if (element == null)
+        {
+            return false;
+        }
+        for (AnnotationMirror annotation : element.getAnnotationMirrors())
+        {
+            if (ENTITY.equals(((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName()
+                    .toString()))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeIndex()
+    {
+        try
+        {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    EntityIndex.LOCATION);
+            Writer writer = new OutputStreamWriter(index.openOutputStream(), EntityIndex.getEncoding());
+            try
+            {
+                writer.write("# Generated by " + EntityIndexProcessor.class.getName() + "\n");
+                for (String entity : entities)
+                {
+                    writer.write(entity);
+                    writer.write("\n");
+                }
+            }
+            finally
+            {
+                writer.close();
+            }
+        }
+        catch (IOException e)
+        {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write " + EntityIndex.LOCATION + ", Caused by: " + e.getMessage());
+        }
+    }
+}
@@ -68,7 +68,7 @@ public interface Client<Q extends Query>
      *            Array of column names that need to be populated into entity
      * @param keys
      *            Array of row keys
-     * @return List of entity objects
+     * @return List of entity objects, empty if none of the rows is found.
      */
     <E> List<E> findAll(Class<E> entityClass, String[] columnsToSelect, Object... keys);
 
@@ -15,7 +15,8 @@
  ******************************************************************************/
 package com.impetus.kundera.configure;
 
-import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -24,9 +25,17 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javassist.bytecode.AnnotationsAttribute;
 import javassist.bytecode.ClassFile;
@@ -42,6 +51,7 @@ import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.classreading.ClasspathReader;
+import com.impetus.kundera.classreading.EntityIndex;
 import com.impetus.kundera.classreading.Reader;
 import com.impetus.kundera.classreading.ResourceIterator;
 import com.impetus.kundera.loader.MetamodelLoaderException;
@@ -55,6 +65,8 @@ import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
 import com.impetus.kundera.metadata.processor.GeneratedValueProcessor;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.utils.KunderaCoreUtils;
+import com.impetus.kundera.utils.KunderaThreadFactory;
+import com.impetus.kundera.utils.ObjectUtils;
 import com.impetus.kundera.validation.ValidationFactory;
 import com.impetus.kundera.validation.ValidationFactoryGenerator;
 import com.impetus.kundera.validation.ValidationFactoryGenerator.ValidationFactoryType;
@@ -184,6 +196,7 @@ public class MetamodelConfiguration extends AbstractSchemaConfiguration implemen
 
         InputStream[] iStreams = null;
         PersistenceUnitMetadata puMetadata = persistentUnitMetadataMap.get(persistenceUnit);
+
         if (this.getClass().getClassLoader() instanceof URLClassLoader && !puMetadata.getExcludeUnlistedClasses())
         {
             URL[] managedClasses = reader.findResources();
@@ -206,6 +219,20 @@ public class MetamodelConfiguration extends AbstractSchemaConfiguration implemen
         // All entities to load should be annotated with @Entity
         reader.addValidAnnotations(Entity.class.getName());
 
+        Collection<String> entityClassNames = new LinkedHashSet<String>();
+        if (resources != null && resources.length > 0 && puMetadata.isEntityIndexEnabled())
+        {
+            resources = readEntityIndexes(resources, entityClassNames);
+            if (resources.length > 0)
+            {
+                entityClassNames.addAll(scanEntityClassNames(resources, null, reader, puMetadata.getScanThreads()));
+            }
+        }
+        else
+        {
+            entityClassNames.addAll(scanEntityClassNames(resources, iStreams, reader, puMetadata.getScanThreads()));
+        }
+
         Metamodel metamodel = appMetadata.getMetamodel(persistenceUnit);
         if (metamodel == null)
         {
@@ -217,104 +244,192 @@ public class MetamodelConfiguration extends AbstractSchemaConfiguration implemen
         Map<String, List<String>> puToClazzMap = new HashMap<String, List<String>>();
         Map<String, IdDiscriptor> entityNameToKeyDiscriptorMap = new HashMap<String, IdDiscriptor>();
         List<Class<?>> classes = new ArrayList<Class<?>>();
-        if (resources != null && resources.length > 0)
+        for (String className : entityClassNames)
+        {
+            classes.addAll(putMetadata(className, entityMetadataMap, entityNameToClassMap, persistenceUnit, client,
+                    puToClazzMap, entityNameToKeyDiscriptorMap));
+        }
+        ((MetamodelImpl) metamodel).setEntityMetadataMap(entityMetadataMap);
+        appMetadata.getMetamodelMap().put(persistenceUnit, metamodel);
+        appMetadata.setClazzToPuMap(puToClazzMap);
+        ((MetamodelImpl) metamodel).addKeyValues(entityNameToKeyDiscriptorMap);
+        // assign JPA metamodel.
+        ((MetamodelImpl) metamodel).assignEmbeddables(kunderaMetadata.getApplicationMetadata()
+                .getMetaModelBuilder(persistenceUnit).getEmbeddables());
+        ((MetamodelImpl) metamodel).assignManagedTypes(kunderaMetadata.getApplicationMetadata()
+                .getMetaModelBuilder(persistenceUnit).getManagedTypes());
+        ((MetamodelImpl) metamodel).assignMappedSuperClass(kunderaMetadata.getApplicationMetadata()
+                .getMetaModelBuilder(persistenceUnit).getMappedSuperClassTypes());
+
+        // build copy plans of entities upfront, instead of on first find.
+        buildEntityCopiers(entityMetadataMap);
+    }
+
+    /**
+     * Builds copy plans of entities, an entity failing to build one is left
+     * to fail on first copy.
+     * 
+     * @param entityMetadataMap
+     *            entity metadata map.
+     */
+    private void buildEntityCopiers(Map<String, EntityMetadata> entityMetadataMap)
+    {
+        for (EntityMetadata metadata : entityMetadataMap.values())
+        {
+            try
+            {
+                ObjectUtils.getEntityCopier(metadata, kunderaMetadata);
+            }
+            catch (RuntimeException e)
+            {
+                log.debug("Copy plan of " + metadata.getEntityClazz() + " will be built on first use, Caused by: "
+                        + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Adds entity classes listed by indexes generated at build time in
+     * resources holding one, returning the resources holding none.
+     * 
+     * @param resources
+     *            jars or class folders
+     * @param entityClassNames
+     *            collects indexed entity class names
+     * @return resources to be scanned.
+     */
+    private URL[] readEntityIndexes(URL[] resources, Collection<String> entityClassNames)
+    {
+        List<URL> unindexed = new ArrayList<URL>();
+        entityClassNames.addAll(EntityIndex.read(resources, unindexed));
+        if (unindexed.size() < resources.length)
         {
-            for (URL resource : resources)
+            log.info("Loaded entities of " + (resources.length - unindexed.size()) + " resource(s) from "
+                    + EntityIndex.LOCATION + ", scanning " + unindexed.size() + " other(s)");
+        }
+        return unindexed.toArray(new URL[unindexed.size()]);
+    }
+
+    /**
+     * Scans class files of resources, or given streams if there is no
+     * resource, for classes holding a valid annotation of reader. Class files
+     * are read in sequence and parsed by a pool of threads, names being
+     * returned in the order class files were read.
+     * 
+     * @param resources
+     *            jars or class folders to scan
+     * @param iStreams
+     *            class files to scan, if there is no resource
+     * @param reader
+     *            the reader
+     * @param threads
+     *            number of threads parsing class files
+     * @return names of classes holding a valid annotation.
+     */
+    private List<String> scanEntityClassNames(URL[] resources, InputStream[] iStreams, final Reader reader,
+            int threads)
+    {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(threads * 4), new KunderaThreadFactory(
+                        MetamodelConfiguration.class.getSimpleName()), new ThreadPoolExecutor.CallerRunsPolicy());
+        List<Future<String>> scanned = new ArrayList<Future<String>>();
+        try
+        {
+            if (resources != null && resources.length > 0)
             {
-                try
+                for (URL resource : resources)
                 {
                     ResourceIterator itr = reader.getResourceIterator(resource, reader.getFilter());
 
                     InputStream is = null;
                     while ((is = itr.next()) != null)
                     {
-                        classes.addAll(scanClassAndPutMetadata(is, reader, entityMetadataMap, entityNameToClassMap,
-                                persistenceUnit, client, puToClazzMap, entityNameToKeyDiscriptorMap));
+                        scanned.add(executor.submit(new ClassScanner(toByteArray(is), reader)));
                     }
                 }
-                catch (IOException e)
-                {
-                    log.error("Error while retreiving and storing entity metadata. Details:", e);
-                    throw new MetamodelLoaderException("Error while retreiving and storing entity metadata");
-
-                }
             }
-        }
-        else if (iStreams != null)
-        {
-            try
+            else if (iStreams != null)
             {
                 for (InputStream is : iStreams)
                 {
-                    try
-                    {
-                        classes.addAll(scanClassAndPutMetadata(is, reader, entityMetadataMap, entityNameToClassMap,
-                                persistenceUnit, client, puToClazzMap, entityNameToKeyDiscriptorMap));
-                    }
-                    finally
+                    if (is != null)
                     {
-                        if (is != null)
-                        {
-                            is.close();
-                        }
+                        scanned.add(executor.submit(new ClassScanner(toByteArray(is), reader)));
                     }
                 }
             }
-            catch (IOException e)
+
+            List<String> classNames = new ArrayList<String>();
+            for (Future<String> className : scanned)
             {
-                log.error("Error while retreiving and storing entity metadata. Details:", e);
-                throw new MetamodelLoaderException("Error while retreiving and storing entity metadata, Caused by : .",
-                        e);
+                if (className.get() != null)
+                {
+                    classNames.add(className.get());
+                }
+            }
+            return classNames;
+        }
+        catch (IOException e)
+        {
+            log.error("Error while retreiving and storing entity metadata. Details:", e);
+            throw new MetamodelLoaderException("Error while retreiving and storing entity metadata, Caused by : .", e);
+        }
+        catch (ExecutionException e)
+        {
+            log.error("Error while retreiving and storing entity metadata. Details:", e.getCause());
+            throw new MetamodelLoaderException("Error while retreiving and storing entity metadata, Caused by : .",
+                    e.getCause());
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new MetamodelLoaderException("Interrupted while retreiving entity metadata", e);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
 
+    private byte[] toByteArray(InputStream is) throws IOException
+    {
+        try
+        {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = is.read(buffer)) != -1)
+            {
+                bytes.write(buffer, 0, read);
             }
+            return bytes.toByteArray();
+        }
+        finally
+        {
+            is.close();
         }
-        ((MetamodelImpl) metamodel).setEntityMetadataMap(entityMetadataMap);
-        appMetadata.getMetamodelMap().put(persistenceUnit, metamodel);
-        appMetadata.setClazzToPuMap(puToClazzMap);
-        ((MetamodelImpl) metamodel).addKeyValues(entityNameToKeyDiscriptorMap);
-        // assign JPA metamodel.
-        ((MetamodelImpl) metamodel).assignEmbeddables(kunderaMetadata.getApplicationMetadata()
-                .getMetaModelBuilder(persistenceUnit).getEmbeddables());
-        ((MetamodelImpl) metamodel).assignManagedTypes(kunderaMetadata.getApplicationMetadata()
-                .getMetaModelBuilder(persistenceUnit).getManagedTypes());
-        ((MetamodelImpl) metamodel).assignMappedSuperClass(kunderaMetadata.getApplicationMetadata()
-                .getMetaModelBuilder(persistenceUnit).getMappedSuperClassTypes());
     }
 
     /**
-     * Scan class and put metadata.
-     * 
-     * @param bits
-     *            the bits
-     * @param reader
-     *            the reader
-     * @param entityMetadataMap
-     *            the entity metadata map
-     * @param entityNameToClassMap
-     *            the entity name to class map
-     * @param keyDiscriptor
-     * @param persistence
-     *            unit the persistence unit.
-     * @throws IOException
-     *             Signals that an I/O exception has occurred.
-     * @throws RuleValidationException
+     * Parses a class file, returning its class name if it holds a valid
+     * annotation of reader, else null.
      */
-    private List<Class<?>> scanClassAndPutMetadata(InputStream bits, Reader reader,
-            Map<String, EntityMetadata> entityMetadataMap, Map<String, Class<?>> entityNameToClassMap,
-            String persistenceUnit, String client, Map<String, List<String>> clazzToPuMap,
-            Map<String, IdDiscriptor> entityNameToKeyDiscriptorMap) throws IOException
+    private static final class ClassScanner implements Callable<String>
     {
-        DataInputStream dstream = new DataInputStream(new BufferedInputStream(bits));
-        ClassFile cf = null;
-        String className = null;
+        private final byte[] bits;
 
-        List<Class<?>> classes = new ArrayList<Class<?>>();
+        private final Reader reader;
 
-        try
+        private ClassScanner(byte[] bits, Reader reader)
         {
-            cf = new ClassFile(dstream);
+            this.bits = bits;
+            this.reader = reader;
+        }
 
-            className = cf.getName();
+        @Override
+        public String call() throws IOException
+        {
+            ClassFile cf = new ClassFile(new DataInputStream(new ByteArrayInputStream(bits)));
 
             List<String> annotations = new ArrayList<String>();
 
@@ -322,61 +437,91 @@ public class MetamodelConfiguration extends AbstractSchemaConfiguration implemen
                     (AnnotationsAttribute) cf.getAttribute(AnnotationsAttribute.visibleTag));
             reader.accumulateAnnotations(annotations,
                     (AnnotationsAttribute) cf.getAttribute(AnnotationsAttribute.invisibleTag));
-            Class<?> clazz = this.getClass().getClassLoader().loadClass(className);
 
             // iterate through all valid annotations
             for (String validAnn : reader.getValidAnnotations())
             {
-
                 // check if the current class has one?
                 if (annotations.contains(validAnn))
                 {
-                    this.factory.validate(clazz);
+                    return cf.getName();
+                }
+            }
+            return null;
+        }
+    }
 
-                    // get the name of entity to be used for entity to class map
-                    // if or not annotated with name
-                    String entityName = getEntityName(clazz);
+    /**
+     * Loads entity class and puts its metadata.
+     * 
+     * @param className
+     *            name of entity class
+     * @param entityMetadataMap
+     *            the entity metadata map
+     * @param entityNameToClassMap
+     *            the entity name to class map
+     * @param persistence
+     *            unit the persistence unit.
+     * @throws RuleValidationException
+     */
+    private List<Class<?>> putMetadata(String className, Map<String, EntityMetadata> entityMetadataMap,
+            Map<String, Class<?>> entityNameToClassMap, String persistenceUnit, String client,
+            Map<String, List<String>> clazzToPuMap, Map<String, IdDiscriptor> entityNameToKeyDiscriptorMap)
+    {
+        List<Class<?>> classes = new ArrayList<Class<?>>();
 
-                    if ((entityNameToClassMap.containsKey(entityName) && !entityNameToClassMap.get(entityName)
-                            .getName().equals(clazz.getName())))
-                    {
-                        throw new MetamodelLoaderException("Name conflict between classes "
-                                + entityNameToClassMap.get(entityName).getName() + " and " + clazz.getName()
-                                + ". Make sure no two entity classes with the same name "
-                                + " are specified for persistence unit " + persistenceUnit);
-                    }
-                    entityNameToClassMap.put(entityName, clazz);
+        try
+        {
+            Class<?> clazz = this.getClass().getClassLoader().loadClass(className);
+
+            // index may list classes no longer annotated.
+            if (clazz.isAnnotationPresent(Entity.class))
+            {
+                this.factory.validate(clazz);
 
-                    EntityMetadata metadata = entityMetadataMap.get(clazz);
-                    if (null == metadata)
+                // get the name of entity to be used for entity to class map
+                // if or not annotated with name
+                String entityName = getEntityName(clazz);
+
+                if ((entityNameToClassMap.containsKey(entityName) && !entityNameToClassMap.get(entityName)
+                        .getName().equals(clazz.getName())))
+                {
+                    throw new MetamodelLoaderException("Name conflict between classes "
+                            + entityNameToClassMap.get(entityName).getName() + " and " + clazz.getName()
+                            + ". Make sure no two entity classes with the same name "
+                            + " are specified for persistence unit " + persistenceUnit);
+                }
+                entityNameToClassMap.put(entityName, clazz);
+
+                EntityMetadata metadata = entityMetadataMap.get(clazz);
+                if (null == metadata)
+                {
+                    log.debug("Metadata not found in cache for " + clazz.getName());
+                    // double check locking.
+                    synchronized (clazz)
                     {
-                        log.debug("Metadata not found in cache for " + clazz.getName());
-                        // double check locking.
-                        synchronized (clazz)
+                        if (null == metadata)
                         {
-                            if (null == metadata)
+                            MetadataBuilder metadataBuilder = new MetadataBuilder(persistenceUnit, client,
+                                    KunderaCoreUtils.getExternalProperties(persistenceUnit, externalPropertyMap,
+                                            persistenceUnits), kunderaMetadata);
+                            metadata = metadataBuilder.buildEntityMetadata(clazz);
+
+                            // in case entity's pu does not belong to parse
+                            // persistence unit, it will be null.
+                            if (metadata != null)
                             {
-                                MetadataBuilder metadataBuilder = new MetadataBuilder(persistenceUnit, client,
-                                        KunderaCoreUtils.getExternalProperties(persistenceUnit, externalPropertyMap,
-                                                persistenceUnits), kunderaMetadata);
-                                metadata = metadataBuilder.buildEntityMetadata(clazz);
-
-                                // in case entity's pu does not belong to parse
-                                // persistence unit, it will be null.
-                                if (metadata != null)
-                                {
-                                    entityMetadataMap.put(clazz.getName(), metadata);
-                                    mapClazztoPu(clazz, persistenceUnit, clazzToPuMap);
-                                    processGeneratedValueAnnotation(clazz, persistenceUnit, metadata,
-                                            entityNameToKeyDiscriptorMap);
-                                }
+                                entityMetadataMap.put(clazz.getName(), metadata);
+                                mapClazztoPu(clazz, persistenceUnit, clazzToPuMap);
+                                processGeneratedValueAnnotation(clazz, persistenceUnit, metadata,
+                                        entityNameToKeyDiscriptorMap);
                             }
                         }
                     }
-
-                    // TODO :
-                    onValidateClientProperties(classes, clazz, persistenceUnit);
                 }
+
+                // TODO :
+                onValidateClientProperties(classes, clazz, persistenceUnit);
             }
         }
         catch (ClassNotFoundException e)
@@ -384,18 +529,6 @@ public class MetamodelConfiguration extends AbstractSchemaConfiguration implemen
             log.error("Class " + className + " not found, it won't be loaded as entity");
         }
 
-        finally
-        {
-            if (dstream != null)
-            {
-                dstream.close();
-            }
-            if (bits != null)
-            {
-                bits.close();
-            }
-        }
-
         return classes;
     }
 
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.generator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A block of ids reserved from datastore by a single call, i.e.
+ * [<code>low</code>, <code>high</code>). Ids are handed out from this block
+ * without any further datastore call, using a lock-free counter.
+ */
+public final class IdBlock
+{
+    /** Next id to be handed out. */
+    private final AtomicLong next;
+
+    /** Exclusive upper bound of this block. */
+    private final long high;
+
+    /**
+     * Instantiates a new id block.
+     * 
+     * @param low
+     *            first id of block(inclusive).
+     * @param high
+     *            last id of block(exclusive).
+     */
+    public IdBlock(long low, long high)
+    {
+        if (high <= low)
+        {
+            throw new IllegalArgumentException("Invalid id block [" + low + ", " + high + ")");
+        }
+        this.next = new AtomicLong(low);
+        this.high = high;
+    }
+
+    /**
+     * Returns next id, which belongs to this block only if
+     * {@link #contains(long)} holds for it.
+     * 
+     * @return next id.
+     */
+    long next()
+    {
+        return next.getAndIncrement();
+    }
+
+    /**
+     * Returns true, if given id lies within this block.
+     * 
+     * @param id
+     *            id handed out by {@link #next()}.
+     * @return true, if id is within block.
+     */
+    boolean contains(long id)
+    {
+        return id < high;
+    }
+}
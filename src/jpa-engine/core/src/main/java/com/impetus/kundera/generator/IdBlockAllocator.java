@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.generator;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out ids from blocks reserved from datastore, honoring
+ * <code>allocationSize</code> of {@link javax.persistence.TableGenerator} and
+ * {@link javax.persistence.SequenceGenerator}. A datastore call is made only
+ * when current block is exhausted, rest of the ids are served from memory.
+ * 
+ * One allocator is kept per generator descriptor within
+ * {@link com.impetus.kundera.metadata.model.ApplicationMetadata}, hence it is
+ * shared by all entity managers of an entity manager factory.
+ */
+public final class IdBlockAllocator
+{
+    /** Current block of ids. */
+    private final AtomicReference<IdBlock> current = new AtomicReference<IdBlock>();
+
+    /**
+     * Returns next id, fetching a new block from given source if current one
+     * is exhausted.
+     * 
+     * @param source
+     *            datastore specific block source.
+     * @return next id.
+     */
+    public long next(BlockSource source)
+    {
+        while (true)
+        {
+            IdBlock block = current.get();
+            if (block != null)
+            {
+                long id = block.next();
+                if (block.contains(id))
+                {
+                    return id;
+                }
+            }
+
+            synchronized (this)
+            {
+                // Only one thread reserves a new block, others retry on it.
+                if (current.get() == block)
+                {
+                    current.set(source.nextBlock());
+                }
+            }
+        }
+    }
+
+    /**
+     * Discards current block, next id will be served from a freshly reserved
+     * block.
+     */
+    public void reset()
+    {
+        current.set(null);
+    }
+
+    /**
+     * Source of id blocks, implemented by clients to reserve a block of ids
+     * from datastore.
+     */
+    public interface BlockSource
+    {
+        /**
+         * Reserves a new block of ids from datastore.
+         * 
+         * @return reserved block.
+         */
+        IdBlock nextBlock();
+    }
+}
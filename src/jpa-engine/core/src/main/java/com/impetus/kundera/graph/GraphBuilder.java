@@ -89,7 +89,7 @@ public class GraphBuilder
 
         if (node != null)
         {
-            if (this.generator.traversedNodes.contains(node))
+            if (this.generator.isTraversed(node))
             {
                 return node;
             }
@@ -57,8 +57,9 @@ public final class GraphGenerator
 
     private GraphBuilder builder = new GraphBuilder();
 
-    Set<Node> traversedNodes = new HashSet<Node>();
-    
+    // created on first traversal, graphs of leaf entities never need it.
+    private Set<Node> traversedNodes;
+
     private PersistenceValidator validator = new PersistenceValidator();
 
     /**
@@ -75,7 +76,7 @@ public final class GraphGenerator
     public <E> ObjectGraph generateGraph(E entity, PersistenceDelegator delegator)
     {
         this.builder.assign(this);
-        Node node = generate(entity, delegator, delegator.getPersistenceCache(), null);
+        Node node = generate(entity, delegator, delegator.getPersistenceCache(), null, true);
         this.builder.assignHeadNode(node);
         return this.builder.getGraph();
     }
@@ -99,7 +100,7 @@ public final class GraphGenerator
     {
 
         this.builder.assign(this);
-        Node node = generate(entity, delegator, delegator.getPersistenceCache(), state);
+        Node node = generate(entity, delegator, delegator.getPersistenceCache(), state, true);
         this.builder.assignHeadNode(node);
         return this.builder.getGraph();
     }
@@ -117,18 +118,36 @@ public final class GraphGenerator
      * @return head node
      */
     <E> Node generate(E entity, PersistenceDelegator delegator, PersistenceCache pc, NodeState state)
+    {
+        return generate(entity, delegator, pc, state, false);
+    }
+
+    private <E> Node generate(E entity, PersistenceDelegator delegator, PersistenceCache pc, NodeState state,
+            boolean isHead)
     {
 
         EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(delegator.getKunderaMetadata(), entity.getClass());
         
         if (!new NullOrInvalidEntityRule<E>(entityMetadata).validate(entity))
         {
-            Object entityId = onPreChecks(entity, delegator);
+            Object entityId = onPreChecks(entity, entityMetadata, delegator);
 
             // TODO::check for composite key.
             Node node = builder.buildNode(entity, delegator, entityId, state);
 
-            node = traverseNode(entity, delegator, pc, entityId, node);
+            if (!entityMetadata.hasRelations())
+            {
+                // leaf entity, nothing to traverse. Only a child node can be
+                // reached again(via another parent), so head node is not
+                // tracked.
+                if (node != null && !isHead)
+                {
+                    markTraversed(node);
+                }
+                return node;
+            }
+
+            node = traverseNode(entity, entityMetadata, delegator, pc, entityId, node);
 
             return node;
         }
@@ -136,14 +155,30 @@ public final class GraphGenerator
         return null;
     }
 
-    private <E> Node traverseNode(E entity, PersistenceDelegator delegator, PersistenceCache pc, Object entityId,
-            Node node)
+    /**
+     * @param node
+     *            node
+     * @return true, if node's relations have already been traversed.
+     */
+    boolean isTraversed(Node node)
+    {
+        return traversedNodes != null && traversedNodes.contains(node);
+    }
+
+    private void markTraversed(Node node)
     {
-        if (node != null && !traversedNodes.contains(node))
+        if (traversedNodes == null)
         {
-            EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(delegator.getKunderaMetadata(),
-                    entity.getClass());
+            traversedNodes = new HashSet<Node>();
+        }
+        traversedNodes.add(node);
+    }
 
+    private <E> Node traverseNode(E entity, EntityMetadata entityMetadata, PersistenceDelegator delegator,
+            PersistenceCache pc, Object entityId, Node node)
+    {
+        if (node != null && !isTraversed(node))
+        {
             // parse relations
 
             for (Relation relation : entityMetadata.getRelations())
@@ -167,7 +202,7 @@ public final class GraphGenerator
             }
 
             // node.setGraphCompleted(true);
-            traversedNodes.add(node);
+            markTraversed(node);
         }
         return node;
     }
@@ -204,18 +239,18 @@ public final class GraphGenerator
      * 
      * @param entity
      *            entity
-     * @param client
-     *            client
+     * @param entityMetadata
+     *            entity metadata
+     * @param delegator
+     *            delegator
      * @return entity id
      */
-    private <E> Object onPreChecks(E entity, PersistenceDelegator delegator)
+    private <E> Object onPreChecks(E entity, EntityMetadata entityMetadata, PersistenceDelegator delegator)
     {
         // pre validation.
         // check if entity is Null or with Invalid meta data!
         Object id = null;
 
-        EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(delegator.getKunderaMetadata(),
-                entity.getClass());
         id = PropertyAccessorHelper.getId(entity, entityMetadata);
 
         // set id, in case of auto generation and still not set.
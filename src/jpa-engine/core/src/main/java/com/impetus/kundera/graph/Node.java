@@ -26,12 +26,12 @@ import javax.persistence.PrePersist;
 import javax.persistence.PreRemove;
 import javax.persistence.PreUpdate;
 
-import org.apache.commons.lang.builder.HashCodeBuilder;
-
 import com.impetus.kundera.KunderaException;
 import com.impetus.kundera.client.Client;
+import com.impetus.kundera.client.EnhanceEntity;
 import com.impetus.kundera.graph.NodeLink.LinkProperty;
 import com.impetus.kundera.lifecycle.NodeStateContext;
+import com.impetus.kundera.lifecycle.states.ManagedState;
 import com.impetus.kundera.lifecycle.states.NodeState;
 import com.impetus.kundera.lifecycle.states.RemovedState;
 import com.impetus.kundera.lifecycle.states.TransientState;
@@ -428,7 +428,8 @@ public class Node implements NodeStateContext
     @Override
     public int hashCode()
     {
-        return HashCodeBuilder.reflectionHashCode(this.nodeId);
+        // String caches its own hash.
+        return this.nodeId.hashCode();
     }
 
     // ////////////////////////////////////////
@@ -504,6 +505,29 @@ public class Node implements NodeStateContext
         onPostEvent(metadata, EntityEvent.FIND);
     }
 
+    /**
+     * Populates this node out of an entity which is already fetched from
+     * datastore (e.g. via {@link Client#findAll(Class, String[], Object...)}),
+     * avoiding a datastore round trip per node.
+     * 
+     * @param ee
+     *            fetched entity.
+     */
+    public void find(EnhanceEntity ee)
+    {
+        if (getCurrentNodeState() instanceof ManagedState)
+        {
+            ((ManagedState) getCurrentNodeState()).handleFind(this, ee);
+        }
+        else
+        {
+            getCurrentNodeState().handleFind(this);
+        }
+
+        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(pd.getKunderaMetadata(), this.getDataClass());
+        onPostEvent(metadata, EntityEvent.FIND);
+    }
+
     @Override
     public void getReference()
     {
@@ -16,6 +16,9 @@
 package com.impetus.kundera.graph;
 
 import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.persistence.GeneratedValue;
 
@@ -31,8 +34,17 @@ import com.impetus.kundera.utils.NumericUtils;
  */
 public class ObjectGraphUtils
 {
+    /**
+     * Node id prefix(class name followed by separator) per entity class, weakly
+     * keyed so that classes of undeployed applications can be unloaded.
+     */
+    private static final Map<Class<?>, String> nodeIdPrefixes = Collections
+            .synchronizedMap(new WeakHashMap<Class<?>, String>());
 
     /**
+     * Returns node id for given primary key and entity class. Prefix is
+     * cached per class, so building an id allocates a single string apart from
+     * primary key's string form.
      * 
      * @param pk
      * @param objectClass
@@ -40,10 +52,13 @@ public class ObjectGraphUtils
      */
     public static String getNodeId(Object pk, Class<?> objectClass)
     {
-        StringBuffer strBuffer = new StringBuffer(objectClass.getName());
-        strBuffer.append(Constants.NODE_ID_SEPARATOR);
-        strBuffer.append(pk);
-        return strBuffer.toString();
+        String prefix = nodeIdPrefixes.get(objectClass);
+        if (prefix == null)
+        {
+            prefix = objectClass.getName() + Constants.NODE_ID_SEPARATOR;
+            nodeIdPrefixes.put(objectClass, prefix);
+        }
+        return prefix.concat(String.valueOf(pk));
     }
 
     /**
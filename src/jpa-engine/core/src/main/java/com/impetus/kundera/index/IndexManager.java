@@ -399,13 +399,18 @@ public class IndexManager
     }
 
     /**
-     * Flushes out the indexes, keeping RAM directory open.
+     * Flushes out the indexes, keeping RAM directory open. Called on flush
+     * and commit of persistence context, so that buffered index requests are
+     * written out and failures reported to it.
+     * 
+     * @throws IndexingException
+     *             if buffered index requests failed.
      */
     public void flush() throws IndexingException
     {
         if (indexer != null)
         {
-            // ((Indexer) indexer).close();
+            indexer.flush();
         }
     }
 
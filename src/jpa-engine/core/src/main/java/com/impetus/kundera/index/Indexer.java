@@ -81,6 +81,11 @@ public interface Indexer
      */
     void unIndex(final Class entityClazz, final Object entity, EntityMetadata entityMetadata, MetamodelImpl metamodel);
 
+    /**
+     * Writes out index requests buffered by indexer, if any.
+     */
+    void flush();
+
     /**
      * Close indexer instance.
      */
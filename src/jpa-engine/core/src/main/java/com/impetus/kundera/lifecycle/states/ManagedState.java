@@ -23,6 +23,8 @@ import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.lifecycle.NodeStateContext;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.metrics.MetricsCollector;
+import com.impetus.kundera.metrics.MetricsConstants;
 import com.impetus.kundera.persistence.EntityReader;
 
 /**
@@ -122,6 +124,36 @@ public class ManagedState extends NodeState
         EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(nodeStateContext.getPersistenceDelegator().getKunderaMetadata(), nodeDataClass);
         Object entityId = nodeStateContext.getEntityId();
 
+        EntityReader reader = client.getReader();
+        if (reader == null)
+        {
+            return;
+        }
+
+        MetricsCollector metrics = nodeStateContext.getPersistenceDelegator().getKunderaMetadata()
+                .getApplicationMetadata().getMetricsCollector();
+        long start = metrics.startTimer();
+        EnhanceEntity ee = reader.findById(entityId, entityMetadata, client);
+        metrics.stopTimer(MetricsConstants.CLIENT_FIND, client.getClass().getName(), start);
+        handleFind(nodeStateContext, ee);
+    }
+
+    /**
+     * Populates node with an already fetched entity. Used by batched finders
+     * which fetch many rows in one client call and need to construct managed
+     * nodes out of them without going back to datastore per node.
+     * 
+     * @param nodeStateContext
+     *            node to be populated.
+     * @param ee
+     *            fetched entity (may be null).
+     */
+    public void handleFind(NodeStateContext nodeStateContext, EnhanceEntity ee)
+    {
+        Client client = nodeStateContext.getClient();
+        Class<?> nodeDataClass = nodeStateContext.getDataClass();
+        EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(nodeStateContext.getPersistenceDelegator().getKunderaMetadata(), nodeDataClass);
+
         Object nodeData = null; // Node data
 
         EntityReader reader = client.getReader();
@@ -130,7 +162,6 @@ public class ManagedState extends NodeState
             return;
         }
 
-        EnhanceEntity ee = reader.findById(entityId, entityMetadata, client);
         // Recursively retrieve relationship entities (if there are any)
         if (ee != null && ee.getEntity() != null)
         {
@@ -188,7 +219,11 @@ public class ManagedState extends NodeState
 
         // Flush this node to database
         Client client = nodeStateContext.getClient();
+        MetricsCollector metrics = nodeStateContext.getPersistenceDelegator().getKunderaMetadata()
+                .getApplicationMetadata().getMetricsCollector();
+        long start = metrics.startTimer();
         client.persist((Node) nodeStateContext);
+        metrics.stopTimer(MetricsConstants.CLIENT_PERSIST, client.getClass().getName(), start);
 
         // logNodeEvent("FLUSHED", this, nodeStateContext.getNodeId());
 
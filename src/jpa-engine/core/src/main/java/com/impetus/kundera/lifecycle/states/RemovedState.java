@@ -20,6 +20,8 @@ import javax.persistence.PersistenceContextType;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.lifecycle.NodeStateContext;
+import com.impetus.kundera.metrics.MetricsCollector;
+import com.impetus.kundera.metrics.MetricsConstants;
 
 /**
  * @author amresh
@@ -94,7 +96,11 @@ public class RemovedState extends NodeState
 
         Object entityId = node.getEntityId();
 
+        MetricsCollector metrics = node.getPersistenceDelegator().getKunderaMetadata().getApplicationMetadata()
+                .getMetricsCollector();
+        long start = metrics.startTimer();
         client.delete(node.getData(), entityId);
+        metrics.stopTimer(MetricsConstants.CLIENT_DELETE, client.getClass().getName(), start);
 
         // Since node is flushed, mark it as NOT dirty
         nodeStateContext.setDirty(false);
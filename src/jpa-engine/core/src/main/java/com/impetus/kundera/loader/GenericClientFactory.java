@@ -34,6 +34,7 @@ import com.impetus.kundera.index.IndexManager;
 import com.impetus.kundera.index.Indexer;
 import com.impetus.kundera.index.IndexingConstants;
 import com.impetus.kundera.metadata.model.ClientMetadata;
+import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
 import com.impetus.kundera.service.Host;
@@ -156,10 +157,22 @@ public abstract class GenericClientFactory implements ClientFactory, ClientLifeC
 
             try
             {
-                Method method = Class.forName(IndexingConstants.LUCENE_INDEXER).getDeclaredMethod("getInstance",
-                        String.class);
-
-                Indexer indexer = (Indexer) method.invoke(null, luceneDirectoryPath);
+                PersistenceUnitMetadata puMetadata = kunderaMetadata.getApplicationMetadata()
+                        .getPersistenceUnitMetadata(persistenceUnit);
+                Indexer indexer;
+                if (puMetadata.isIndexNrt())
+                {
+                    Method method = Class.forName(IndexingConstants.LUCENE_INDEXER).getDeclaredMethod(
+                            "getInstance", String.class, long.class, long.class);
+                    indexer = (Indexer) method.invoke(null, luceneDirectoryPath,
+                            (long) puMetadata.getIndexRefreshInterval(), (long) puMetadata.getIndexCommitInterval());
+                }
+                else
+                {
+                    Method method = Class.forName(IndexingConstants.LUCENE_INDEXER).getDeclaredMethod(
+                            "getInstance", String.class);
+                    indexer = (Indexer) method.invoke(null, luceneDirectoryPath);
+                }
                 indexManager = new IndexManager(indexer, kunderaMetadata);
             }
             catch (Exception e)
@@ -352,7 +365,7 @@ public abstract class GenericClientFactory implements ClientFactory, ClientLifeC
 
     protected enum LoadBalancer
     {
-        ROUNDROBIN, LEASTACTIVE;
+        ROUNDROBIN, LEASTACTIVE, LATENCYAWARE;
 
         public static LoadBalancer getValue(String loadBalancename)
         {
@@ -364,6 +377,10 @@ public abstract class GenericClientFactory implements ClientFactory, ClientLifeC
             {
                 return LEASTACTIVE;
             }
+            else if (loadBalancename != null && loadBalancename.equalsIgnoreCase(LATENCYAWARE.name()))
+            {
+                return LATENCYAWARE;
+            }
             else
             {
                 logger.info("Using default load balancer {} . " + ROUNDROBIN.name());
@@ -24,6 +24,8 @@ import com.impetus.kundera.KunderaException;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
+import com.impetus.kundera.metadata.model.annotation.DefaultEntityAnnotationProcessor;
+import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 
 /**
@@ -156,4 +158,29 @@ public class KunderaMetadataManager
         // throw new KunderaException("Unable to load entity metadata for :" +
         // entityClass);
     }
+
+    /**
+     * Multi-get reads rows of single table by primary key. Entities with
+     * embedded id, secondary tables or inheritance hierarchy are found key by
+     * key, as per key find takes care of composite keys, joins secondary
+     * tables and resolves sub types.
+     * 
+     * @param kunderaMetadata
+     *            kundera metadata
+     * @param entityMetadata
+     *            entity metadata
+     * @return true, if entities can be fetched via
+     *         {@link com.impetus.kundera.client.Client#findAll(Class, String[], Object...)}.
+     */
+    public static boolean isMultiGetApplicable(final KunderaMetadata kunderaMetadata, EntityMetadata entityMetadata)
+    {
+        MetamodelImpl metaModel = getMetamodel(kunderaMetadata, entityMetadata.getPersistenceUnit());
+        AbstractManagedType entityType = (AbstractManagedType) metaModel.entity(entityMetadata.getEntityClazz());
+
+        return !metaModel.isEmbeddable(entityMetadata.getIdAttribute().getBindableJavaType())
+                && !entityType.isInherited()
+                && entityType.getSubManagedType().isEmpty()
+                && ((DefaultEntityAnnotationProcessor) entityType.getEntityAnnotation()).getSecondaryTablesName()
+                        .isEmpty();
+    }
 }
@@ -22,6 +22,7 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.persistence.metamodel.Metamodel;
 import javax.persistence.spi.PersistenceUnitTransactionType;
@@ -29,7 +30,11 @@ import javax.persistence.spi.PersistenceUnitTransactionType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.impetus.kundera.generator.IdBlockAllocator;
 import com.impetus.kundera.metadata.processor.MetaModelBuilder;
+import com.impetus.kundera.metrics.MetricsCollector;
+import com.impetus.kundera.metrics.NoOpMetricsCollector;
+import com.impetus.kundera.query.QueryPlanCache;
 
 /**
  * Application metadata refers to metdata specific to application(e.g. metamodel
@@ -62,6 +67,14 @@ public class ApplicationMetadata
 
     private Map<String, QueryWrapper> namedNativeQueries;
 
+    /** Parsed JPQL queries, shared by all entity managers of factory. */
+    private volatile QueryPlanCache queryPlanCache;
+
+    private volatile MetricsCollector metricsCollector = NoOpMetricsCollector.INSTANCE;
+
+    /** Id block allocators, keyed by generator. */
+    private ConcurrentMap<String, IdBlockAllocator> idBlockAllocators = new ConcurrentHashMap<String, IdBlockAllocator>();
+
     /**
      * Adds the entity metadata.
      * 
@@ -291,6 +304,69 @@ public class ApplicationMetadata
         return wrapper != null ? wrapper.getMappedClazz() : null;
     }
 
+    /**
+     * Returns named (non native) queries.
+     * 
+     * @return map of query name to JPQL query.
+     */
+    public Map<String, String> getNamedQueries()
+    {
+        Map<String, String> namedQueries = new HashMap<String, String>();
+        if (namedNativeQueries != null)
+        {
+            for (QueryWrapper wrapper : namedNativeQueries.values())
+            {
+                if (!wrapper.isNativeQuery())
+                {
+                    namedQueries.put(wrapper.queryName, wrapper.getQuery());
+                }
+            }
+        }
+        return namedQueries;
+    }
+
+    /**
+     * Returns cache of parsed JPQL queries, null if queries are not cached.
+     * 
+     * @return query plan cache.
+     */
+    public QueryPlanCache getQueryPlanCache()
+    {
+        return queryPlanCache;
+    }
+
+    /**
+     * Sets cache of parsed JPQL queries.
+     * 
+     * @param queryPlanCache
+     *            query plan cache.
+     */
+    public void setQueryPlanCache(QueryPlanCache queryPlanCache)
+    {
+        this.queryPlanCache = queryPlanCache;
+    }
+
+    /**
+     * Returns collector of metrics, never null.
+     * 
+     * @return metrics collector.
+     */
+    public MetricsCollector getMetricsCollector()
+    {
+        return metricsCollector;
+    }
+
+    /**
+     * Sets collector of metrics.
+     * 
+     * @param metricsCollector
+     *            metrics collector, null to disable metrics.
+     */
+    public void setMetricsCollector(MetricsCollector metricsCollector)
+    {
+        this.metricsCollector = metricsCollector != null ? metricsCollector : NoOpMetricsCollector.INSTANCE;
+    }
+
     
     /**
      * Handler error and log statements.
@@ -367,6 +443,29 @@ public class ApplicationMetadata
         }
     }
 
+    /**
+     * Returns id block allocator for given generator key, shared by all entity
+     * managers of this entity manager factory.
+     * 
+     * @param generatorKey
+     *            key identifying id generator.
+     * @return id block allocator.
+     */
+    public IdBlockAllocator getIdBlockAllocator(String generatorKey)
+    {
+        IdBlockAllocator allocator = idBlockAllocators.get(generatorKey);
+        if (allocator == null)
+        {
+            allocator = new IdBlockAllocator();
+            IdBlockAllocator existing = idBlockAllocators.putIfAbsent(generatorKey, allocator);
+            if (existing != null)
+            {
+                allocator = existing;
+            }
+        }
+        return allocator;
+    }
+
     /**
      * 
      */
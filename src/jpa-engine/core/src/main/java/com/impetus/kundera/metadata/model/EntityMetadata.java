@@ -33,6 +33,7 @@ import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.event.CallbackMethod;
+import com.impetus.kundera.utils.EntityCopier;
 
 /**
  * Holds metadata for entities.
@@ -102,6 +103,9 @@ public final class EntityMetadata
 
     private EntityType entityType;
 
+    /** copy plan of entity, built on first copy. */
+    private volatile EntityCopier entityCopier;
+
     /**
      * The Enum Type.
      */
@@ -387,6 +391,16 @@ public final class EntityMetadata
         return new ArrayList<Relation>(relationsMap.values());
     }
 
+    /**
+     * Checks if entity holds any relation.
+     * 
+     * @return true, if entity has relations.
+     */
+    public boolean hasRelations()
+    {
+        return !relationsMap.isEmpty();
+    }
+
     /**
      * Gets the index properties.
      * 
@@ -739,4 +753,21 @@ public final class EntityMetadata
         }
     }
 
+    /**
+     * @return copy plan of entity, null if not built yet.
+     */
+    public EntityCopier getEntityCopier()
+    {
+        return entityCopier;
+    }
+
+    /**
+     * @param entityCopier
+     *            copy plan of entity.
+     */
+    public void setEntityCopier(EntityCopier entityCopier)
+    {
+        this.entityCopier = entityCopier;
+    }
+
 }
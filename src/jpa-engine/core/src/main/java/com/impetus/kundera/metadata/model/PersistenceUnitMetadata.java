@@ -47,6 +47,27 @@ public class PersistenceUnitMetadata implements PersistenceUnitInfo
     /** logger instance. */
     private static Logger log = LoggerFactory.getLogger(PersistenceUnitMetadata.class);
 
+    /** Default number of keys fetched per client call by find on many keys. */
+    public static final int DEFAULT_FIND_BATCH_SIZE = 100;
+
+    /** Default number of flusher threads per client for asynchronous batches. */
+    public static final int DEFAULT_BATCH_ASYNC_THREADS = 1;
+
+    /** Default number of asynchronous batches in flight per client. */
+    public static final int DEFAULT_BATCH_MAX_IN_FLIGHT = 4;
+
+    /** Default number of parsed JPQL queries cached per entity manager factory. */
+    public static final int DEFAULT_QUERY_PLAN_CACHE_SIZE = 256;
+
+    /** Default number of rows fetched per round trip while iterating over query results. */
+    public static final int DEFAULT_QUERY_PAGE_SIZE = 100;
+
+    /** Default interval in milliseconds at which near-real-time searcher is refreshed. */
+    public static final int DEFAULT_INDEX_REFRESH_INTERVAL = 1000;
+
+    /** Default interval in milliseconds at which near-real-time index changes are committed. */
+    public static final int DEFAULT_INDEX_COMMIT_INTERVAL = 5000;
+
     /** Persistence Unit name. */
     private String persistenceUnitName;
 
@@ -568,6 +589,224 @@ public class PersistenceUnitMetadata implements PersistenceUnitInfo
         return 0;
     }
 
+    /**
+     * Returns number of primary keys to be fetched in one client call while
+     * finding entities by many primary keys. Defaults to
+     * {@link #DEFAULT_FIND_BATCH_SIZE}.
+     * 
+     * @return find batch size.
+     */
+    public int getFindBatchSize()
+    {
+        String findBatchSize = getProperty(PersistenceProperties.KUNDERA_FIND_BATCH_SIZE);
+        if (findBatchSize != null)
+        {
+            int find_Batch_Size = Integer.valueOf(findBatchSize);
+            if (find_Batch_Size <= 0)
+            {
+                throw new IllegalArgumentException("kundera.find.batch.size property must be numeric and > 0");
+            }
+            return find_Batch_Size;
+        }
+
+        return DEFAULT_FIND_BATCH_SIZE;
+    }
+
+    /**
+     * Returns true, if relations are to be fetched in batches for all entities
+     * of this persistence unit.
+     * 
+     * @return true, if kundera.relation.batch.fetch is set to true.
+     */
+    public boolean isRelationBatchFetch()
+    {
+        return Boolean.parseBoolean(getProperty(PersistenceProperties.KUNDERA_RELATION_BATCH_FETCH));
+    }
+
+    /**
+     * Returns true, if full batches are to be written asynchronously.
+     * 
+     * @return true, if kundera.batch.async is set to true.
+     */
+    public boolean isBatchAsync()
+    {
+        return Boolean.parseBoolean(getProperty(PersistenceProperties.KUNDERA_BATCH_ASYNC));
+    }
+
+    /**
+     * Returns number of flusher threads per client for asynchronous batches.
+     * Defaults to {@link #DEFAULT_BATCH_ASYNC_THREADS}.
+     * 
+     * @return flusher thread count.
+     */
+    public int getBatchAsyncThreads()
+    {
+        return getPositiveInt(PersistenceProperties.KUNDERA_BATCH_ASYNC_THREADS, DEFAULT_BATCH_ASYNC_THREADS);
+    }
+
+    /**
+     * Returns maximum number of asynchronous batches in flight per client.
+     * Defaults to {@link #DEFAULT_BATCH_MAX_IN_FLIGHT}.
+     * 
+     * @return in flight batch limit.
+     */
+    public int getBatchMaxInFlight()
+    {
+        return getPositiveInt(PersistenceProperties.KUNDERA_BATCH_MAX_IN_FLIGHT, DEFAULT_BATCH_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Returns true, if entity snapshots share immutable values instead of
+     * copying them.
+     * 
+     * @return true, if kundera.snapshot.share.immutables is set to true.
+     */
+    public boolean isSnapshotShareImmutables()
+    {
+        return Boolean.parseBoolean(getProperty(PersistenceProperties.KUNDERA_SNAPSHOT_SHARE_IMMUTABLES));
+    }
+
+    /**
+     * Returns number of parsed JPQL queries cached per entity manager factory,
+     * 0 if parsed queries are not to be cached. Defaults to
+     * {@link #DEFAULT_QUERY_PLAN_CACHE_SIZE}.
+     * 
+     * @return query plan cache size.
+     */
+    public int getQueryPlanCacheSize()
+    {
+        String value = getProperty(PersistenceProperties.KUNDERA_QUERY_PLAN_CACHE_SIZE);
+        if (value != null)
+        {
+            int size = Integer.valueOf(value);
+            if (size < 0)
+            {
+                throw new IllegalArgumentException(PersistenceProperties.KUNDERA_QUERY_PLAN_CACHE_SIZE
+                        + " property must be numeric and >= 0");
+            }
+            return size;
+        }
+        return DEFAULT_QUERY_PLAN_CACHE_SIZE;
+    }
+
+    /**
+     * Returns number of rows fetched per round trip while iterating over
+     * query results. Defaults to {@link #DEFAULT_QUERY_PAGE_SIZE}.
+     * 
+     * @return page size.
+     */
+    public int getQueryPageSize()
+    {
+        return getPositiveInt(PersistenceProperties.KUNDERA_QUERY_PAGE_SIZE, DEFAULT_QUERY_PAGE_SIZE);
+    }
+
+    /**
+     * Returns maximum number of entities kept in persistence context of an
+     * entity manager.
+     * 
+     * @return maximum entries, 0 if unbounded.
+     */
+    public int getPersistenceCacheMaxEntries()
+    {
+        return (int) getNonNegativeLong(PersistenceProperties.KUNDERA_PERSISTENCE_CACHE_MAX_ENTRIES);
+    }
+
+    /**
+     * Returns maximum estimated size in bytes of entities kept in persistence
+     * context of an entity manager.
+     * 
+     * @return maximum bytes, 0 if unbounded.
+     */
+    public long getPersistenceCacheMaxBytes()
+    {
+        return getNonNegativeLong(PersistenceProperties.KUNDERA_PERSISTENCE_CACHE_MAX_BYTES);
+    }
+
+    private long getNonNegativeLong(String property)
+    {
+        String value = getProperty(property);
+        if (value != null)
+        {
+            long longValue = Long.valueOf(value);
+            if (longValue < 0)
+            {
+                throw new IllegalArgumentException(property + " property must be numeric and >= 0");
+            }
+            return longValue;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns true, unless use of entity index generated at build time is
+     * disabled.
+     * 
+     * @return false, if kundera.entity.index is set to false.
+     */
+    public boolean isEntityIndexEnabled()
+    {
+        String value = getProperty(PersistenceProperties.KUNDERA_ENTITY_INDEX);
+        return value == null || Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Returns number of threads reading class files while scanning classpath
+     * for entities. Defaults to number of available processors.
+     * 
+     * @return scan threads.
+     */
+    public int getScanThreads()
+    {
+        return getPositiveInt(PersistenceProperties.KUNDERA_SCAN_THREADS, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Returns true, if Lucene index is searched near real time.
+     * 
+     * @return true, if index.nrt is set to true.
+     */
+    public boolean isIndexNrt()
+    {
+        return Boolean.parseBoolean(getProperty(PersistenceProperties.KUNDERA_INDEX_NRT));
+    }
+
+    /**
+     * Returns interval in milliseconds at which near-real-time searcher is
+     * refreshed. Defaults to {@link #DEFAULT_INDEX_REFRESH_INTERVAL}.
+     * 
+     * @return refresh interval.
+     */
+    public int getIndexRefreshInterval()
+    {
+        return getPositiveInt(PersistenceProperties.KUNDERA_INDEX_REFRESH_INTERVAL, DEFAULT_INDEX_REFRESH_INTERVAL);
+    }
+
+    /**
+     * Returns interval in milliseconds at which near-real-time index changes
+     * are committed. Defaults to {@link #DEFAULT_INDEX_COMMIT_INTERVAL}.
+     * 
+     * @return commit interval.
+     */
+    public int getIndexCommitInterval()
+    {
+        return getPositiveInt(PersistenceProperties.KUNDERA_INDEX_COMMIT_INTERVAL, DEFAULT_INDEX_COMMIT_INTERVAL);
+    }
+
+    private int getPositiveInt(String property, int defaultValue)
+    {
+        String value = getProperty(property);
+        if (value != null)
+        {
+            int intValue = Integer.valueOf(value);
+            if (intValue <= 0)
+            {
+                throw new IllegalArgumentException(property + " property must be numeric and > 0");
+            }
+            return intValue;
+        }
+        return defaultValue;
+    }
+
     /**
      * @return the mappedUrl
      */
@@ -25,6 +25,7 @@ import javax.persistence.CascadeType;
 import javax.persistence.FetchType;
 import javax.persistence.JoinColumn;
 
+import com.impetus.kundera.annotations.BatchFetch;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
@@ -82,6 +83,9 @@ public final class Relation
     private boolean isJoinedByPrimaryKey;
 
     private Field biDirectionalField; 
+
+    /** Whether relation is marked with {@link BatchFetch}. */
+    private boolean isBatchFetch;
     /**
      * 
      * The Enum ForeignKey.
@@ -135,6 +139,7 @@ public final class Relation
         this.optional = optional;
         this.mappedBy = mappedBy;
         this.type = type;
+        this.isBatchFetch = property != null && property.isAnnotationPresent(BatchFetch.class);
     }
 
     /**
@@ -194,6 +199,16 @@ public final class Relation
         return fetchType;
     }
 
+    /**
+     * Returns true, if relation is annotated with {@link BatchFetch}.
+     * 
+     * @return the isBatchFetch
+     */
+    public boolean isBatchFetch()
+    {
+        return isBatchFetch;
+    }
+
     /**
      * Gets the cascades.
      * 
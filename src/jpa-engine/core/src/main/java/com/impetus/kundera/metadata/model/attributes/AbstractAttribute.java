@@ -33,6 +33,7 @@ import org.slf4j.LoggerFactory;
 import com.impetus.kundera.metadata.model.annotation.DefaultFieldAnnotationProcessor;
 import com.impetus.kundera.metadata.model.annotation.FieldAnnotationProcessor;
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
+import com.impetus.kundera.property.FieldAccessor;
 
 /**
  * Abstract class for to provide generalisation, abstraction to
@@ -73,6 +74,9 @@ public abstract class AbstractAttribute<X, T>
 
     private FieldAnnotationProcessor fieldAnnotationProcessor;
 
+    /** Accessor of member, built once. */
+    private final FieldAccessor fieldAccessor;
+
     /**
      * Instantiates a new abstract attribute.
      * 
@@ -97,6 +101,7 @@ public abstract class AbstractAttribute<X, T>
         this.persistenceAttribType = persistenceAttribType;
         this.managedType = managedType;
         this.member = member;
+        this.fieldAccessor = member != null ? new FieldAccessor(member) : null;
         this.columnName = getValidJPAColumnName();
         this.fieldAnnotationProcessor = new DefaultFieldAnnotationProcessor(member);
         this.fieldAnnotationProcessor.validateFieldAnnotation(
@@ -169,6 +174,17 @@ public abstract class AbstractAttribute<X, T>
         return member;
     }
 
+    /**
+     * Returns accessor of java member, to read and write its value without
+     * per call reflection setup.
+     * 
+     * @return field accessor.
+     */
+    public FieldAccessor getFieldAccessor()
+    {
+        return fieldAccessor;
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link MetricsCollector} exposing an {@link OperationStatsMBean} per
+ * operation and scope on platform MBean server, named
+ * <code>com.impetus.kundera:type=Metrics,unit=&lt;persistence unit&gt;,operation=&lt;operation&gt;,scope=&lt;scope&gt;</code>.
+ * MBeans are registered on first use and unregistered on {@link #close()}.
+ */
+public class JmxMetricsCollector implements MetricsCollector
+{
+    /**
+     * Value of
+     * {@link com.impetus.kundera.PersistenceProperties#KUNDERA_METRICS_COLLECTOR}
+     * selecting this collector.
+     */
+    public static final String NAME = "jmx";
+
+    private static final String DOMAIN = "com.impetus.kundera";
+
+    private static Logger log = LoggerFactory.getLogger(JmxMetricsCollector.class);
+
+    // operation -> scope -> statistics.
+    private final ConcurrentMap<String, ConcurrentMap<String, OperationStats>> stats =
+            new ConcurrentHashMap<String, ConcurrentMap<String, OperationStats>>();
+
+    private final Queue<ObjectName> registered = new ConcurrentLinkedQueue<ObjectName>();
+
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    private final String persistenceUnit;
+
+    public JmxMetricsCollector()
+    {
+        this("default");
+    }
+
+    /**
+     * @param persistenceUnit
+     *            persistence unit(s) of entity manager factory, used in MBean
+     *            names.
+     */
+    public JmxMetricsCollector(String persistenceUnit)
+    {
+        this.persistenceUnit = persistenceUnit;
+    }
+
+    @Override
+    public boolean isEnabled()
+    {
+        return true;
+    }
+
+    @Override
+    public long startTimer()
+    {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void stopTimer(String operation, String scope, long startTime)
+    {
+        getStats(operation, scope).record(System.nanoTime() - startTime);
+    }
+
+    @Override
+    public void incrementCounter(String operation, String scope, long delta)
+    {
+        getStats(operation, scope).increment(delta);
+    }
+
+    @Override
+    public void recordValue(String operation, String scope, long value)
+    {
+        getStats(operation, scope).record(value);
+    }
+
+    @Override
+    public void close()
+    {
+        for (ObjectName name : registered)
+        {
+            try
+            {
+                server.unregisterMBean(name);
+            }
+            catch (JMException e)
+            {
+                log.warn("Error while unregistering {}, Caused by: {}.", name, e.getMessage());
+            }
+        }
+        registered.clear();
+        stats.clear();
+    }
+
+    /**
+     * Returns statistics of operation and scope, registering its MBean if
+     * new. Looks up nested maps, so that recording does not allocate a key.
+     */
+    OperationStats getStats(String operation, String scope)
+    {
+        ConcurrentMap<String, OperationStats> scopes = stats.get(operation);
+        if (scopes == null)
+        {
+            ConcurrentMap<String, OperationStats> newScopes = new ConcurrentHashMap<String, OperationStats>();
+            scopes = stats.putIfAbsent(operation, newScopes);
+            if (scopes == null)
+            {
+                scopes = newScopes;
+            }
+        }
+
+        String scopeKey = scope != null ? scope : "";
+        OperationStats operationStats = scopes.get(scopeKey);
+        if (operationStats == null)
+        {
+            OperationStats newStats = new OperationStats();
+            operationStats = scopes.putIfAbsent(scopeKey, newStats);
+            if (operationStats == null)
+            {
+                operationStats = newStats;
+                register(operation, scope, newStats);
+            }
+        }
+        return operationStats;
+    }
+
+    private void register(String operation, String scope, OperationStats operationStats)
+    {
+        try
+        {
+            StringBuilder name = new StringBuilder(DOMAIN).append(":type=Metrics,unit=")
+                    .append(ObjectName.quote(persistenceUnit)).append(",operation=").append(ObjectName.quote(operation));
+            if (scope != null)
+            {
+                name.append(",scope=").append(ObjectName.quote(scope));
+            }
+            ObjectName objectName = new ObjectName(name.toString());
+            server.registerMBean(operationStats, objectName);
+            registered.add(objectName);
+        }
+        catch (JMException e)
+        {
+            // e.g. another factory of same persistence unit, keep collecting.
+            log.warn("Error while registering metrics of {} for {}, Caused by: {}.", new Object[] { operation, scope,
+                    e.getMessage() });
+        }
+    }
+}
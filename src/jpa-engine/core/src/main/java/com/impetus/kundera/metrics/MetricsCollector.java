@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.metrics;
+
+/**
+ * SPI for collecting metrics of entity manager operations and datastore round
+ * trips. Each metric is identified by an operation name (see
+ * {@link MetricsConstants}) and a scope, usually an entity or client class
+ * name.
+ * <p>
+ * Configured per entity manager factory via
+ * {@link com.impetus.kundera.PersistenceProperties#KUNDERA_METRICS_COLLECTOR}.
+ * Implementations must be thread safe and provide a public no-argument
+ * constructor.
+ *
+ * @see NoOpMetricsCollector
+ * @see JmxMetricsCollector
+ */
+public interface MetricsCollector
+{
+    /**
+     * @return true, if metrics are collected. Callers may use it to skip work
+     *         needed only to build a metric, such as computing its scope.
+     */
+    boolean isEnabled();
+
+    /**
+     * Starts a timer.
+     *
+     * @return start time, to be passed to
+     *         {@link #stopTimer(String, String, long)}.
+     */
+    long startTimer();
+
+    /**
+     * Records time elapsed since given start time.
+     *
+     * @param operation
+     *            operation name.
+     * @param scope
+     *            entity or client class name.
+     * @param startTime
+     *            value returned by {@link #startTimer()}.
+     */
+    void stopTimer(String operation, String scope, long startTime);
+
+    /**
+     * Increments a counter.
+     *
+     * @param operation
+     *            operation name.
+     * @param scope
+     *            entity or client class name.
+     * @param delta
+     *            value to add.
+     */
+    void incrementCounter(String operation, String scope, long delta);
+
+    /**
+     * Records a value into a histogram, such as a batch size or number of rows.
+     *
+     * @param operation
+     *            operation name.
+     * @param scope
+     *            entity or client class name.
+     * @param value
+     *            value to record.
+     */
+    void recordValue(String operation, String scope, long value);
+
+    /**
+     * Releases resources held by collector, invoked on closing entity manager
+     * factory.
+     */
+    void close();
+}
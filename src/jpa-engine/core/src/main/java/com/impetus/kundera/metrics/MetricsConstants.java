@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.metrics;
+
+/**
+ * Names of operations reported to {@link MetricsCollector}. Timers are
+ * recorded in nanoseconds. Cache lookups are recorded as values of 1 on a hit
+ * and 0 on a miss, so mean of the histogram is the hit ratio.
+ */
+public final class MetricsConstants
+{
+    /** Timer of {@link javax.persistence.EntityManager#persist(Object)}. */
+    public static final String PERSIST = "persist";
+
+    /** Timer of {@link javax.persistence.EntityManager#merge(Object)}. */
+    public static final String MERGE = "merge";
+
+    /** Timer of {@link javax.persistence.EntityManager#remove(Object)}. */
+    public static final String REMOVE = "remove";
+
+    /** Timer of find by primary key. */
+    public static final String FIND = "find";
+
+    /** Timer of building flush stack of an object graph. */
+    public static final String FLUSH_STACK = "flush.stack";
+
+    /** Timer of executing a batch, scoped by client class. */
+    public static final String BATCH_EXECUTE = "batch.execute";
+
+    /** Histogram of batch sizes, scoped by client class. */
+    public static final String BATCH_SIZE = "batch.size";
+
+    /** Timer of parsing a JPQL query, scoped by entity class. */
+    public static final String QUERY_PARSE = "query.parse";
+
+    /** Histogram of rows materialized per query, scoped by entity class. */
+    public static final String QUERY_ROWS = "query.rows";
+
+    /** Timer of reading an entity from datastore, scoped by client class. */
+    public static final String CLIENT_FIND = "client.find";
+
+    /** Timer of writing an entity to datastore, scoped by client class. */
+    public static final String CLIENT_PERSIST = "client.persist";
+
+    /** Timer of deleting an entity from datastore, scoped by client class. */
+    public static final String CLIENT_DELETE = "client.delete";
+
+    /** Hit ratio of persistence context, scoped by entity class. */
+    public static final String L1_CACHE = "cache.l1";
+
+    /** Hit ratio of second level cache, scoped by entity class. */
+    public static final String L2_CACHE = "cache.l2";
+
+    /** Timer of borrowing a connection from pool, scoped by host. */
+    public static final String POOL_BORROW = "pool.borrow";
+
+    /** Counter of failed connection borrows, scoped by host. */
+    public static final String POOL_BORROW_FAILURE = "pool.borrow.failure";
+
+    private MetricsConstants()
+    {
+    }
+}
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.metrics;
+
+/**
+ * Default {@link MetricsCollector}, discarding everything. It does not even
+ * read the clock, so instrumented code paths cost no more than an empty call.
+ */
+public final class NoOpMetricsCollector implements MetricsCollector
+{
+    /** Shared instance. */
+    public static final NoOpMetricsCollector INSTANCE = new NoOpMetricsCollector();
+
+    @Override
+    public boolean isEnabled()
+    {
+        return false;
+    }
+
+    @Override
+    public long startTimer()
+    {
+        return 0;
+    }
+
+    @Override
+    public void stopTimer(String operation, String scope, long startTime)
+    {
+    }
+
+    @Override
+    public void incrementCounter(String operation, String scope, long delta)
+    {
+    }
+
+    @Override
+    public void recordValue(String operation, String scope, long value)
+    {
+    }
+
+    @Override
+    public void close()
+    {
+    }
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free statistics of a single metric. Values are bucketed by powers of
+ * two, which bounds memory regardless of number of recorded values while
+ * keeping percentiles within a factor of two.
+ */
+public class OperationStats implements OperationStatsMBean
+{
+    private static final int BUCKETS = Long.SIZE;
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong total = new AtomicLong();
+
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    // bucket i holds values in [2^(i-1), 2^i - 1], bucket 0 holds 0.
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records a value, negative values are recorded as 0.
+     *
+     * @param value
+     *            value.
+     */
+    public void record(long value)
+    {
+        value = Math.max(0, value);
+        count.incrementAndGet();
+        total.addAndGet(value);
+        buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(value));
+
+        long current;
+        while (value < (current = min.get()) && !min.compareAndSet(current, value))
+            ;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value))
+            ;
+    }
+
+    /**
+     * Increments counter.
+     *
+     * @param delta
+     *            value to add.
+     */
+    public void increment(long delta)
+    {
+        count.incrementAndGet();
+        total.addAndGet(delta);
+    }
+
+    @Override
+    public long getCount()
+    {
+        return count.get();
+    }
+
+    @Override
+    public long getTotal()
+    {
+        return total.get();
+    }
+
+    @Override
+    public long getMin()
+    {
+        long value = min.get();
+        return value == Long.MAX_VALUE ? 0 : value;
+    }
+
+    @Override
+    public long getMax()
+    {
+        long value = max.get();
+        return value == Long.MIN_VALUE ? 0 : value;
+    }
+
+    @Override
+    public double getMean()
+    {
+        long n = count.get();
+        return n == 0 ? 0 : (double) total.get() / n;
+    }
+
+    @Override
+    public long get50thPercentile()
+    {
+        return getPercentile(0.5);
+    }
+
+    @Override
+    public long get99thPercentile()
+    {
+        return getPercentile(0.99);
+    }
+
+    /**
+     * Returns upper bound of bucket holding given percentile, capped by
+     * largest recorded value.
+     *
+     * @param percentile
+     *            percentile, between 0 and 1.
+     * @return approximate percentile, 0 if no value is recorded.
+     */
+    long getPercentile(double percentile)
+    {
+        long recorded = 0;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            recorded += buckets.get(i);
+        }
+        if (recorded == 0)
+        {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(recorded * percentile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            seen += buckets.get(i);
+            if (seen >= rank)
+            {
+                long upperBound = i == 0 ? 0 : (1L << i) - 1;
+                return Math.min(upperBound, getMax());
+            }
+        }
+        return getMax();
+    }
+
+    @Override
+    public void reset()
+    {
+        count.set(0);
+        total.set(0);
+        min.set(Long.MAX_VALUE);
+        max.set(Long.MIN_VALUE);
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            buckets.set(i, 0);
+        }
+    }
+}
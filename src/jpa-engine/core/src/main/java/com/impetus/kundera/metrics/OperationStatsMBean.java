@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.metrics;
+
+/**
+ * JMX view of {@link OperationStats}. Timer values are in nanoseconds.
+ */
+public interface OperationStatsMBean
+{
+    /**
+     * @return number of recorded values or counter increments.
+     */
+    long getCount();
+
+    /**
+     * @return sum of recorded values, or counter value.
+     */
+    long getTotal();
+
+    /**
+     * @return smallest recorded value, 0 if none.
+     */
+    long getMin();
+
+    /**
+     * @return largest recorded value, 0 if none.
+     */
+    long getMax();
+
+    /**
+     * @return mean of recorded values, 0 if none.
+     */
+    double getMean();
+
+    /**
+     * @return approximate median, rounded up to a power of two.
+     */
+    long get50thPercentile();
+
+    /**
+     * @return approximate 99th percentile, rounded up to a power of two.
+     */
+    long get99thPercentile();
+
+    /**
+     * Clears recorded values.
+     */
+    void reset();
+}
@@ -18,6 +18,7 @@ package com.impetus.kundera.persistence;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -28,12 +29,14 @@ import javax.persistence.FetchType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.impetus.kundera.annotations.BatchFetch;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.ClientBase;
 import com.impetus.kundera.client.EnhanceEntity;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
 import com.impetus.kundera.metadata.model.Relation;
 import com.impetus.kundera.metadata.model.Relation.ForeignKey;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
@@ -43,6 +46,7 @@ import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.proxy.ProxyHelper;
 import com.impetus.kundera.query.KunderaQuery;
 import com.impetus.kundera.utils.KunderaCoreUtils;
+import com.impetus.kundera.utils.ObjectUtils;
 
 /**
  * The Class AbstractEntityReader.
@@ -106,7 +110,8 @@ public class AbstractEntityReader
      * @return
      */
     private Object handleAssociation(final Object entity, final Map<String, Object> relationsMap,
-            final EntityMetadata m, final PersistenceDelegator pd, boolean lazilyloaded)
+            final EntityMetadata m, final PersistenceDelegator pd, boolean lazilyloaded,
+            final Map<Class<?>, Map<Object, Object>> prefetchedRelations)
     {
 
         for (Relation relation : m.getRelations())
@@ -117,7 +122,7 @@ public class AbstractEntityReader
 
             if (KunderaCoreUtils.isEmptyOrNull(relationalObject) || ProxyHelper.isProxyOrCollection(relationalObject))
             {
-                onRelation(entity, relationsMap, m, pd, relation, relationType, lazilyloaded);
+                onRelation(entity, relationsMap, m, pd, relation, relationType, lazilyloaded, prefetchedRelations);
             } // a bit of hack for neo4j only
             else if (!ProxyHelper.isProxyOrCollection(relationalObject)
                     && Map.class.isAssignableFrom(relationalObject.getClass()))
@@ -148,9 +153,11 @@ public class AbstractEntityReader
      * @param relation
      * @param relationType
      * @param lazilyloaded
+     * @param prefetchedRelations
      */
     private void onRelation(final Object entity, final Map<String, Object> relationsMap, final EntityMetadata m,
-            final PersistenceDelegator pd, Relation relation, ForeignKey relationType, boolean lazilyloaded)
+            final PersistenceDelegator pd, Relation relation, ForeignKey relationType, boolean lazilyloaded,
+            final Map<Class<?>, Map<Object, Object>> prefetchedRelations)
     {
 
         FetchType fetchType = relation.getFetchType();
@@ -173,7 +180,7 @@ public class AbstractEntityReader
             }
             else
             {
-                onRelation(entity, relationsMap, relation, m, pd, lazilyloaded);
+                onRelation(entity, relationsMap, relation, m, pd, lazilyloaded, prefetchedRelations);
             }
         }
     }
@@ -189,9 +196,13 @@ public class AbstractEntityReader
      *            contains relation name and it's value.
      * @param m
      *            entity metadata.
+     * @param prefetchedRelations
+     *            relational entities fetched in batch, keyed by target entity
+     *            class and id.
      */
     private void onRelation(Object entity, Map<String, Object> relationsMap, final Relation relation,
-            final EntityMetadata metadata, final PersistenceDelegator pd, boolean lazilyloaded)
+            final EntityMetadata metadata, final PersistenceDelegator pd, boolean lazilyloaded,
+            final Map<Class<?>, Map<Object, Object>> prefetchedRelations)
     {
         final Object entityId = PropertyAccessorHelper.getId(entity, metadata);
 
@@ -203,7 +214,8 @@ public class AbstractEntityReader
         Object relationValue = relationsMap != null ? relationsMap.get(relation.getJoinColumnName(kunderaMetadata)) : null;
         EntityMetadata targetEntityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, relation.getTargetEntity());
 
-        List relationalEntities = fetchRelations(relation, metadata, pd, entityId, relationValue, targetEntityMetadata);
+        List relationalEntities = fetchRelations(relation, metadata, pd, entityId, relationValue, targetEntityMetadata,
+                prefetchedRelations);
 
         // parse for associated relation.
 
@@ -328,7 +340,7 @@ public class AbstractEntityReader
                     final EntityMetadata targetEntityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, relation
                             .getTargetEntity());
                     List immediateRelations = fetchRelations(relation, metadata, pd, entityId, relationValue,
-                            targetEntityMetadata);
+                            targetEntityMetadata, null);
                     // Here in case of one-to-many/many-to-one we should skip
                     // this
                     // relation as it
@@ -373,19 +385,28 @@ public class AbstractEntityReader
      *            relational value
      * @param targetEntityMetadata
      *            relational entity's metadata.
+     * @param prefetchedRelations
+     *            relational entities fetched in batch(may be null).
      * 
      * @return list of fetched relations.
      */
     private List fetchRelations(final Relation relation, final EntityMetadata metadata, final PersistenceDelegator pd,
-            final Object entityId, Object relationValue, EntityMetadata targetEntityMetadata)
+            final Object entityId, Object relationValue, EntityMetadata targetEntityMetadata,
+            final Map<Class<?>, Map<Object, Object>> prefetchedRelations)
     {
         List relationalEntities = new ArrayList();
 
         if ((relationValue != null && relation.isUnary()) || (relation.isJoinedByPrimaryKey()))
         {
-            // Call it
-            Object relationEntity = pd.getClient(targetEntityMetadata).find(relation.getTargetEntity(),
-                    relationValue != null ? relationValue : entityId);
+            Object relationEntity = relationValue != null ? getPrefetchedRelation(prefetchedRelations,
+                    targetEntityMetadata, relationValue) : null;
+
+            // Call it, if not already fetched in batch.
+            if (relationEntity == null)
+            {
+                relationEntity = pd.getClient(targetEntityMetadata).find(relation.getTargetEntity(),
+                        relationValue != null ? relationValue : entityId);
+            }
             if (relationEntity != null)
             {
                 relationalEntities.add(relationEntity);
@@ -427,10 +448,195 @@ public class AbstractEntityReader
     public Object recursivelyFindEntities(Object entity, Map<String, Object> relationsMap, EntityMetadata m,
             PersistenceDelegator pd, boolean lazilyLoaded)
     {
-        return handleAssociation(entity, relationsMap, m, pd, lazilyLoaded);
+        return handleAssociation(entity, relationsMap, m, pd, lazilyLoaded, null);
 
     }
 
+    /**
+     * Recursively fetches associated entities for given list of enhance
+     * entities. For relations enabled for batch fetch(via
+     * <code>kundera.relation.batch.fetch</code> or {@link BatchFetch}),
+     * distinct foreign keys across all entities are fetched first with one
+     * {@link Client#findAll(Class, String[], Object...)} call per target
+     * entity and then stitched with each entity in memory.
+     * 
+     * @param enhanceEntities
+     *            enhance entities
+     * @param m
+     *            entity metadata
+     * @param pd
+     *            persistence delegator
+     * @param lazilyLoaded
+     *            true if invoked over lazily fetched object.
+     * @return list of populated entities.
+     */
+    public List<Object> recursivelyFindEntities(List<EnhanceEntity> enhanceEntities, EntityMetadata m,
+            PersistenceDelegator pd, boolean lazilyLoaded)
+    {
+        List<Object> result = new ArrayList<Object>(enhanceEntities.size());
+
+        Map<Class<?>, Map<Object, Object>> prefetchedRelations = prefetchRelations(enhanceEntities, m, pd,
+                lazilyLoaded);
+
+        for (EnhanceEntity ee : enhanceEntities)
+        {
+            result.add(handleAssociation(ee.getEntity(), ee.getRelations(), m, pd, lazilyLoaded,
+                    prefetchedRelations));
+        }
+        return result;
+    }
+
+    /**
+     * Collects distinct foreign keys of batch fetch enabled unary relations
+     * across given entities and fetches them in chunks of
+     * {@link PersistenceUnitMetadata#getFindBatchSize()}. Targets which can't
+     * be fetched by multi-get are left to be found key by key.
+     * 
+     * @param enhanceEntities
+     *            enhance entities
+     * @param m
+     *            entity metadata
+     * @param pd
+     *            persistence delegator
+     * @param lazilyLoaded
+     *            true if invoked over lazily fetched object.
+     * @return fetched relational entities, keyed by target entity class and
+     *         id.
+     */
+    private Map<Class<?>, Map<Object, Object>> prefetchRelations(List<EnhanceEntity> enhanceEntities,
+            EntityMetadata m, PersistenceDelegator pd, boolean lazilyLoaded)
+    {
+        Map<Class<?>, Map<Object, Object>> prefetchedRelations = new HashMap<Class<?>, Map<Object, Object>>();
+
+        if (enhanceEntities.size() < 2 || m.getRelations().isEmpty())
+        {
+            return prefetchedRelations;
+        }
+
+        boolean batchFetch = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata,
+                m.getPersistenceUnit()).isRelationBatchFetch();
+
+        Map<Class<?>, Set<Object>> foreignKeys = new HashMap<Class<?>, Set<Object>>();
+        for (Relation relation : m.getRelations())
+        {
+            if ((!batchFetch && !relation.isBatchFetch()) || !relation.isUnary() || relation.isJoinedByPrimaryKey()
+                    || (!lazilyLoaded && relation.getFetchType().equals(FetchType.LAZY)))
+            {
+                continue;
+            }
+
+            EntityMetadata targetEntityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata,
+                    relation.getTargetEntity());
+            if (!KunderaMetadataManager.isMultiGetApplicable(kunderaMetadata, targetEntityMetadata))
+            {
+                continue;
+            }
+            String joinColumnName = relation.getJoinColumnName(kunderaMetadata);
+            for (EnhanceEntity ee : enhanceEntities)
+            {
+                Object relationValue = ee.getRelations() != null ? ee.getRelations().get(joinColumnName) : null;
+                if (relationValue != null)
+                {
+                    Set<Object> keys = foreignKeys.get(relation.getTargetEntity());
+                    if (keys == null)
+                    {
+                        keys = new HashSet<Object>();
+                        foreignKeys.put(relation.getTargetEntity(), keys);
+                    }
+                    keys.add(toIdType(relationValue, targetEntityMetadata));
+                }
+            }
+        }
+
+        for (Map.Entry<Class<?>, Set<Object>> entry : foreignKeys.entrySet())
+        {
+            EntityMetadata targetEntityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata,
+                    entry.getKey());
+            Client client = pd.getClient(targetEntityMetadata);
+            int findBatchSize = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata,
+                    targetEntityMetadata.getPersistenceUnit()).getFindBatchSize();
+
+            Map<Object, Object> fetched = new HashMap<Object, Object>();
+            List<Object> keys = new ArrayList<Object>(entry.getValue());
+            for (int from = 0; from < keys.size(); from += findBatchSize)
+            {
+                List<Object> chunk = keys.subList(from, Math.min(from + findBatchSize, keys.size()));
+                List results = client.findAll(entry.getKey(), null, chunk.toArray());
+                if (results != null)
+                {
+                    for (Object result : results)
+                    {
+                        if (result != null)
+                        {
+                            fetched.put(toIdType(getId(getEntity(result), targetEntityMetadata),
+                                    targetEntityMetadata), result);
+                        }
+                    }
+                }
+            }
+            prefetchedRelations.put(entry.getKey(), fetched);
+        }
+
+        return prefetchedRelations;
+    }
+
+    /**
+     * Converts foreign key to java type of target entity's id, as stores may
+     * return it in another type (e.g. string for a long id), so that it
+     * matches ids of fetched entities.
+     * 
+     * @param key
+     *            foreign key or id
+     * @param targetEntityMetadata
+     *            target entity metadata
+     * @return key of id type.
+     */
+    private Object toIdType(Object key, EntityMetadata targetEntityMetadata)
+    {
+        Class<?> idClazz = targetEntityMetadata.getIdAttribute().getBindableJavaType();
+        if (key == null
+                || idClazz.isInstance(key)
+                || KunderaMetadataManager.getMetamodel(kunderaMetadata, targetEntityMetadata.getPersistenceUnit())
+                        .isEmbeddable(idClazz))
+        {
+            return key;
+        }
+        return PropertyAccessorHelper.fromSourceToTargetClass(idClazz, key.getClass(), key);
+    }
+
+    /**
+     * Returns a copy of relational entity fetched in batch, as same relational
+     * entity may be referred by many entities.
+     * 
+     * @param prefetchedRelations
+     *            relational entities fetched in batch
+     * @param targetEntityMetadata
+     *            target entity metadata
+     * @param relationValue
+     *            foreign key value
+     * @return copy of relational entity, or null if not fetched in batch.
+     */
+    private Object getPrefetchedRelation(final Map<Class<?>, Map<Object, Object>> prefetchedRelations,
+            EntityMetadata targetEntityMetadata, Object relationValue)
+    {
+        Map<Object, Object> fetched = prefetchedRelations != null ? prefetchedRelations.get(targetEntityMetadata
+                .getEntityClazz()) : null;
+        Object relationEntity = fetched != null && !fetched.isEmpty() ? fetched.get(toIdType(relationValue,
+                targetEntityMetadata)) : null;
+        if (relationEntity == null)
+        {
+            return null;
+        }
+
+        if (relationEntity instanceof EnhanceEntity)
+        {
+            EnhanceEntity ee = (EnhanceEntity) relationEntity;
+            return new EnhanceEntity(ObjectUtils.deepCopy(ee.getEntity(), kunderaMetadata), ee.getEntityId(),
+                    ee.getRelations());
+        }
+        return ObjectUtils.deepCopy(relationEntity, kunderaMetadata);
+    }
+
     /**
      * Returns wrapped relations.
      * 
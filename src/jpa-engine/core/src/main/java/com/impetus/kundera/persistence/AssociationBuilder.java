@@ -131,6 +131,30 @@ public final class AssociationBuilder
 
     }
 
+    /**
+     * Fetches children of a join table relation at once, in case batch fetch is
+     * enabled for relation(or for persistence unit).
+     * 
+     * @return children keyed by their primary key, empty if batch fetch is not
+     *         enabled.
+     */
+    private Map<Object, Object> findChildrenInBatch(PersistenceDelegator delegator, Relation relation,
+            EntityMetadata childMetadata, EntityMetadata entityMetadata, List<?> foreignKeys)
+    {
+        Map<Object, Object> children = new HashMap<Object, Object>();
+        if (foreignKeys.size() > 1
+                && (relation.isBatchFetch() || KunderaMetadataManager.getPersistenceUnitMetadata(
+                        delegator.getKunderaMetadata(), entityMetadata.getPersistenceUnit()).isRelationBatchFetch()))
+        {
+            List<?> found = delegator.find(relation.getTargetEntity(), foreignKeys.toArray());
+            for (Object child : found)
+            {
+                children.put(PropertyAccessorHelper.getId(child, childMetadata), child);
+            }
+        }
+        return children;
+    }
+
     /**
      * Populates a relationship of type {@link Collection} (i.e. those of type
      * {@link Set} or {@link List})
@@ -170,12 +194,19 @@ public final class AssociationBuilder
 
         if (foreignKeys != null)
         {
+            EntityMetadata childMetadata = KunderaMetadataManager.getEntityMetadata(delegator.getKunderaMetadata(),
+                    relation.getTargetEntity());
+
+            Map<Object, Object> batchedChildren = findChildrenInBatch(delegator, relation, childMetadata,
+                    entityMetadata, foreignKeys);
+
             for (Object foreignKey : foreignKeys)
             {
-                EntityMetadata childMetadata = KunderaMetadataManager.getEntityMetadata(delegator.getKunderaMetadata(),
-                        relation.getTargetEntity());
-
-                Object child = delegator.find(relation.getTargetEntity(), foreignKey);
+                Object child = batchedChildren.get(foreignKey);
+                if (child == null)
+                {
+                    child = delegator.find(relation.getTargetEntity(), foreignKey);
+                }
                 Object obj = child instanceof EnhanceEntity && child != null ? ((EnhanceEntity) child).getEntity()
                         : child;
 
@@ -57,7 +57,12 @@ import com.impetus.kundera.metadata.model.CoreMetadata;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
+import com.impetus.kundera.metrics.JmxMetricsCollector;
+import com.impetus.kundera.metrics.MetricsCollector;
+import com.impetus.kundera.metrics.NoOpMetricsCollector;
 import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.impetus.kundera.query.QueryPlanCache;
+import com.impetus.kundera.query.QueryResolver;
 
 /**
  * Implementation class for {@link EntityManagerFactory}
@@ -92,6 +97,12 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
     // Transaction type
     private PersistenceUnitTransactionType transactionType;
 
+    /** Maximum number of entities kept per entity manager, 0 if unbounded. */
+    private int persistenceCacheMaxEntries;
+
+    /** Maximum estimated size of entities kept per entity manager, 0 if unbounded. */
+    private long persistenceCacheMaxBytes;
+
     private final KunderaPersistenceUnitUtil util;
 
     private final PersistenceUtilHelper.MetadataCache cache = new PersistenceUtilHelper.MetadataCache();
@@ -154,6 +165,9 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
         // Configure metamodel.
         new MetamodelConfiguration(properties, kunderaMetadata, persistenceUnits).configure();
 
+        // Metrics are shared by all units, client factories may record them.
+        kunderaMetadata.getApplicationMetadata().setMetricsCollector(initMetricsCollector(persistenceUnit));
+
         // configure client factories
         configureClientFactories();
 
@@ -161,12 +175,19 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
         // Invoke Client Loaders
 
         Set<PersistenceUnitTransactionType> txTypes = new HashSet<PersistenceUnitTransactionType>();
+        int queryPlanCacheSize = 0;
 
         for (String pu : persistenceUnits)
         {
             PersistenceUnitMetadata puMetadata = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata,  pu);
             PersistenceUnitTransactionType txType = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata, pu).getTransactionType();
             txTypes.add(txType);
+            queryPlanCacheSize = Math.max(queryPlanCacheSize, puMetadata.getQueryPlanCacheSize());
+            // persistence context is shared by all units, unbounded if any unit is.
+            persistenceCacheMaxEntries = (int) maxBound(pu.equals(persistenceUnits[0]), persistenceCacheMaxEntries,
+                    puMetadata.getPersistenceCacheMaxEntries());
+            persistenceCacheMaxBytes = maxBound(pu.equals(persistenceUnits[0]), persistenceCacheMaxBytes,
+                    puMetadata.getPersistenceCacheMaxBytes());
             if (cacheProvider == null)
             {
                 this.cacheProvider = initSecondLevelCache(puMetadata);
@@ -184,6 +205,13 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
             this.transactionType = txTypes.iterator().next();
         }
 
+        // Cache parsed JPQL queries, named queries are parsed upfront.
+        if (queryPlanCacheSize > 0)
+        {
+            kunderaMetadata.getApplicationMetadata().setQueryPlanCache(new QueryPlanCache(queryPlanCacheSize));
+            new QueryResolver().preparseNamedQueries(kunderaMetadata);
+        }
+
         if (logger.isInfoEnabled())
         {
             logger.info("EntityManagerFactory created for persistence unit : " + persistenceUnit);
@@ -214,6 +242,8 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
                 cacheProvider.shutdown();
             }
 
+            kunderaMetadata.getApplicationMetadata().getMetricsCollector().close();
+
             for (String pu : persistenceUnits)
             {
                 ((ClientLifeCycleManager) clientFactories.get(pu)).destroy();
@@ -454,6 +484,52 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
         return cacheProvider;
     }
 
+    /**
+     * Initializes metrics collector as per
+     * {@link PersistenceProperties#KUNDERA_METRICS_COLLECTOR}, looked up in
+     * factory properties first and then in persistence units.
+     * 
+     * @param persistenceUnit
+     *            persistence unit(s) of this factory.
+     * @return metrics collector.
+     */
+    private MetricsCollector initMetricsCollector(final String persistenceUnit)
+    {
+        String collectorName = (String) getProperties().get(PersistenceProperties.KUNDERA_METRICS_COLLECTOR);
+        for (int i = 0; collectorName == null && i < persistenceUnits.length; i++)
+        {
+            collectorName = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata, persistenceUnits[i])
+                    .getProperty(PersistenceProperties.KUNDERA_METRICS_COLLECTOR);
+        }
+
+        if (collectorName == null || collectorName.trim().isEmpty() || collectorName.equalsIgnoreCase("none"))
+        {
+            return NoOpMetricsCollector.INSTANCE;
+        }
+        if (collectorName.equalsIgnoreCase(JmxMetricsCollector.NAME))
+        {
+            return new JmxMetricsCollector(persistenceUnit);
+        }
+
+        try
+        {
+            return (MetricsCollector) Class.forName(collectorName.trim()).newInstance();
+        }
+        catch (ClassNotFoundException e)
+        {
+            throw new KunderaException("Could not find class " + collectorName
+                    + ". Check whether you spelled it correctly in persistence.xml", e);
+        }
+        catch (InstantiationException e)
+        {
+            throw new KunderaException("Could not instantiate " + collectorName, e);
+        }
+        catch (IllegalAccessException e)
+        {
+            throw new KunderaException(e);
+        }
+    }
+
     /**
      * Gets the persistence units.
      * 
@@ -464,6 +540,33 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
         return persistenceUnits;
     }
 
+    /**
+     * @return maximum number of entities kept per entity manager, 0 if
+     *         unbounded.
+     */
+    int getPersistenceCacheMaxEntries()
+    {
+        return persistenceCacheMaxEntries;
+    }
+
+    /**
+     * @return maximum estimated size of entities kept per entity manager in
+     *         bytes, 0 if unbounded.
+     */
+    long getPersistenceCacheMaxBytes()
+    {
+        return persistenceCacheMaxBytes;
+    }
+
+    private static long maxBound(boolean first, long bound, long other)
+    {
+        if (first)
+        {
+            return other;
+        }
+        return bound == 0 || other == 0 ? 0 : Math.max(bound, other);
+    }
+
     /**
      * 
      * @param pu
@@ -16,6 +16,7 @@
 package com.impetus.kundera.persistence;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.naming.Context;
@@ -125,7 +126,9 @@ public class EntityManagerImpl implements EntityManager, ResourceManager
         }
         this.persistenceContextType = persistenceContextType;
 
-        this.persistenceCache = new PersistenceCache((Cache) factory.getCache());
+        this.persistenceCache = new PersistenceCache((Cache) factory.getCache(),
+                ((EntityManagerFactoryImpl) factory).getPersistenceCacheMaxEntries(),
+                ((EntityManagerFactoryImpl) factory).getPersistenceCacheMaxBytes());
         this.persistenceCache.setPersistenceContextType(this.persistenceContextType);
 
         this.transactionType = transactionType;
@@ -258,6 +261,24 @@ public class EntityManagerImpl implements EntityManager, ResourceManager
         return getPersistenceDelegator().findById(entityClass, primaryKey);
     }
 
+    /**
+     * Finds entities of several primary keys at once. Keys not found within
+     * persistence context are fetched in batches, rather than one by one.
+     * 
+     * @param entityClass
+     *            entity class
+     * @param primaryKeys
+     *            primary keys
+     * @return found entities, missing keys are skipped.
+     * @see PersistenceDelegator#find(Class, Object...)
+     */
+    public <E> List<E> find(Class<E> entityClass, Object... primaryKeys)
+    {
+        checkClosed();
+        checkTransactionNeeded();
+        return getPersistenceDelegator().find(entityClass, primaryKeys);
+    }
+
     /**
      * Find by primary key, using the specified properties. Search for an entity
      * of the specified class and primary key. If the entity instance is
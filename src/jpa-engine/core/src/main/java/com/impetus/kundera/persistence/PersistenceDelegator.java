@@ -20,7 +20,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Deque;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -37,6 +37,7 @@ import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.ClientPropertiesSetter;
 import com.impetus.kundera.client.ClientResolverException;
+import com.impetus.kundera.client.EnhanceEntity;
 import com.impetus.kundera.graph.GraphGenerator;
 import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.graph.ObjectGraph;
@@ -48,6 +49,8 @@ import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
+import com.impetus.kundera.metrics.MetricsCollector;
+import com.impetus.kundera.metrics.MetricsConstants;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.api.Batcher;
 import com.impetus.kundera.persistence.context.EventLog.EventType;
@@ -57,6 +60,7 @@ import com.impetus.kundera.persistence.context.PersistenceCache;
 import com.impetus.kundera.persistence.context.jointable.JoinTableData;
 import com.impetus.kundera.persistence.context.jointable.JoinTableData.OPERATION;
 import com.impetus.kundera.persistence.event.EntityEventDispatcher;
+import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.proxy.LazyInitializerFactory;
 import com.impetus.kundera.query.QueryResolver;
 import com.impetus.kundera.utils.ObjectUtils;
@@ -92,6 +96,8 @@ public final class PersistenceDelegator
 
     private FlushManager flushManager = new FlushManager();
 
+    private final MetricsCollector metrics;
+
     private boolean enableFlush;
 
     private Coordinator coordinator;
@@ -111,6 +117,8 @@ public final class PersistenceDelegator
         this.eventDispatcher = new EntityEventDispatcher();
         this.persistenceCache = pc;
         this.kunderaMetadata = kunderaMetadata;
+        this.metrics = kunderaMetadata.getApplicationMetadata().getMetricsCollector();
+        pc.getMainCache().setFlushManager(flushManager);
     }
 
     /***********************************************************************/
@@ -128,6 +136,7 @@ public final class PersistenceDelegator
             throw new IllegalArgumentException(
                     "Entity object is invalid, operation failed. Please check previous log message for details");
         }
+        long start = metrics.startTimer();
 
         // Create an object graph of the entity object.
         // ObjectGraph graph = graphBuilder.getObjectGraph(e, );
@@ -143,7 +152,7 @@ public final class PersistenceDelegator
             node.persist();
 
             // build flush stack.
-            flushManager.buildFlushStack(node, com.impetus.kundera.persistence.context.EventLog.EventType.INSERT);
+            buildFlushStack(node, com.impetus.kundera.persistence.context.EventLog.EventType.INSERT);
 
             // Flushing data.
             flush();
@@ -163,6 +172,7 @@ public final class PersistenceDelegator
         // Unlocking object.
         graph.clear();
         graph = null;
+        metrics.stopTimer(MetricsConstants.PERSIST, e.getClass().getName(), start);
         if (log.isDebugEnabled())
         {
             log.debug("Data persisted successfully for entity {}.", e.getClass());
@@ -208,6 +218,7 @@ public final class PersistenceDelegator
             throw new IllegalArgumentException("PrimaryKey value must not be null for object you want to find.");
         }
         // Locking as it might read from persistence context.
+        long start = metrics.startTimer();
 
         EntityMetadata entityMetadata = getMetadata(entityClass);
 
@@ -241,22 +252,24 @@ public final class PersistenceDelegator
 
         }
         Object nodeData = node.getData();
-        if (nodeData == null)
+        E e = null;
+        if (nodeData != null)
         {
-            return null;
-        }
-        else
-        {
-            E e = (E) ObjectUtils.deepCopy(nodeData, getKunderaMetadata());
+            e = (E) ObjectUtils.deepCopy(nodeData, getKunderaMetadata());
 
             onSetProxyOwners(entityMetadata, e);
-            return e;
         }
+        metrics.stopTimer(MetricsConstants.FIND, entityClass.getName(), start);
+        return e;
 
     }
 
     /**
-     * Retrieves a {@link List} of Entities for given Primary Keys
+     * Retrieves a {@link List} of Entities for given Primary Keys. Keys already
+     * managed within persistence cache are served from there, rest of them are
+     * fetched from database in chunks of
+     * {@link PersistenceUnitMetadata#getFindBatchSize()} via
+     * {@link Client#findAll(Class, String[], Object...)}.
      * 
      * @param entityClass
      *            Entity Class
@@ -265,7 +278,6 @@ public final class PersistenceDelegator
      * @see {@link PersistenceDelegator#find(Class, Object)}
      * @return List of found entities
      */
-    // TODO Is it possible to pass all primary keys directly to database client.
     public <E> List<E> find(Class<E> entityClass, Object... primaryKeys)
     {
         List<E> entities = new ArrayList<E>();
@@ -273,12 +285,136 @@ public final class PersistenceDelegator
         {
             return entities;
         }
-        Set<Object> pKeys = new HashSet<Object>(Arrays.asList(primaryKeys));
+        Set<Object> pKeys = new LinkedHashSet<Object>(Arrays.asList(primaryKeys));
+
+        EntityMetadata entityMetadata = getMetadata(entityClass);
+        MainCache mainCache = (MainCache) getPersistenceCache().getMainCache();
+
+        // Partition keys into persistence cache hits and misses.
+        List<Object> missedKeys = new ArrayList<Object>(pKeys.size());
         for (Object primaryKey : pKeys)
         {
-            E e = find(entityClass, primaryKey);
-            if (e != null)
+            if (primaryKey == null)
+            {
+                throw new IllegalArgumentException("PrimaryKey value must not be null for object you want to find.");
+            }
+
+            Node node = mainCache.getNodeFromCache(ObjectGraphUtils.getNodeId(primaryKey, entityClass), this);
+            if (node == null || node.isDirty())
+            {
+                missedKeys.add(primaryKey);
+            }
+            else
+            {
+                E e = find(entityClass, primaryKey);
+                if (e != null)
+                    entities.add(e);
+            }
+        }
+
+        if (missedKeys.isEmpty())
+        {
+            return entities;
+        }
+
+        // cache hits are timed by find of single key.
+        long start = metrics.startTimer();
+        int findBatchSize = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata,
+                entityMetadata.getPersistenceUnit()).getFindBatchSize();
+
+        for (int from = 0; from < missedKeys.size(); from += findBatchSize)
+        {
+            List<Object> chunk = missedKeys.subList(from, Math.min(from + findBatchSize, missedKeys.size()));
+            entities.addAll(findAll(entityClass, entityMetadata, chunk));
+        }
+        metrics.stopTimer(MetricsConstants.FIND, entityClass.getName(), start);
+        return entities;
+    }
+
+    /**
+     * Fetches entities for given primary keys in a single client call and adds
+     * them into persistence cache.
+     * 
+     * @param entityClass
+     *            entity class
+     * @param entityMetadata
+     *            entity metadata
+     * @param primaryKeys
+     *            primary keys, not present within persistence cache.
+     * @return list of found entities.
+     */
+    private <E> List<E> findAll(Class<E> entityClass, EntityMetadata entityMetadata, List<Object> primaryKeys)
+    {
+        List<E> entities = new ArrayList<E>(primaryKeys.size());
+        Client client = getClient(entityMetadata);
+
+        if (primaryKeys.size() == 1
+                || !KunderaMetadataManager.isMultiGetApplicable(getKunderaMetadata(), entityMetadata))
+        {
+            // Either single key or entity whose rows are not read as a whole
+            // by multi-get, fall back on find by primary key.
+            for (Object primaryKey : primaryKeys)
+            {
+                E e = find(entityClass, primaryKey);
+                if (e != null)
+                    entities.add(e);
+            }
+            return entities;
+        }
+
+        List results = null;
+        try
+        {
+            lock.readLock().lock();
+            results = client.findAll(entityClass, null, primaryKeys.toArray());
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+
+        if (results == null)
+        {
+            return entities;
+        }
+
+        for (Object result : results)
+        {
+            if (result == null)
+            {
+                continue;
+            }
+
+            EnhanceEntity ee = result instanceof EnhanceEntity ? (EnhanceEntity) result : new EnhanceEntity(result,
+                    PropertyAccessorHelper.getId(result, entityMetadata), null);
+            if (ee.getEntity() == null)
+            {
+                continue;
+            }
+
+            Object primaryKey = PropertyAccessorHelper.getId(ee.getEntity(), entityMetadata);
+            Node node = new Node(ObjectGraphUtils.getNodeId(primaryKey, entityClass), entityClass, new ManagedState(),
+                    getPersistenceCache(), primaryKey, this);
+            node.setClient(client);
+            node.setPersistenceDelegator(this);
+
+            try
+            {
+                lock.readLock().lock();
+                node.find(ee);
+            }
+            finally
+            {
+                lock.readLock().unlock();
+            }
+
+            Object nodeData = node.getData();
+            if (nodeData != null)
+            {
+                E e = (E) ObjectUtils.deepCopy(nodeData, getKunderaMetadata());
+                onSetProxyOwners(entityMetadata, e);
                 entities.add(e);
+            }
         }
         return entities;
     }
@@ -320,6 +456,7 @@ public final class PersistenceDelegator
             throw new IllegalArgumentException("Entity to be removed must not be null.");
         }
 
+        long start = metrics.startTimer();
         EntityMetadata metadata = getMetadata(e.getClass());
 
         // Create an object graph of the entity object
@@ -344,7 +481,7 @@ public final class PersistenceDelegator
 
             // build flush stack.
 
-            flushManager.buildFlushStack(node, EventType.DELETE);
+            buildFlushStack(node, EventType.DELETE);
 
             // Flush node.
             flush();
@@ -356,6 +493,7 @@ public final class PersistenceDelegator
         // clear out graph
         graph.clear();
         graph = null;
+        metrics.stopTimer(MetricsConstants.REMOVE, e.getClass().getName(), start);
 
         if (log.isDebugEnabled())
             log.debug("Data removed successfully for entity : " + e.getClass());
@@ -382,7 +520,7 @@ public final class PersistenceDelegator
             boolean isBatch = false;
             while (!fs.isEmpty())
             {
-                Node node = fs.pop();
+                Node node = flushManager.popFlushStack();
 
                 // Only nodes in Managed and Removed state are flushed, rest
                 // are ignored
@@ -432,6 +570,7 @@ public final class PersistenceDelegator
             throw new IllegalArgumentException("Entity to be merged must not be null.");
         }
 
+        long start = metrics.startTimer();
         EntityMetadata m = getMetadata(e.getClass());
 
         // Create an object graph of the entity object to be merged
@@ -449,7 +588,7 @@ public final class PersistenceDelegator
 
             // build flush stack.
 
-            flushManager.buildFlushStack(node, EventType.UPDATE);
+            buildFlushStack(node, EventType.UPDATE);
 
             flush();
         }
@@ -459,10 +598,26 @@ public final class PersistenceDelegator
         }
         graph.clear();
         graph = null;
+        metrics.stopTimer(MetricsConstants.MERGE, e.getClass().getName(), start);
 
         return (E) node.getData();
     }
 
+    /**
+     * Builds flush stack of given head node, timing it.
+     * 
+     * @param node
+     *            head node
+     * @param eventType
+     *            event type
+     */
+    private void buildFlushStack(Node node, EventType eventType)
+    {
+        long start = metrics.startTimer();
+        flushManager.buildFlushStack(node, eventType);
+        metrics.stopTimer(MetricsConstants.FLUSH_STACK, node.getDataClass().getName(), start);
+    }
+
     /**
      * Remove the given entity from the persistence context, causing a managed
      * entity to become detached.
@@ -574,18 +729,24 @@ public final class PersistenceDelegator
      */
     void close()
     {
-        doFlush();
-        eventDispatcher = null;
-
-        // Close all clients created in this session
-        if (clientMap != null && !clientMap.isEmpty())
+        try
         {
-            for (Client client : clientMap.values())
+            doFlush();
+        }
+        finally
+        {
+            eventDispatcher = null;
+
+            // Close all clients created in this session
+            if (clientMap != null && !clientMap.isEmpty())
             {
-                client.close();
+                for (Client client : clientMap.values())
+                {
+                    client.close();
+                }
+                clientMap.clear();
+                clientMap = null;
             }
-            clientMap.clear();
-            clientMap = null;
         }
 
         onClearProxy();
@@ -733,6 +894,7 @@ public final class PersistenceDelegator
         flushManager.clearFlushStack();
         isTransactionInProgress = false;
         enableFlush = false;
+        flushIndexes();
     }
 
     /**
@@ -746,6 +908,25 @@ public final class PersistenceDelegator
         enableFlush = false;
         flushManager.commit();
         flushManager.clearFlushStack();
+        flushIndexes();
+    }
+
+    /**
+     * Writes out index requests buffered by indexers of clients in this
+     * session, reporting their failures to caller of flush or commit.
+     */
+    private void flushIndexes()
+    {
+        if (clientMap != null)
+        {
+            for (Client client : clientMap.values())
+            {
+                if (client.getIndexManager() != null)
+                {
+                    client.getIndexManager().flush();
+                }
+            }
+        }
     }
 
     void rollback()
@@ -829,7 +1010,7 @@ public final class PersistenceDelegator
                 {
                     // if no batch operation performed{may be running in
                     // transaction?}
-                    if (((Batcher) client).getBatchSize() == 0 || ((Batcher) client).executeBatch() > 0)
+                    if (((Batcher) client).getBatchSize() == 0 || executeBatch((Batcher) client) > 0)
                     {
                         flushJoinTableData();
                     }
@@ -838,6 +1019,23 @@ public final class PersistenceDelegator
         }
     }
 
+    /**
+     * Executes batch of given client, recording its time and size.
+     * 
+     * @param batcher
+     *            batching client
+     * @return number of executed operations.
+     */
+    private int executeBatch(Batcher batcher)
+    {
+        long start = metrics.startTimer();
+        int executed = batcher.executeBatch();
+        String scope = batcher.getClass().getName();
+        metrics.stopTimer(MetricsConstants.BATCH_EXECUTE, scope, start);
+        metrics.recordValue(MetricsConstants.BATCH_SIZE, scope, executed);
+        return executed;
+    }
+
     /**
      * On flushing join table data
      */
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence.api;
+
+import java.util.concurrent.Future;
+
+/**
+ * {@link Batcher} which can write batches asynchronously, if
+ * kundera.batch.async is enabled. Full batches are then handed to a
+ * {@link BatchFlusher} instead of being written on caller's thread, and
+ * {@link #executeBatch()} acts as a barrier waiting for all batches in flight.
+ */
+public interface AsyncBatcher extends Batcher
+{
+    /**
+     * Hands current batch to flusher, blocking while maximum number of batches
+     * are in flight.
+     * 
+     * @return future of number of records written by batch.
+     * @throws IllegalStateException
+     *             if asynchronous batching is not enabled.
+     */
+    Future<Integer> executeBatchAsync();
+}
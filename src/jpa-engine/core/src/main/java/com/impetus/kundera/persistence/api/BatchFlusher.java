@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence.api;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import com.impetus.kundera.KunderaException;
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
+import com.impetus.kundera.utils.KunderaThreadFactory;
+
+/**
+ * Writes batches of an {@link AsyncBatcher} on a bounded pool of flusher
+ * threads. Callers block while maximum number of batches are in flight, and
+ * {@link #await()} waits for all submitted batches, e.g. on commit. With more
+ * than one flusher thread batches may be written out of order.
+ */
+public final class BatchFlusher
+{
+    private final ExecutorService executor;
+
+    private final Semaphore inFlight;
+
+    private final List<Future<Integer>> pending = new ArrayList<Future<Integer>>();
+
+    /** Records written by completed batches dropped from pending, guarded by pending. */
+    private int completedRecords;
+
+    /** First failure of completed batches dropped from pending, guarded by pending. */
+    private Throwable completedFailure;
+
+    /**
+     * Instantiates a new flusher.
+     * 
+     * @param name
+     *            name of flusher threads.
+     * @param threads
+     *            number of flusher threads.
+     * @param maxInFlight
+     *            maximum number of batches in flight.
+     */
+    public BatchFlusher(String name, int threads, int maxInFlight)
+    {
+        this.executor = Executors.newFixedThreadPool(threads, new KunderaThreadFactory(name));
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Returns flusher configured by persistence unit, with external properties
+     * taking precedence, or null if kundera.batch.async is not enabled.
+     * 
+     * @param name
+     *            name of flusher threads.
+     * @param puMetadata
+     *            persistence unit metadata.
+     * @param puProperties
+     *            external properties, may be null.
+     * @return batch flusher or null.
+     */
+    public static BatchFlusher getInstance(String name, PersistenceUnitMetadata puMetadata,
+            Map<String, Object> puProperties)
+    {
+        Object async = puProperties != null ? puProperties.get(PersistenceProperties.KUNDERA_BATCH_ASYNC) : null;
+        if (!(async != null ? Boolean.parseBoolean(async.toString()) : puMetadata.isBatchAsync()))
+        {
+            return null;
+        }
+        Object threads = puProperties != null ? puProperties.get(PersistenceProperties.KUNDERA_BATCH_ASYNC_THREADS)
+                : null;
+        Object maxInFlight = puProperties != null ? puProperties
+                .get(PersistenceProperties.KUNDERA_BATCH_MAX_IN_FLIGHT) : null;
+        return new BatchFlusher(name, threads != null ? Integer.parseInt(threads.toString())
+                : puMetadata.getBatchAsyncThreads(), maxInFlight != null ? Integer.parseInt(maxInFlight.toString())
+                : puMetadata.getBatchMaxInFlight());
+    }
+
+    /**
+     * Submits batch, blocking while maximum number of batches are in flight.
+     * 
+     * @param batch
+     *            batch returning number of records written.
+     * @return future of number of records written.
+     */
+    public Future<Integer> submit(final Callable<Integer> batch)
+    {
+        try
+        {
+            inFlight.acquire();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new KunderaException(e);
+        }
+
+        Future<Integer> future;
+        try
+        {
+            future = executor.submit(new Callable<Integer>()
+            {
+                @Override
+                public Integer call() throws Exception
+                {
+                    try
+                    {
+                        return batch.call();
+                    }
+                    finally
+                    {
+                        inFlight.release();
+                    }
+                }
+            });
+        }
+        catch (RejectedExecutionException e)
+        {
+            inFlight.release();
+            throw new KunderaException(e);
+        }
+
+        synchronized (pending)
+        {
+            // completed batches are dropped, so that pending does not grow
+            // until next await.
+            Iterator<Future<Integer>> iterator = pending.iterator();
+            while (iterator.hasNext())
+            {
+                Future<Integer> completed = iterator.next();
+                if (completed.isDone())
+                {
+                    try
+                    {
+                        completedRecords += completed.get();
+                    }
+                    catch (ExecutionException e)
+                    {
+                        completedFailure = completedFailure != null ? completedFailure : e.getCause();
+                    }
+                    catch (InterruptedException e)
+                    {
+                        // left for await to report.
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    iterator.remove();
+                }
+            }
+            pending.add(future);
+        }
+        return future;
+    }
+
+    /**
+     * Waits for all submitted batches to be written.
+     * 
+     * @return number of records written by them.
+     * @throws KunderaException
+     *             first failure of any of them.
+     */
+    public int await()
+    {
+        List<Future<Integer>> futures;
+        int recordsExecuted;
+        Throwable failure;
+        synchronized (pending)
+        {
+            futures = new ArrayList<Future<Integer>>(pending);
+            pending.clear();
+            recordsExecuted = completedRecords;
+            failure = completedFailure;
+            completedRecords = 0;
+            completedFailure = null;
+        }
+
+        for (Future<Integer> future : futures)
+        {
+            try
+            {
+                recordsExecuted += future.get();
+            }
+            catch (ExecutionException e)
+            {
+                failure = failure != null ? failure : e.getCause();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                failure = failure != null ? failure : e;
+            }
+        }
+
+        if (failure instanceof KunderaException)
+        {
+            throw (KunderaException) failure;
+        }
+        else if (failure != null)
+        {
+            throw new KunderaException(failure);
+        }
+        return recordsExecuted;
+    }
+
+    /**
+     * Waits for batches in flight and stops flusher threads.
+     * 
+     * @throws KunderaException
+     *             first failure of batches in flight.
+     */
+    public void shutdown()
+    {
+        try
+        {
+            await();
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+}
@@ -19,25 +19,38 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.impetus.kundera.Constants;
 import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.graph.NodeLink;
 import com.impetus.kundera.graph.ObjectGraph;
 import com.impetus.kundera.graph.ObjectGraphUtils;
 import com.impetus.kundera.lifecycle.states.ManagedState;
+import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
+import com.impetus.kundera.metrics.MetricsCollector;
+import com.impetus.kundera.metrics.MetricsConstants;
 import com.impetus.kundera.persistence.PersistenceDelegator;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.utils.ObjectUtils;
 
 /**
- * Base class for all cache required in persistence context
+ * Base class for all cache required in persistence context. Cache may be
+ * bounded by number of nodes and/or their estimated size in bytes, in which
+ * case least recently used nodes are evicted, as long as they are managed,
+ * not dirty and not pending flush.
  * 
  * @author amresh.singh
  */
@@ -45,6 +58,12 @@ public class CacheBase
 {
     private static Logger log = LoggerFactory.getLogger(CacheBase.class);
 
+    /** Estimated overhead of a node and its mapping, in bytes. */
+    private static final long NODE_OVERHEAD = 256;
+
+    /** Estimated size of a reference to an object counted elsewhere. */
+    private static final long REFERENCE_SIZE = 16;
+
     private Map<String, Node> nodeMappings;
 
     private Set<Node> headNodes;
@@ -53,19 +72,81 @@ public class CacheBase
 
     private PersistenceCache persistenceCache;
 
+    /** Maximum number of nodes kept, 0 if unbounded. */
+    private final int maxEntries;
+
+    /** Maximum estimated size of nodes kept in bytes, 0 if unbounded. */
+    private final long maxBytes;
+
+    /**
+     * Estimated size of each node, least recently used first. Kept only if
+     * cache is bounded.
+     */
+    private final LinkedHashMap<String, Long> lru;
+
+    private long estimatedBytes;
+
+    private long evictions;
+
+    private FlushManager flushManager;
+
     public CacheBase(com.impetus.kundera.cache.Cache l2Cache, PersistenceCache pc)
+    {
+        this(l2Cache, pc, 0, 0);
+    }
+
+    /**
+     * Instantiates a bounded cache.
+     * 
+     * @param l2Cache
+     *            second level cache, may be null
+     * @param pc
+     *            persistence cache
+     * @param maxEntries
+     *            maximum number of nodes kept, 0 if unbounded
+     * @param maxBytes
+     *            maximum estimated size of nodes kept in bytes, 0 if unbounded
+     */
+    public CacheBase(com.impetus.kundera.cache.Cache l2Cache, PersistenceCache pc, int maxEntries, long maxBytes)
     {
         this.headNodes = new HashSet<Node>();
         this.nodeMappings = new ConcurrentHashMap<String, Node>();
         this.l2Cache = l2Cache;
         this.persistenceCache = pc;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.lru = maxEntries > 0 || maxBytes > 0 ? new LinkedHashMap<String, Long>(16, 0.75f, true) : null;
     }
 
     public Node getNodeFromCache(String nodeId, PersistenceDelegator pd)
     {
         Node node = nodeMappings.get(nodeId);
+        if (node != null && lru != null)
+        {
+            synchronized (this)
+            {
+                lru.get(nodeId);
+            }
+        }
+        MetricsCollector metrics = pd != null ? pd.getKunderaMetadata().getApplicationMetadata()
+                .getMetricsCollector() : null;
+        String scope = metrics != null && metrics.isEnabled() ? nodeId.substring(0,
+                nodeId.indexOf(Constants.NODE_ID_SEPARATOR)) : null;
+        if (scope != null)
+        {
+            metrics.recordValue(MetricsConstants.L1_CACHE, scope, node != null ? 1 : 0);
+        }
+
         // if not present in first level cache, check from second level cache.
-        return node != null ? node : lookupL2Cache(nodeId, pd);
+        if (node == null)
+        {
+            node = lookupL2Cache(nodeId, pd);
+            if (scope != null && l2Cache != null)
+            {
+                metrics.recordValue(MetricsConstants.L2_CACHE, scope, node != null ? 1 : 0);
+            }
+        }
+        return node;
     }
 
     public Node getNodeFromCache(Object entity, EntityMetadata entityMetadata, PersistenceDelegator pd)
@@ -145,6 +226,128 @@ public class CacheBase
         {
             node.getPersistenceCache().getMainCache().addHeadNode(node);
         }
+
+        if (lru != null)
+        {
+            onAdd(node);
+        }
+    }
+
+    private synchronized void onAdd(Node node)
+    {
+        long size = estimateSize(node);
+        Long previous = lru.put(node.getNodeId(), size);
+        estimatedBytes += size - (previous != null ? previous : 0);
+
+        // never evict node being added.
+        Iterator<Map.Entry<String, Long>> entries = lru.entrySet().iterator();
+        while (isFull() && entries.hasNext())
+        {
+            Map.Entry<String, Long> entry = entries.next();
+            Node eldest = nodeMappings.get(entry.getKey());
+            if (eldest == null || (eldest != node && isEvictable(eldest)))
+            {
+                entries.remove();
+                estimatedBytes -= entry.getValue();
+                if (eldest != null)
+                {
+                    nodeMappings.remove(entry.getKey());
+                    headNodes.remove(eldest);
+                    evictions++;
+                    logCacheEvent("EVICTED FROM ", entry.getKey());
+                }
+            }
+        }
+    }
+
+    private boolean isFull()
+    {
+        return (maxEntries > 0 && lru.size() > maxEntries) || (maxBytes > 0 && estimatedBytes > maxBytes);
+    }
+
+    private boolean isEvictable(Node node)
+    {
+        return !node.isDirty() && node.isInState(ManagedState.class)
+                && (flushManager == null || !flushManager.isPendingFlush(node));
+    }
+
+    private synchronized void onRemove(String nodeId)
+    {
+        Long size = lru.remove(nodeId);
+        if (size != null)
+        {
+            estimatedBytes -= size;
+        }
+    }
+
+    /**
+     * Estimates size of node in bytes, from values of its entity's
+     * attributes. Related entities are counted as references, as they are
+     * held by nodes of their own.
+     */
+    private static long estimateSize(Node node)
+    {
+        long size = NODE_OVERHEAD;
+        Object entity = node.getData();
+        PersistenceDelegator pd = node.getPersistenceDelegator();
+        if (entity == null || pd == null)
+        {
+            return size;
+        }
+
+        EntityMetadata m = KunderaMetadataManager.getEntityMetadata(pd.getKunderaMetadata(), entity.getClass());
+        if (m == null)
+        {
+            return size;
+        }
+        EntityType entityType = KunderaMetadataManager.getMetamodel(pd.getKunderaMetadata(), m.getPersistenceUnit())
+                .entity(m.getEntityClazz());
+        for (Object attribute : entityType.getAttributes())
+        {
+            size += REFERENCE_SIZE + estimateSize(((AbstractAttribute) attribute).getFieldAccessor().get(entity));
+        }
+        return size;
+    }
+
+    private static long estimateSize(Object value)
+    {
+        if (value == null)
+        {
+            return 0;
+        }
+        else if (value instanceof String)
+        {
+            return 40 + 2 * ((String) value).length();
+        }
+        else if (value instanceof byte[])
+        {
+            return 16 + ((byte[]) value).length;
+        }
+        else if (value instanceof Collection)
+        {
+            long size = 32;
+            for (Object element : (Collection<?>) value)
+            {
+                size += REFERENCE_SIZE + estimateSize(element);
+            }
+            return size;
+        }
+        else if (value instanceof Map)
+        {
+            long size = 32;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+            {
+                size += 32 + estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+            }
+            return size;
+        }
+        else if (value instanceof Number || value instanceof Boolean || value instanceof Character
+                || value instanceof Enum)
+        {
+            return 16;
+        }
+        // embeddables, related entities and anything else.
+        return REFERENCE_SIZE;
     }
 
     public synchronized void removeNodeFromCache(Node node)
@@ -159,6 +362,11 @@ public class CacheBase
             nodeMappings.remove(node.getNodeId());
         }
 
+        if (lru != null)
+        {
+            onRemove(node.getNodeId());
+        }
+
         evictFroml2Cache(node);
         logCacheEvent("REMOVED FROM ", node.getNodeId());
         node = null; // Eligible for GC
@@ -198,6 +406,30 @@ public class CacheBase
     public void setNodeMappings(Map<String, Node> nodeMappings)
     {
         this.nodeMappings = nodeMappings;
+        if (lru != null)
+        {
+            synchronized (this)
+            {
+                lru.clear();
+                estimatedBytes = 0;
+            }
+            for (Node node : nodeMappings.values())
+            {
+                onAdd(node);
+            }
+        }
+    }
+
+    /**
+     * Sets flush manager of persistence context, so that nodes pending flush
+     * are never evicted.
+     * 
+     * @param flushManager
+     *            flush manager.
+     */
+    public void setFlushManager(FlushManager flushManager)
+    {
+        this.flushManager = flushManager;
     }
 
     public synchronized void addHeadNode(Node headNode)
@@ -210,6 +442,22 @@ public class CacheBase
         return nodeMappings.size();
     }
 
+    /**
+     * @return estimated size of nodes kept in bytes, 0 if cache is unbounded.
+     */
+    public synchronized long getEstimatedBytes()
+    {
+        return estimatedBytes;
+    }
+
+    /**
+     * @return number of nodes evicted as least recently used.
+     */
+    public synchronized long getEvictionCount()
+    {
+        return evictions;
+    }
+
     public Collection<Node> getAllNodes()
     {
         return nodeMappings.values();
@@ -230,6 +478,15 @@ public class CacheBase
             this.headNodes.clear();
         }
 
+        if (this.lru != null)
+        {
+            synchronized (this)
+            {
+                lru.clear();
+                estimatedBytes = 0;
+            }
+        }
+
         if (this.l2Cache != null)
         {
             l2Cache.evictAll();
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -62,6 +63,12 @@ public class FlushManager
      */
     private Deque<Node> stackQueue;
 
+    /**
+     * Number of times each node is present in flush stack, by identity, so
+     * that pending nodes are looked up without scanning the stack.
+     */
+    private Map<Node, Integer> pendingNodes = new IdentityHashMap<Node, Integer>();
+
     /**
      * Map containing data required for inserting records for each join table.
      * Key -> Name of Join Table Value -> records to be persisted in the join
@@ -201,7 +208,7 @@ public class FlushManager
                 {
                     // Push this node to stack
                     node.setTraversed(true);
-                    stackQueue.push(node);
+                    pushNode(node);
                     logEvent(node, eventType);
                 }
 
@@ -259,7 +266,7 @@ public class FlushManager
                 {
                     // Push this node to stack
                     node.setTraversed(true);
-                    stackQueue.push(node);
+                    pushNode(node);
                     logEvent(node, eventType);
                 }
 
@@ -276,7 +283,7 @@ public class FlushManager
                 {
                     // Push this node to stack
                     node.setTraversed(true);
-                    stackQueue.push(node);
+                    pushNode(node);
                     logEvent(node, eventType);
                 }
 
@@ -317,7 +324,7 @@ public class FlushManager
                 else if (!childNode.isDirty())
                 {
                     childNode.setTraversed(true);
-                    stackQueue.push(childNode);
+                    pushNode(childNode);
                     logEvent(childNode, eventType);
                 }
             }
@@ -330,7 +337,7 @@ public class FlushManager
         if (!node.isTraversed() && node.isDirty())
         {
             node.setTraversed(true);
-            stackQueue.push(node);
+            pushNode(node);
             logEvent(node, eventType);
         }
     }
@@ -345,6 +352,59 @@ public class FlushManager
         return stackQueue;
     }
 
+    /**
+     * Returns true, if node is waiting in flush stack.
+     * 
+     * @param node
+     *            the node
+     * @return true, if pending flush.
+     */
+    public boolean isPendingFlush(Node node)
+    {
+        synchronized (pendingNodes)
+        {
+            return pendingNodes.containsKey(node);
+        }
+    }
+
+    /**
+     * Pops node on top of flush stack.
+     * 
+     * @return the node, or null if flush stack is empty.
+     */
+    public Node popFlushStack()
+    {
+        Node node = stackQueue.poll();
+        if (node != null)
+        {
+            synchronized (pendingNodes)
+            {
+                Integer count = pendingNodes.remove(node);
+                if (count != null && count > 1)
+                {
+                    pendingNodes.put(node, count - 1);
+                }
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Pushes node to flush stack.
+     * 
+     * @param node
+     *            the node
+     */
+    private void pushNode(Node node)
+    {
+        stackQueue.push(node);
+        synchronized (pendingNodes)
+        {
+            Integer count = pendingNodes.get(node);
+            pendingNodes.put(node, count == null ? 1 : count + 1);
+        }
+    }
+
     /**
      * Gets the join table data map.
      * 
@@ -365,6 +425,10 @@ public class FlushManager
         {
             stackQueue.clear();
         }
+        synchronized (pendingNodes)
+        {
+            pendingNodes.clear();
+        }
         if (joinTableDataCollection != null && !joinTableDataCollection.isEmpty())
         {
             joinTableDataCollection.clear();
@@ -29,4 +29,9 @@ public class MainCache extends CacheBase
         super(l2Cache,pc);
     }
 
+    public MainCache(com.impetus.kundera.cache.Cache l2Cache, PersistenceCache pc, int maxEntries, long maxBytes)
+    {
+        super(l2Cache, pc, maxEntries, maxBytes);
+    }
+
 }
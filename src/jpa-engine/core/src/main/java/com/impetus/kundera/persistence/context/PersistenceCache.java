@@ -64,6 +64,22 @@ public class PersistenceCache
         initialize(l2Cache,this);
     }
 
+    /**
+     * Instantiates a persistence cache, bounding its main cache.
+     * 
+     * @param l2Cache
+     *            second level cache, may be null
+     * @param maxEntries
+     *            maximum number of entities kept, 0 if unbounded
+     * @param maxBytes
+     *            maximum estimated size of entities kept in bytes, 0 if
+     *            unbounded
+     */
+    public PersistenceCache(com.impetus.kundera.cache.Cache l2Cache, int maxEntries, long maxBytes)
+    {
+        mainCache = new MainCache(l2Cache, this, maxEntries, maxBytes);
+    }
+
     private void initialize(com.impetus.kundera.cache.Cache l2Cache, PersistenceCache pc)
     {
         mainCache = new MainCache(l2Cache,this);
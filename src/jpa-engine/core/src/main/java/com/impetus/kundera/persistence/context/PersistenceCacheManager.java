@@ -88,4 +88,23 @@ public class PersistenceCacheManager
         mainCache.addNodeToCache(node);
     }
 
+    /**
+     * Detaches entity and drops its node from persistence cache, so that it
+     * can be garbage collected.
+     * 
+     * @param entity
+     * @param pd
+     * @param entityId
+     */
+    public static void removeEntityFromPersistenceCache(Object entity, PersistenceDelegator pd, Object entityId)
+    {
+        MainCache mainCache = (MainCache) pd.getPersistenceCache().getMainCache();
+        Node node = mainCache.getNodeFromCache(ObjectGraphUtils.getNodeId(entityId, entity.getClass()), pd);
+        if (node != null)
+        {
+            node.detach();
+            mainCache.removeNodeFromCache(node);
+        }
+    }
+
 }
@@ -0,0 +1,338 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.property;
+
+import java.lang.reflect.Field;
+
+/**
+ * Accessor of a single entity or embeddable field, built once per attribute
+ * at metamodel load and cached on it. Unlike {@link PropertyAccessorHelper},
+ * field is made accessible and its {@link PropertyAccessor} resolved only
+ * once. Values of primitive fields can be read and written without boxing,
+ * through a {@link PrimitiveFieldAccess} generated for the field.
+ *
+ * @see com.impetus.kundera.metadata.model.attributes.AbstractAttribute#getFieldAccessor()
+ */
+public final class FieldAccessor
+{
+    private final Field field;
+
+    private final PropertyAccessor<?> accessor;
+
+    private final PrimitiveFieldAccess primitiveAccess;
+
+    /**
+     * Instantiates a new field accessor.
+     *
+     * @param field
+     *            field to be accessed.
+     */
+    public FieldAccessor(Field field)
+    {
+        if (!field.isAccessible())
+        {
+            field.setAccessible(true);
+        }
+        this.field = field;
+        this.accessor = PropertyAccessorFactory.getPropertyAccessor(field);
+        this.primitiveAccess = PrimitiveFieldAccess.forField(field);
+    }
+
+    /**
+     * @return accessed field.
+     */
+    public Field getField()
+    {
+        return field;
+    }
+
+    /**
+     * @return property accessor of field type.
+     */
+    public PropertyAccessor<?> getPropertyAccessor()
+    {
+        return accessor;
+    }
+
+    /**
+     * Gets field value.
+     *
+     * @param target
+     *            the target
+     * @return the value
+     * @throws PropertyAccessException
+     *             the property access exception
+     */
+    public Object get(Object target)
+    {
+        try
+        {
+            return field.get(target);
+        }
+        catch (IllegalArgumentException iarg)
+        {
+            throw new PropertyAccessException(iarg);
+        }
+        catch (IllegalAccessException iacc)
+        {
+            throw new PropertyAccessException(iacc);
+        }
+    }
+
+    /**
+     * Gets copy of field value.
+     *
+     * @param target
+     *            the target
+     * @return copy of the value
+     * @throws PropertyAccessException
+     *             the property access exception
+     */
+    public Object getCopy(Object target)
+    {
+        return accessor.getCopy(get(target));
+    }
+
+    /**
+     * Sets field value.
+     *
+     * @param target
+     *            the target
+     * @param value
+     *            the value
+     * @throws PropertyAccessException
+     *             the property access exception
+     */
+    public void set(Object target, Object value)
+    {
+        try
+        {
+            field.set(target, value);
+        }
+        catch (IllegalArgumentException iarg)
+        {
+            throw new PropertyAccessException(iarg);
+        }
+        catch (IllegalAccessException iacc)
+        {
+            throw new PropertyAccessException(iacc);
+        }
+    }
+
+    /**
+     * Sets field value from its byte representation.
+     *
+     * @param target
+     *            the target
+     * @param bytes
+     *            the bytes
+     * @throws PropertyAccessException
+     *             the property access exception
+     */
+    public void set(Object target, byte[] bytes)
+    {
+        set(target, accessor.fromBytes(field.getType(), bytes));
+    }
+
+    /**
+     * Sets field value from its string representation.
+     *
+     * @param target
+     *            the target
+     * @param value
+     *            the string value
+     * @throws PropertyAccessException
+     *             the property access exception
+     */
+    public void set(Object target, String value)
+    {
+        set(target, accessor.fromString(field.getType(), value));
+    }
+
+    /**
+     * Gets long field value, without boxing it.
+     *
+     * @param target
+     *            the target
+     * @return the value
+     * @throws PropertyAccessException
+     *             the property access exception
+     */
+    public long getLong(Object target)
+    {
+        return primitiveAccess.getLong(target);
+    }
+
+    /**
+     * Sets long field value, without boxing it.
+     *
+     * @param target
+     *            the target
+     * @param value
+     *            the value
+     * @throws PropertyAccessException
+     *             the property access exception
+     */
+    public void setLong(Object target, long value)
+    {
+        primitiveAccess.setLong(target, value);
+    }
+
+    /**
+     * Gets int field value, without boxing it.
+     *
+     * @param target
+     *            the target
+     * @return the value
+     * @throws PropertyAccessException
+     *             the property access exception
+     */
+    public int getInt(Object target)
+    {
+        return primitiveAccess.getInt(target);
+    }
+
+    /**
+     * Sets int field value, without boxing it.
+     *
+     * @param target
+     *            the target
+     * @param value
+     *            the value
+     * @throws PropertyAccessException
+     *             the property access exception
+     */
+    public void setInt(Object target, int value)
+    {
+        primitiveAccess.setInt(target, value);
+    }
+
+    /**
+     * Gets short field value, without boxing it.
+     *
+     * @param target
+     *            the target
+     * @return the value
+     * @throws PropertyAccessException
+     *             the property access exception
+     */
+    public short getShort(Object target)
+    {
+        return primitiveAccess.getShort(target);
+    }
+
+    /**
+     * Sets short field value, without boxing it.
+     *
+     * @param target
+     *            the target
+     * @param value
+     *            the value
+     * @throws PropertyAccessException
+     *             the property access exception
+     */
+    public void setShort(Object target, short value)
+    {
+        primitiveAccess.setShort(target, value);
+    }
+
+    /**
+     * Gets double field value, without boxing it.
+     *
+     * @param target
+     *            the target
+     * @return the value
+     * @throws PropertyAccessException
+     *             the property access exception
+     */
+    public double getDouble(Object target)
+    {
+        return primitiveAccess.getDouble(target);
+    }
+
+    /**
+     * Sets double field value, without boxing it.
+     *
+     * @param target
+     *            the target
+     * @param value
+     *            the value
+     * @throws PropertyAccessException
+     *             the property access exception
+     */
+    public void setDouble(Object target, double value)
+    {
+        primitiveAccess.setDouble(target, value);
+    }
+
+    /**
+     * Gets float field value, without boxing it.
+     *
+     * @param target
+     *            the target
+     * @return the value
+     * @throws PropertyAccessException
+     *             the property access exception
+     */
+    public float getFloat(Object target)
+    {
+        return primitiveAccess.getFloat(target);
+    }
+
+    /**
+     * Sets float field value, without boxing it.
+     *
+     * @param target
+     *            the target
+     * @param value
+     *            the value
+     * @throws PropertyAccessException
+     *             the property access exception
+     */
+    public void setFloat(Object target, float value)
+    {
+        primitiveAccess.setFloat(target, value);
+    }
+
+    /**
+     * Gets boolean field value, without boxing it.
+     *
+     * @param target
+     *            the target
+     * @return the value
+     * @throws PropertyAccessException
+     *             the property access exception
+     */
+    public boolean getBoolean(Object target)
+    {
+        return primitiveAccess.getBoolean(target);
+    }
+
+    /**
+     * Sets boolean field value, without boxing it.
+     *
+     * @param target
+     *            the target
+     * @param value
+     *            the value
+     * @throws PropertyAccessException
+     *             the property access exception
+     */
+    public void setBoolean(Object target, boolean value)
+    {
+        primitiveAccess.setBoolean(target, value);
+    }
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.property;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link PropertyAccessor} of a type with fixed length byte representation,
+ * which can be encoded into and decoded from caller supplied arrays or
+ * buffers, at any offset, without allocating intermediate arrays. Encoding is
+ * same as of {@link #toBytes(Object)} and is independent of byte order of
+ * buffers. Primitive values are read and written without boxing through
+ * static readers and writers of implementations, such as
+ * {@link com.impetus.kundera.property.accessor.LongAccessor#readLong(byte[], int)}.
+ *
+ * @param <T>
+ *            the generic type
+ */
+public interface FixedLengthAccessor<T> extends PropertyAccessor<T>
+{
+    /**
+     * Returns number of bytes a value is encoded to.
+     *
+     * @return encoded length.
+     */
+    int getLength();
+
+    /**
+     * Encodes object into array.
+     *
+     * @param object
+     *            the object
+     * @param dest
+     *            destination array
+     * @param offset
+     *            offset in destination
+     * @return number of bytes written, 0 if object is null.
+     */
+    int writeTo(Object object, byte[] dest, int offset);
+
+    /**
+     * Encodes object into buffer, without changing its position.
+     *
+     * @param object
+     *            the object
+     * @param dest
+     *            destination buffer
+     * @param offset
+     *            absolute offset in destination
+     * @return number of bytes written, 0 if object is null.
+     */
+    int writeTo(Object object, ByteBuffer dest, int offset);
+
+    /**
+     * Decodes value from array.
+     *
+     * @param src
+     *            source array
+     * @param offset
+     *            offset in source
+     * @return the value
+     */
+    T readFrom(byte[] src, int offset);
+
+    /**
+     * Decodes value from buffer, without changing its position.
+     *
+     * @param src
+     *            source buffer
+     * @param offset
+     *            absolute offset in source
+     * @return the value
+     */
+    T readFrom(ByteBuffer src, int offset);
+}
@@ -0,0 +1,490 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.property;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads and writes primitive field values without boxing them. This class
+ * goes through {@link Field#getLong(Object)} and like methods, for a
+ * primitive field {@link #forField(Field)} generates a subclass, in package
+ * and class loader of field's class, which accesses the field directly or,
+ * if it is private, through its public getter and setter. Generated
+ * accessor overrides only methods of field's own type, other types are
+ * read and written as widened by {@link Field}.
+ *
+ * @see FieldAccessor
+ */
+public class PrimitiveFieldAccess
+{
+    private static final Logger log = LoggerFactory.getLogger(PrimitiveFieldAccess.class);
+
+    /** Suffix of generated class name, before field name. */
+    private static final String GENERATED_SUFFIX = "$$KunderaFieldAccess$$";
+
+    private final Field field;
+
+    /**
+     * Instantiates a reflective field access, generated subclasses call it
+     * too.
+     *
+     * @param field
+     *            accessible field.
+     */
+    public PrimitiveFieldAccess(Field field)
+    {
+        this.field = field;
+    }
+
+    /**
+     * Returns access of given accessible field, generated one for a
+     * primitive field if possible, reflective otherwise.
+     *
+     * @param field
+     *            accessible field.
+     * @return the primitive field access
+     */
+    static PrimitiveFieldAccess forField(Field field)
+    {
+        if (field.getType().isPrimitive() && !Modifier.isStatic(field.getModifiers()))
+        {
+            try
+            {
+                Class<?> generated = generate(field);
+                if (generated != null)
+                {
+                    return (PrimitiveFieldAccess) generated.getConstructor(Field.class).newInstance(field);
+                }
+            }
+            catch (Throwable t)
+            {
+                // e.g. class loader of entity can't see or define accessor.
+                log.debug("Falling back to reflective access of field {}, Caused by: {}.", field, t);
+            }
+        }
+        return new PrimitiveFieldAccess(field);
+    }
+
+    /**
+     * Generates accessor class overriding getter and setter of field's type.
+     *
+     * @return generated class, null if field can't be accessed by it.
+     */
+    private static Class<?> generate(Field field) throws Exception
+    {
+        Class<?> owner = field.getDeclaringClass();
+        ClassLoader loader = owner.getClassLoader();
+        if (loader == null)
+        {
+            return null;
+        }
+        String className = owner.getName() + GENERATED_SUFFIX + field.getName();
+        try
+        {
+            // generated by an earlier factory.
+            return Class.forName(className, true, loader);
+        }
+        catch (ClassNotFoundException cnfe)
+        {
+            // generate below.
+        }
+
+        String type = field.getType().getName();
+        String name = Character.toUpperCase(type.charAt(0)) + type.substring(1);
+        String target = "((" + owner.getName() + ") $1).";
+        String getter = null;
+        String setter = null;
+        if (!Modifier.isPrivate(field.getModifiers()))
+        {
+            getter = target + field.getName();
+            setter = Modifier.isFinal(field.getModifiers()) ? null : target + field.getName() + " = $2;";
+        }
+        else
+        {
+            String property = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+            Method get = findMethod(owner, (field.getType() == boolean.class ? "is" : "get") + property,
+                    field.getType());
+            Method set = findMethod(owner, "set" + property, void.class, field.getType());
+            getter = get != null ? target + get.getName() + "()" : null;
+            setter = set != null ? target + set.getName() + "($2);" : null;
+        }
+        if (getter == null && setter == null)
+        {
+            return null;
+        }
+
+        ClassPool pool = new ClassPool(true);
+        pool.appendClassPath(new LoaderClassPath(loader));
+        pool.appendClassPath(new ClassClassPath(PrimitiveFieldAccess.class));
+        CtClass generated = pool.makeClass(className, pool.get(PrimitiveFieldAccess.class.getName()));
+        generated.addConstructor(CtNewConstructor.make(new CtClass[] { pool.get(Field.class.getName()) },
+                new CtClass[0], "{ super($1); }", generated));
+        if (getter != null)
+        {
+            generated.addMethod(CtNewMethod.make("public " + type + " get" + name + "(Object target) { return "
+                    + getter + "; }", generated));
+        }
+        if (setter != null)
+        {
+            generated.addMethod(CtNewMethod.make("public void set" + name + "(Object target, " + type
+                    + " value) { " + setter + " }", generated));
+        }
+        try
+        {
+            return generated.toClass(loader, owner.getProtectionDomain());
+        }
+        finally
+        {
+            generated.detach();
+        }
+    }
+
+    /**
+     * Finds public, non static method with given name, return type and
+     * parameter types.
+     */
+    private static Method findMethod(Class<?> owner, String name, Class<?> returnType, Class<?>... parameterTypes)
+    {
+        try
+        {
+            Method method = owner.getMethod(name, parameterTypes);
+            return method.getReturnType() == returnType && !Modifier.isStatic(method.getModifiers()) ? method
+                    : null;
+        }
+        catch (NoSuchMethodException nsme)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Gets long field value.
+     *
+     * @param target
+     *            the target
+     * @return the value
+     * @throws PropertyAccessException
+     *             if field can't be read as long.
+     */
+    public long getLong(Object target)
+    {
+        try
+        {
+            return field.getLong(target);
+        }
+        catch (IllegalArgumentException iarg)
+        {
+            throw new PropertyAccessException(iarg);
+        }
+        catch (IllegalAccessException iacc)
+        {
+            throw new PropertyAccessException(iacc);
+        }
+    }
+
+    /**
+     * Sets long field value.
+     *
+     * @param target
+     *            the target
+     * @param value
+     *            the value
+     * @throws PropertyAccessException
+     *             if field can't be set to long.
+     */
+    public void setLong(Object target, long value)
+    {
+        try
+        {
+            field.setLong(target, value);
+        }
+        catch (IllegalArgumentException iarg)
+        {
+            throw new PropertyAccessException(iarg);
+        }
+        catch (IllegalAccessException iacc)
+        {
+            throw new PropertyAccessException(iacc);
+        }
+    }
+
+    /**
+     * Gets int field value.
+     *
+     * @param target
+     *            the target
+     * @return the value
+     * @throws PropertyAccessException
+     *             if field can't be read as int.
+     */
+    public int getInt(Object target)
+    {
+        try
+        {
+            return field.getInt(target);
+        }
+        catch (IllegalArgumentException iarg)
+        {
+            throw new PropertyAccessException(iarg);
+        }
+        catch (IllegalAccessException iacc)
+        {
+            throw new PropertyAccessException(iacc);
+        }
+    }
+
+    /**
+     * Sets int field value.
+     *
+     * @param target
+     *            the target
+     * @param value
+     *            the value
+     * @throws PropertyAccessException
+     *             if field can't be set to int.
+     */
+    public void setInt(Object target, int value)
+    {
+        try
+        {
+            field.setInt(target, value);
+        }
+        catch (IllegalArgumentException iarg)
+        {
+            throw new PropertyAccessException(iarg);
+        }
+        catch (IllegalAccessException iacc)
+        {
+            throw new PropertyAccessException(iacc);
+        }
+    }
+
+    /**
+     * Gets short field value.
+     *
+     * @param target
+     *            the target
+     * @return the value
+     * @throws PropertyAccessException
+     *             if field can't be read as short.
+     */
+    public short getShort(Object target)
+    {
+        try
+        {
+            return field.getShort(target);
+        }
+        catch (IllegalArgumentException iarg)
+        {
+            throw new PropertyAccessException(iarg);
+        }
+        catch (IllegalAccessException iacc)
+        {
+            throw new PropertyAccessException(iacc);
+        }
+    }
+
+    /**
+     * Sets short field value.
+     *
+     * @param target
+     *            the target
+     * @param value
+     *            the value
+     * @throws PropertyAccessException
+     *             if field can't be set to short.
+     */
+    public void setShort(Object target, short value)
+    {
+        try
+        {
+            field.setShort(target, value);
+        }
+        catch (IllegalArgumentException iarg)
+        {
+            throw new PropertyAccessException(iarg);
+        }
+        catch (IllegalAccessException iacc)
+        {
+            throw new PropertyAccessException(iacc);
+        }
+    }
+
+    /**
+     * Gets double field value.
+     *
+     * @param target
+     *            the target
+     * @return the value
+     * @throws PropertyAccessException
+     *             if field can't be read as double.
+     */
+    public double getDouble(Object target)
+    {
+        try
+        {
+            return field.getDouble(target);
+        }
+        catch (IllegalArgumentException iarg)
+        {
+            throw new PropertyAccessException(iarg);
+        }
+        catch (IllegalAccessException iacc)
+        {
+            throw new PropertyAccessException(iacc);
+        }
+    }
+
+    /**
+     * Sets double field value.
+     *
+     * @param target
+     *            the target
+     * @param value
+     *            the value
+     * @throws PropertyAccessException
+     *             if field can't be set to double.
+     */
+    public void setDouble(Object target, double value)
+    {
+        try
+        {
+            field.setDouble(target, value);
+        }
+        catch (IllegalArgumentException iarg)
+        {
+            throw new PropertyAccessException(iarg);
+        }
+        catch (IllegalAccessException iacc)
+        {
+            throw new PropertyAccessException(iacc);
+        }
+    }
+
+    /**
+     * Gets float field value.
+     *
+     * @param target
+     *            the target
+     * @return the value
+     * @throws PropertyAccessException
+     *             if field can't be read as float.
+     */
+    public float getFloat(Object target)
+    {
+        try
+        {
+            return field.getFloat(target);
+        }
+        catch (IllegalArgumentException iarg)
+        {
+            throw new PropertyAccessException(iarg);
+        }
+        catch (IllegalAccessException iacc)
+        {
+            throw new PropertyAccessException(iacc);
+        }
+    }
+
+    /**
+     * Sets float field value.
+     *
+     * @param target
+     *            the target
+     * @param value
+     *            the value
+     * @throws PropertyAccessException
+     *             if field can't be set to float.
+     */
+    public void setFloat(Object target, float value)
+    {
+        try
+        {
+            field.setFloat(target, value);
+        }
+        catch (IllegalArgumentException iarg)
+        {
+            throw new PropertyAccessException(iarg);
+        }
+        catch (IllegalAccessException iacc)
+        {
+            throw new PropertyAccessException(iacc);
+        }
+    }
+
+    /**
+     * Gets boolean field value.
+     *
+     * @param target
+     *            the target
+     * @return the value
+     * @throws PropertyAccessException
+     *             if field can't be read as boolean.
+     */
+    public boolean getBoolean(Object target)
+    {
+        try
+        {
+            return field.getBoolean(target);
+        }
+        catch (IllegalArgumentException iarg)
+        {
+            throw new PropertyAccessException(iarg);
+        }
+        catch (IllegalAccessException iacc)
+        {
+            throw new PropertyAccessException(iacc);
+        }
+    }
+
+    /**
+     * Sets boolean field value.
+     *
+     * @param target
+     *            the target
+     * @param value
+     *            the value
+     * @throws PropertyAccessException
+     *             if field can't be set to boolean.
+     */
+    public void setBoolean(Object target, boolean value)
+    {
+        try
+        {
+            field.setBoolean(target, value);
+        }
+        catch (IllegalArgumentException iarg)
+        {
+            throw new PropertyAccessException(iarg);
+        }
+        catch (IllegalAccessException iacc)
+        {
+            throw new PropertyAccessException(iacc);
+        }
+    }
+}
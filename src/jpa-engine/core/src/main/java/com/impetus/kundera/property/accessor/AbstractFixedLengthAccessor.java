@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.property.accessor;
+
+import java.nio.ByteBuffer;
+
+import com.impetus.kundera.property.FixedLengthAccessor;
+
+/**
+ * Base of {@link FixedLengthAccessor}s, whose values are encoded as big-endian
+ * bits of {@link #getLength()} bytes. Bounds checking and reading or writing
+ * bytes at an offset is done here, subclasses only convert values to and
+ * from bits. Static readers and writers of primitive values in subclasses
+ * share same encoding, through {@link #readBits(byte[], int, int)} and
+ * {@link #writeBits(long, byte[], int, int)}.
+ * 
+ * @param <T>
+ *            the generic type
+ */
+public abstract class AbstractFixedLengthAccessor<T> implements FixedLengthAccessor<T>
+{
+    /**
+     * Converts value into bits to be encoded, only low {@link #getLength()}
+     * bytes are written.
+     * 
+     * @param value
+     *            the value, not null
+     * @return the bits
+     */
+    protected abstract long toBits(T value);
+
+    /**
+     * Converts decoded bits into value.
+     * 
+     * @param bits
+     *            the bits, of which only low {@link #getLength()} bytes are
+     *            read
+     * @return the value
+     */
+    protected abstract T fromBits(long bits);
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.FixedLengthAccessor#writeTo(java.lang.Object, byte[], int)
+     */
+    @Override
+    public int writeTo(Object object, byte[] dest, int offset)
+    {
+        return object != null ? writeBits(toBits((T) object), dest, offset, getLength()) : 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.FixedLengthAccessor#writeTo(java.lang.Object, java.nio.ByteBuffer, int)
+     */
+    @Override
+    public int writeTo(Object object, ByteBuffer dest, int offset)
+    {
+        return object != null ? writeBits(toBits((T) object), dest, offset, getLength()) : 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.FixedLengthAccessor#readFrom(byte[], int)
+     */
+    @Override
+    public T readFrom(byte[] src, int offset)
+    {
+        return fromBits(readBits(src, offset, getLength()));
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.FixedLengthAccessor#readFrom(java.nio.ByteBuffer, int)
+     */
+    @Override
+    public T readFrom(ByteBuffer src, int offset)
+    {
+        return fromBits(readBits(src, offset, getLength()));
+    }
+
+    /**
+     * Encodes low length bytes of bits into array in big-endian order.
+     * 
+     * @param bits
+     *            the bits
+     * @param dest
+     *            destination array
+     * @param offset
+     *            offset in destination
+     * @param length
+     *            number of bytes to write
+     * @return number of bytes written.
+     */
+    protected static int writeBits(long bits, byte[] dest, int offset, int length)
+    {
+        checkBounds(dest.length, offset, length);
+        for (int i = length - 1; i >= 0; i--)
+        {
+            dest[offset + i] = (byte) bits;
+            bits >>>= 8;
+        }
+        return length;
+    }
+
+    /**
+     * Encodes low length bytes of bits into buffer in big-endian order,
+     * without changing its position.
+     * 
+     * @param bits
+     *            the bits
+     * @param dest
+     *            destination buffer
+     * @param offset
+     *            absolute offset in destination
+     * @param length
+     *            number of bytes to write
+     * @return number of bytes written.
+     */
+    protected static int writeBits(long bits, ByteBuffer dest, int offset, int length)
+    {
+        checkBounds(dest.limit(), offset, length);
+        for (int i = length - 1; i >= 0; i--)
+        {
+            dest.put(offset + i, (byte) bits);
+            bits >>>= 8;
+        }
+        return length;
+    }
+
+    /**
+     * Decodes length bytes of array in big-endian order into low bits.
+     * 
+     * @param src
+     *            source array
+     * @param offset
+     *            offset in source
+     * @param length
+     *            number of bytes to read
+     * @return the bits
+     */
+    protected static long readBits(byte[] src, int offset, int length)
+    {
+        checkBounds(src.length, offset, length);
+        long bits = 0;
+        for (int i = 0; i < length; i++)
+        {
+            bits = (bits << 8) | (src[offset + i] & 0xffL);
+        }
+        return bits;
+    }
+
+    /**
+     * Decodes length bytes of buffer in big-endian order into low bits,
+     * without changing its position.
+     * 
+     * @param src
+     *            source buffer
+     * @param offset
+     *            absolute offset in source
+     * @param length
+     *            number of bytes to read
+     * @return the bits
+     */
+    protected static long readBits(ByteBuffer src, int offset, int length)
+    {
+        checkBounds(src.limit(), offset, length);
+        long bits = 0;
+        for (int i = 0; i < length; i++)
+        {
+            bits = (bits << 8) | (src.get(offset + i) & 0xffL);
+        }
+        return bits;
+    }
+
+    /**
+     * Checks that length bytes at offset are within capacity, before
+     * anything is read or written.
+     */
+    private static void checkBounds(int capacity, int offset, int length)
+    {
+        if (offset < 0 || offset > capacity - length)
+        {
+            throw new IndexOutOfBoundsException("Can't access " + length + " bytes at offset " + offset
+                    + " of capacity " + capacity);
+        }
+    }
+}
@@ -15,18 +15,19 @@
  ******************************************************************************/
 package com.impetus.kundera.property.accessor;
 
+import java.nio.ByteBuffer;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.property.PropertyAccessException;
-import com.impetus.kundera.property.PropertyAccessor;
 
 /**
  * The Class BooleanAccessor.
  * 
  * @author Amresh Singh
  */
-public class BooleanAccessor implements PropertyAccessor<Boolean>
+public class BooleanAccessor extends AbstractFixedLengthAccessor<Boolean>
 {
 
     private final static Logger log = LoggerFactory.getLogger(BooleanAccessor.class);
@@ -109,4 +110,97 @@ public class BooleanAccessor implements PropertyAccessor<Boolean>
     {
         return Boolean.TRUE;
     }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.FixedLengthAccessor#getLength()
+     */
+    @Override
+    public int getLength()
+    {
+        return 1;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.accessor.AbstractFixedLengthAccessor#toBits(java.lang.Object)
+     */
+    @Override
+    protected long toBits(Boolean value)
+    {
+        return value ? 0x01 : 0x00;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.accessor.AbstractFixedLengthAccessor#fromBits(long)
+     */
+    @Override
+    protected Boolean fromBits(long bits)
+    {
+        return bits != 0x00;
+    }
+
+    /**
+     * Decodes boolean value from array.
+     * 
+     * @param src
+     *            source array
+     * @param offset
+     *            offset in source
+     * @return the value
+     */
+    public static boolean readBoolean(byte[] src, int offset)
+    {
+        return readBits(src, offset, 1) != 0x00;
+    }
+
+    /**
+     * Decodes boolean value from buffer, without changing its position.
+     * 
+     * @param src
+     *            source buffer
+     * @param offset
+     *            absolute offset in source
+     * @return the value
+     */
+    public static boolean readBoolean(ByteBuffer src, int offset)
+    {
+        return readBits(src, offset, 1) != 0x00;
+    }
+
+    /**
+     * Encodes boolean value into array.
+     * 
+     * @param value
+     *            the value
+     * @param dest
+     *            destination array
+     * @param offset
+     *            offset in destination
+     * @return number of bytes written.
+     */
+    public static int writeBoolean(boolean value, byte[] dest, int offset)
+    {
+        return writeBits(value ? 0x01 : 0x00, dest, offset, 1);
+    }
+
+    /**
+     * Encodes boolean value into buffer, without changing its position.
+     * 
+     * @param value
+     *            the value
+     * @param dest
+     *            destination buffer
+     * @param offset
+     *            absolute offset in destination
+     * @return number of bytes written.
+     */
+    public static int writeBoolean(boolean value, ByteBuffer dest, int offset)
+    {
+        return writeBits(value ? 0x01 : 0x00, dest, offset, 1);
+    }
 }
@@ -15,18 +15,19 @@
  ******************************************************************************/
 package com.impetus.kundera.property.accessor;
 
+import java.nio.ByteBuffer;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.property.PropertyAccessException;
-import com.impetus.kundera.property.PropertyAccessor;
 
 /**
  * The Class DoubleAccessor.
  * 
  * @author Amresh Singh
  */
-public class DoubleAccessor implements PropertyAccessor<Double>
+public class DoubleAccessor extends AbstractFixedLengthAccessor<Double>
 {
 
     private final static Logger log = LoggerFactory.getLogger(DoubleAccessor.class);
@@ -139,4 +140,97 @@ public class DoubleAccessor implements PropertyAccessor<Double>
     {
         return Double.MAX_VALUE;
     }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.FixedLengthAccessor#getLength()
+     */
+    @Override
+    public int getLength()
+    {
+        return 8;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.accessor.AbstractFixedLengthAccessor#toBits(java.lang.Object)
+     */
+    @Override
+    protected long toBits(Double value)
+    {
+        return Double.doubleToRawLongBits(value);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.accessor.AbstractFixedLengthAccessor#fromBits(long)
+     */
+    @Override
+    protected Double fromBits(long bits)
+    {
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * Decodes double value from array.
+     * 
+     * @param src
+     *            source array
+     * @param offset
+     *            offset in source
+     * @return the value
+     */
+    public static double readDouble(byte[] src, int offset)
+    {
+        return Double.longBitsToDouble(readBits(src, offset, 8));
+    }
+
+    /**
+     * Decodes double value from buffer, without changing its position.
+     * 
+     * @param src
+     *            source buffer
+     * @param offset
+     *            absolute offset in source
+     * @return the value
+     */
+    public static double readDouble(ByteBuffer src, int offset)
+    {
+        return Double.longBitsToDouble(readBits(src, offset, 8));
+    }
+
+    /**
+     * Encodes double value into array.
+     * 
+     * @param value
+     *            the value
+     * @param dest
+     *            destination array
+     * @param offset
+     *            offset in destination
+     * @return number of bytes written.
+     */
+    public static int writeDouble(double value, byte[] dest, int offset)
+    {
+        return writeBits(Double.doubleToRawLongBits(value), dest, offset, 8);
+    }
+
+    /**
+     * Encodes double value into buffer, without changing its position.
+     * 
+     * @param value
+     *            the value
+     * @param dest
+     *            destination buffer
+     * @param offset
+     *            absolute offset in destination
+     * @return number of bytes written.
+     */
+    public static int writeDouble(double value, ByteBuffer dest, int offset)
+    {
+        return writeBits(Double.doubleToRawLongBits(value), dest, offset, 8);
+    }
 }
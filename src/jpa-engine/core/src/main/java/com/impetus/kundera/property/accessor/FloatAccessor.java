@@ -15,18 +15,19 @@
  ******************************************************************************/
 package com.impetus.kundera.property.accessor;
 
+import java.nio.ByteBuffer;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.property.PropertyAccessException;
-import com.impetus.kundera.property.PropertyAccessor;
 
 /**
  * The Class FloatAccessor.
  * 
  * @author Amresh Singh
  */
-public class FloatAccessor implements PropertyAccessor<Float>
+public class FloatAccessor extends AbstractFixedLengthAccessor<Float>
 {
     private final static Logger log = LoggerFactory.getLogger(FloatAccessor.class);
     /*
@@ -132,4 +133,97 @@ public class FloatAccessor implements PropertyAccessor<Float>
     {
         return Float.MAX_VALUE;
     }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.FixedLengthAccessor#getLength()
+     */
+    @Override
+    public int getLength()
+    {
+        return 4;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.accessor.AbstractFixedLengthAccessor#toBits(java.lang.Object)
+     */
+    @Override
+    protected long toBits(Float value)
+    {
+        return Float.floatToRawIntBits(value);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.accessor.AbstractFixedLengthAccessor#fromBits(long)
+     */
+    @Override
+    protected Float fromBits(long bits)
+    {
+        return Float.intBitsToFloat((int) bits);
+    }
+
+    /**
+     * Decodes float value from array.
+     * 
+     * @param src
+     *            source array
+     * @param offset
+     *            offset in source
+     * @return the value
+     */
+    public static float readFloat(byte[] src, int offset)
+    {
+        return Float.intBitsToFloat((int) readBits(src, offset, 4));
+    }
+
+    /**
+     * Decodes float value from buffer, without changing its position.
+     * 
+     * @param src
+     *            source buffer
+     * @param offset
+     *            absolute offset in source
+     * @return the value
+     */
+    public static float readFloat(ByteBuffer src, int offset)
+    {
+        return Float.intBitsToFloat((int) readBits(src, offset, 4));
+    }
+
+    /**
+     * Encodes float value into array.
+     * 
+     * @param value
+     *            the value
+     * @param dest
+     *            destination array
+     * @param offset
+     *            offset in destination
+     * @return number of bytes written.
+     */
+    public static int writeFloat(float value, byte[] dest, int offset)
+    {
+        return writeBits(Float.floatToRawIntBits(value), dest, offset, 4);
+    }
+
+    /**
+     * Encodes float value into buffer, without changing its position.
+     * 
+     * @param value
+     *            the value
+     * @param dest
+     *            destination buffer
+     * @param offset
+     *            absolute offset in destination
+     * @return number of bytes written.
+     */
+    public static int writeFloat(float value, ByteBuffer dest, int offset)
+    {
+        return writeBits(Float.floatToRawIntBits(value), dest, offset, 4);
+    }
 }
@@ -15,18 +15,19 @@
  ******************************************************************************/
 package com.impetus.kundera.property.accessor;
 
+import java.nio.ByteBuffer;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.property.PropertyAccessException;
-import com.impetus.kundera.property.PropertyAccessor;
 
 /**
  * The Class IntegerAccessor.
  * 
  * @author animesh.kumar
  */
-public class IntegerAccessor implements PropertyAccessor<Integer>
+public class IntegerAccessor extends AbstractFixedLengthAccessor<Integer>
 {
 
     private final static Logger log = LoggerFactory.getLogger(IntegerAccessor.class);
@@ -44,7 +45,7 @@ public class IntegerAccessor implements PropertyAccessor<Integer>
         {
             return null;
         }
-        return ((b[0] << 24) + ((b[1] & 0xFF) << 16) + ((b[2] & 0xFF) << 8) + (b[3] & 0xFF));
+        return readInt(b, 0);
     }
 
     /*
@@ -113,4 +114,97 @@ public class IntegerAccessor implements PropertyAccessor<Integer>
     {
         return Integer.MAX_VALUE;
     }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.FixedLengthAccessor#getLength()
+     */
+    @Override
+    public int getLength()
+    {
+        return 4;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.accessor.AbstractFixedLengthAccessor#toBits(java.lang.Object)
+     */
+    @Override
+    protected long toBits(Integer value)
+    {
+        return value;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.accessor.AbstractFixedLengthAccessor#fromBits(long)
+     */
+    @Override
+    protected Integer fromBits(long bits)
+    {
+        return (int) bits;
+    }
+
+    /**
+     * Decodes int value from array.
+     * 
+     * @param src
+     *            source array
+     * @param offset
+     *            offset in source
+     * @return the value
+     */
+    public static int readInt(byte[] src, int offset)
+    {
+        return (int) readBits(src, offset, 4);
+    }
+
+    /**
+     * Decodes int value from buffer, without changing its position.
+     * 
+     * @param src
+     *            source buffer
+     * @param offset
+     *            absolute offset in source
+     * @return the value
+     */
+    public static int readInt(ByteBuffer src, int offset)
+    {
+        return (int) readBits(src, offset, 4);
+    }
+
+    /**
+     * Encodes int value into array.
+     * 
+     * @param value
+     *            the value
+     * @param dest
+     *            destination array
+     * @param offset
+     *            offset in destination
+     * @return number of bytes written.
+     */
+    public static int writeInt(int value, byte[] dest, int offset)
+    {
+        return writeBits(value, dest, offset, 4);
+    }
+
+    /**
+     * Encodes int value into buffer, without changing its position.
+     * 
+     * @param value
+     *            the value
+     * @param dest
+     *            destination buffer
+     * @param offset
+     *            absolute offset in destination
+     * @return number of bytes written.
+     */
+    public static int writeInt(int value, ByteBuffer dest, int offset)
+    {
+        return writeBits(value, dest, offset, 4);
+    }
 }
@@ -21,14 +21,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.property.PropertyAccessException;
-import com.impetus.kundera.property.PropertyAccessor;
 
 /**
  * The Class LongAccessor.
  * 
  * @author animesh.kumar
  */
-public class LongAccessor implements PropertyAccessor<Long>
+public class LongAccessor extends AbstractFixedLengthAccessor<Long>
 {
 
     private final static Logger log = LoggerFactory.getLogger(LongAccessor.class);
@@ -49,7 +48,7 @@ public class LongAccessor implements PropertyAccessor<Long>
             }
             return null;
         }
-        return (ByteBuffer.wrap(bytes).getLong());
+        return readLong(bytes, 0);
     }
 
     /*
@@ -63,10 +62,9 @@ public class LongAccessor implements PropertyAccessor<Long>
     {
         if (object != null)
         {
-            Long l = (Long) object;
-            ByteBuffer buffer = ByteBuffer.allocate(8);
-            buffer.putLong(l);
-            return buffer.array();
+            byte[] bytes = new byte[8];
+            writeLong((Long) object, bytes, 0);
+            return bytes;
         }
         if (log.isWarnEnabled())
         {
@@ -127,4 +125,97 @@ public class LongAccessor implements PropertyAccessor<Long>
     {
         return Long.MAX_VALUE;
     }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.FixedLengthAccessor#getLength()
+     */
+    @Override
+    public int getLength()
+    {
+        return 8;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.accessor.AbstractFixedLengthAccessor#toBits(java.lang.Object)
+     */
+    @Override
+    protected long toBits(Long value)
+    {
+        return value;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.accessor.AbstractFixedLengthAccessor#fromBits(long)
+     */
+    @Override
+    protected Long fromBits(long bits)
+    {
+        return bits;
+    }
+
+    /**
+     * Decodes long value from array.
+     * 
+     * @param src
+     *            source array
+     * @param offset
+     *            offset in source
+     * @return the value
+     */
+    public static long readLong(byte[] src, int offset)
+    {
+        return readBits(src, offset, 8);
+    }
+
+    /**
+     * Decodes long value from buffer, without changing its position.
+     * 
+     * @param src
+     *            source buffer
+     * @param offset
+     *            absolute offset in source
+     * @return the value
+     */
+    public static long readLong(ByteBuffer src, int offset)
+    {
+        return readBits(src, offset, 8);
+    }
+
+    /**
+     * Encodes long value into array.
+     * 
+     * @param value
+     *            the value
+     * @param dest
+     *            destination array
+     * @param offset
+     *            offset in destination
+     * @return number of bytes written.
+     */
+    public static int writeLong(long value, byte[] dest, int offset)
+    {
+        return writeBits(value, dest, offset, 8);
+    }
+
+    /**
+     * Encodes long value into buffer, without changing its position.
+     * 
+     * @param value
+     *            the value
+     * @param dest
+     *            destination buffer
+     * @param offset
+     *            absolute offset in destination
+     * @return number of bytes written.
+     */
+    public static int writeLong(long value, ByteBuffer dest, int offset)
+    {
+        return writeBits(value, dest, offset, 8);
+    }
 }
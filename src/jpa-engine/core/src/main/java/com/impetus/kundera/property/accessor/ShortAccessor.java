@@ -15,18 +15,19 @@
  ******************************************************************************/
 package com.impetus.kundera.property.accessor;
 
+import java.nio.ByteBuffer;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.property.PropertyAccessException;
-import com.impetus.kundera.property.PropertyAccessor;
 
 /**
  * The Class ShortAccessor.
  * 
  * @author Amresh Singh
  */
-public class ShortAccessor implements PropertyAccessor<Short>
+public class ShortAccessor extends AbstractFixedLengthAccessor<Short>
 {
     public static Logger log = LoggerFactory.getLogger(ShortAccessor.class);
 
@@ -125,4 +126,97 @@ public class ShortAccessor implements PropertyAccessor<Short>
     {
         return Short.MAX_VALUE;
     }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.FixedLengthAccessor#getLength()
+     */
+    @Override
+    public int getLength()
+    {
+        return 2;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.accessor.AbstractFixedLengthAccessor#toBits(java.lang.Object)
+     */
+    @Override
+    protected long toBits(Short value)
+    {
+        return value;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.property.accessor.AbstractFixedLengthAccessor#fromBits(long)
+     */
+    @Override
+    protected Short fromBits(long bits)
+    {
+        return (short) bits;
+    }
+
+    /**
+     * Decodes short value from array.
+     * 
+     * @param src
+     *            source array
+     * @param offset
+     *            offset in source
+     * @return the value
+     */
+    public static short readShort(byte[] src, int offset)
+    {
+        return (short) readBits(src, offset, 2);
+    }
+
+    /**
+     * Decodes short value from buffer, without changing its position.
+     * 
+     * @param src
+     *            source buffer
+     * @param offset
+     *            absolute offset in source
+     * @return the value
+     */
+    public static short readShort(ByteBuffer src, int offset)
+    {
+        return (short) readBits(src, offset, 2);
+    }
+
+    /**
+     * Encodes short value into array.
+     * 
+     * @param value
+     *            the value
+     * @param dest
+     *            destination array
+     * @param offset
+     *            offset in destination
+     * @return number of bytes written.
+     */
+    public static int writeShort(short value, byte[] dest, int offset)
+    {
+        return writeBits(value, dest, offset, 2);
+    }
+
+    /**
+     * Encodes short value into buffer, without changing its position.
+     * 
+     * @param value
+     *            the value
+     * @param dest
+     *            destination buffer
+     * @param offset
+     *            absolute offset in destination
+     * @return number of bytes written.
+     */
+    public static int writeShort(short value, ByteBuffer dest, int offset)
+    {
+        return writeBits(value, dest, offset, 2);
+    }
 }
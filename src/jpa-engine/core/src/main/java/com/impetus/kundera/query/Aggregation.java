@@ -0,0 +1,414 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.query;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang.ClassUtils;
+
+/**
+ * Select expression of an aggregate query, e.g. <code>COUNT(p)</code>,
+ * <code>SUM(p.amount)</code> or grouped property <code>p.department</code>.
+ *
+ * @see KunderaQuery#getAggregations()
+ */
+public final class Aggregation
+{
+    /**
+     * Aggregate functions.
+     */
+    public enum Function
+    {
+        COUNT, SUM, MIN, MAX, AVG;
+    }
+
+    /** Pattern to detect aggregate function in select clause. */
+    private static final Pattern FUNCTION_PATTERN = Pattern.compile("\\b(COUNT|SUM|MIN|MAX|AVG)\\s*\\(",
+            Pattern.CASE_INSENSITIVE);
+
+    /** Pattern of single select expression. */
+    private static final Pattern EXPRESSION_PATTERN = Pattern.compile(
+            "(COUNT|SUM|MIN|MAX|AVG)\\s*\\(\\s*(DISTINCT\\s+)?([\\w.]+)\\s*\\)|([\\w.]+)", Pattern.CASE_INSENSITIVE);
+
+    /** Pattern of single having condition. */
+    private static final Pattern CONDITION_PATTERN = Pattern.compile("(.+?)\\s*(<>|!=|>=|<=|=|>|<)\\s*(.+)");
+
+    private static final Pattern AND_PATTERN = Pattern.compile("\\s+AND\\s+", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern OR_PATTERN = Pattern.compile("\\s+OR\\s+", Pattern.CASE_INSENSITIVE);
+
+    private final Function function;
+
+    private final String alias;
+
+    private final String property;
+
+    private final boolean distinct;
+
+    private Aggregation(Function function, String path, boolean distinct)
+    {
+        this.function = function;
+        this.distinct = distinct;
+        int dot = path.indexOf('.');
+        this.alias = dot > 0 ? path.substring(0, dot) : path;
+        this.property = dot > 0 ? path.substring(dot + 1) : null;
+    }
+
+    /**
+     * Returns true, if select clause holds an aggregate function.
+     *
+     * @param selectClause
+     *            select clause
+     * @return true, if aggregate query.
+     */
+    static boolean isAggregate(String selectClause)
+    {
+        return FUNCTION_PATTERN.matcher(selectClause).find();
+    }
+
+    /**
+     * Parses select expression.
+     *
+     * @param expression
+     *            aggregate function or property path.
+     * @return parsed expression.
+     */
+    static Aggregation parse(String expression)
+    {
+        Matcher matcher = EXPRESSION_PATTERN.matcher(expression.trim());
+        if (!matcher.matches())
+        {
+            throw new JPQLParseException("Bad aggregate expression: " + expression);
+        }
+        if (matcher.group(1) == null)
+        {
+            return new Aggregation(null, matcher.group(4), false);
+        }
+        Aggregation aggregation = new Aggregation(Function.valueOf(matcher.group(1).toUpperCase()),
+                matcher.group(3), matcher.group(2) != null);
+        if (aggregation.property == null && aggregation.function != Function.COUNT)
+        {
+            throw new JPQLParseException(aggregation.function + " requires a property, not an entity: " + expression);
+        }
+        return aggregation;
+    }
+
+    /**
+     * Parses having clause, made of conditions joined by AND, each comparing
+     * an aggregate function or grouped property with a literal.
+     *
+     * @param havingClause
+     *            having clause.
+     * @return conditions.
+     */
+    static List<Condition> parseHaving(String havingClause)
+    {
+        if (OR_PATTERN.matcher(havingClause).find())
+        {
+            throw new JPQLParseException("Only AND is supported in HAVING clause: " + havingClause);
+        }
+        List<Condition> conditions = new ArrayList<Condition>();
+        for (String condition : AND_PATTERN.split(havingClause.trim()))
+        {
+            Matcher matcher = CONDITION_PATTERN.matcher(condition.trim());
+            if (!matcher.matches())
+            {
+                throw new JPQLParseException("Bad HAVING condition: " + condition);
+            }
+            conditions.add(new Condition(parse(matcher.group(1)), matcher.group(2), parseLiteral(matcher.group(3)
+                    .trim())));
+        }
+        return conditions;
+    }
+
+    private static Object parseLiteral(String literal)
+    {
+        if (literal.startsWith(":") || literal.startsWith("?"))
+        {
+            throw new JPQLParseException("Parameters are not supported in HAVING clause: " + literal);
+        }
+        if (literal.length() > 1 && literal.startsWith("'") && literal.endsWith("'"))
+        {
+            return literal.substring(1, literal.length() - 1);
+        }
+        if (literal.equalsIgnoreCase("true") || literal.equalsIgnoreCase("false"))
+        {
+            return Boolean.valueOf(literal);
+        }
+        try
+        {
+            return new BigDecimal(literal);
+        }
+        catch (NumberFormatException nfex)
+        {
+            throw new JPQLParseException("Bad literal in HAVING clause: " + literal);
+        }
+    }
+
+    /**
+     * @return aggregate function, or null for grouped property.
+     */
+    public Function getFunction()
+    {
+        return function;
+    }
+
+    /**
+     * @return true, if aggregate function.
+     */
+    public boolean isAggregate()
+    {
+        return function != null;
+    }
+
+    /**
+     * @return identification variable of expression.
+     */
+    public String getAlias()
+    {
+        return alias;
+    }
+
+    /**
+     * @return attribute name, or null if expression is over entity itself,
+     *         e.g. <code>COUNT(p)</code>.
+     */
+    public String getProperty()
+    {
+        return property;
+    }
+
+    /**
+     * @return true, if function is applied on distinct values only.
+     */
+    public boolean isDistinct()
+    {
+        return distinct;
+    }
+
+    /**
+     * Returns value of expression over no entity: 0 for COUNT, else null.
+     *
+     * @return empty value.
+     */
+    public Object getEmptyResult()
+    {
+        return function == Function.COUNT ? Long.valueOf(0) : null;
+    }
+
+    /**
+     * Converts value computed by datastore to result type of expression, as
+     * per JPA: Long for COUNT, Double for AVG, Long, Double, BigInteger or
+     * BigDecimal for SUM and attribute type otherwise.
+     *
+     * @param value
+     *            computed value.
+     * @param attributeType
+     *            type of aggregated attribute, if any.
+     * @return result value.
+     */
+    public Object toResultType(Object value, Class<?> attributeType)
+    {
+        if (value == null)
+        {
+            return getEmptyResult();
+        }
+        if (!(value instanceof Number))
+        {
+            return value;
+        }
+        Number number = (Number) value;
+        if (function == Function.COUNT)
+        {
+            return number.longValue();
+        }
+        if (function == Function.AVG)
+        {
+            return number.doubleValue();
+        }
+        Class<?> type = attributeType.isPrimitive() ? ClassUtils.primitiveToWrapper(attributeType) : attributeType;
+        if (function == Function.SUM)
+        {
+            if (isIntegral(type))
+            {
+                return number.longValue();
+            }
+            return type.equals(BigInteger.class) || type.equals(BigDecimal.class) ? toNumber(number, type) : Double
+                    .valueOf(number.doubleValue());
+        }
+        return toNumber(number, type);
+    }
+
+    /**
+     * Returns true, if type is an integral number.
+     *
+     * @param type
+     *            wrapper type.
+     * @return true, if integral.
+     */
+    static boolean isIntegral(Class<?> type)
+    {
+        return type.equals(Long.class) || type.equals(Integer.class) || type.equals(Short.class)
+                || type.equals(Byte.class);
+    }
+
+    private static Object toNumber(Number number, Class<?> type)
+    {
+        if (type.equals(Integer.class))
+        {
+            return number.intValue();
+        }
+        else if (type.equals(Long.class))
+        {
+            return number.longValue();
+        }
+        else if (type.equals(Double.class))
+        {
+            return number.doubleValue();
+        }
+        else if (type.equals(Float.class))
+        {
+            return number.floatValue();
+        }
+        else if (type.equals(Short.class))
+        {
+            return number.shortValue();
+        }
+        else if (type.equals(Byte.class))
+        {
+            return number.byteValue();
+        }
+        else if (type.equals(BigDecimal.class))
+        {
+            return number instanceof BigDecimal ? number : new BigDecimal(number.toString());
+        }
+        else if (type.equals(BigInteger.class))
+        {
+            return number instanceof BigInteger ? number : new BigDecimal(number.toString()).toBigInteger();
+        }
+        return number;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (!(obj instanceof Aggregation))
+        {
+            return false;
+        }
+        Aggregation other = (Aggregation) obj;
+        return function == other.function && distinct == other.distinct && alias.equals(other.alias)
+                && (property == null ? other.property == null : property.equals(other.property));
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return toString().hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        String path = property != null ? alias + "." + property : alias;
+        if (function == null)
+        {
+            return path;
+        }
+        return function + "(" + (distinct ? "DISTINCT " : "") + path + ")";
+    }
+
+    /**
+     * Condition of having clause.
+     */
+    public static final class Condition
+    {
+        private final Aggregation expression;
+
+        private final String operator;
+
+        private final Object value;
+
+        private Condition(Aggregation expression, String operator, Object value)
+        {
+            this.expression = expression;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        /**
+         * @return compared expression.
+         */
+        public Aggregation getExpression()
+        {
+            return expression;
+        }
+
+        /**
+         * Returns true, if value of expression satisfies condition. Numbers
+         * are compared by value, anything else by its string form.
+         *
+         * @param actual
+         *            value of expression for a group.
+         * @return true, if satisfied.
+         */
+        boolean matches(Object actual)
+        {
+            if (actual == null)
+            {
+                return false;
+            }
+
+            int comparison;
+            if (actual instanceof Number && value instanceof BigDecimal)
+            {
+                comparison = new BigDecimal(actual.toString()).compareTo((BigDecimal) value);
+            }
+            else
+            {
+                comparison = actual.toString().compareTo(value.toString());
+            }
+
+            if (operator.equals("="))
+            {
+                return comparison == 0;
+            }
+            else if (operator.equals(">"))
+            {
+                return comparison > 0;
+            }
+            else if (operator.equals(">="))
+            {
+                return comparison >= 0;
+            }
+            else if (operator.equals("<"))
+            {
+                return comparison < 0;
+            }
+            else if (operator.equals("<="))
+            {
+                return comparison <= 0;
+            }
+            // <> or !=
+            return comparison != 0;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.query;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.metamodel.EntityType;
+
+import org.apache.commons.lang.ClassUtils;
+
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.property.FieldAccessor;
+import com.impetus.kundera.query.Aggregation.Condition;
+import com.impetus.kundera.query.Aggregation.Function;
+
+/**
+ * Evaluates aggregate query over entities in a single pass, as they are
+ * iterated over. Only one accumulator per group and select expression is
+ * kept, so memory does not grow with number of entities, except for values
+ * of DISTINCT aggregates.
+ */
+public final class Aggregator
+{
+    /** Select expressions, followed by expressions used by HAVING only. */
+    private final List<Aggregation> expressions;
+
+    /** Number of select expressions. */
+    private final int width;
+
+    private final List<Condition> having;
+
+    private final int[] havingIndexes;
+
+    private final FieldAccessor[] accessors;
+
+    private final Class<?>[] types;
+
+    private final FieldAccessor[] groupAccessors;
+
+    private final Map<List<Object>, Accumulator[]> groups = new LinkedHashMap<List<Object>, Accumulator[]>();
+
+    /**
+     * Instantiates a new aggregator.
+     *
+     * @param query
+     *            parsed aggregate query
+     * @param m
+     *            entity metadata
+     * @param kunderaMetadata
+     *            kundera metadata
+     */
+    public Aggregator(KunderaQuery query, EntityMetadata m, KunderaMetadata kunderaMetadata)
+    {
+        EntityType entityType = kunderaMetadata.getApplicationMetadata().getMetamodel(m.getPersistenceUnit())
+                .entity(m.getEntityClazz());
+
+        this.expressions = new ArrayList<Aggregation>(query.getAggregations());
+        this.width = expressions.size();
+        this.having = query.getHaving();
+        this.havingIndexes = new int[having.size()];
+        for (int i = 0; i < havingIndexes.length; i++)
+        {
+            Aggregation expression = having.get(i).getExpression();
+            int index = expressions.indexOf(expression);
+            if (index < 0)
+            {
+                index = expressions.size();
+                expressions.add(expression);
+            }
+            havingIndexes[i] = index;
+        }
+
+        this.accessors = new FieldAccessor[expressions.size()];
+        this.types = new Class<?>[expressions.size()];
+        for (int i = 0; i < accessors.length; i++)
+        {
+            String property = expressions.get(i).getProperty();
+            if (property != null)
+            {
+                AbstractAttribute attribute = (AbstractAttribute) entityType.getAttribute(property);
+                accessors[i] = attribute.getFieldAccessor();
+                types[i] = attribute.getBindableJavaType();
+            }
+        }
+
+        List<String> groupBy = query.getGroupBy();
+        this.groupAccessors = new FieldAccessor[groupBy.size()];
+        for (int i = 0; i < groupAccessors.length; i++)
+        {
+            groupAccessors[i] = ((AbstractAttribute) entityType.getAttribute(groupBy.get(i))).getFieldAccessor();
+        }
+    }
+
+    /**
+     * Adds entity to its group.
+     *
+     * @param entity
+     *            entity matching query.
+     */
+    public void add(Object entity)
+    {
+        if (entity == null)
+        {
+            return;
+        }
+
+        Object[] key = new Object[groupAccessors.length];
+        for (int i = 0; i < key.length; i++)
+        {
+            key[i] = groupAccessors[i].get(entity);
+        }
+        List<Object> groupKey = Arrays.asList(key);
+
+        Accumulator[] accumulators = groups.get(groupKey);
+        if (accumulators == null)
+        {
+            accumulators = newAccumulators();
+            groups.put(groupKey, accumulators);
+        }
+
+        for (int i = 0; i < accumulators.length; i++)
+        {
+            accumulators[i].add(accessors[i] != null ? accessors[i].get(entity) : entity);
+        }
+    }
+
+    /**
+     * Returns one row per group satisfying HAVING clause, holding value of
+     * each select expression. Without GROUP BY, there is always a single
+     * row, even if no entity was added.
+     *
+     * @return result rows.
+     */
+    public List<Object[]> getResults()
+    {
+        if (groups.isEmpty() && groupAccessors.length == 0)
+        {
+            groups.put(Arrays.asList(new Object[0]), newAccumulators());
+        }
+
+        List<Object[]> results = new ArrayList<Object[]>(groups.size());
+        for (Accumulator[] accumulators : groups.values())
+        {
+            Object[] values = new Object[accumulators.length];
+            for (int i = 0; i < values.length; i++)
+            {
+                values[i] = accumulators[i].getResult();
+            }
+
+            boolean matches = true;
+            for (int i = 0; i < havingIndexes.length && matches; i++)
+            {
+                matches = having.get(i).matches(values[havingIndexes[i]]);
+            }
+            if (matches)
+            {
+                results.add(values.length == width ? values : Arrays.copyOf(values, width));
+            }
+        }
+        return results;
+    }
+
+    private Accumulator[] newAccumulators()
+    {
+        Accumulator[] accumulators = new Accumulator[expressions.size()];
+        for (int i = 0; i < accumulators.length; i++)
+        {
+            accumulators[i] = new Accumulator(expressions.get(i), types[i]);
+        }
+        return accumulators;
+    }
+
+    /**
+     * Accumulates values of one select expression for one group.
+     */
+    private static final class Accumulator
+    {
+        private final Function function;
+
+        private final Class<?> type;
+
+        private final Set<Object> distinctValues;
+
+        private long count;
+
+        private long longSum;
+
+        private double doubleSum;
+
+        private BigDecimal decimalSum;
+
+        private Object value;
+
+        Accumulator(Aggregation expression, Class<?> type)
+        {
+            this.function = expression.getFunction();
+            this.type = type != null && type.isPrimitive() ? ClassUtils.primitiveToWrapper(type) : type;
+            this.distinctValues = expression.isDistinct() ? new HashSet<Object>() : null;
+        }
+
+        void add(Object current)
+        {
+            if (function == null)
+            {
+                // grouped property, same for whole group.
+                value = current;
+                return;
+            }
+
+            if (current == null || (distinctValues != null && !distinctValues.add(current)))
+            {
+                return;
+            }
+            count++;
+
+            switch (function)
+            {
+            case SUM:
+            case AVG:
+                if (current instanceof BigDecimal || current instanceof BigInteger)
+                {
+                    BigDecimal decimal = current instanceof BigDecimal ? (BigDecimal) current : new BigDecimal(
+                            (BigInteger) current);
+                    decimalSum = decimalSum == null ? decimal : decimalSum.add(decimal);
+                }
+                else if (Aggregation.isIntegral(current.getClass()))
+                {
+                    longSum += ((Number) current).longValue();
+                }
+                else
+                {
+                    doubleSum += ((Number) current).doubleValue();
+                }
+                break;
+            case MIN:
+                if (value == null || ((Comparable) current).compareTo(value) < 0)
+                {
+                    value = current;
+                }
+                break;
+            case MAX:
+                if (value == null || ((Comparable) current).compareTo(value) > 0)
+                {
+                    value = current;
+                }
+                break;
+            default:
+                break;
+            }
+        }
+
+        Object getResult()
+        {
+            if (function == null)
+            {
+                return value;
+            }
+            if (function == Function.COUNT)
+            {
+                return count;
+            }
+            if (count == 0)
+            {
+                return null;
+            }
+
+            switch (function)
+            {
+            case SUM:
+                if (decimalSum != null)
+                {
+                    return type.equals(BigInteger.class) ? decimalSum.toBigInteger() : decimalSum;
+                }
+                return Aggregation.isIntegral(type) ? Long.valueOf(longSum) : Double.valueOf(doubleSum + longSum);
+            case AVG:
+                double sum = decimalSum != null ? decimalSum.doubleValue() : doubleSum + longSum;
+                return sum / count;
+            default:
+                return value;
+            }
+        }
+    }
+}
@@ -17,8 +17,11 @@ package com.impetus.kundera.query;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -118,6 +121,15 @@ public class KunderaQuery
 
     private final KunderaMetadata kunderaMetadata;
 
+    /** Select expressions of aggregate query, null otherwise. */
+    private List<Aggregation> aggregations;
+
+    /** Grouped attribute names. */
+    private List<String> groupBy = Collections.emptyList();
+
+    /** Having conditions. */
+    private List<Aggregation.Condition> having = Collections.emptyList();
+
     /**
      * Instantiates a new kundera query.
      * 
@@ -138,6 +150,74 @@ public class KunderaQuery
      */
     public void setGrouping(String groupingClause)
     {
+        List<String> groupBy = new ArrayList<String>();
+        for (String path : groupingClause.split(","))
+        {
+            groupBy.add(path.trim());
+        }
+        this.groupBy = groupBy;
+    }
+
+    /**
+     * Sets the having clause.
+     * 
+     * @param havingClause
+     *            the new having clause
+     */
+    public void setHaving(String havingClause)
+    {
+        this.having = Aggregation.parseHaving(havingClause);
+    }
+
+    /**
+     * Sets select expressions of aggregate query.
+     * 
+     * @param aggregations
+     *            select expressions
+     */
+    void setAggregations(List<Aggregation> aggregations)
+    {
+        this.aggregations = aggregations;
+    }
+
+    /**
+     * Returns true, if query selects aggregate functions or groups entities.
+     * 
+     * @return true, if aggregate query.
+     */
+    public boolean isAggregated()
+    {
+        return aggregations != null;
+    }
+
+    /**
+     * Gets select expressions of aggregate query.
+     * 
+     * @return select expressions, null if not an aggregate query.
+     */
+    public List<Aggregation> getAggregations()
+    {
+        return aggregations;
+    }
+
+    /**
+     * Gets grouped attribute names.
+     * 
+     * @return attribute names, empty if not grouped.
+     */
+    public List<String> getGroupBy()
+    {
+        return groupBy;
+    }
+
+    /**
+     * Gets conditions of having clause.
+     * 
+     * @return conditions, empty if none.
+     */
+    public List<Aggregation.Condition> getHaving()
+    {
+        return having;
     }
 
     /**
@@ -348,10 +428,90 @@ public class KunderaQuery
     protected void postParsingInit()
     {
         initEntityClass();
+        initAggregations();
         initFilter();
         initUpdateClause();
     }
 
+    /**
+     * Validates aggregate query and selects all attributes it needs.
+     */
+    private void initAggregations()
+    {
+        if (aggregations == null && groupBy.isEmpty())
+        {
+            if (!having.isEmpty())
+            {
+                throw new JPQLParseException("HAVING requires GROUP BY or aggregate functions");
+            }
+            return;
+        }
+
+        if (aggregations == null)
+        {
+            // grouped properties only.
+            if (result == null || result.length < 2)
+            {
+                throw new JPQLParseException("Only grouped properties can be selected with GROUP BY");
+            }
+            aggregations = new ArrayList<Aggregation>();
+            for (int i = 1; i < result.length; i++)
+            {
+                aggregations.add(Aggregation.parse(result[0] + "." + result[i]));
+            }
+        }
+
+        EntityType entityType = getMetamodel(persistenceUnit).entity(entityClass);
+        List<String> groupBy = new ArrayList<String>(this.groupBy.size());
+        for (String path : this.groupBy)
+        {
+            Aggregation grouped = Aggregation.parse(path);
+            if (grouped.isAggregate() || grouped.getProperty() == null)
+            {
+                throw new JPQLParseException("Bad GROUP BY item: " + path + ", must be a property");
+            }
+            groupBy.add(grouped.getProperty());
+        }
+        this.groupBy = groupBy;
+
+        Set<String> columns = new LinkedHashSet<String>(groupBy);
+        List<Aggregation> expressions = new ArrayList<Aggregation>(aggregations);
+        for (Aggregation.Condition condition : having)
+        {
+            expressions.add(condition.getExpression());
+        }
+        for (Aggregation expression : expressions)
+        {
+            if (!expression.getAlias().equals(entityAlias))
+            {
+                throw new QueryHandlerException("bad query format with invalid alias:" + expression);
+            }
+            if (expression.getProperty() != null)
+            {
+                try
+                {
+                    entityType.getAttribute(expression.getProperty());
+                }
+                catch (IllegalArgumentException iaex)
+                {
+                    throw new QueryHandlerException("No attribute " + expression.getProperty() + " in " + entityName);
+                }
+                columns.add(expression.getProperty());
+            }
+            if (!expression.isAggregate() && !groupBy.contains(expression.getProperty()))
+            {
+                throw new JPQLParseException(expression + " must be an aggregate function or listed in GROUP BY");
+            }
+        }
+
+        // select attributes needed to evaluate query in memory, if not
+        // pushed down to datastore.
+        String[] result = new String[columns.size() + 1];
+        result[0] = entityAlias;
+        System.arraycopy(columns.toArray(new String[columns.size()]), 0, result, 1, columns.size());
+        this.result = result;
+    }
+
     /**
      * 
      */
@@ -812,6 +972,19 @@ public class KunderaQuery
             this.value = KunderaQuery.getValue(value);
         }
 
+        /**
+         * Copies clause, keeping its (already unquoted) value.
+         * 
+         * @param source
+         *            clause to copy.
+         */
+        private FilterClause(FilterClause source)
+        {
+            this.property = source.property;
+            this.condition = source.condition;
+            this.value = source.value;
+        }
+
         /**
          * Gets the property.
          * 
@@ -886,6 +1059,18 @@ public class KunderaQuery
             this.value = KunderaQuery.getValue(value);
         }
 
+        /**
+         * Copies clause, keeping its (already unquoted) value.
+         * 
+         * @param source
+         *            clause to copy.
+         */
+        private UpdateClause(UpdateClause source)
+        {
+            this.property = source.property;
+            this.value = source.value;
+        }
+
         /**
          * @return the property
          */
@@ -913,6 +1098,79 @@ public class KunderaQuery
 
     }
 
+    /**
+     * Returns copy of this parsed query for one execution. Parsed state
+     * (result, from, ordering, entity etc.) is shared, while filter and update
+     * clauses, which hold parameter values, are copied. Parameters bound on
+     * copy do not change this query.
+     * 
+     * @return copy of query.
+     */
+    KunderaQuery copy()
+    {
+        KunderaQuery copy = new KunderaQuery(jpaQuery, kunderaMetadata);
+        copy.result = result;
+        copy.from = from;
+        copy.filter = filter;
+        copy.ordering = ordering;
+        copy.entityName = entityName;
+        copy.entityAlias = entityAlias;
+        copy.entityClass = entityClass;
+        copy.sortOrders = sortOrders;
+        copy.persistenceUnit = persistenceUnit;
+        copy.isDeleteUpdate = isDeleteUpdate;
+        copy.isNativeQuery = isNativeQuery;
+        copy.aggregations = aggregations;
+        copy.groupBy = groupBy;
+        copy.having = having;
+
+        Map<Object, Object> copiedClauses = new IdentityHashMap<Object, Object>();
+        for (Object clause : filtersQueue)
+        {
+            if (clause instanceof FilterClause)
+            {
+                FilterClause filterClause = copy.new FilterClause((FilterClause) clause);
+                copiedClauses.put(clause, filterClause);
+                copy.filtersQueue.add(filterClause);
+            }
+            else
+            {
+                copy.filtersQueue.add(clause);
+            }
+        }
+        for (UpdateClause clause : updateClauseQueue)
+        {
+            UpdateClause updateClause = copy.new UpdateClause(clause);
+            copiedClauses.put(clause, updateClause);
+            copy.updateClauseQueue.add(updateClause);
+        }
+
+        if (typedParameter != null)
+        {
+            copy.typedParameter = copy.new TypedParameter(typedParameter.type);
+            copy.typedParameter.jpaParameters = typedParameter.jpaParameters;
+            if (typedParameter.parameters != null)
+            {
+                for (Map.Entry<String, FilterClause> parameter : typedParameter.parameters.entrySet())
+                {
+                    FilterClause clause = (FilterClause) copiedClauses.get(parameter.getValue());
+                    copy.typedParameter.addParameters(parameter.getKey(), clause != null ? clause : copy.new FilterClause(
+                            parameter.getValue()));
+                }
+            }
+            if (typedParameter.updateParameters != null)
+            {
+                for (Map.Entry<String, UpdateClause> parameter : typedParameter.updateParameters.entrySet())
+                {
+                    UpdateClause clause = (UpdateClause) copiedClauses.get(parameter.getValue());
+                    copy.typedParameter.addParameters(parameter.getKey(), clause != null ? clause : copy.new UpdateClause(
+                            parameter.getValue()));
+                }
+            }
+        }
+        return copy;
+    }
+
     /* @see java.lang.Object#clone() */
     /*
      * (non-Javadoc)
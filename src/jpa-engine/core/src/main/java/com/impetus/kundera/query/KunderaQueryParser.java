@@ -15,6 +15,8 @@
  ******************************************************************************/
 package com.impetus.kundera.query;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.StringTokenizer;
 
 /**
@@ -106,11 +108,12 @@ public class KunderaQueryParser
         /** The tokenizer. */
         private Parser tokenizer;
 
-        // Temporary variable since grouping clause is made up of GROUP BY ...
-        // HAVING ...
         /** The grouping clause. */
         private String groupingClause;
 
+        /** The having clause. */
+        private String havingClause;
+
         /**
          * Instantiates a new compiler.
          * 
@@ -211,6 +214,10 @@ public class KunderaQueryParser
             {
                 query.setGrouping(groupingClause);
             }
+            if (havingClause != null)
+            {
+                query.setHaving(havingClause);
+            }
 
             if (tokenizer.parseKeywordIgnoreCase("ORDER BY"))
             {
@@ -227,7 +234,17 @@ public class KunderaQueryParser
             String[] result = null;
             int count = 0;
             // content may be empty
-            if (content.length() > 0)
+            if (content.length() > 0 && Aggregation.isAggregate(content))
+            {
+                List<Aggregation> aggregations = new ArrayList<Aggregation>();
+                for (String expression : content.split(","))
+                {
+                    aggregations.add(Aggregation.parse(expression));
+                }
+                query.setAggregations(aggregations);
+                query.setResult(aggregations.get(0).getAlias());
+            }
+            else if (content.length() > 0)
             {
                 StringTokenizer stringTokenizer = new StringTokenizer(content, ",");
                 result = new String[stringTokenizer.countTokens() + 1];
@@ -374,14 +391,7 @@ public class KunderaQueryParser
             {
                 throw new JPQLParseException("keyword without value: HAVING");
             }
-            if (groupingClause != null)
-            {
-                groupingClause = groupingClause.trim() + content;
-            }
-            else
-            {
-                groupingClause = content;
-            }
+            havingClause = content;
         }
 
         /**
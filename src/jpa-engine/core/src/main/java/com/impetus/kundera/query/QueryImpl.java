@@ -45,11 +45,14 @@ import org.slf4j.LoggerFactory;
 import com.impetus.kundera.Constants;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.EnhanceEntity;
+import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.ApplicationMetadata;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.DefaultEntityType;
+import com.impetus.kundera.metrics.MetricsCollector;
+import com.impetus.kundera.metrics.MetricsConstants;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
 import com.impetus.kundera.persistence.PersistenceDelegator;
@@ -150,12 +153,23 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
         {
             executeUpdate();
         }
+        else if (kunderaQuery.isAggregated())
+        {
+            results = aggregate();
+        }
         else
         {
             results = fetch();
             assignReferenceToProxy(results);
         }
 
+        MetricsCollector metrics = kunderaMetadata.getApplicationMetadata().getMetricsCollector();
+        if (metrics.isEnabled() && kunderaQuery.getEntityClass() != null)
+        {
+            metrics.recordValue(MetricsConstants.QUERY_ROWS, kunderaQuery.getEntityClass().getName(),
+                    results != null ? results.size() : 0);
+        }
+
         return results != null ? results : new ArrayList();
     }
 
@@ -167,21 +181,108 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
         List<Object> result = new ArrayList<Object>();
         if (enhanceEntities != null)
         {
+            List<EnhanceEntity> ees = new ArrayList<EnhanceEntity>(enhanceEntities.size());
             for (Object e : enhanceEntities)
             {
                 if (!(e instanceof EnhanceEntity))
                 {
                     e = new EnhanceEntity(e, PropertyAccessorHelper.getId(e, m), null);
                 }
-                EnhanceEntity ee = (EnhanceEntity) e;
-                result.add(getReader().recursivelyFindEntities(ee.getEntity(), ee.getRelations(), m,
-                        persistenceDelegeator, false));
+                ees.add((EnhanceEntity) e);
             }
+            result = getReader().recursivelyFindEntities(ees, m, persistenceDelegeator, false);
         }
 
         return result;
     }
 
+    /**
+     * Evaluates aggregate query. It is pushed down to datastore by
+     * {@link #onAggregate(EntityMetadata, Client)} if possible, else matching
+     * entities are aggregated one by one while being iterated over.
+     * 
+     * @return one value per group if single expression is selected, else
+     *         one array of values per group.
+     */
+    protected List aggregate()
+    {
+        EntityMetadata m = getEntityMetadata();
+        Client client = persistenceDelegeator.getClient(m);
+
+        List<Object[]> rows = onAggregate(m, client);
+        if (rows == null)
+        {
+            Aggregator aggregator = new Aggregator(kunderaQuery, m, kunderaMetadata);
+
+            // every matching entity counts, max results limit groups only.
+            int maxResult = this.maxResult;
+            Integer fetchSize = this.fetchSize;
+            this.maxResult = Integer.MAX_VALUE;
+            this.fetchSize = null;
+            try
+            {
+                Iterator entities = null;
+                try
+                {
+                    entities = iterate();
+                }
+                catch (UnsupportedOperationException uoex)
+                {
+                    log.debug("Iteration not supported for {}, fetching entities to aggregate.", getJPAQuery());
+                }
+
+                if (entities != null)
+                {
+                    while (entities.hasNext())
+                    {
+                        aggregator.add(entities.next());
+                    }
+                }
+                else
+                {
+                    List fetched = fetch();
+                    if (fetched != null)
+                    {
+                        for (Object entity : fetched)
+                        {
+                            aggregator.add(entity);
+                        }
+                    }
+                }
+            }
+            finally
+            {
+                this.maxResult = maxResult;
+                this.fetchSize = fetchSize;
+            }
+            rows = aggregator.getResults();
+        }
+
+        List results = new ArrayList(rows.size());
+        for (Object[] row : rows)
+        {
+            results.add(row.length == 1 ? row[0] : row);
+        }
+        return results;
+    }
+
+    /**
+     * Evaluates aggregate query, including its HAVING clause, natively on
+     * datastore. Clients capable of it should override.
+     * 
+     * @param m
+     *            entity metadata
+     * @param client
+     *            client
+     * @return one row per group, holding value of each select expression
+     *         converted by {@link Aggregation#toResultType(Object, Class)}, or
+     *         null if query can not be pushed down to datastore.
+     */
+    protected List<Object[]> onAggregate(EntityMetadata m, Client client)
+    {
+        return null;
+    }
+
     /**
      * Populate using lucene.
      * 
@@ -265,6 +366,24 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
     {
         if (kunderaQuery.isDeleteUpdate())
         {
+            EntityMetadata metadata = getEntityMetadata();
+            if (!isRelational(metadata))
+            {
+                int count = onBulkUpdateDelete(metadata, persistenceDelegeator.getClient(metadata));
+                if (count >= 0)
+                {
+                    return count;
+                }
+            }
+
+            Iterator results = iterateForUpdateDelete();
+            if (results != null)
+            {
+                return onDeleteOrUpdate(results,
+                        KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata,
+                                metadata.getPersistenceUnit()).getQueryPageSize());
+            }
+
             List result = fetch();
             onDeleteOrUpdate(result);
             return result != null ? result.size() : 0;
@@ -274,6 +393,73 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
 
     }
 
+    /**
+     * Executes update/delete query as a single native bulk operation on
+     * datastore, bypassing persistence context. Invoked only for entities
+     * without relations. Clients capable of it should override.
+     * 
+     * @param m
+     *            entity metadata
+     * @param client
+     *            client
+     * @return number of affected entities, or -1 if query can not be pushed
+     *         down to datastore.
+     */
+    protected int onBulkUpdateDelete(EntityMetadata m, Client client)
+    {
+        return -1;
+    }
+
+    /**
+     * Returns iterator over entities to be updated/deleted, if it remains
+     * valid while they are modified, else null. Entities are then
+     * updated/deleted page by page, instead of being loaded at once.
+     * 
+     * @return iterator or null.
+     */
+    protected Iterator iterateForUpdateDelete()
+    {
+        return null;
+    }
+
+    /**
+     * Performs delete or update on entities of iterator, in chunks of given
+     * size. Unless within transaction, processed entities are detached and
+     * dropped from persistence cache once flushed, so that only one chunk is
+     * held at a time.
+     * 
+     * @param results
+     *            entities to be merged/deleted.
+     * @param chunkSize
+     *            number of entities per chunk.
+     * @return number of entities merged/deleted.
+     */
+    private int onDeleteOrUpdate(Iterator results, int chunkSize)
+    {
+        int count = 0;
+        List chunk = new ArrayList(chunkSize);
+        while (results.hasNext())
+        {
+            chunk.add(results.next());
+            if (chunk.size() == chunkSize || !results.hasNext())
+            {
+                onDeleteOrUpdate(chunk);
+                if (!persistenceDelegeator.isTransactionInProgress())
+                {
+                    EntityMetadata m = getEntityMetadata();
+                    for (Object entity : chunk)
+                    {
+                        PersistenceCacheManager.removeEntityFromPersistenceCache(entity, persistenceDelegeator,
+                                PropertyAccessorHelper.getId(entity, m));
+                    }
+                }
+                count += chunk.size();
+                chunk.clear();
+            }
+        }
+        return count;
+    }
+
     /**
      * Performs delete or update based on query.
      * 
@@ -299,45 +485,47 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
             else
             {
                 EntityMetadata entityMetadata = getEntityMetadata();
+                DefaultEntityType entityType = (DefaultEntityType) kunderaMetadata.getApplicationMetadata()
+                        .getMetamodel(entityMetadata.getPersistenceUnit()).entity(entityMetadata.getEntityClazz());
+
+                // resolve updated fields once, entities are merged once after
+                // all of them are set.
+                List<UpdateClause> clauses = new ArrayList<UpdateClause>(kunderaQuery.getUpdateClauseQueue());
+                Field[] fields = new Field[clauses.size()];
+                for (int i = 0; i < fields.length; i++)
+                {
+                    String columnName = clauses.get(i).getProperty();
+                    try
+                    {
+                        // That will always be attribute name.
+                        fields[i] = (Field) entityType.getAttribute(columnName).getJavaMember();
+                    }
+                    catch (IllegalArgumentException iax)
+                    {
+                        log.error("Invalid column name: " + columnName + " for class : "
+                                + entityMetadata.getEntityClazz());
+                        throw new QueryHandlerException("Error while executing query: " + iax);
+                    }
+                }
+
                 for (Object result : results)
                 {
                     PersistenceCacheManager.addEntityToPersistenceCache(result, persistenceDelegeator,
-                            PropertyAccessorHelper.getId(result, this.getEntityMetadata()));
+                            PropertyAccessorHelper.getId(result, entityMetadata));
 
-                    for (UpdateClause c : kunderaQuery.getUpdateClauseQueue())
+                    for (int i = 0; i < fields.length; i++)
                     {
-                        String columnName = c.getProperty();
-                        try
+                        Object value = clauses.get(i).getValue();
+                        if (value instanceof String)
                         {
-
-                            DefaultEntityType entityType = (DefaultEntityType) kunderaMetadata.getApplicationMetadata()
-                                    .getMetamodel(entityMetadata.getPersistenceUnit())
-                                    .entity(entityMetadata.getEntityClazz());
-
-                            // That will always be attribute name.
-
-                            Attribute attribute = entityType.getAttribute(columnName);
-
-                            // TODO : catch column name.
-
-                            if (c.getValue() instanceof String)
-                            {
-                                PropertyAccessorHelper.set(result, (Field) attribute.getJavaMember(), c.getValue()
-                                        .toString());
-                            }
-                            else
-                            {
-                                PropertyAccessorHelper.set(result, (Field) attribute.getJavaMember(), c.getValue());
-                            }
-                            persistenceDelegeator.merge(result);
+                            PropertyAccessorHelper.set(result, fields[i], value.toString());
                         }
-                        catch (IllegalArgumentException iax)
+                        else
                         {
-                            log.error("Invalid column name: " + columnName + " for class : "
-                                    + entityMetadata.getEntityClazz());
-                            throw new QueryHandlerException("Error while executing query: " + iax);
+                            PropertyAccessorHelper.set(result, fields[i], value);
                         }
                     }
+                    persistenceDelegeator.merge(result);
                 }
             }
         }
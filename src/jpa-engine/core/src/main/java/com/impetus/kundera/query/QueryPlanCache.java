@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.query;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, least recently used cache of parsed JPQL queries, shared by all
+ * entity managers of an entity manager factory. Cached queries are parsed
+ * once and never executed; every lookup returns a copy of it with its own
+ * parameter bindings (see {@link KunderaQuery#copy()}).
+ *
+ * @see com.impetus.kundera.metadata.model.ApplicationMetadata#getQueryPlanCache()
+ */
+public final class QueryPlanCache
+{
+    private final Map<String, KunderaQuery> plans;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    /**
+     * Instantiates a new query plan cache.
+     *
+     * @param maxSize
+     *            maximum number of parsed queries kept.
+     */
+    public QueryPlanCache(final int maxSize)
+    {
+        if (maxSize <= 0)
+        {
+            throw new IllegalArgumentException("Query plan cache size must be > 0.");
+        }
+        this.plans = new LinkedHashMap<String, KunderaQuery>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, KunderaQuery> eldest)
+            {
+                if (size() > maxSize)
+                {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns copy of parsed query cached for given query string, or null.
+     *
+     * @param jpaQuery
+     *            JPQL query string.
+     * @return copy of parsed query, ready to be bound and executed.
+     */
+    KunderaQuery get(String jpaQuery)
+    {
+        KunderaQuery plan;
+        synchronized (this)
+        {
+            plan = plans.get(jpaQuery);
+            if (plan == null)
+            {
+                misses++;
+                return null;
+            }
+            hits++;
+        }
+        return plan.copy();
+    }
+
+    /**
+     * Caches parsed query. Query must not be executed or bound afterwards.
+     *
+     * @param jpaQuery
+     *            JPQL query string.
+     * @param plan
+     *            parsed query.
+     */
+    synchronized void put(String jpaQuery, KunderaQuery plan)
+    {
+        plans.put(jpaQuery, plan);
+    }
+
+    /**
+     * Drops all parsed queries.
+     */
+    public synchronized void clear()
+    {
+        plans.clear();
+    }
+
+    /**
+     * @return number of parsed queries kept.
+     */
+    public synchronized int size()
+    {
+        return plans.size();
+    }
+
+    /**
+     * @return number of lookups served from cache.
+     */
+    public synchronized long getHitCount()
+    {
+        return hits;
+    }
+
+    /**
+     * @return number of lookups which required parsing.
+     */
+    public synchronized long getMissCount()
+    {
+        return misses;
+    }
+
+    /**
+     * @return number of parsed queries evicted as least recently used.
+     */
+    public synchronized long getEvictionCount()
+    {
+        return evictions;
+    }
+}
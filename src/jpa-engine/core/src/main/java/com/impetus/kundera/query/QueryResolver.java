@@ -18,6 +18,7 @@ package com.impetus.kundera.query;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
 
 import javax.persistence.Query;
 
@@ -27,6 +28,8 @@ import org.slf4j.LoggerFactory;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.ApplicationMetadata;
 import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.metrics.MetricsCollector;
+import com.impetus.kundera.metrics.MetricsConstants;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.PersistenceDelegator;
 
@@ -72,12 +75,7 @@ public class QueryResolver
         // In case of named native query
         if (!isNative)
         {
-            kunderaQuery = new KunderaQuery(mappedQuery != null ? mappedQuery : jpaQuery, kunderaMetadata);
-            KunderaQueryParser parser = new KunderaQueryParser(kunderaQuery);
-
-            parser.parse();
-
-            kunderaQuery.postParsingInit();
+            kunderaQuery = getKunderaQuery(mappedQuery != null ? mappedQuery : jpaQuery, kunderaMetadata);
             m = kunderaQuery.getEntityMetadata();
         }
         else
@@ -126,6 +124,87 @@ public class QueryResolver
         return query;
     }
 
+    /**
+     * Returns parsed query for given JPQL, from query plan cache of entity
+     * manager factory if present. Parsed queries are cached on first use.
+     * 
+     * @param jpaQuery
+     *            the jpa query
+     * @param kunderaMetadata
+     *            kundera metadata
+     * @return parsed query, owned by caller.
+     */
+    private KunderaQuery getKunderaQuery(String jpaQuery, final KunderaMetadata kunderaMetadata)
+    {
+        QueryPlanCache planCache = kunderaMetadata.getApplicationMetadata().getQueryPlanCache();
+        if (planCache == null)
+        {
+            return parse(jpaQuery, kunderaMetadata);
+        }
+
+        KunderaQuery kunderaQuery = planCache.get(jpaQuery);
+        if (kunderaQuery == null)
+        {
+            KunderaQuery plan = parse(jpaQuery, kunderaMetadata);
+            planCache.put(jpaQuery, plan);
+            kunderaQuery = plan.copy();
+        }
+        return kunderaQuery;
+    }
+
+    /**
+     * Parses and validates JPQL query.
+     * 
+     * @param jpaQuery
+     *            the jpa query
+     * @param kunderaMetadata
+     *            kundera metadata
+     * @return parsed query.
+     */
+    private KunderaQuery parse(String jpaQuery, final KunderaMetadata kunderaMetadata)
+    {
+        MetricsCollector metrics = kunderaMetadata.getApplicationMetadata().getMetricsCollector();
+        long start = metrics.startTimer();
+        KunderaQuery kunderaQuery = new KunderaQuery(jpaQuery, kunderaMetadata);
+        KunderaQueryParser parser = new KunderaQueryParser(kunderaQuery);
+
+        parser.parse();
+
+        kunderaQuery.postParsingInit();
+        metrics.stopTimer(MetricsConstants.QUERY_PARSE, kunderaQuery.getEntityClass() != null ? kunderaQuery
+                .getEntityClass().getName() : null, start);
+        return kunderaQuery;
+    }
+
+    /**
+     * Parses all named (non native) queries into query plan cache of entity
+     * manager factory. Queries failing to parse are left to fail on creation.
+     * 
+     * @param kunderaMetadata
+     *            kundera metadata
+     */
+    public void preparseNamedQueries(final KunderaMetadata kunderaMetadata)
+    {
+        ApplicationMetadata appMetadata = kunderaMetadata.getApplicationMetadata();
+        QueryPlanCache planCache = appMetadata.getQueryPlanCache();
+        if (planCache == null)
+        {
+            return;
+        }
+
+        for (Map.Entry<String, String> namedQuery : appMetadata.getNamedQueries().entrySet())
+        {
+            try
+            {
+                planCache.put(namedQuery.getValue(), parse(namedQuery.getValue(), kunderaMetadata));
+            }
+            catch (RuntimeException e)
+            {
+                log.warn("Named query {} could not be parsed, Caused by: {}.", namedQuery.getKey(), e.getMessage());
+            }
+        }
+    }
+
     /**
      * Gets the query instance.
      * 
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.service.policy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per host circuit breaker. Breaker opens after given number of consecutive
+ * failures and rejects requests until open timeout elapses, after which a
+ * single probe request is let through. Probe success closes breaker, probe
+ * failure opens it again.
+ */
+public class CircuitBreaker
+{
+    public enum State
+    {
+        CLOSED, OPEN, HALF_OPEN;
+    }
+
+    private final int failureThreshold;
+
+    private final long openTimeoutNanos;
+
+    private volatile State state = State.CLOSED;
+
+    private final AtomicInteger failures = new AtomicInteger();
+
+    /** Time at which breaker was opened, or last probe was let through. */
+    private volatile long openedAt;
+
+    /**
+     * @param failureThreshold
+     *            consecutive failures after which breaker opens.
+     * @param openTimeoutMillis
+     *            time for which an open breaker rejects requests, before
+     *            probing.
+     */
+    public CircuitBreaker(int failureThreshold, long openTimeoutMillis)
+    {
+        if (failureThreshold <= 0 || openTimeoutMillis < 0)
+        {
+            throw new IllegalArgumentException("Failure threshold must be > 0 and open timeout must be >= 0.");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(openTimeoutMillis);
+    }
+
+    /**
+     * Returns true if request may be sent to host. Moves an open breaker whose
+     * timeout has elapsed to {@link State#HALF_OPEN}, letting the caller
+     * through as probe. A probe which never reports back is replaced after
+     * another timeout.
+     *
+     * @return true, if request is allowed.
+     */
+    public boolean allowRequest()
+    {
+        if (state == State.CLOSED)
+        {
+            return true;
+        }
+        // only reached for a failing host, one caller wins the probe.
+        synchronized (this)
+        {
+            long now = System.nanoTime();
+            if (state == State.CLOSED)
+            {
+                return true;
+            }
+            if (now - openedAt >= openTimeoutNanos)
+            {
+                state = State.HALF_OPEN;
+                openedAt = now;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Returns true if {@link #allowRequest()} would let a request through,
+     * without claiming a probe.
+     *
+     * @return true, if host is available.
+     */
+    public boolean isAvailable()
+    {
+        return state == State.CLOSED || System.nanoTime() - openedAt >= openTimeoutNanos;
+    }
+
+    /**
+     * Records a successful request, closing breaker.
+     */
+    public void onSuccess()
+    {
+        failures.set(0);
+        if (state != State.CLOSED)
+        {
+            state = State.CLOSED;
+        }
+    }
+
+    /**
+     * Records a failed request, opening breaker if probe failed or failure
+     * threshold is reached.
+     */
+    public void onFailure()
+    {
+        if (failures.incrementAndGet() >= failureThreshold || state == State.HALF_OPEN)
+        {
+            synchronized (this)
+            {
+                openedAt = System.nanoTime();
+                state = State.OPEN;
+            }
+        }
+    }
+
+    public State getState()
+    {
+        return state;
+    }
+}
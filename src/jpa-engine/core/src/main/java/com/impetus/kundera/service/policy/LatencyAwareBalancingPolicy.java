@@ -0,0 +1,284 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.service.policy;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency aware balancing policy. Keeps an exponentially weighted moving
+ * average (EWMA) of response times and a {@link CircuitBreaker} per host pool,
+ * and picks the faster of two adjacent healthy pools in round robin order
+ * ("power of two choices"), so traffic drains away from slow hosts without all
+ * of it moving to the single fastest one. Selection is constant time and
+ * allocation free.
+ * <p>
+ * Client factories register pools via {@link #addPool(Object)} and
+ * {@link #removePool(Object)}, and report outcome of requests via
+ * {@link #onSuccess(Object, long)} and {@link #onFailure(Object)}.
+ * {@link #getPool(Collection)} returns null if breakers of all hosts are open.
+ */
+public class LatencyAwareBalancingPolicy implements LoadBalancingPolicy
+{
+    public static final double DEFAULT_ALPHA = 0.3;
+
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+
+    public static final long DEFAULT_OPEN_TIMEOUT_MILLIS = 10000;
+
+    public static final long DEFAULT_DECAY_MILLIS = 30000;
+
+    private final double alpha;
+
+    private final int failureThreshold;
+
+    private final long openTimeoutMillis;
+
+    private final double decayNanos;
+
+    private final ConcurrentMap<Object, HostStats> stats = new ConcurrentHashMap<Object, HostStats>();
+
+    /** Copy on write snapshot of registered pools, read on every selection. */
+    private volatile HostStats[] hosts = new HostStats[0];
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public LatencyAwareBalancingPolicy()
+    {
+        this(DEFAULT_ALPHA, DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_TIMEOUT_MILLIS, DEFAULT_DECAY_MILLIS);
+    }
+
+    /**
+     * @param alpha
+     *            weight of latest sample in average, between 0 and 1.
+     * @param failureThreshold
+     *            consecutive failures after which host breaker opens.
+     * @param openTimeoutMillis
+     *            time after which an open breaker lets a probe through.
+     * @param decayMillis
+     *            time over which average of an idle host decays, so a host
+     *            which was slow once is tried again.
+     */
+    public LatencyAwareBalancingPolicy(double alpha, int failureThreshold, long openTimeoutMillis, long decayMillis)
+    {
+        if (alpha <= 0 || alpha > 1 || decayMillis <= 0)
+        {
+            throw new IllegalArgumentException("Alpha must be in (0, 1] and decay must be > 0.");
+        }
+        this.alpha = alpha;
+        this.failureThreshold = failureThreshold;
+        this.openTimeoutMillis = openTimeoutMillis;
+        this.decayNanos = TimeUnit.MILLISECONDS.toNanos(decayMillis);
+    }
+
+    /**
+     * Registers pool of a host, resetting its statistics.
+     *
+     * @param pool
+     *            host pool.
+     */
+    public synchronized void addPool(Object pool)
+    {
+        stats.put(pool, new HostStats(pool, new CircuitBreaker(failureThreshold, openTimeoutMillis)));
+        hosts = stats.values().toArray(new HostStats[stats.size()]);
+    }
+
+    /**
+     * Deregisters pool of a host.
+     *
+     * @param pool
+     *            host pool.
+     */
+    public synchronized void removePool(Object pool)
+    {
+        if (stats.remove(pool) != null)
+        {
+            hosts = stats.values().toArray(new HostStats[stats.size()]);
+        }
+    }
+
+    /**
+     * Returns pool of a healthy host, preferring lower average latency. Given
+     * pools are only used when no pool is registered. Selection does not claim
+     * recovery probe of a host, caller claims it via
+     * {@link #allowRequest(Object)} when borrowing from returned pool.
+     *
+     * @return pool, or null if breakers of all hosts are open.
+     */
+    @Override
+    public Object getPool(Collection<Object> pools)
+    {
+        HostStats[] snapshot = hosts;
+        int size = snapshot.length;
+        if (size == 0)
+        {
+            return pools.isEmpty() ? null : pools.iterator().next();
+        }
+
+        int index = (counter.getAndIncrement() & Integer.MAX_VALUE) % size;
+        HostStats first = snapshot[index];
+        HostStats second = snapshot[(index + 1) % size];
+        long now = System.nanoTime();
+
+        HostStats chosen = choose(first, second, now);
+        if (chosen != null)
+        {
+            return chosen.pool;
+        }
+
+        // both candidates are failing, look for any host that is not.
+        for (int i = 0; i < size; i++)
+        {
+            HostStats host = snapshot[(index + i) % size];
+            if (host.breaker.isAvailable())
+            {
+                return host.pool;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns true if request may be sent to pool, claiming a recovery probe
+     * if its breaker is due for one. Unregistered pools are always allowed.
+     *
+     * @param pool
+     *            host pool.
+     * @return true, if pool may be used.
+     */
+    public boolean allowRequest(Object pool)
+    {
+        HostStats host = stats.get(pool);
+        return host == null || host.breaker.allowRequest();
+    }
+
+    /**
+     * Records a successful request on pool.
+     *
+     * @param pool
+     *            host pool.
+     * @param latencyNanos
+     *            response time in nanoseconds.
+     */
+    public void onSuccess(Object pool, long latencyNanos)
+    {
+        HostStats host = stats.get(pool);
+        if (host != null)
+        {
+            host.record(latencyNanos, alpha);
+            host.breaker.onSuccess();
+        }
+    }
+
+    /**
+     * Records a failed request on pool.
+     *
+     * @param pool
+     *            host pool.
+     */
+    public void onFailure(Object pool)
+    {
+        HostStats host = stats.get(pool);
+        if (host != null)
+        {
+            host.breaker.onFailure();
+        }
+    }
+
+    /**
+     * Returns average latency of pool in nanoseconds, or -1 if pool is not
+     * registered.
+     *
+     * @param pool
+     *            host pool.
+     * @return average latency.
+     */
+    public double getAverageLatency(Object pool)
+    {
+        HostStats host = stats.get(pool);
+        return host != null ? host.ewma : -1;
+    }
+
+    /**
+     * Returns breaker of pool, or null if pool is not registered.
+     *
+     * @param pool
+     *            host pool.
+     * @return circuit breaker.
+     */
+    public CircuitBreaker getCircuitBreaker(Object pool)
+    {
+        HostStats host = stats.get(pool);
+        return host != null ? host.breaker : null;
+    }
+
+    private HostStats choose(HostStats first, HostStats second, long now)
+    {
+        boolean firstAvailable = first.breaker.isAvailable();
+        boolean secondAvailable = second.breaker.isAvailable();
+        if (firstAvailable && secondAvailable)
+        {
+            // a host due for a recovery probe goes first, it would never win
+            // on latency otherwise.
+            if (first.breaker.getState() != CircuitBreaker.State.CLOSED)
+            {
+                return first;
+            }
+            if (second.breaker.getState() != CircuitBreaker.State.CLOSED)
+            {
+                return second;
+            }
+            return first.score(now, decayNanos) <= second.score(now, decayNanos) ? first : second;
+        }
+        return firstAvailable ? first : secondAvailable ? second : null;
+    }
+
+    /**
+     * Latency average and breaker of a host pool. Concurrent updates of
+     * average may race, losing a sample now and then is harmless.
+     */
+    private static final class HostStats
+    {
+        private final Object pool;
+
+        private final CircuitBreaker breaker;
+
+        private volatile double ewma;
+
+        private volatile long lastUpdate = System.nanoTime();
+
+        private HostStats(Object pool, CircuitBreaker breaker)
+        {
+            this.pool = pool;
+            this.breaker = breaker;
+        }
+
+        private void record(long latencyNanos, double alpha)
+        {
+            double current = ewma;
+            ewma = current == 0 ? latencyNanos : current + alpha * (latencyNanos - current);
+            lastUpdate = System.nanoTime();
+        }
+
+        private double score(long now, double decayNanos)
+        {
+            return ewma * Math.exp(-(now - lastUpdate) / decayNanos);
+        }
+    }
+}
@@ -0,0 +1,375 @@
+/**
+ * Copyright 2013 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.persistence.ElementCollection;
+import javax.persistence.Embedded;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.Attribute.PersistentAttributeType;
+import javax.persistence.metamodel.EmbeddableType;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.Type.PersistenceType;
+
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.metadata.model.MetamodelImpl;
+import com.impetus.kundera.metadata.model.Relation;
+import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
+import com.impetus.kundera.property.PropertyAccessor;
+import com.impetus.kundera.property.PropertyAccessorFactory;
+import com.impetus.kundera.property.PropertyAccessorHelper;
+
+/**
+ * Copy plan of an entity class, built once from its metamodel and cached on
+ * {@link EntityMetadata}. Copies non relational attributes of an entity with
+ * precomputed accessible fields and property accessors, so that
+ * {@link ObjectUtils#deepCopy(Object, com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata)}
+ * does not walk metamodel or annotations on every copy. If immutable values
+ * are shared, strings, wrappers, enums etc. are assigned instead of copied.
+ */
+public final class EntityCopier
+{
+    /** Types whose instances can not be changed and can be shared. */
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<Class<?>>();
+
+    static
+    {
+        IMMUTABLE_TYPES.add(String.class);
+        IMMUTABLE_TYPES.add(Boolean.class);
+        IMMUTABLE_TYPES.add(Character.class);
+        IMMUTABLE_TYPES.add(Byte.class);
+        IMMUTABLE_TYPES.add(Short.class);
+        IMMUTABLE_TYPES.add(Integer.class);
+        IMMUTABLE_TYPES.add(Long.class);
+        IMMUTABLE_TYPES.add(Float.class);
+        IMMUTABLE_TYPES.add(Double.class);
+        IMMUTABLE_TYPES.add(BigInteger.class);
+        IMMUTABLE_TYPES.add(BigDecimal.class);
+        IMMUTABLE_TYPES.add(UUID.class);
+    }
+
+    private final Class<?> entityClazz;
+
+    private final ColumnCopier[] columns;
+
+    private final List<Relation> relations;
+
+    /**
+     * Builds copy plan of entity.
+     *
+     * @param metadata
+     *            entity metadata.
+     * @param metaModel
+     *            metamodel of entity's persistence unit.
+     * @param shareImmutables
+     *            whether immutable values are shared instead of copied.
+     */
+    public EntityCopier(EntityMetadata metadata, MetamodelImpl metaModel, boolean shareImmutables)
+    {
+        this.entityClazz = metadata.getEntityClazz();
+        this.relations = metadata.getRelations();
+
+        EntityType entityType = metaModel.entity(entityClazz);
+        List<ColumnCopier> columnCopiers = new ArrayList<ColumnCopier>();
+        for (Object o : entityType.getAttributes())
+        {
+            Attribute attrib = (Attribute) o;
+            Field columnField = accessible((Field) attrib.getJavaMember());
+            if (attrib.getPersistentAttributeType().equals(PersistentAttributeType.EMBEDDED)
+                    || attrib.getPersistentAttributeType().equals(PersistentAttributeType.ELEMENT_COLLECTION))
+            {
+                EmbeddableType embeddedColumn = metaModel.embeddable(((AbstractAttribute) attrib)
+                        .getBindableJavaType());
+                if (columnField.getAnnotation(Embedded.class) != null)
+                {
+                    columnCopiers.add(new EmbeddedCopier(columnField, embeddedColumn, shareImmutables));
+                }
+                else if (columnField.getAnnotation(ElementCollection.class) != null)
+                {
+                    columnCopiers.add(new ElementCollectionCopier(columnField, embeddedColumn, shareImmutables));
+                }
+                else if (columnField.getAnnotation(javax.persistence.Column.class) != null)
+                {
+                    columnCopiers.add(new ReferenceCopier(columnField));
+                }
+            }
+            else if (attrib.getPersistentAttributeType().equals(PersistentAttributeType.BASIC))
+            {
+                columnCopiers.add(basicCopier(columnField, shareImmutables));
+            }
+        }
+        this.columns = columnCopiers.toArray(new ColumnCopier[columnCopiers.size()]);
+    }
+
+    /**
+     * Returns relations of entity.
+     *
+     * @return relations.
+     */
+    public List<Relation> getRelations()
+    {
+        return relations;
+    }
+
+    /**
+     * Whether copies of entity may reference other entities, and need to be
+     * tracked against cycles.
+     *
+     * @return true, if entity has relations.
+     */
+    public boolean hasRelations()
+    {
+        return !relations.isEmpty();
+    }
+
+    /**
+     * Creates new instance of entity with copy of non relational attributes
+     * of source.
+     *
+     * @param source
+     *            source entity.
+     * @return copy.
+     * @throws Exception
+     *             if entity or embeddable can not be instantiated or accessed.
+     */
+    public Object copyColumns(Object source) throws Exception
+    {
+        Object target = entityClazz.newInstance();
+        for (ColumnCopier column : columns)
+        {
+            column.copy(source, target);
+        }
+        return target;
+    }
+
+    private static Field accessible(Field field)
+    {
+        if (!field.isAccessible())
+        {
+            field.setAccessible(true);
+        }
+        return field;
+    }
+
+    private static ColumnCopier basicCopier(Field field, boolean shareImmutables)
+    {
+        Class<?> type = field.getType();
+        if (shareImmutables && (type.isPrimitive() || type.isEnum() || IMMUTABLE_TYPES.contains(type)))
+        {
+            return new ReferenceCopier(field);
+        }
+        return new ValueCopier(field, PropertyAccessorFactory.getPropertyAccessor(field));
+    }
+
+    /**
+     * Copies one attribute from source to target.
+     */
+    private interface ColumnCopier
+    {
+        void copy(Object source, Object target) throws Exception;
+    }
+
+    /**
+     * Assigns value of source to target.
+     */
+    private static final class ReferenceCopier implements ColumnCopier
+    {
+        private final Field field;
+
+        ReferenceCopier(Field field)
+        {
+            this.field = field;
+        }
+
+        @Override
+        public void copy(Object source, Object target) throws Exception
+        {
+            field.set(target, field.get(source));
+        }
+    }
+
+    /**
+     * Assigns copy of source value to target.
+     */
+    private static final class ValueCopier implements ColumnCopier
+    {
+        private final Field field;
+
+        private final PropertyAccessor<?> accessor;
+
+        ValueCopier(Field field, PropertyAccessor<?> accessor)
+        {
+            this.field = field;
+            this.accessor = accessor;
+        }
+
+        @Override
+        public void copy(Object source, Object target) throws Exception
+        {
+            field.set(target, accessor.getCopy(field.get(source)));
+        }
+    }
+
+    /**
+     * Copies embedded object attribute by attribute.
+     */
+    private static final class EmbeddedCopier implements ColumnCopier
+    {
+        private final Field field;
+
+        private final ColumnCopier[] columns;
+
+        EmbeddedCopier(Field field, EmbeddableType embeddedColumn, boolean shareImmutables)
+        {
+            this.field = field;
+            Set<Attribute> attributes = embeddedColumn.getAttributes();
+            this.columns = new ColumnCopier[attributes.size()];
+            int i = 0;
+            for (Attribute column : attributes)
+            {
+                columns[i++] = basicCopier(accessible((Field) column.getJavaMember()), shareImmutables);
+            }
+        }
+
+        @Override
+        public void copy(Object source, Object target) throws Exception
+        {
+            Object sourceEmbeddedObj = field.get(source);
+            if (sourceEmbeddedObj != null)
+            {
+                Object targetEmbeddedObj = field.getType().newInstance();
+                for (ColumnCopier column : columns)
+                {
+                    column.copy(sourceEmbeddedObj, targetEmbeddedObj);
+                }
+                field.set(target, targetEmbeddedObj);
+            }
+        }
+    }
+
+    /**
+     * Copies list, set or map of basic or embeddable elements.
+     */
+    private static final class ElementCollectionCopier implements ColumnCopier
+    {
+        private final Field field;
+
+        private final boolean basic;
+
+        private final boolean embeddable;
+
+        private final boolean shareImmutables;
+
+        private final Class<?> genericClass;
+
+        private final ColumnCopier[] elementColumns;
+
+        ElementCollectionCopier(Field field, EmbeddableType embeddedColumn, boolean shareImmutables)
+        {
+            this.field = field;
+            this.basic = PersistenceType.BASIC.equals(embeddedColumn.getPersistenceType());
+            this.embeddable = PersistenceType.EMBEDDABLE.equals(embeddedColumn.getPersistenceType());
+            this.shareImmutables = shareImmutables;
+            this.genericClass = Map.class.isAssignableFrom(field.getType()) ? null : PropertyAccessorHelper
+                    .getGenericClass(field);
+
+            List<ColumnCopier> copiers = new ArrayList<ColumnCopier>();
+            if (genericClass != null && embeddable)
+            {
+                for (Field f : genericClass.getDeclaredFields())
+                {
+                    if (f != null && !Modifier.isStatic(f.getModifiers()))
+                    {
+                        copiers.add(basicCopier(accessible(f), shareImmutables));
+                    }
+                }
+            }
+            this.elementColumns = copiers.toArray(new ColumnCopier[copiers.size()]);
+        }
+
+        @Override
+        public void copy(Object source, Object target) throws Exception
+        {
+            Object sourceEmbeddedObj = field.get(source);
+            if (sourceEmbeddedObj == null)
+            {
+                return;
+            }
+
+            Object targetCollectionObject = sourceEmbeddedObj.getClass().newInstance();
+
+            // Copy element collections for List and Set
+            if (sourceEmbeddedObj instanceof Collection)
+            {
+                boolean isCollection = List.class.isAssignableFrom(field.getType())
+                        || Set.class.isAssignableFrom(field.getType());
+                for (Object sourceEcObj : (Collection) sourceEmbeddedObj)
+                {
+                    Object targetEcObj = null;
+                    if (basic)
+                    {
+                        targetEcObj = copyValue(sourceEcObj);
+                    }
+                    else if (embeddable)
+                    {
+                        targetEcObj = genericClass.newInstance();
+                        for (ColumnCopier column : elementColumns)
+                        {
+                            column.copy(sourceEcObj, targetEcObj);
+                        }
+                    }
+                    if (isCollection)
+                    {
+                        ((Collection) targetCollectionObject).add(targetEcObj);
+                    }
+                }
+            }
+
+            // Copy element collection for Map
+            else if (sourceEmbeddedObj instanceof Map && basic)
+            {
+                for (Object entry : ((Map) sourceEmbeddedObj).entrySet())
+                {
+                    Map.Entry sourceEntry = (Map.Entry) entry;
+                    ((Map) targetCollectionObject).put(copyValue(sourceEntry.getKey()),
+                            copyValue(sourceEntry.getValue()));
+                }
+            }
+            field.set(target, targetCollectionObject);
+        }
+
+        private Object copyValue(Object value)
+        {
+            if (value == null || shareImmutables && (value instanceof Enum || IMMUTABLE_TYPES.contains(value.getClass())))
+            {
+                return value;
+            }
+            PropertyAccessor accessor = PropertyAccessorFactory.getPropertyAccessor(value.getClass());
+            return accessor != null ? accessor.getCopy(value) : null;
+        }
+    }
+}
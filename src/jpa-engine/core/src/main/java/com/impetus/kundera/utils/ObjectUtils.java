@@ -17,34 +17,22 @@ package com.impetus.kundera.utils;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import javax.persistence.ElementCollection;
-import javax.persistence.Embedded;
-import javax.persistence.metamodel.Attribute;
-import javax.persistence.metamodel.Attribute.PersistentAttributeType;
-import javax.persistence.metamodel.EmbeddableType;
-import javax.persistence.metamodel.EntityType;
-import javax.persistence.metamodel.Type.PersistenceType;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
+import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
 import com.impetus.kundera.metadata.model.Relation;
-import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
-import com.impetus.kundera.property.PropertyAccessor;
-import com.impetus.kundera.property.PropertyAccessorFactory;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.proxy.KunderaProxy;
 import com.impetus.kundera.proxy.ProxyHelper;
@@ -62,20 +50,41 @@ public class ObjectUtils
 
     public static final Object deepCopy(Object source, final KunderaMetadata kunderaMetadata)
     {
-        Map<Object, Object> copiedObjectMap = new HashMap<Object, Object>();
-
-        Object target = deepCopyUsingMetadata(source, copiedObjectMap, kunderaMetadata);
-
-        copiedObjectMap.clear();
-        copiedObjectMap = null;
+        // identity map is only allocated once an entity with relations is
+        // copied.
+        return deepCopyUsingMetadata(source, null, kunderaMetadata);
+    }
 
-        return target;
+    /**
+     * Returns copy plan of entity, building it on first use.
+     * 
+     * @param metadata
+     *            entity metadata.
+     * @param kunderaMetadata
+     *            kundera metadata.
+     * @return entity copier.
+     */
+    public static EntityCopier getEntityCopier(EntityMetadata metadata, final KunderaMetadata kunderaMetadata)
+    {
+        EntityCopier copier = metadata.getEntityCopier();
+        if (copier == null)
+        {
+            MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                    metadata.getPersistenceUnit());
+            PersistenceUnitMetadata puMetadata = kunderaMetadata.getApplicationMetadata().getPersistenceUnitMetadata(
+                    metadata.getPersistenceUnit());
+            copier = new EntityCopier(metadata, metaModel, puMetadata != null
+                    && puMetadata.isSnapshotShareImmutables());
+            metadata.setEntityCopier(copier);
+        }
+        return copier;
     }
 
     /**
      * @param source
-     * @param mainCache
-     *            TODO
+     * @param copiedObjectMap
+     *            copies of entities in graph by class and id, null until an
+     *            entity with relations is copied.
      * @return
      */
     private static Object deepCopyUsingMetadata(Object source, Map<Object, Object> copiedObjectMap, final KunderaMetadata kunderaMetadata)
@@ -94,16 +103,19 @@ public class ObjectUtils
                 return source;
             }
 
-            MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
-                    metadata.getPersistenceUnit());
-
-            EntityType entityType = metaModel.entity(sourceObjectClass);
+            EntityCopier copier = getEntityCopier(metadata, kunderaMetadata);
 
             // May break for mapped super class.
 
+            // Within a graph, every entity is copied once, even if it has no
+            // relations of its own.
             Object id = null;
-            if (metadata.getRelations() != null && !metadata.getRelations().isEmpty())
+            if (copiedObjectMap != null || copier.hasRelations())
             {
+                if (copiedObjectMap == null)
+                {
+                    copiedObjectMap = new HashMap<Object, Object>();
+                }
                 id = PropertyAccessorHelper.getId(source, metadata);
 
                 StringBuilder keyBuilder = new StringBuilder(sourceObjectClass.getName());
@@ -117,146 +129,7 @@ public class ObjectUtils
             }
             // Copy Columns (in a table that doesn't have any embedded objects
 
-            target = sourceObjectClass.newInstance();
-
-            Iterator<Attribute> iter = entityType.getAttributes().iterator();
-            while (iter.hasNext())
-            {
-                Attribute attrib = iter.next();
-
-                Field columnField = (Field) attrib.getJavaMember();
-                if (attrib.getPersistentAttributeType().equals(PersistentAttributeType.EMBEDDED)
-                        || attrib.getPersistentAttributeType().equals(PersistentAttributeType.ELEMENT_COLLECTION))
-                {
-                    EmbeddableType embeddedColumn = metaModel.embeddable(((AbstractAttribute) attrib)
-                            .getBindableJavaType());
-
-                    Object sourceEmbeddedObj = PropertyAccessorHelper.getObject(source, columnField);
-                    if (sourceEmbeddedObj != null)
-                    {
-                        if (columnField.getAnnotation(Embedded.class) != null)
-                        {
-                            // Copy embedded objects
-                            Class<?> embeddedColumnClass = columnField.getType();
-                            Object targetEmbeddedObj = embeddedColumnClass.newInstance();
-
-                            Set<Attribute> columns = embeddedColumn.getAttributes();
-                            for (Attribute column : columns)
-                            {
-
-                                PropertyAccessorHelper.set(
-                                        targetEmbeddedObj,
-                                        (Field) column.getJavaMember(),
-                                        PropertyAccessorHelper.getObjectCopy(sourceEmbeddedObj,
-                                                (Field) column.getJavaMember()));
-                            }
-
-                            PropertyAccessorHelper.set(target, columnField, targetEmbeddedObj);
-                        }
-                        else if (columnField.getAnnotation(ElementCollection.class) != null)
-                        {
-                            Class<?> ecDeclaredClass = columnField.getType();
-                            Class<?> actualEcObjectClass = sourceEmbeddedObj.getClass();
-
-                            Object targetCollectionObject;
-                            targetCollectionObject = actualEcObjectClass.newInstance();
-
-                            // Copy element collections for List and Set
-                            if (sourceEmbeddedObj instanceof Collection)
-                            {
-                                    Class<?> genericClass = PropertyAccessorHelper.getGenericClass(columnField);
-
-                                    for (Object sourceEcObj : (Collection) sourceEmbeddedObj)
-                                    {
-                                        Object targetEcObj = null;
-                                        if (PersistenceType.BASIC.equals(embeddedColumn.getPersistenceType()))
-                                        {
-                                            PropertyAccessor accessor = PropertyAccessorFactory
-                                                    .getPropertyAccessor(sourceEcObj.getClass());
-                                            if (accessor != null)
-                                            {
-                                                targetEcObj = accessor.getCopy(sourceEcObj);
-                                            }
-                                        }
-                                        else if (PersistenceType.EMBEDDABLE.equals(embeddedColumn.getPersistenceType()))
-                                        {
-                                            targetEcObj = genericClass.newInstance();
-
-                                            for (Field f : genericClass.getDeclaredFields())
-                                            {
-                                                if (f != null && !Modifier.isStatic(f.getModifiers()))
-                                                {
-                                                    PropertyAccessorHelper.set(targetEcObj, f,
-                                                            PropertyAccessorHelper.getObjectCopy(sourceEcObj, f));
-                                                }
-                                            }
-                                        }
-                                        if (List.class.isAssignableFrom(ecDeclaredClass))
-                                        {
-                                            Method m = actualEcObjectClass.getMethod("add", Object.class);
-                                            m.invoke(targetCollectionObject, targetEcObj);
-
-                                        }
-                                        else if (Set.class.isAssignableFrom(ecDeclaredClass))
-                                        {
-                                            Method m = actualEcObjectClass.getMethod("add", Object.class);
-                                            m.invoke(targetCollectionObject, targetEcObj);
-                                        }
-                                    }
-                            }
-
-                            // Copy element collection for Map
-                            else if (sourceEmbeddedObj instanceof Map)
-                            {
-                                for (Object sourceKey : ((Map) sourceEmbeddedObj).keySet())
-                                {
-                                    Object targetKey = null;
-                                    Object targetValue = null;
-                                    if (PersistenceType.BASIC.equals(embeddedColumn.getPersistenceType()))
-                                    {
-                                        // Create copy of map key
-                                        PropertyAccessor keyAccessor = PropertyAccessorFactory
-                                                .getPropertyAccessor(sourceKey.getClass());
-                                        if (keyAccessor != null)
-                                        {
-                                            targetKey = keyAccessor.getCopy(sourceKey);
-                                        }
-
-                                        // Create copy of map value
-                                        Object sourceValue = ((Map) sourceEmbeddedObj).get(sourceKey);
-                                        PropertyAccessor valueAccessor = PropertyAccessorFactory
-                                                .getPropertyAccessor(sourceValue.getClass());
-                                        if (valueAccessor != null)
-                                        {
-                                            targetValue = valueAccessor.getCopy(sourceValue);
-                                        }
-
-                                        if (Map.class.isAssignableFrom(ecDeclaredClass))
-                                        {
-                                            Method m = actualEcObjectClass.getMethod("put", new Class[] { Object.class,
-                                                    Object.class });
-                                            m.invoke(targetCollectionObject, new Object[] { targetKey, targetValue });
-                                        }
-                                    }
-                                }
-                            }
-                            PropertyAccessorHelper.set(target, columnField, targetCollectionObject);
-                        }
-                        else if (columnField.getAnnotation(javax.persistence.Column.class) != null)
-                        {
-                            // Copy columns
-                            PropertyAccessorHelper.set(target, columnField, sourceEmbeddedObj);
-                        }
-                    }
-
-                }
-                else if (attrib.getPersistentAttributeType().equals(PersistentAttributeType.BASIC))
-                {
-
-                    PropertyAccessorHelper.set(target, columnField,
-                            PropertyAccessorHelper.getObjectCopy(source, columnField));
-                }
-            }
+            target = copier.copyColumns(source);
 
             // Put this object into copied object map
             if (id != null)
@@ -267,7 +140,7 @@ public class ObjectUtils
                 copiedObjectMap.put(keyBuilder.toString(), target);
             }
             // Copy Relationships recursively
-            for (Relation relation : metadata.getRelations())
+            for (Relation relation : copier.getRelations())
             {
                 Field relationField = relation.getProperty();
                 Object sourceRelationObject = PropertyAccessorHelper.getObject(source, relationField);
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.classreading;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Junit for {@link EntityIndexProcessor}, compiling sources twice into same
+ * class output as an incremental build would.
+ */
+public class EntityIndexProcessorTest
+{
+    private File root;
+
+    private File sources;
+
+    private File classes;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        root = new File(System.getProperty("java.io.tmpdir"), "kundera-entity-index-processor");
+        sources = new File(root, "sources");
+        classes = new File(root, "classes");
+        sources.mkdirs();
+        classes.mkdirs();
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        delete(root);
+    }
+
+    @Test
+    public void testIncrementalCompilation() throws Exception
+    {
+        File kept = writeSource("Kept", "@javax.persistence.Entity public class Kept { }");
+        File changed = writeSource("Changed", "@javax.persistence.Entity public class Changed { }");
+        File removed = writeSource("Removed", "@javax.persistence.Entity public class Removed { }");
+        compile(kept, changed, removed);
+
+        Set<String> classNames = EntityIndex.read(classes.toURI().toURL());
+        Assert.assertEquals(3, classNames.size());
+
+        // only changed sources are compiled again.
+        changed = writeSource("Changed", "public class Changed { }");
+        File added = writeSource("Added", "@javax.persistence.Entity public class Added { }");
+        new File(classes, "Removed.class").delete();
+        compile(changed, added);
+
+        classNames = EntityIndex.read(classes.toURI().toURL());
+        Assert.assertEquals(2, classNames.size());
+        Assert.assertTrue(classNames.contains("Kept"));
+        Assert.assertTrue(classNames.contains("Added"));
+    }
+
+    private void compile(File... files) throws IOException
+    {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+        try
+        {
+            String classpath = classes.getPath() + File.pathSeparator + System.getProperty("java.class.path");
+            Boolean compiled = compiler.getTask(
+                    null,
+                    fileManager,
+                    null,
+                    Arrays.asList("-processor", EntityIndexProcessor.class.getName(), "-d",
+                            classes.getPath(), "-classpath", classpath), null,
+                    fileManager.getJavaFileObjects(files)).call();
+            Assert.assertTrue(compiled);
+        }
+        finally
+        {
+            fileManager.close();
+        }
+    }
+
+    private File writeSource(String name, String content) throws IOException
+    {
+        File source = new File(sources, name + ".java");
+        FileOutputStream out = new FileOutputStream(source);
+        try
+        {
+            out.write(content.getBytes("UTF-8"));
+        }
+        finally
+        {
+            out.close();
+        }
+        return source;
+    }
+
+    private void delete(File file)
+    {
+        File[] children = file.listFiles();
+        if (children != null)
+        {
+            for (File child : children)
+            {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
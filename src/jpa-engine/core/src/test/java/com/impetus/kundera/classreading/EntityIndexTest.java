@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.classreading;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Junit for {@link EntityIndex}.
+ */
+public class EntityIndexTest
+{
+    private File first;
+
+    private File second;
+
+    private File unindexed;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        first = writeIndex("first", "# comment\ncom.impetus.kundera.query.Person\n\n");
+        second = writeJarIndex("second", "com.impetus.kundera.query.Person\ncom.impetus.kundera.PersonnelDTO\n");
+        unindexed = new File(System.getProperty("java.io.tmpdir"), "kundera-entity-index-unindexed");
+        unindexed.mkdirs();
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        delete(first);
+        delete(second);
+        delete(unindexed);
+    }
+
+    @Test
+    public void testRead() throws Exception
+    {
+        Set<String> classNames = EntityIndex.read(first.toURI().toURL());
+        Assert.assertEquals(1, classNames.size());
+        Assert.assertTrue(classNames.contains("com.impetus.kundera.query.Person"));
+
+        classNames = EntityIndex.read(second.toURI().toURL());
+        Assert.assertEquals(2, classNames.size());
+        Assert.assertTrue(classNames.contains("com.impetus.kundera.query.Person"));
+        Assert.assertTrue(classNames.contains("com.impetus.kundera.PersonnelDTO"));
+    }
+
+    @Test
+    public void testReadWithoutIndex() throws Exception
+    {
+        Assert.assertNull(EntityIndex.read(unindexed.toURI().toURL()));
+        Assert.assertNull(EntityIndex.read(new URL(unindexed.toURI().toURL(), "Person.class")));
+    }
+
+    @Test
+    public void testReadIndexedAndUnindexed() throws Exception
+    {
+        URL indexedJar = second.toURI().toURL();
+        URL unindexedFolder = unindexed.toURI().toURL();
+        List<URL> toScan = new ArrayList<URL>();
+
+        Set<String> classNames = EntityIndex.read(new URL[] { indexedJar, unindexedFolder }, toScan);
+        Assert.assertEquals(2, classNames.size());
+        Assert.assertTrue(classNames.contains("com.impetus.kundera.PersonnelDTO"));
+        Assert.assertEquals(1, toScan.size());
+        Assert.assertEquals(unindexedFolder, toScan.get(0));
+    }
+
+    private File writeIndex(String name, String content) throws IOException
+    {
+        File root = new File(System.getProperty("java.io.tmpdir"), "kundera-entity-index-" + name);
+        File index = new File(root, EntityIndex.LOCATION);
+        index.getParentFile().mkdirs();
+        FileOutputStream out = new FileOutputStream(index);
+        try
+        {
+            out.write(content.getBytes("UTF-8"));
+        }
+        finally
+        {
+            out.close();
+        }
+        return root;
+    }
+
+    private File writeJarIndex(String name, String content) throws IOException
+    {
+        File jar = new File(System.getProperty("java.io.tmpdir"), "kundera-entity-index-" + name + ".jar");
+        JarOutputStream out = new JarOutputStream(new FileOutputStream(jar));
+        try
+        {
+            out.putNextEntry(new ZipEntry(EntityIndex.LOCATION));
+            out.write(content.getBytes("UTF-8"));
+            out.closeEntry();
+        }
+        finally
+        {
+            out.close();
+        }
+        return jar;
+    }
+
+    private void delete(File file)
+    {
+        File[] children = file.listFiles();
+        if (children != null)
+        {
+            for (File child : children)
+            {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -26,6 +26,10 @@ public class CoreTestClient extends ClientBase implements Client<LuceneQuery>, A
 
     private static int idCount;
 
+    private int findCount;
+
+    private int findAllCount;
+
     public CoreTestClient(IndexManager indexManager, String persistenceUnit, final KunderaMetadata kunderaMetadata)
     {
         super(kunderaMetadata);
@@ -62,6 +66,12 @@ public class CoreTestClient extends ClientBase implements Client<LuceneQuery>, A
 
     @Override
     public Object find(Class entityClass, Object key)
+    {
+        findCount++;
+        return getRecord(entityClass, key);
+    }
+
+    private Object getRecord(Class entityClass, Object key)
     {
         EntityMetadata m = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
         DummySchema schema = DummyDatabase.INSTANCE.getSchema(m.getSchema());
@@ -95,10 +105,11 @@ public class CoreTestClient extends ClientBase implements Client<LuceneQuery>, A
     @Override
     public <E> List<E> findAll(Class<E> entityClass, String[] columnsToSelect, Object... keys)
     {
+        findAllCount++;
         List results = new ArrayList();
         for (Object key : keys)
         {
-            Object result = find(entityClass, key);
+            Object result = getRecord(entityClass, key);
             if (result != null)
             {
                 results.add(result);
@@ -107,6 +118,22 @@ public class CoreTestClient extends ClientBase implements Client<LuceneQuery>, A
         return results;
     }
 
+    /**
+     * @return number of single key find calls made on this client.
+     */
+    public int getFindCount()
+    {
+        return findCount;
+    }
+
+    /**
+     * @return number of multi-get calls made on this client.
+     */
+    public int getFindAllCount()
+    {
+        return findAllCount;
+    }
+
     @Override
     public <E> List<E> find(Class<E> entityClass, Map<String, String> embeddedColumnMap)
     {
@@ -0,0 +1,114 @@
+/**
+ * Copyright 2013 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.generator;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+/**
+ * junit for {@link IdBlockAllocator}
+ * 
+ */
+public class IdBlockAllocatorTest
+{
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Test
+    public void testNext()
+    {
+        CounterBlockSource source = new CounterBlockSource();
+        IdBlockAllocator allocator = new IdBlockAllocator();
+
+        for (long expected = 0; expected < 3 * ALLOCATION_SIZE; expected++)
+        {
+            Assert.assertEquals(expected, allocator.next(source));
+        }
+        Assert.assertEquals(3, source.calls.get());
+
+        allocator.reset();
+        Assert.assertEquals(3 * ALLOCATION_SIZE, allocator.next(source));
+        Assert.assertEquals(4, source.calls.get());
+    }
+
+    @Test
+    public void testConcurrentNext() throws InterruptedException
+    {
+        final CounterBlockSource source = new CounterBlockSource();
+        final IdBlockAllocator allocator = new IdBlockAllocator();
+        final int idsPerThread = 1000;
+        final int threads = 8;
+        final Set<Long> generated = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++)
+        {
+            executor.execute(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    for (int j = 0; j < idsPerThread; j++)
+                    {
+                        generated.add(allocator.next(source));
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        Assert.assertEquals(threads * idsPerThread, generated.size());
+        Assert.assertEquals(threads * idsPerThread / ALLOCATION_SIZE, source.calls.get());
+    }
+
+    @Test
+    public void testInvalidBlock()
+    {
+        try
+        {
+            new IdBlock(10, 10);
+            Assert.fail("Should have gone to catch block!");
+        }
+        catch (IllegalArgumentException iaex)
+        {
+            Assert.assertEquals("Invalid id block [10, 10)", iaex.getMessage());
+        }
+    }
+
+    /**
+     * Block source reserving consecutive blocks, counting datastore calls.
+     */
+    private static class CounterBlockSource implements IdBlockAllocator.BlockSource
+    {
+        private AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public IdBlock nextBlock()
+        {
+            long low = (long) calls.getAndIncrement() * ALLOCATION_SIZE;
+            return new IdBlock(low, low + ALLOCATION_SIZE);
+        }
+    }
+}
@@ -53,6 +53,11 @@ public class CoreTestIndexer implements Indexer
     {
     }
 
+    @Override
+    public void flush()
+    {
+    }
+
     @Override
     public void close()
     {
@@ -26,6 +26,7 @@ import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.loader.PersistenceXMLLoader;
 
 /**
@@ -150,6 +151,30 @@ public class PersistenceUnitMetadataTest
             
         }
         
-    }  
-    
+    }
+
+    @Test
+    public void testRelationBatchFetch()
+    {
+        Assert.assertNotNull(metadatas);
+        Assert.assertFalse(metadatas.isEmpty());
+        PersistenceUnitMetadata puMetadata = metadatas.get(0);
+
+        Assert.assertFalse(puMetadata.isRelationBatchFetch());
+        Assert.assertEquals(PersistenceUnitMetadata.DEFAULT_FIND_BATCH_SIZE, puMetadata.getFindBatchSize());
+
+        puMetadata.getProperties().setProperty(PersistenceProperties.KUNDERA_RELATION_BATCH_FETCH, "true");
+        puMetadata.getProperties().setProperty(PersistenceProperties.KUNDERA_FIND_BATCH_SIZE, "50");
+        try
+        {
+            Assert.assertTrue(puMetadata.isRelationBatchFetch());
+            Assert.assertEquals(50, puMetadata.getFindBatchSize());
+        }
+        finally
+        {
+            puMetadata.getProperties().remove(PersistenceProperties.KUNDERA_RELATION_BATCH_FETCH);
+            puMetadata.getProperties().remove(PersistenceProperties.KUNDERA_FIND_BATCH_SIZE);
+        }
+    }
+
 }
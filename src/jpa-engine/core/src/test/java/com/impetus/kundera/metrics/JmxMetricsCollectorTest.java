@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.metrics;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Junit for {@link JmxMetricsCollector}.
+ */
+public class JmxMetricsCollectorTest
+{
+    private JmxMetricsCollector collector;
+
+    private MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    @Before
+    public void setUp()
+    {
+        collector = new JmxMetricsCollector("metricstest");
+    }
+
+    @After
+    public void tearDown()
+    {
+        collector.close();
+    }
+
+    @Test
+    public void testRecordValue() throws Exception
+    {
+        for (int i = 1; i <= 100; i++)
+        {
+            collector.recordValue(MetricsConstants.QUERY_ROWS, "Person", i);
+        }
+
+        OperationStats stats = collector.getStats(MetricsConstants.QUERY_ROWS, "Person");
+        Assert.assertEquals(100, stats.getCount());
+        Assert.assertEquals(5050, stats.getTotal());
+        Assert.assertEquals(1, stats.getMin());
+        Assert.assertEquals(100, stats.getMax());
+        Assert.assertEquals(50.5, stats.getMean());
+        Assert.assertEquals(63, stats.get50thPercentile());
+        Assert.assertEquals(100, stats.get99thPercentile());
+
+        ObjectName name = new ObjectName("com.impetus.kundera:type=Metrics,unit=\"metricstest\","
+                + "operation=\"query.rows\",scope=\"Person\"");
+        Assert.assertTrue(server.isRegistered(name));
+        Assert.assertEquals(100L, server.getAttribute(name, "Count"));
+
+        collector.close();
+        Assert.assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    public void testTimerAndCounter()
+    {
+        long start = collector.startTimer();
+        collector.stopTimer(MetricsConstants.FIND, "Person", start);
+        collector.incrementCounter(MetricsConstants.POOL_BORROW_FAILURE, null, 2);
+        collector.incrementCounter(MetricsConstants.POOL_BORROW_FAILURE, null, 3);
+
+        Assert.assertEquals(1, collector.getStats(MetricsConstants.FIND, "Person").getCount());
+        Assert.assertTrue(collector.getStats(MetricsConstants.FIND, "Person").getTotal() >= 0);
+        Assert.assertEquals(5, collector.getStats(MetricsConstants.POOL_BORROW_FAILURE, null).getTotal());
+
+        collector.getStats(MetricsConstants.FIND, "Person").reset();
+        Assert.assertEquals(0, collector.getStats(MetricsConstants.FIND, "Person").getCount());
+        Assert.assertEquals(0, collector.getStats(MetricsConstants.FIND, "Person").getMax());
+    }
+
+    @Test
+    public void testNoOp()
+    {
+        MetricsCollector noOp = NoOpMetricsCollector.INSTANCE;
+        Assert.assertFalse(noOp.isEnabled());
+        Assert.assertEquals(0, noOp.startTimer());
+    }
+}
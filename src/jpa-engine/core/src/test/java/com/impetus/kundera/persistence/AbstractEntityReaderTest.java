@@ -0,0 +1,135 @@
+/**
+ * Copyright 2013 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.persistence;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.client.CoreTestClient;
+import com.impetus.kundera.client.EnhanceEntity;
+import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.polyglot.entities.AddressUM1;
+import com.impetus.kundera.polyglot.entities.PersonUM1;
+import com.impetus.kundera.query.CoreTestEntityReader;
+
+/**
+ * Junit for batch fetch of relations in {@link AbstractEntityReader}.
+ */
+public class AbstractEntityReaderTest
+{
+    private static final String PU = "patest";
+
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    private KunderaMetadata kunderaMetadata;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        emf = Persistence.createEntityManagerFactory(PU);
+        em = emf.createEntityManager();
+        kunderaMetadata = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance();
+        KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata, PU).getProperties()
+                .setProperty(PersistenceProperties.KUNDERA_RELATION_BATCH_FETCH, "true");
+    }
+
+    @Test
+    public void testBatchFetchRelations()
+    {
+        em.persist(prepareAddress("1", "street1"));
+        em.persist(prepareAddress("2", "street2"));
+        em.flush();
+        em.clear();
+
+        // foreign keys not of id's type, as some stores return them.
+        List<EnhanceEntity> persons = new ArrayList<EnhanceEntity>();
+        persons.add(preparePerson("p1", 1));
+        persons.add(preparePerson("p2", 1));
+        persons.add(preparePerson("p3", "2"));
+
+        PersistenceDelegator pd = ((EntityManagerImpl) em).getPersistenceDelegator();
+        EntityMetadata m = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, PersonUM1.class);
+        CoreTestClient client = (CoreTestClient) pd.getClient(KunderaMetadataManager.getEntityMetadata(
+                kunderaMetadata, AddressUM1.class));
+        int findCount = client.getFindCount();
+        int findAllCount = client.getFindAllCount();
+
+        List<Object> results = new CoreTestEntityReader(kunderaMetadata).recursivelyFindEntities(persons, m, pd,
+                true);
+
+        // one batched fetch serves all persons.
+        Assert.assertEquals(findAllCount + 1, client.getFindAllCount());
+        Assert.assertEquals(findCount, client.getFindCount());
+
+        Assert.assertEquals(3, results.size());
+        Assert.assertEquals("street1", ((PersonUM1) results.get(0)).getAddress().getStreet());
+        Assert.assertEquals("street1", ((PersonUM1) results.get(1)).getAddress().getStreet());
+        Assert.assertEquals("2", ((PersonUM1) results.get(2)).getAddress().getAddressId());
+        Assert.assertEquals("street2", ((PersonUM1) results.get(2)).getAddress().getStreet());
+
+        // each person holds its own copy of shared address.
+        Assert.assertNotSame(((PersonUM1) results.get(0)).getAddress(), ((PersonUM1) results.get(1)).getAddress());
+    }
+
+    private AddressUM1 prepareAddress(String addressId, String street)
+    {
+        AddressUM1 address = new AddressUM1();
+        address.setAddressId(addressId);
+        address.setStreet(street);
+        return address;
+    }
+
+    private EnhanceEntity preparePerson(String personId, Object addressId)
+    {
+        PersonUM1 person = new PersonUM1();
+        person.setPersonId(personId);
+        person.setPersonName("vivek");
+        Map<String, Object> relations = new HashMap<String, Object>();
+        relations.put("ADDRESS_ID", addressId);
+        return new EnhanceEntity(person, personId, relations);
+    }
+
+    @After
+    public void tearDown()
+    {
+        if (em != null)
+        {
+            em.close();
+        }
+
+        if (emf != null)
+        {
+            emf.close();
+        }
+    }
+}
@@ -136,6 +136,47 @@ public class FlushStackManagerTest
         Assert.assertEquals(4, fs.size());
     }
 
+    @Test
+    public void testPendingFlush()
+    {
+        FlushManager flushManager = new FlushManager();
+
+        Store store = new Store(1, "Food Bazaar, Noida");
+        store.addCounter(new BillingCounter(1, "A"));
+        store.addCounter(new BillingCounter(2, "B"));
+
+        ObjectGraph graph = graphBuilder.getObjectGraph(store, null);
+        pc.getMainCache().addGraphToCache(graph, pc);
+
+        PersistenceDelegator pd = new PersistenceDelegator(emfImpl.getKunderaMetadataInstance(), pc);
+        Node headNode = pc.getMainCache().getNodeFromCache(ObjectGraphUtils.getNodeId("1", Store.class), pd);
+        Assert.assertFalse(flushManager.isPendingFlush(headNode));
+
+        markAllNodeAsDirty();
+        flushManager.buildFlushStack(headNode, EventType.INSERT);
+        Assert.assertTrue(flushManager.isPendingFlush(headNode));
+
+        // pushed twice, pending until popped twice.
+        flushManager.buildFlushStack(headNode, EventType.INSERT);
+
+        Node node;
+        int headPops = 0;
+        while ((node = flushManager.popFlushStack()) != null)
+        {
+            if (node == headNode)
+            {
+                headPops++;
+                Assert.assertEquals(headPops < 2, flushManager.isPendingFlush(headNode));
+            }
+        }
+        Assert.assertEquals(2, headPops);
+        Assert.assertTrue(flushManager.getFlushStack().isEmpty());
+
+        flushManager.buildFlushStack(headNode, EventType.INSERT);
+        flushManager.clearFlushStack();
+        Assert.assertFalse(flushManager.isPendingFlush(headNode));
+    }
+
     @Test
     public void test_1_1_1_1()
     {
@@ -183,6 +183,52 @@ public class PersistenceDelegatorTest
         Assert.assertEquals(3, persons.size());
     }
 
+    @Test
+    public void testFindForObjectArrayNotInPersistenceCache()
+    {
+        PersonnelDTO dto = new PersonnelDTO();
+        dto.setPersonId("444");
+        dto.setFirstName("amresh");
+        em.persist(dto);
+
+        dto = new PersonnelDTO();
+        dto.setPersonId("555");
+        em.persist(dto);
+
+        em.clear();
+
+        PersistenceDelegator pd = ((EntityManagerImpl) em).getPersistenceDelegator();
+
+        EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(
+                ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance(), PersonnelDTO.class);
+        CoreTestClient client = (CoreTestClient) pd.getClient(entityMetadata);
+        int findAllCount = client.getFindAllCount();
+
+        List<PersonnelDTO> persons = pd.find(PersonnelDTO.class, new String[] { "444", "555", "444", "666" });
+        Assert.assertNotNull(persons);
+        Assert.assertEquals(2, persons.size());
+        // all three misses are fetched with single multi-get.
+        Assert.assertEquals(findAllCount + 1, client.getFindAllCount());
+        for (PersonnelDTO person : persons)
+        {
+            Assert.assertTrue(pd.contains(person));
+            if (person.getPersonId().equals("444"))
+            {
+                Assert.assertEquals("amresh", person.getFirstName());
+            }
+        }
+    }
+
+    @Test
+    public void testFindForObjectArrayNothingFound()
+    {
+        PersistenceDelegator pd = ((EntityManagerImpl) em).getPersistenceDelegator();
+
+        List<PersonnelDTO> persons = pd.find(PersonnelDTO.class, new String[] { "777", "888" });
+        Assert.assertNotNull(persons);
+        Assert.assertTrue(persons.isEmpty());
+    }
+
     @Test
     public void testRemove()
     {
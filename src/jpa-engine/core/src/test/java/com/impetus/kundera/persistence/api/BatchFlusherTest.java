@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence.api;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import com.impetus.kundera.KunderaException;
+
+/**
+ * Test case for {@link BatchFlusher}.
+ */
+public class BatchFlusherTest
+{
+    @Test
+    public void testAwait()
+    {
+        BatchFlusher flusher = new BatchFlusher("BatchFlusherTest", 2, 2);
+        for (int i = 1; i <= 5; i++)
+        {
+            flusher.submit(batchOf(i));
+        }
+        Assert.assertEquals(15, flusher.await());
+
+        // nothing pending after await.
+        Assert.assertEquals(0, flusher.await());
+        flusher.shutdown();
+    }
+
+    @Test
+    public void testFailure()
+    {
+        BatchFlusher flusher = new BatchFlusher("BatchFlusherTest", 1, 1);
+        flusher.submit(batchOf(1));
+        flusher.submit(new Callable<Integer>()
+        {
+            @Override
+            public Integer call()
+            {
+                throw new IllegalStateException("write failed");
+            }
+        });
+        try
+        {
+            flusher.await();
+            Assert.fail("Should have failed with write failure.");
+        }
+        catch (KunderaException e)
+        {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        flusher.shutdown();
+    }
+
+    @Test
+    public void testCompletedBatches() throws Exception
+    {
+        BatchFlusher flusher = new BatchFlusher("BatchFlusherTest", 1, 1);
+        Future<Integer> failed = flusher.submit(new Callable<Integer>()
+        {
+            @Override
+            public Integer call()
+            {
+                throw new IllegalStateException("write failed");
+            }
+        });
+        try
+        {
+            failed.get();
+        }
+        catch (ExecutionException e)
+        {
+            // completed, dropped from pending by next submit.
+        }
+        for (int i = 1; i <= 3; i++)
+        {
+            flusher.submit(batchOf(i)).get();
+        }
+        flusher.submit(batchOf(4));
+
+        // failure of dropped batch is still reported.
+        try
+        {
+            flusher.await();
+            Assert.fail("Should have failed with write failure.");
+        }
+        catch (KunderaException e)
+        {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+
+        // records of dropped batches are still counted.
+        for (int i = 1; i <= 3; i++)
+        {
+            flusher.submit(batchOf(i)).get();
+        }
+        Assert.assertEquals(6, flusher.await());
+        flusher.shutdown();
+    }
+
+    @Test
+    public void testMaxInFlight() throws Exception
+    {
+        final BatchFlusher flusher = new BatchFlusher("BatchFlusherTest", 2, 1);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final AtomicInteger submitted = new AtomicInteger();
+
+        flusher.submit(new Callable<Integer>()
+        {
+            @Override
+            public Integer call() throws Exception
+            {
+                blocked.await();
+                return 1;
+            }
+        });
+
+        Thread submitter = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                flusher.submit(batchOf(1));
+                submitted.incrementAndGet();
+            }
+        };
+        submitter.start();
+        submitter.join(200);
+
+        // second batch waits for first one to be written.
+        Assert.assertEquals(0, submitted.get());
+        blocked.countDown();
+        submitter.join();
+        Assert.assertEquals(1, submitted.get());
+        Assert.assertEquals(2, flusher.await());
+        flusher.shutdown();
+    }
+
+    private static Callable<Integer> batchOf(final int records)
+    {
+        return new Callable<Integer>()
+        {
+            @Override
+            public Integer call()
+            {
+                return records;
+            }
+        };
+    }
+}
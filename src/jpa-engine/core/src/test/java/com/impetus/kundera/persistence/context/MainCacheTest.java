@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence.context;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import com.impetus.kundera.graph.Node;
+import com.impetus.kundera.lifecycle.states.ManagedState;
+import com.impetus.kundera.lifecycle.states.TransientState;
+import com.impetus.kundera.query.Person;
+
+/**
+ * Junit for bounded {@link MainCache}.
+ */
+public class MainCacheTest
+{
+    @Test
+    public void testEvictsLeastRecentlyUsed()
+    {
+        PersistenceCache pc = new PersistenceCache(null, 2, 0);
+        CacheBase cache = pc.getMainCache();
+
+        cache.processNodeMapping(node(pc, "1"));
+        cache.processNodeMapping(node(pc, "2"));
+
+        // touch "1", so "2" is least recently used.
+        Assert.assertNotNull(cache.getNodeFromCache(nodeId("1"), null));
+        cache.processNodeMapping(node(pc, "3"));
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertNull(cache.getNodeFromCache(nodeId("2"), null));
+        Assert.assertNotNull(cache.getNodeFromCache(nodeId("1"), null));
+        Assert.assertEquals(2, cache.getHeadNodes().size());
+        Assert.assertTrue(cache.getEstimatedBytes() > 0);
+
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.getEstimatedBytes());
+    }
+
+    @Test
+    public void testNeverEvictsDirtyOrPendingNodes()
+    {
+        PersistenceCache pc = new PersistenceCache(null, 1, 0);
+        CacheBase cache = pc.getMainCache();
+        FlushManager flushManager = new FlushManager();
+        cache.setFlushManager(flushManager);
+
+        Node dirty = node(pc, "1");
+        dirty.setDirty(true);
+        cache.processNodeMapping(dirty);
+
+        Node pending = node(pc, "2");
+        flushManager.getFlushStack().push(pending);
+        cache.processNodeMapping(pending);
+
+        Node transientNode = new Node(nodeId("3"), Person.class, new TransientState(), pc, "3", null);
+        cache.processNodeMapping(transientNode);
+
+        Assert.assertEquals(3, cache.size());
+        Assert.assertEquals(0, cache.getEvictionCount());
+
+        // once flushed and clean, nodes are evicted as new ones come in.
+        dirty.setDirty(false);
+        flushManager.clearFlushStack();
+        cache.processNodeMapping(node(pc, "4"));
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(2, cache.getEvictionCount());
+        Assert.assertNotNull(cache.getNodeFromCache(nodeId("3"), null));
+        Assert.assertNotNull(cache.getNodeFromCache(nodeId("4"), null));
+    }
+
+    @Test
+    public void testUnbounded()
+    {
+        PersistenceCache pc = new PersistenceCache(null, 0, 0);
+        CacheBase cache = pc.getMainCache();
+        for (int i = 0; i < 100; i++)
+        {
+            cache.processNodeMapping(node(pc, String.valueOf(i)));
+        }
+        Assert.assertEquals(100, cache.size());
+        Assert.assertEquals(0, cache.getEvictionCount());
+        Assert.assertEquals(0, cache.getEstimatedBytes());
+    }
+
+    private Node node(PersistenceCache pc, String id)
+    {
+        return new Node(nodeId(id), Person.class, new ManagedState(), pc, id, null);
+    }
+
+    private String nodeId(String id)
+    {
+        return Person.class.getName() + "$" + id;
+    }
+}
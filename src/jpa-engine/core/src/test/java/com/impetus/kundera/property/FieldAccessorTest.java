@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.property;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+/**
+ * Test case for {@link FieldAccessor}.
+ */
+public class FieldAccessorTest
+{
+    @Test
+    public void testObjectAccess() throws Exception
+    {
+        FieldAccessor accessor = new FieldAccessor(Sample.class.getDeclaredField("name"));
+        Sample sample = new Sample();
+
+        accessor.set(sample, (Object) "kundera");
+        Assert.assertEquals("kundera", accessor.get(sample));
+
+        accessor.set(sample, PropertyAccessorFactory.STRING.toBytes("bytes"));
+        Assert.assertEquals("bytes", sample.name);
+
+        accessor.set(sample, "string");
+        Assert.assertEquals("string", accessor.getCopy(sample));
+    }
+
+    @Test
+    public void testPrimitiveAccess() throws Exception
+    {
+        FieldAccessor accessor = new FieldAccessor(Sample.class.getDeclaredField("count"));
+        Sample sample = new Sample();
+
+        accessor.set(sample, "42");
+        Assert.assertEquals(42L, sample.count);
+        Assert.assertEquals(42L, accessor.get(sample));
+
+        accessor.setLong(sample, Long.MIN_VALUE);
+        Assert.assertEquals(Long.MIN_VALUE, accessor.getLong(sample));
+
+        // widened as by reflection.
+        accessor.setInt(sample, -1);
+        Assert.assertEquals(-1L, sample.count);
+        Assert.assertEquals(-1.0, accessor.getDouble(sample));
+    }
+
+    @Test
+    public void testGeneratedAccess() throws Exception
+    {
+        Sample sample = new Sample();
+
+        // through public getter and setter of private field.
+        FieldAccessor size = new FieldAccessor(Sample.class.getDeclaredField("size"));
+        size.setInt(sample, 7);
+        Assert.assertEquals(7, sample.getSize());
+        Assert.assertEquals(7, size.getInt(sample));
+        Assert.assertEquals(7, size.get(sample));
+
+        // directly, as field is not private.
+        FieldAccessor active = new FieldAccessor(Sample.class.getDeclaredField("active"));
+        active.setBoolean(sample, true);
+        Assert.assertTrue(sample.active);
+        Assert.assertTrue(active.getBoolean(sample));
+
+        FieldAccessor ratio = new FieldAccessor(Sample.class.getDeclaredField("ratio"));
+        ratio.setDouble(sample, 0.5);
+        Assert.assertEquals(0.5, ratio.getDouble(sample));
+        ratio.setFloat(sample, 1.5f);
+        Assert.assertEquals(1.5, sample.ratio);
+    }
+
+    @Test(expected = PropertyAccessException.class)
+    public void testInvalidPrimitiveAccess() throws Exception
+    {
+        new FieldAccessor(Sample.class.getDeclaredField("name")).getLong(new Sample());
+    }
+
+    @Test(expected = PropertyAccessException.class)
+    public void testInvalidAccess() throws Exception
+    {
+        new FieldAccessor(Sample.class.getDeclaredField("count")).set(new Sample(), (Object) "kundera");
+    }
+
+    private static class Sample
+    {
+        private String name;
+
+        private long count;
+
+        private int size;
+
+        boolean active;
+
+        double ratio;
+
+        public int getSize()
+        {
+            return size;
+        }
+
+        public void setSize(int size)
+        {
+            this.size = size;
+        }
+    }
+}
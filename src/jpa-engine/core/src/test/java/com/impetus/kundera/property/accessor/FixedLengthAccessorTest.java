@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.property.accessor;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import com.impetus.kundera.property.FixedLengthAccessor;
+
+/**
+ * Test case for {@link FixedLengthAccessor} implementations.
+ */
+public class FixedLengthAccessorTest
+{
+    @Test
+    public void testLong()
+    {
+        FixedLengthAccessor<Long> accessor = new LongAccessor();
+        Assert.assertEquals(8, accessor.getLength());
+        for (long value : new long[] { 0, 1, -1, Long.MAX_VALUE, Long.MIN_VALUE, 123456789012345L })
+        {
+            byte[] dest = new byte[10];
+            Assert.assertEquals(8, accessor.writeTo(value, dest, 2));
+            Assert.assertTrue(Arrays.equals(ByteBuffer.allocate(8).putLong(value).array(),
+                    Arrays.copyOfRange(dest, 2, 10)));
+            Assert.assertEquals(value, accessor.readFrom(dest, 2).longValue());
+            Assert.assertEquals(value, accessor.fromBytes(Long.class, accessor.toBytes(value)).longValue());
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(12);
+            accessor.writeTo(value, buffer, 3);
+            Assert.assertEquals(0, buffer.position());
+            Assert.assertEquals(value, accessor.readFrom(buffer, 3).longValue());
+        }
+    }
+
+    @Test
+    public void testInteger()
+    {
+        FixedLengthAccessor<Integer> accessor = new IntegerAccessor();
+        for (int value : new int[] { 0, 1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, 255, 256, -129 })
+        {
+            byte[] dest = new byte[4];
+            Assert.assertEquals(4, accessor.writeTo(value, dest, 0));
+            Assert.assertTrue(Arrays.equals(ByteBuffer.allocate(4).putInt(value).array(), dest));
+            Assert.assertTrue(Arrays.equals(accessor.toBytes(value), dest));
+            Assert.assertEquals(value, accessor.readFrom(ByteBuffer.wrap(dest), 0).intValue());
+        }
+    }
+
+    @Test
+    public void testShort()
+    {
+        FixedLengthAccessor<Short> accessor = new ShortAccessor();
+        for (short value : new short[] { 0, 1, -1, Short.MAX_VALUE, Short.MIN_VALUE, -129 })
+        {
+            byte[] dest = new byte[2];
+            Assert.assertEquals(2, accessor.writeTo(value, dest, 0));
+            Assert.assertTrue(Arrays.equals(accessor.toBytes(value), dest));
+            Assert.assertEquals(value, accessor.readFrom(dest, 0).shortValue());
+        }
+    }
+
+    @Test
+    public void testFloatingPoint()
+    {
+        FixedLengthAccessor<Double> doubleAccessor = new DoubleAccessor();
+        for (double value : new double[] { 0, -1.5, Double.NaN, Double.MAX_VALUE, Double.MIN_VALUE })
+        {
+            byte[] dest = new byte[8];
+            doubleAccessor.writeTo(value, dest, 0);
+            Assert.assertTrue(Arrays.equals(doubleAccessor.toBytes(value), dest));
+            Assert.assertEquals(0, Double.compare(value, doubleAccessor.readFrom(dest, 0)));
+        }
+
+        FixedLengthAccessor<Float> floatAccessor = new FloatAccessor();
+        for (float value : new float[] { 0, -1.5f, Float.NaN, Float.MAX_VALUE })
+        {
+            byte[] dest = new byte[4];
+            floatAccessor.writeTo(value, dest, 0);
+            Assert.assertTrue(Arrays.equals(floatAccessor.toBytes(value), dest));
+            Assert.assertEquals(0, Float.compare(value, floatAccessor.readFrom(dest, 0)));
+        }
+    }
+
+    @Test
+    public void testBoolean()
+    {
+        FixedLengthAccessor<Boolean> accessor = new BooleanAccessor();
+        for (boolean value : new boolean[] { true, false })
+        {
+            byte[] dest = new byte[1];
+            Assert.assertEquals(1, accessor.writeTo(value, dest, 0));
+            Assert.assertTrue(Arrays.equals(accessor.toBytes(value), dest));
+            Assert.assertEquals(value, accessor.readFrom(dest, 0).booleanValue());
+        }
+    }
+
+    @Test
+    public void testPrimitives()
+    {
+        byte[] dest = new byte[27];
+        int offset = LongAccessor.writeLong(-2L, dest, 0);
+        offset += IntegerAccessor.writeInt(-3, dest, offset);
+        offset += ShortAccessor.writeShort((short) 4, dest, offset);
+        offset += DoubleAccessor.writeDouble(-1.5, dest, offset);
+        offset += FloatAccessor.writeFloat(2.5f, dest, offset);
+        offset += BooleanAccessor.writeBoolean(true, dest, offset);
+        Assert.assertEquals(27, offset);
+
+        // same encoding as of boxed values.
+        Assert.assertEquals(Long.valueOf(-2L), new LongAccessor().readFrom(dest, 0));
+        Assert.assertEquals(Float.valueOf(2.5f), new FloatAccessor().readFrom(dest, 22));
+
+        ByteBuffer src = ByteBuffer.wrap(dest);
+        Assert.assertEquals(-2L, LongAccessor.readLong(src, 0));
+        Assert.assertEquals(-3, IntegerAccessor.readInt(dest, 8));
+        Assert.assertEquals((short) 4, ShortAccessor.readShort(src, 12));
+        Assert.assertEquals(-1.5, DoubleAccessor.readDouble(dest, 14));
+        Assert.assertEquals(2.5f, FloatAccessor.readFloat(src, 22));
+        Assert.assertTrue(BooleanAccessor.readBoolean(dest, 26));
+        Assert.assertEquals(0, src.position());
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+        Assert.assertEquals(8, DoubleAccessor.writeDouble(Double.NaN, buffer, 0));
+        Assert.assertTrue(Double.isNaN(DoubleAccessor.readDouble(buffer, 0)));
+    }
+
+    @Test
+    public void testOutOfBounds()
+    {
+        FixedLengthAccessor<Long> accessor = new LongAccessor();
+        byte[] dest = new byte[8];
+        try
+        {
+            accessor.writeTo(1L, dest, 1);
+            Assert.fail();
+        }
+        catch (IndexOutOfBoundsException e)
+        {
+            // nothing is written partially.
+            Assert.assertTrue(Arrays.equals(new byte[8], dest));
+        }
+        try
+        {
+            accessor.readFrom(ByteBuffer.allocate(4), 0);
+            Assert.fail();
+        }
+        catch (IndexOutOfBoundsException e)
+        {
+            // expected.
+        }
+        try
+        {
+            new IntegerAccessor().writeTo(1, ByteBuffer.allocate(8), -1);
+            Assert.fail();
+        }
+        catch (IndexOutOfBoundsException e)
+        {
+            // expected.
+        }
+        try
+        {
+            LongAccessor.readLong(new byte[7], 0);
+            Assert.fail();
+        }
+        catch (IndexOutOfBoundsException e)
+        {
+            // expected.
+        }
+    }
+
+    @Test
+    public void testNull()
+    {
+        Assert.assertEquals(0, new LongAccessor().writeTo(null, new byte[8], 0));
+        Assert.assertEquals(0, new IntegerAccessor().writeTo(null, ByteBuffer.allocate(4), 0));
+    }
+}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.query;
+
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.query.Aggregation.Function;
+import com.impetus.kundera.query.Person.Day;
+
+/**
+ * Junit for {@link Aggregation} and {@link Aggregator}.
+ */
+public class AggregatorTest
+{
+    private static final String PU = "patest";
+
+    private EntityManagerFactory emf;
+
+    private KunderaMetadata kunderaMetadata;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        emf = Persistence.createEntityManagerFactory(PU);
+        kunderaMetadata = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance();
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        emf.close();
+    }
+
+    @Test
+    public void testParse()
+    {
+        KunderaQuery query = parse("Select p.day, count(p), sum(p.age), avg(distinct p.salary) from Person p "
+                + "where p.age > 10 group by p.day having count(p) > 1 and max(p.age) <= 50");
+
+        Assert.assertTrue(query.isAggregated());
+        List<Aggregation> aggregations = query.getAggregations();
+        Assert.assertEquals(4, aggregations.size());
+        Assert.assertNull(aggregations.get(0).getFunction());
+        Assert.assertEquals("day", aggregations.get(0).getProperty());
+        Assert.assertEquals(Function.COUNT, aggregations.get(1).getFunction());
+        Assert.assertNull(aggregations.get(1).getProperty());
+        Assert.assertEquals(Function.SUM, aggregations.get(2).getFunction());
+        Assert.assertEquals(Function.AVG, aggregations.get(3).getFunction());
+        Assert.assertTrue(aggregations.get(3).isDistinct());
+
+        Assert.assertEquals(1, query.getGroupBy().size());
+        Assert.assertEquals("day", query.getGroupBy().get(0));
+        Assert.assertEquals(2, query.getHaving().size());
+        Assert.assertEquals(1, query.getFilterClauseQueue().size());
+
+        // attributes needed in memory are selected.
+        String[] result = query.getResult();
+        Assert.assertEquals("p", result[0]);
+        Assert.assertEquals(4, result.length);
+
+        Assert.assertFalse(parse("Select p from Person p").isAggregated());
+    }
+
+    @Test
+    public void testGroupedProperty()
+    {
+        KunderaQuery query = parse("Select p.day from Person p group by p.day");
+        Assert.assertTrue(query.isAggregated());
+        Assert.assertEquals(1, query.getAggregations().size());
+    }
+
+    @Test(expected = JPQLParseException.class)
+    public void testUngroupedProperty()
+    {
+        parse("Select p.personName, count(p) from Person p");
+    }
+
+    @Test(expected = JPQLParseException.class)
+    public void testSumOverEntity()
+    {
+        parse("Select sum(p) from Person p");
+    }
+
+    @Test
+    public void testAggregate()
+    {
+        KunderaQuery query = parse("Select p.day, count(p), sum(p.age), min(p.personName), max(p.salary), "
+                + "avg(p.age), count(distinct p.age) from Person p group by p.day having sum(p.age) > 20");
+        Aggregator aggregator = new Aggregator(query, KunderaMetadataManager.getEntityMetadata(kunderaMetadata,
+                Person.class), kunderaMetadata);
+
+        aggregator.add(person("1", "vivek", 10, 100.0, Day.MONDAY));
+        aggregator.add(person("2", "amresh", 20, 200.0, Day.MONDAY));
+        aggregator.add(person("3", "kuldeep", 20, null, Day.MONDAY));
+        aggregator.add(person("4", "chhavi", 5, 50.0, Day.FRIDAY));
+
+        List<Object[]> results = aggregator.getResults();
+        // FRIDAY is dropped by having clause.
+        Assert.assertEquals(1, results.size());
+        Object[] monday = results.get(0);
+        Assert.assertEquals(Day.MONDAY, monday[0]);
+        Assert.assertEquals(3L, monday[1]);
+        Assert.assertEquals(50L, monday[2]);
+        Assert.assertEquals("amresh", monday[3]);
+        Assert.assertEquals(200.0, monday[4]);
+        Assert.assertEquals(50.0 / 3, (Double) monday[5], 0.0001);
+        Assert.assertEquals(2L, monday[6]);
+    }
+
+    @Test
+    public void testAggregateWithoutEntities()
+    {
+        KunderaQuery query = parse("Select count(p), max(p.age) from Person p");
+        Aggregator aggregator = new Aggregator(query, KunderaMetadataManager.getEntityMetadata(kunderaMetadata,
+                Person.class), kunderaMetadata);
+
+        List<Object[]> results = aggregator.getResults();
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals(0L, results.get(0)[0]);
+        Assert.assertNull(results.get(0)[1]);
+    }
+
+    @Test
+    public void testToResultType()
+    {
+        Aggregation sum = Aggregation.parse("SUM(p.age)");
+        Assert.assertEquals(Long.valueOf(30), sum.toResultType(30.0, int.class));
+        Assert.assertEquals(Double.valueOf(1.5), sum.toResultType(1.5f, Float.class));
+        Assert.assertEquals(Integer.valueOf(30), Aggregation.parse("MAX(p.age)").toResultType(30L, Integer.class));
+        Assert.assertEquals(Long.valueOf(0), Aggregation.parse("COUNT(p)").toResultType(null, null));
+        Assert.assertNull(Aggregation.parse("MIN(p.age)").toResultType(null, Integer.class));
+    }
+
+    private KunderaQuery parse(String jpql)
+    {
+        KunderaQuery query = new KunderaQuery(jpql, kunderaMetadata);
+        new KunderaQueryParser(query).parse();
+        query.postParsingInit();
+        return query;
+    }
+
+    private Person person(String id, String name, int age, Double salary, Day day)
+    {
+        Person person = new Person();
+        person.setPersonId(id);
+        person.setPersonName(name);
+        person.setAge(age);
+        person.setSalary(salary);
+        person.setDay(day);
+        return person;
+    }
+}
@@ -55,6 +55,11 @@ public class CoreIndexer implements Indexer
     {
     }
 
+    @Override
+    public void flush()
+    {
+    }
+
     @Override
     public void close()
     {
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ *  * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.query;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.query.KunderaQuery.FilterClause;
+
+/**
+ * Junit for {@link QueryPlanCache}.
+ */
+public class QueryPlanCacheTest
+{
+    private static final String PU = "patest";
+
+    private EntityManagerFactory emf;
+
+    private KunderaMetadata kunderaMetadata;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        emf = Persistence.createEntityManagerFactory(PU);
+        kunderaMetadata = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance();
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        emf.close();
+    }
+
+    @Test
+    public void testCopiesHaveOwnParameters()
+    {
+        String query = "Select p from Person p where p.personName = :name and p.age= :age";
+        KunderaQuery plan = new KunderaQuery(query, kunderaMetadata);
+        new KunderaQueryParser(plan).parse();
+        plan.postParsingInit();
+
+        QueryPlanCache cache = new QueryPlanCache(10);
+        Assert.assertNull(cache.get(query));
+        cache.put(query, plan);
+
+        KunderaQuery first = cache.get(query);
+        KunderaQuery second = cache.get(query);
+        Assert.assertNotSame(plan, first);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(Person.class, first.getEntityClass());
+        Assert.assertEquals(PU, first.getPersistenceUnit());
+        Assert.assertEquals(plan.getParameters(), first.getParameters());
+
+        first.setParameter("name", "pname");
+        first.setParameter("age", 32);
+        second.setParameter("name", "other");
+
+        Assert.assertEquals("pname", first.getClauseValue(":name"));
+        Assert.assertEquals("other", second.getClauseValue(":name"));
+        Assert.assertEquals(":name", plan.getClauseValue(":name"));
+
+        // clauses in filter queue are the ones bound.
+        FilterClause clause = (FilterClause) first.getFilterClauseQueue().peek();
+        Assert.assertEquals("pname", clause.getValue());
+        Assert.assertEquals(3, first.getFilterClauseQueue().size());
+
+        Assert.assertEquals(2, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testEviction()
+    {
+        QueryPlanCache cache = new QueryPlanCache(2);
+        cache.put("a", new KunderaQuery("a", kunderaMetadata));
+        cache.put("b", new KunderaQuery("b", kunderaMetadata));
+
+        // touch "a", so "b" is least recently used.
+        Assert.assertNotNull(cache.get("a"));
+        cache.put("c", new KunderaQuery("c", kunderaMetadata));
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertNotNull(cache.get("a"));
+        Assert.assertNull(cache.get("b"));
+        Assert.assertEquals("c", cache.get("c").getJPAQuery());
+
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testEntityManagerFactoryCache()
+    {
+        QueryPlanCache cache = kunderaMetadata.getApplicationMetadata().getQueryPlanCache();
+        Assert.assertNotNull(cache);
+
+        String query = "Select p from Person p where p.age = ?1";
+        emf.createEntityManager().createQuery(query);
+        long misses = cache.getMissCount();
+        emf.createEntityManager().createQuery(query);
+        Assert.assertEquals(misses, cache.getMissCount());
+        Assert.assertTrue(cache.getHitCount() > 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSize()
+    {
+        new QueryPlanCache(0);
+    }
+}
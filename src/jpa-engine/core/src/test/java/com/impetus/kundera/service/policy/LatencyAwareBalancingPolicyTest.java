@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.service.policy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Junit for {@link LatencyAwareBalancingPolicy} and {@link CircuitBreaker}.
+ */
+public class LatencyAwareBalancingPolicyTest
+{
+    private LatencyAwareBalancingPolicy policy;
+
+    private Object fast = new Object();
+
+    private Object slow = new Object();
+
+    private List<Object> pools = new ArrayList<Object>();
+
+    @Before
+    public void setUp()
+    {
+        policy = new LatencyAwareBalancingPolicy(0.5, 2, 50, 60000);
+        pools.add(fast);
+        pools.add(slow);
+        policy.addPool(fast);
+        policy.addPool(slow);
+    }
+
+    @Test
+    public void testPrefersFasterHost()
+    {
+        policy.onSuccess(fast, 1000);
+        policy.onSuccess(slow, 100000);
+
+        for (int i = 0; i < 100; i++)
+        {
+            Assert.assertSame(fast, policy.getPool(pools));
+        }
+        Assert.assertEquals(1000.0, policy.getAverageLatency(fast));
+        policy.onSuccess(fast, 3000);
+        Assert.assertEquals(2000.0, policy.getAverageLatency(fast));
+    }
+
+    @Test
+    public void testCircuitBreaker() throws Exception
+    {
+        policy.onSuccess(slow, 100000);
+        policy.onFailure(fast);
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, policy.getCircuitBreaker(fast).getState());
+        policy.onFailure(fast);
+        Assert.assertEquals(CircuitBreaker.State.OPEN, policy.getCircuitBreaker(fast).getState());
+
+        // open breaker fails fast, even though host is faster.
+        Assert.assertSame(slow, policy.getPool(pools));
+        Assert.assertFalse(policy.allowRequest(fast));
+
+        // after timeout host is selected again, selection does not claim
+        // probe.
+        Thread.sleep(60);
+        Assert.assertSame(fast, policy.getPool(pools));
+        Assert.assertSame(fast, policy.getPool(pools));
+        Assert.assertEquals(CircuitBreaker.State.OPEN, policy.getCircuitBreaker(fast).getState());
+
+        // single probe is claimed on borrow.
+        Assert.assertTrue(policy.allowRequest(fast));
+        Assert.assertEquals(CircuitBreaker.State.HALF_OPEN, policy.getCircuitBreaker(fast).getState());
+        Assert.assertFalse(policy.allowRequest(fast));
+        Assert.assertSame(slow, policy.getPool(pools));
+
+        // failed probe opens breaker again.
+        policy.onFailure(fast);
+        Assert.assertEquals(CircuitBreaker.State.OPEN, policy.getCircuitBreaker(fast).getState());
+
+        Thread.sleep(60);
+        Assert.assertTrue(policy.allowRequest(fast));
+        policy.onSuccess(fast, 1000);
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, policy.getCircuitBreaker(fast).getState());
+        Assert.assertSame(fast, policy.getPool(pools));
+    }
+
+    @Test
+    public void testAllHostsDown()
+    {
+        policy.onFailure(fast);
+        policy.onFailure(fast);
+        policy.onFailure(slow);
+        policy.onFailure(slow);
+        Assert.assertNull(policy.getPool(pools));
+
+        policy.removePool(fast);
+        policy.removePool(slow);
+        Assert.assertNotNull(policy.getPool(pools));
+        Assert.assertTrue(policy.allowRequest(fast));
+    }
+}
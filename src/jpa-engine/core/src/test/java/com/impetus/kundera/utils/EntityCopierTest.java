@@ -0,0 +1,223 @@
+/**
+ * Copyright 2013 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.utils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.metadata.entities.EmbeddableEntity;
+import com.impetus.kundera.metadata.entities.EmbeddableEntityTwo;
+import com.impetus.kundera.metadata.entities.SingularEntityEmbeddable;
+import com.impetus.kundera.metadata.processor.Circle;
+import com.impetus.kundera.metadata.processor.Rectangle;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.polyglot.entities.AddressBM1;
+import com.impetus.kundera.polyglot.entities.AddressUMM;
+import com.impetus.kundera.polyglot.entities.PersonBM1;
+import com.impetus.kundera.polyglot.entities.PersonUMMByMap;
+
+/**
+ * Test case for {@link EntityCopier}, through
+ * {@link ObjectUtils#deepCopy(Object, KunderaMetadata)}.
+ */
+public class EntityCopierTest
+{
+    private EntityManagerFactory emf;
+
+    @After
+    public void tearDown() throws Exception
+    {
+        if (emf != null)
+        {
+            emf.close();
+        }
+    }
+
+    @Test
+    public void testCyclicGraph()
+    {
+        KunderaMetadata kunderaMetadata = getKunderaMetadata("patest");
+
+        AddressBM1 address = new AddressBM1();
+        address.setAddressId("a1");
+        address.setStreet("Street 1");
+        address.setPeople(new HashSet<PersonBM1>());
+        PersonBM1 p1 = newPerson("p1", address);
+        PersonBM1 p2 = newPerson("p2", address);
+
+        PersonBM1 copy = (PersonBM1) ObjectUtils.deepCopy(p1, kunderaMetadata);
+
+        Assert.assertNotSame(p1, copy);
+        Assert.assertEquals("p1", copy.getPersonId());
+        AddressBM1 addressCopy = copy.getAddress();
+        Assert.assertNotSame(address, addressCopy);
+        Assert.assertEquals("Street 1", addressCopy.getStreet());
+        Assert.assertNotSame(address.getPeople(), addressCopy.getPeople());
+        Assert.assertEquals(2, addressCopy.getPeople().size());
+
+        // cycle is closed on copies, each entity is copied once.
+        for (PersonBM1 person : addressCopy.getPeople())
+        {
+            Assert.assertNotSame(p1, person);
+            Assert.assertNotSame(p2, person);
+            Assert.assertSame(addressCopy, person.getAddress());
+            if ("p1".equals(person.getPersonId()))
+            {
+                Assert.assertSame(copy, person);
+            }
+        }
+    }
+
+    @Test
+    public void testMapOfRelations()
+    {
+        KunderaMetadata kunderaMetadata = getKunderaMetadata("patest");
+
+        AddressUMM address = new AddressUMM();
+        address.setAddressId("a1");
+        address.setStreet("Street 1");
+        PersonUMMByMap person = new PersonUMMByMap();
+        person.setPersonId("p1");
+        person.setPersonName("Person 1");
+        Map<String, AddressUMM> addresses = new HashMap<String, AddressUMM>();
+        addresses.put("home", address);
+        addresses.put("office", address);
+        person.setAddresses(addresses);
+
+        PersonUMMByMap copy = (PersonUMMByMap) ObjectUtils.deepCopy(person, kunderaMetadata);
+
+        Assert.assertNotSame(addresses, copy.getAddresses());
+        Assert.assertEquals(2, copy.getAddresses().size());
+        AddressUMM home = copy.getAddresses().get("home");
+        Assert.assertNotSame(address, home);
+        Assert.assertEquals("a1", home.getAddressId());
+        Assert.assertEquals("Street 1", home.getStreet());
+
+        // entity referenced twice in graph is copied once, though it has no
+        // relations of its own.
+        Assert.assertSame(home, copy.getAddresses().get("office"));
+
+        // change in original does not reach copy.
+        address.setStreet("Street 2");
+        Assert.assertEquals("Street 1", home.getStreet());
+    }
+
+    @Test
+    public void testEmbeddables()
+    {
+        KunderaMetadata kunderaMetadata = getKunderaMetadata("patest");
+
+        SingularEntityEmbeddable entity = new SingularEntityEmbeddable();
+        entity.setKey(1);
+        entity.setName("name");
+        EmbeddableEntity embeddable = new EmbeddableEntity();
+        embeddable.setField("field");
+        entity.setEmbeddableEntity(embeddable);
+
+        SingularEntityEmbeddable copy = (SingularEntityEmbeddable) ObjectUtils.deepCopy(entity, kunderaMetadata);
+
+        Assert.assertNotSame(entity, copy);
+        Assert.assertEquals(Integer.valueOf(1), copy.getKey());
+        Assert.assertEquals("name", copy.getName());
+        Assert.assertNotSame(embeddable, copy.getEmbeddableEntity());
+        Assert.assertEquals("field", copy.getEmbeddableEntity().getField());
+        Assert.assertNull(copy.getEmbeddableEntityTwo());
+
+        embeddable.setField("changed");
+        Assert.assertEquals("field", copy.getEmbeddableEntity().getField());
+
+        EmbeddableEntityTwo embeddableTwo = new EmbeddableEntityTwo();
+        embeddableTwo.setField(1.5f);
+        embeddableTwo.setName("two");
+        entity.setEmbeddableEntityTwo(embeddableTwo);
+
+        copy = (SingularEntityEmbeddable) ObjectUtils.deepCopy(entity, kunderaMetadata);
+        Assert.assertNotSame(embeddableTwo, copy.getEmbeddableEntityTwo());
+        Assert.assertEquals(1.5f, copy.getEmbeddableEntityTwo().getField());
+        Assert.assertEquals("two", copy.getEmbeddableEntityTwo().getName());
+    }
+
+    @Test
+    public void testSubclasses()
+    {
+        KunderaMetadata kunderaMetadata = getKunderaMetadata("inheritanceTest");
+
+        Rectangle rectangle = new Rectangle();
+        rectangle.setId("r1");
+        rectangle.setName("Rectangle");
+        rectangle.setLength(10);
+        rectangle.setBreadth(5);
+
+        Circle circle = new Circle();
+        circle.setId("c1");
+        circle.setName("Circle");
+        circle.setRadius(3);
+
+        Object rectangleCopy = ObjectUtils.deepCopy(rectangle, kunderaMetadata);
+        Object circleCopy = ObjectUtils.deepCopy(circle, kunderaMetadata);
+
+        // each subclass is copied as itself, with inherited attributes.
+        Assert.assertEquals(Rectangle.class, rectangleCopy.getClass());
+        Assert.assertEquals("r1", ((Rectangle) rectangleCopy).getId());
+        Assert.assertEquals("Rectangle", ((Rectangle) rectangleCopy).getName());
+        Assert.assertEquals(10, ((Rectangle) rectangleCopy).getLength());
+        Assert.assertEquals(5, ((Rectangle) rectangleCopy).getBreadth());
+
+        Assert.assertEquals(Circle.class, circleCopy.getClass());
+        Assert.assertEquals("c1", ((Circle) circleCopy).getId());
+        Assert.assertEquals("Circle", ((Circle) circleCopy).getName());
+        Assert.assertEquals(3, ((Circle) circleCopy).getRadius());
+
+        // copiers are built per class and reused across copies.
+        EntityCopier rectangleCopier = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, Rectangle.class)
+                .getEntityCopier();
+        EntityCopier circleCopier = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, Circle.class)
+                .getEntityCopier();
+        Assert.assertNotNull(rectangleCopier);
+        Assert.assertNotSame(rectangleCopier, circleCopier);
+
+        ObjectUtils.deepCopy(rectangle, kunderaMetadata);
+        Assert.assertSame(rectangleCopier,
+                KunderaMetadataManager.getEntityMetadata(kunderaMetadata, Rectangle.class).getEntityCopier());
+    }
+
+    private PersonBM1 newPerson(String personId, AddressBM1 address)
+    {
+        PersonBM1 person = new PersonBM1();
+        person.setPersonId(personId);
+        person.setPersonName("Person " + personId);
+        person.setAddress(address);
+        address.getPeople().add(person);
+        return person;
+    }
+
+    private KunderaMetadata getKunderaMetadata(String persistenceUnit)
+    {
+        emf = Persistence.createEntityManagerFactory(persistenceUnit);
+        return ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance();
+    }
+}
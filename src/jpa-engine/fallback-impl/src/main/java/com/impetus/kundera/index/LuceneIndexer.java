@@ -22,6 +22,9 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import javax.persistence.metamodel.EmbeddableType;
 import javax.persistence.metamodel.EntityType;
@@ -38,6 +41,7 @@ import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
@@ -54,6 +58,7 @@ import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.property.PropertyAccessException;
 import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.impetus.kundera.utils.KunderaThreadFactory;
 
 /**
  * Provides indexing functionality using lucene library.
@@ -82,11 +87,34 @@ public class LuceneIndexer extends DocumentIndexer
     private static LuceneIndexer indexer;
 
     /** The ready for commit. */
-    private static boolean readyForCommit;
+    private static volatile boolean readyForCommit;
 
     /** The lucene dir path. */
     private static String luceneDirPath;
 
+    /** Manages near-real-time searchers, null unless in NRT mode. */
+    private static SearcherManager searcherManager;
+
+    /** Whether index changed since searcher was last refreshed. */
+    private static volatile boolean readyForRefresh;
+
+    /** Refreshes searcher and commits index in background, in NRT mode. */
+    private static ScheduledExecutorService scheduler;
+
+    /** Query parsers are not thread safe, so one per thread is kept. */
+    private static final ThreadLocal<QueryParser> parsers = new ThreadLocal<QueryParser>()
+    {
+        @Override
+        protected QueryParser initialValue()
+        {
+            QueryParser qp = new QueryParser(Version.LUCENE_34, DEFAULT_SEARCHABLE_FIELD, new StandardAnalyzer(
+                    Version.LUCENE_34));
+            qp.setLowercaseExpandedTerms(false);
+            qp.setAllowLeadingWildcard(true);
+            return qp;
+        }
+    };
+
     /**
      * Instantiates a new lucene indexer.
      * 
@@ -117,16 +145,7 @@ public class LuceneIndexer extends DocumentIndexer
              */
             // isInitialized
             /* writer */
-            IndexWriterConfig indexWriterConfig = new IndexWriterConfig(Version.LUCENE_34, analyzer);
-            LogDocMergePolicy logDocMergePolicy = new LogDocMergePolicy();
-            logDocMergePolicy.setMergeFactor(1000);
-            indexWriterConfig.setMergePolicy(logDocMergePolicy);
-            w = new IndexWriter(index, indexWriterConfig);
-            /* reader = */
-            // w.setMergePolicy(new LogDocMergePolicy());
-            // w.setMergeFactor(1);
-            // w.setMergeFactor(1000);
-            w.getConfig().setRAMBufferSizeMB(32);
+            w = newIndexWriter(index);
         }
         catch (Exception e)
         {
@@ -135,6 +154,70 @@ public class LuceneIndexer extends DocumentIndexer
         }
     }
 
+    /**
+     * Instantiates a near-real-time lucene indexer, writing straight to file
+     * system directory (memory mapped where supported). Searches are served
+     * by a shared, reference counted searcher reopened from writer, and
+     * changes are committed in groups at given interval instead of on each
+     * flush. Changes not yet committed are lost if JVM crashes.
+     * 
+     * @param lucDirPath
+     *            the luc dir path
+     * @param refreshInterval
+     *            interval in milliseconds at which searcher is refreshed
+     * @param commitInterval
+     *            interval in milliseconds at which changes are committed
+     */
+    private LuceneIndexer(String lucDirPath, long refreshInterval, long commitInterval)
+    {
+        try
+        {
+            luceneDirPath = lucDirPath;
+            index = FSDirectory.open(getIndexDirectory());
+            w = newIndexWriter(index);
+            searcherManager = new SearcherManager(w, true, null);
+            isInitialized = true;
+        }
+        catch (Exception e)
+        {
+            log.error("Error while instantiating LuceneIndexer, Caused by :.", e);
+            throw new LuceneIndexingException(e);
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(new KunderaThreadFactory(LuceneIndexer.class
+                .getSimpleName()));
+        scheduler.scheduleWithFixedDelay(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    searcherManager.maybeRefresh();
+                }
+                catch (Exception e)
+                {
+                    log.error("Error while refreshing Lucene searcher, Caused by: ", e);
+                }
+            }
+        }, refreshInterval, refreshInterval, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    commit();
+                }
+                catch (Exception e)
+                {
+                    log.error("Error while committing Lucene Indexes, Caused by: ", e);
+                }
+            }
+        }, commitInterval, commitInterval, TimeUnit.MILLISECONDS);
+    }
+
     /**
      * Gets the single instance of LuceneIndexer.
      * 
@@ -155,6 +238,50 @@ public class LuceneIndexer extends DocumentIndexer
         return indexer;
     }
 
+    /**
+     * Gets the single instance of LuceneIndexer, in near-real-time mode.
+     * 
+     * @param lucDirPath
+     *            the luc dir path
+     * @param refreshInterval
+     *            interval in milliseconds at which searcher is refreshed
+     * @param commitInterval
+     *            interval in milliseconds at which changes are committed
+     * @return single instance of LuceneIndexer
+     */
+    public static synchronized LuceneIndexer getInstance(String lucDirPath, long refreshInterval, long commitInterval)
+    {
+        if (indexer == null && lucDirPath != null)
+        {
+            indexer = new LuceneIndexer(lucDirPath, refreshInterval, commitInterval);
+        }
+        return indexer;
+    }
+
+    private IndexWriter newIndexWriter(Directory directory) throws IOException
+    {
+        IndexWriterConfig indexWriterConfig = new IndexWriterConfig(Version.LUCENE_34, analyzer);
+        LogDocMergePolicy logDocMergePolicy = new LogDocMergePolicy();
+        logDocMergePolicy.setMergeFactor(1000);
+        indexWriterConfig.setMergePolicy(logDocMergePolicy);
+        IndexWriter writer = new IndexWriter(directory, indexWriterConfig);
+        // w.setMergePolicy(new LogDocMergePolicy());
+        // w.setMergeFactor(1);
+        // w.setMergeFactor(1000);
+        writer.getConfig().setRAMBufferSizeMB(32);
+        return writer;
+    }
+
+    /**
+     * Returns query parser of current thread.
+     * 
+     * @return query parser.
+     */
+    private QueryParser getQueryParser()
+    {
+        return parsers.get();
+    }
+
     /**
      * Added for HBase support.
      * 
@@ -229,11 +356,7 @@ public class LuceneIndexer extends DocumentIndexer
             log.debug("Unindexing @Entity[{}] for key:{}", metadata.getEntityClazz().getName(), id);
         try
         {
-            QueryParser qp = new QueryParser(Version.LUCENE_34, DEFAULT_SEARCHABLE_FIELD, new StandardAnalyzer(
-                    Version.LUCENE_34));
-
-            qp.setLowercaseExpandedTerms(false);
-            qp.setAllowLeadingWildcard(true);
+            QueryParser qp = getQueryParser();
 
             String luceneQuery = "+"
                     + IndexingConstants.ENTITY_CLASS_FIELD
@@ -253,18 +376,15 @@ public class LuceneIndexer extends DocumentIndexer
             Query q = qp.parse(luceneQuery);
 
             w.deleteDocuments(q);
+            if (searcherManager != null)
+            {
+                // committed along with other changes.
+                onCommit();
+                return;
+            }
             w.commit();
             w.close();
-            IndexWriterConfig indexWriterConfig = new IndexWriterConfig(Version.LUCENE_34, analyzer);
-            LogDocMergePolicy logDocMergePolicy = new LogDocMergePolicy();
-            logDocMergePolicy.setMergeFactor(1000);
-            indexWriterConfig.setMergePolicy(logDocMergePolicy);
-            w = new IndexWriter(index, indexWriterConfig);
-            /* reader = */
-            // w.setMergePolicy(new LogDocMergePolicy());
-            // w.setMergeFactor(1);
-            // w.setMergeFactor(1000);
-            w.getConfig().setRAMBufferSizeMB(32);
+            w = newIndexWriter(index);
             // flushInternal();
         }
         catch (Exception e)
@@ -290,9 +410,6 @@ public class LuceneIndexer extends DocumentIndexer
     @Override
     public final Map<String, Object> search(String luceneQuery, int start, int count, boolean fetchRelation)
     {
-
-        reader = getIndexReader();
-
         if (Constants.INVALID == count)
         {
             count = 100;
@@ -303,6 +420,13 @@ public class LuceneIndexer extends DocumentIndexer
             log.debug("Searching index with query[{}], start:{} , count:" + count, luceneQuery, start);
         }
 
+        if (searcherManager != null)
+        {
+            return searchNearRealTime(luceneQuery, count, fetchRelation);
+        }
+
+        reader = getIndexReader();
+
         // Set<String> entityIds = new HashSet<String>();
         Map<String, Object> indexCol = new HashMap<String, Object>();
 
@@ -313,16 +437,56 @@ public class LuceneIndexer extends DocumentIndexer
             // LuceneIndexingException("Index reader is not initialized!");
         }
 
-        IndexSearcher searcher = new IndexSearcher(reader);
-        QueryParser qp = new QueryParser(Version.LUCENE_34, DEFAULT_SEARCHABLE_FIELD, new StandardAnalyzer(
-                Version.LUCENE_34));
+        indexCol = search(new IndexSearcher(reader), luceneQuery, count, fetchRelation);
+        reader = null;
+        return indexCol;
+    }
 
+    /**
+     * Searches using shared near-real-time searcher, refreshing it first if
+     * index changed, so that changes made by caller are visible.
+     */
+    private Map<String, Object> searchNearRealTime(String luceneQuery, int count, boolean fetchRelation)
+    {
+        IndexSearcher searcher;
         try
         {
-            qp.setLowercaseExpandedTerms(false);
-            qp.setAllowLeadingWildcard(true);
-            // qp.set
-            Query q = qp.parse(luceneQuery);
+            if (readyForRefresh)
+            {
+                readyForRefresh = false;
+                searcherManager.maybeRefreshBlocking();
+            }
+            searcher = searcherManager.acquire();
+        }
+        catch (IOException ioe)
+        {
+            log.error("Error while refreshing Lucene searcher, Caused by: ", ioe);
+            throw new LuceneIndexingException(ioe);
+        }
+
+        try
+        {
+            return search(searcher, luceneQuery, count, fetchRelation);
+        }
+        finally
+        {
+            try
+            {
+                searcherManager.release(searcher);
+            }
+            catch (IOException ioe)
+            {
+                log.warn("Error while releasing Lucene searcher, Caused by: ", ioe);
+            }
+        }
+    }
+
+    private Map<String, Object> search(IndexSearcher searcher, String luceneQuery, int count, boolean fetchRelation)
+    {
+        Map<String, Object> indexCol = new HashMap<String, Object>();
+        try
+        {
+            Query q = getQueryParser().parse(luceneQuery);
             TopDocs docs = searcher.search(q, count);
 
             int nullCount = 0;
@@ -350,8 +514,6 @@ public class LuceneIndexer extends DocumentIndexer
             log.error("Error while parsing Lucene Query {} ", luceneQuery, e);
             throw new LuceneIndexingException(e);
         }
-
-        reader = null;
         return indexCol;
     }
 
@@ -425,6 +587,12 @@ public class LuceneIndexer extends DocumentIndexer
      */
     private void flushInternal()
     {
+        if (searcherManager != null)
+        {
+            // searcher is refreshed from writer, nothing to copy.
+            return;
+        }
+
         try
         {
             if (w != null && readyForCommit)
@@ -450,6 +618,12 @@ public class LuceneIndexer extends DocumentIndexer
      */
     public void close()
     {
+        if (searcherManager != null)
+        {
+            closeNearRealTime();
+            return;
+        }
+
         try
         {
             if (w != null && readyForCommit)
@@ -466,6 +640,70 @@ public class LuceneIndexer extends DocumentIndexer
         }
     }
 
+    /**
+     * Stops background refresh and commit, commits pending changes and
+     * releases searcher, writer and directory. Next call to
+     * {@link #getInstance(String, long, long)} reopens index from file system.
+     */
+    private static synchronized void closeNearRealTime()
+    {
+        if (searcherManager == null)
+        {
+            return;
+        }
+
+        scheduler.shutdown();
+        try
+        {
+            // let refresh or commit in progress complete.
+            if (!scheduler.awaitTermination(10, TimeUnit.SECONDS))
+            {
+                scheduler.shutdownNow();
+            }
+        }
+        catch (InterruptedException e)
+        {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        try
+        {
+            w.commit();
+            searcherManager.close();
+            w.close();
+            index.close();
+        }
+        catch (IOException ioe)
+        {
+            log.error("Error while closing lucene indexes, Caused by: ", ioe);
+            throw new LuceneIndexingException("Error while closing lucene indexes.", ioe);
+        }
+        finally
+        {
+            scheduler = null;
+            searcherManager = null;
+            w = null;
+            index = null;
+            isInitialized = false;
+            readyForCommit = false;
+            readyForRefresh = false;
+            indexer = null;
+        }
+    }
+
+    /**
+     * Commits changes made since last commit, in NRT mode.
+     */
+    private void commit() throws IOException
+    {
+        if (readyForCommit)
+        {
+            readyForCommit = false;
+            w.commit();
+        }
+    }
+
     @Override
     public void flush()
     {
@@ -744,6 +982,7 @@ public class LuceneIndexer extends DocumentIndexer
         // w.commit();
         isInitialized = true;
         readyForCommit = true;
+        readyForRefresh = true;
         // }
         // catch (CorruptIndexException e)
         // {
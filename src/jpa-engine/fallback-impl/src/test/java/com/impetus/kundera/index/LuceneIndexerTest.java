@@ -15,6 +15,7 @@
  ******************************************************************************/
 package com.impetus.kundera.index;
 
+import java.lang.reflect.Field;
 import java.util.Map;
 
 import javax.persistence.EntityManagerFactory;
@@ -181,6 +182,45 @@ public class LuceneIndexerTest
 
     }
 
+    @Test
+    public void testNearRealTime() throws Exception
+    {
+        clearInstance();
+        LuceneIndexer indexer = LuceneIndexer.getInstance(LUCENE_DIR_PATH, 50, 60000);
+
+        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(
+                ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance(), Person.class);
+        MetamodelImpl metaModel = (MetamodelImpl) ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance()
+                .getApplicationMetadata().getMetamodel("patest");
+        Person p = new Person();
+        p.setAge(32);
+        p.setDay(Day.TUESDAY);
+        p.setPersonId("p1");
+        indexer.index(metadata, metaModel, p);
+
+        // visible to search before being committed.
+        String luceneQuery = "+Person.AGE:32 AND +entity.class:com.impetus.kundera.query.Person";
+        Assert.assertFalse(indexer.search(luceneQuery, 0, 10, false).isEmpty());
+
+        // close commits pending changes, restart reopens them from directory.
+        indexer.close();
+        LuceneIndexer reopened = LuceneIndexer.getInstance(LUCENE_DIR_PATH, 50, 60000);
+        Assert.assertNotSame(indexer, reopened);
+        Assert.assertFalse(reopened.search(luceneQuery, 0, 10, false).isEmpty());
+        reopened.close();
+    }
+
+    /**
+     * Drops indexer instance shared with other tests, so that next
+     * getInstance creates one in mode of choice.
+     */
+    private void clearInstance() throws Exception
+    {
+        Field instance = LuceneIndexer.class.getDeclaredField("indexer");
+        instance.setAccessible(true);
+        instance.set(null, null);
+    }
+
     @After
     public void tearDown()
     {
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.cassandra;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.impetus.client.cassandra.thrift.ThriftClient;
+import com.impetus.client.cassandra.thrift.ThriftClientFactory;
+import com.impetus.client.cassandra.thrift.ThriftDataHandler;
+import com.impetus.client.cassandra.thrift.ThriftRow;
+import com.impetus.kundera.benchmarks.KunderaState;
+import com.impetus.kundera.benchmarks.entities.BenchmarkUser;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+
+/**
+ * Measures entity to thrift row conversion and row population by
+ * {@link com.impetus.client.cassandra.datahandler.CassandraDataHandlerBase}.
+ * The thrift client is never connected, only its metadata is used.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ThriftDataHandlerBenchmark
+{
+    private ThriftDataHandler dataHandler;
+
+    private EntityMetadata metadata;
+
+    private BenchmarkUser user;
+
+    private ThriftRow row;
+
+    @Setup
+    public void setUp(KunderaState kundera) throws Exception
+    {
+        ThriftClient client = new ThriftClient(new ThriftClientFactory(), null, null, KunderaState.PERSISTENCE_UNIT,
+                null, null, kundera.kunderaMetadata);
+        dataHandler = new ThriftDataHandler(client, kundera.kunderaMetadata);
+        metadata = kundera.userMetadata;
+        user = new BenchmarkUser("1");
+        row = toThriftRow();
+    }
+
+    @Benchmark
+    public ThriftRow toThriftRow() throws Exception
+    {
+        return dataHandler.toThriftRow(user, user.getUserId(), metadata, metadata.getTableName(), null).iterator()
+                .next();
+    }
+
+    @Benchmark
+    public Object populateEntity()
+    {
+        return dataHandler.populateEntity(row, metadata, new BenchmarkUser(), null, false);
+    }
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.mongodb;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.Metamodel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.impetus.kundera.benchmarks.KunderaState;
+import com.impetus.kundera.benchmarks.entities.BenchmarkUser;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Measures entity to document mapping and back by {@link DocumentObjectMapper}.
+ * Lives in mapper's package, as its methods are package private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class DocumentObjectMapperBenchmark
+{
+    private Metamodel metamodel;
+
+    private Set<Attribute> attributes;
+
+    private String tableName;
+
+    private BenchmarkUser user;
+
+    private BasicDBObject document;
+
+    @Setup
+    public void setUp(KunderaState kundera) throws Exception
+    {
+        EntityMetadata m = kundera.userMetadata;
+        metamodel = kundera.kunderaMetadata.getApplicationMetadata().getMetamodel(m.getPersistenceUnit());
+        attributes = (Set) metamodel.entity(BenchmarkUser.class).getAttributes();
+        tableName = m.getTableName();
+        user = new BenchmarkUser("1");
+        document = (BasicDBObject) toDocument().get(tableName);
+    }
+
+    @Benchmark
+    public Map<String, DBObject> toDocument() throws Exception
+    {
+        return DocumentObjectMapper.getDocumentFromObject(metamodel, user, attributes, tableName);
+    }
+
+    @Benchmark
+    public Object fromDocument() throws Exception
+    {
+        return DocumentObjectMapper.getObjectFromDocument(metamodel, document, attributes, new BenchmarkUser());
+    }
+}
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.impetus.kundera.query.KunderaQuery;
+import com.impetus.kundera.query.KunderaQueryParser;
+
+/**
+ * Measures JPQL parsing by {@link KunderaQueryParser}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class KunderaQueryParserBenchmark
+{
+    @Param({ "Select u from BenchmarkUser u",
+            "Select u from BenchmarkUser u where u.name = :name and u.age > :age order by u.email ASC",
+            "Select u.name, u.email from BenchmarkUser u where u.age >= 20 and u.age <= 40 or u.active = true" })
+    public String jpql;
+
+    @Benchmark
+    public KunderaQuery parse(KunderaState kundera)
+    {
+        KunderaQuery query = new KunderaQuery(jpql, kundera.kunderaMetadata);
+        new KunderaQueryParser(query).parse();
+        return query;
+    }
+}
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.benchmarks;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.impetus.kundera.benchmarks.entities.BenchmarkUser;
+import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+
+/**
+ * Benchmark wide state holding an {@link EntityManagerFactory} for the
+ * in-memory "benchmark" persistence unit, along with its metadata.
+ */
+@State(Scope.Benchmark)
+public class KunderaState
+{
+    public static final String PERSISTENCE_UNIT = "benchmark";
+
+    public EntityManagerFactory emf;
+
+    public KunderaMetadata kunderaMetadata;
+
+    public EntityMetadata userMetadata;
+
+    @Setup
+    public void setUp()
+    {
+        emf = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT);
+        kunderaMetadata = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance();
+        userMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, BenchmarkUser.class);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        emf.close();
+    }
+}
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.impetus.kundera.benchmarks.entities.BenchmarkUser;
+import com.impetus.kundera.utils.DeepEquals;
+import com.impetus.kundera.utils.ObjectUtils;
+
+/**
+ * Measures {@link ObjectUtils#deepCopy(Object, com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata)}
+ * and {@link DeepEquals#deepEquals(Object, Object)}, used for snapshots and
+ * dirty checks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ObjectUtilsBenchmark
+{
+    private BenchmarkUser user;
+
+    private BenchmarkUser copy;
+
+    @Setup
+    public void setUp()
+    {
+        user = new BenchmarkUser("1");
+        copy = new BenchmarkUser("1");
+    }
+
+    @Benchmark
+    public Object deepCopy(KunderaState kundera)
+    {
+        return ObjectUtils.deepCopy(user, kundera.kunderaMetadata);
+    }
+
+    @Benchmark
+    public boolean deepEquals()
+    {
+        return DeepEquals.deepEquals(user, copy);
+    }
+}
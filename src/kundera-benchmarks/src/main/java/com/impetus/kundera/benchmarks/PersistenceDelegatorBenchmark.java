@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.impetus.kundera.benchmarks.entities.BenchmarkUser;
+
+/**
+ * Measures persist, find and merge through the entity manager, that is the
+ * {@link com.impetus.kundera.persistence.PersistenceDelegator} flush and
+ * persistence cache paths, without any datastore round trip.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PersistenceDelegatorBenchmark
+{
+    private static final int ROWS = 1000;
+
+    @State(Scope.Thread)
+    public static class EntityManagerState
+    {
+        EntityManager em;
+
+        long sequence;
+
+        int cursor;
+
+        @Setup(Level.Trial)
+        public void setUp(KunderaState kundera)
+        {
+            em = kundera.emf.createEntityManager();
+            for (int i = 0; i < ROWS; i++)
+            {
+                em.persist(new BenchmarkUser(String.valueOf(i)));
+            }
+            em.clear();
+            sequence = ROWS;
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown()
+        {
+            em.close();
+        }
+
+        String nextKey()
+        {
+            cursor = (cursor + 1) % ROWS;
+            return String.valueOf(cursor);
+        }
+    }
+
+    @Benchmark
+    public BenchmarkUser persist(EntityManagerState state)
+    {
+        BenchmarkUser user = new BenchmarkUser("p" + state.sequence++);
+        state.em.persist(user);
+        return user;
+    }
+
+    @Benchmark
+    public BenchmarkUser findCached(EntityManagerState state)
+    {
+        return state.em.find(BenchmarkUser.class, state.nextKey());
+    }
+
+    @Benchmark
+    public BenchmarkUser findUncached(EntityManagerState state)
+    {
+        BenchmarkUser user = state.em.find(BenchmarkUser.class, state.nextKey());
+        state.em.detach(user);
+        return user;
+    }
+
+    @Benchmark
+    public BenchmarkUser merge(EntityManagerState state)
+    {
+        BenchmarkUser user = new BenchmarkUser(state.nextKey());
+        user.setAge(31);
+        return state.em.merge(user);
+    }
+}
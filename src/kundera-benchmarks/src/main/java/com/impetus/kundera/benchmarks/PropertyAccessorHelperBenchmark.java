@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.benchmarks;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.impetus.kundera.benchmarks.entities.BenchmarkUser;
+import com.impetus.kundera.property.PropertyAccessorHelper;
+
+/**
+ * Measures reflective field access through {@link PropertyAccessorHelper}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class PropertyAccessorHelperBenchmark
+{
+    private BenchmarkUser user;
+
+    private Field nameField;
+
+    private Field ageField;
+
+    @Setup
+    public void setUp() throws NoSuchFieldException
+    {
+        user = new BenchmarkUser("1");
+        nameField = BenchmarkUser.class.getDeclaredField("name");
+        ageField = BenchmarkUser.class.getDeclaredField("age");
+    }
+
+    @Benchmark
+    public Object getString()
+    {
+        return PropertyAccessorHelper.getObject(user, nameField);
+    }
+
+    @Benchmark
+    public Object getInt()
+    {
+        return PropertyAccessorHelper.getObject(user, ageField);
+    }
+
+    @Benchmark
+    public BenchmarkUser setString()
+    {
+        PropertyAccessorHelper.set(user, nameField, (Object) "name");
+        return user;
+    }
+
+    @Benchmark
+    public BenchmarkUser setInt()
+    {
+        PropertyAccessorHelper.set(user, ageField, (Object) Integer.valueOf(31));
+        return user;
+    }
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.benchmarks.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.impetus.kundera.client.Client;
+import com.impetus.kundera.client.ClientBase;
+import com.impetus.kundera.db.RelationHolder;
+import com.impetus.kundera.index.IndexManager;
+import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.persistence.EntityReader;
+import com.impetus.kundera.persistence.context.jointable.JoinTableData;
+import com.impetus.kundera.query.LuceneQuery;
+
+/**
+ * {@link Client} keeping rows in memory, so that engine overhead can be
+ * measured without a datastore. Rows are kept per table in a map shared by all
+ * clients of a {@link InMemoryClientFactory}; entities are stored by reference.
+ * Relations and join tables are not supported.
+ */
+public class InMemoryClient extends ClientBase implements Client<LuceneQuery>
+{
+    private final ConcurrentMap<String, ConcurrentMap<Object, Object>> tables;
+
+    private final EntityReader reader;
+
+    public InMemoryClient(IndexManager indexManager, String persistenceUnit,
+            ConcurrentMap<String, ConcurrentMap<Object, Object>> tables, final KunderaMetadata kunderaMetadata)
+    {
+        super(kunderaMetadata);
+        this.indexManager = indexManager;
+        this.persistenceUnit = persistenceUnit;
+        this.tables = tables;
+        this.reader = new InMemoryEntityReader(kunderaMetadata);
+    }
+
+    @Override
+    protected void onPersist(EntityMetadata entityMetadata, Object entity, Object id, List<RelationHolder> rlHolders)
+    {
+        getTable(entityMetadata).put(id, entity);
+    }
+
+    @Override
+    public Object find(Class entityClass, Object key)
+    {
+        EntityMetadata m = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
+        return getTable(m).get(key);
+    }
+
+    @Override
+    public <E> List<E> findAll(Class<E> entityClass, String[] columnsToSelect, Object... keys)
+    {
+        EntityMetadata m = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
+        Map<Object, Object> table = getTable(m);
+        List results = new ArrayList(keys.length);
+        for (Object key : keys)
+        {
+            Object result = table.get(key);
+            if (result != null)
+            {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public <E> List<E> find(Class<E> entityClass, Map<String, String> embeddedColumnMap)
+    {
+        throw new UnsupportedOperationException("Find by embedded columns is not supported by in-memory client");
+    }
+
+    @Override
+    public void delete(Object entity, Object pKey)
+    {
+        if (entity != null)
+        {
+            EntityMetadata m = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entity.getClass());
+            getTable(m).remove(pKey);
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        // nothing to release, rows are owned by factory.
+    }
+
+    @Override
+    public String getPersistenceUnit()
+    {
+        return persistenceUnit;
+    }
+
+    @Override
+    public void persistJoinTable(JoinTableData joinTableData)
+    {
+        throw new UnsupportedOperationException("Join tables are not supported by in-memory client");
+    }
+
+    @Override
+    public <E> List<E> getColumnsById(String schemaName, String tableName, String pKeyColumnName, String columnName,
+            Object pKeyColumnValue, Class columnJavaType)
+    {
+        return null;
+    }
+
+    @Override
+    public Object[] findIdsByColumn(String schemaName, String tableName, String pKeyName, String columnName,
+            Object columnValue, Class entityClazz)
+    {
+        return null;
+    }
+
+    @Override
+    public void deleteByColumn(String schemaName, String tableName, String columnName, Object columnValue)
+    {
+    }
+
+    @Override
+    public List<Object> findByRelation(String colName, Object colValue, Class entityClazz)
+    {
+        return null;
+    }
+
+    @Override
+    public EntityReader getReader()
+    {
+        return reader;
+    }
+
+    @Override
+    public Class<LuceneQuery> getQueryImplementor()
+    {
+        return LuceneQuery.class;
+    }
+
+    private ConcurrentMap<Object, Object> getTable(EntityMetadata m)
+    {
+        String tableName = m.getSchema() + "." + m.getTableName();
+        ConcurrentMap<Object, Object> table = tables.get(tableName);
+        if (table == null)
+        {
+            ConcurrentMap<Object, Object> newTable = new ConcurrentHashMap<Object, Object>();
+            table = tables.putIfAbsent(tableName, newTable);
+            if (table == null)
+            {
+                table = newTable;
+            }
+        }
+        return table;
+    }
+}
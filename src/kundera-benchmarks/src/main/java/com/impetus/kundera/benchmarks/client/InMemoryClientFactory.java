@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.benchmarks.client;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.impetus.kundera.client.Client;
+import com.impetus.kundera.configure.schema.api.SchemaManager;
+import com.impetus.kundera.loader.GenericClientFactory;
+
+/**
+ * Client factory for {@link InMemoryClient}. All clients created by a factory
+ * share its rows, which are dropped on {@link #destroy()}.
+ */
+public class InMemoryClientFactory extends GenericClientFactory
+{
+    private final ConcurrentMap<String, ConcurrentMap<Object, Object>> tables = new ConcurrentHashMap<String, ConcurrentMap<Object, Object>>();
+
+    @Override
+    public void initialize(Map<String, Object> puProperties)
+    {
+        // nothing to initialize.
+    }
+
+    @Override
+    protected Object createPoolOrConnection()
+    {
+        return null;
+    }
+
+    @Override
+    protected Client instantiateClient(String persistenceUnit)
+    {
+        setConnectionPoolOrConnection(null);
+        return new InMemoryClient(indexManager, persistenceUnit, tables, kunderaMetadata);
+    }
+
+    @Override
+    public boolean isThreadSafe()
+    {
+        return true;
+    }
+
+    @Override
+    public SchemaManager getSchemaManager(Map<String, Object> puProperties)
+    {
+        return null;
+    }
+
+    @Override
+    public void destroy()
+    {
+        tables.clear();
+        super.unload();
+    }
+
+    @Override
+    protected void initializeLoadBalancer(String loadBalancingPolicyName)
+    {
+        throw new UnsupportedOperationException("Load balancing feature is not supported in "
+                + this.getClass().getSimpleName());
+    }
+}
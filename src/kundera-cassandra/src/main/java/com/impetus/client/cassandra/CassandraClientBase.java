@@ -20,11 +20,16 @@ import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 import javassist.Modifier;
 
@@ -71,6 +76,8 @@ import com.impetus.client.cassandra.common.CassandraUtilities;
 import com.impetus.client.cassandra.config.CassandraPropertyReader;
 import com.impetus.client.cassandra.datahandler.CassandraDataHandler;
 import com.impetus.client.cassandra.schemamanager.CassandraValidationClassMapper;
+import com.impetus.client.cassandra.thrift.CQLStatementCache;
+import com.impetus.client.cassandra.thrift.CQLStatementCache.Operation;
 import com.impetus.client.cassandra.thrift.CQLTranslator;
 import com.impetus.client.cassandra.thrift.CQLTranslator.TranslationType;
 import com.impetus.client.cassandra.thrift.ThriftClientFactory.Connection;
@@ -86,6 +93,8 @@ import com.impetus.kundera.client.EnhanceEntity;
 import com.impetus.kundera.db.DataRow;
 import com.impetus.kundera.db.RelationHolder;
 import com.impetus.kundera.db.SearchResult;
+import com.impetus.kundera.generator.IdBlock;
+import com.impetus.kundera.generator.IdBlockAllocator;
 import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.lifecycle.states.RemovedState;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
@@ -99,10 +108,12 @@ import com.impetus.kundera.metadata.model.annotation.DefaultEntityAnnotationProc
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.persistence.api.BatchFlusher;
 import com.impetus.kundera.property.PropertyAccessException;
 import com.impetus.kundera.property.PropertyAccessorFactory;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.property.accessor.StringAccessor;
+import com.impetus.kundera.utils.ReflectUtils;
 
 /**
  * Base Class for all Cassandra Clients Contains methods that are applicable to
@@ -137,6 +148,9 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
     /** batch size. */
     private int batchSize;
 
+    /** flusher of full batches, if batches are written asynchronously. */
+    private BatchFlusher batchFlusher;
+
     private Map<String, Object> externalProperties;
 
     protected CQLClient cqlClient;
@@ -155,6 +169,12 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
         this.externalProperties = externalProperties;
         this.cqlClient = new CQLClient();
         setBatchSize(persistenceUnit, this.externalProperties);
+        if (batchSize > 0)
+        {
+            batchFlusher = BatchFlusher.getInstance(getClass().getSimpleName(),
+                    KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata, persistenceUnit),
+                    externalProperties);
+        }
         populateCqlVersion(externalProperties);
     }
 
@@ -681,10 +701,9 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
     public <E> List<E> findAll(Class<E> entityClass, String[] columnsToSelect, Object... rowIds)
     {
         EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
-        List<E> results = new ArrayList<E>();
-        results = find(entityClass, entityMetadata.getRelationNames(), entityMetadata.getRelationNames() != null
+        List<E> results = find(entityClass, entityMetadata.getRelationNames(), entityMetadata.getRelationNames() != null
                 && !entityMetadata.getRelationNames().isEmpty(), entityMetadata, rowIds);
-        return results.isEmpty() ? null : results;
+        return results != null ? results : new ArrayList<E>();
     }
 
     /**
@@ -923,6 +942,24 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
 
     }
 
+    /**
+     * Executes cql3 count query.
+     * 
+     * @param cqlQuery
+     *            select count(*) query
+     * @return count.
+     */
+    public long executeCountQuery(String cqlQuery)
+    {
+        if (log.isInfoEnabled())
+        {
+            log.info("Executing cql query {}.", cqlQuery);
+        }
+        CqlResult result = executeCQLQuery(cqlQuery, true);
+        Column count = result.getRows().get(0).getColumns().get(0);
+        return ByteBufferUtil.toLong(ByteBuffer.wrap(count.getValue()));
+    }
+
     public Map<String, Object> getExternalProperties()
     {
         return externalProperties;
@@ -1180,6 +1217,10 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
     public void close()
     {
         clear();
+        if (batchFlusher != null)
+        {
+            batchFlusher.shutdown();
+        }
         setCqlVersion(CassandraConstants.CQL_VERSION_2_0);
         closed = true;
         externalProperties = null;
@@ -1237,6 +1278,83 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
         return deleteQueryBuilder.toString();
     }
 
+    /**
+     * Deletes row of given key from table, via a cached prepared statement
+     * where key can be bound.
+     * 
+     * @param metadata
+     *            the metadata
+     * @param tableName
+     *            table name
+     * @param metaModel
+     *            the meta model
+     * @param keyObject
+     *            the key object
+     */
+    protected void executeDeleteQuery(EntityMetadata metadata, String tableName, MetamodelImpl metaModel,
+            Object keyObject)
+    {
+        if (isPreparable(metadata, metaModel))
+        {
+            String idColumn = CassandraUtilities.getIdColumnName(kunderaMetadata, metadata, getExternalProperties());
+            CQLStatementCache statementCache = getStatementCache();
+            String deleteQuery = statementCache.getStatement(metadata.getEntityClazz(), Operation.DELETE, tableName);
+            if (deleteQuery == null)
+            {
+                CQLTranslator translator = new CQLTranslator();
+                StringBuilder builder = new StringBuilder(StringUtils.replace(CQLTranslator.DELETE_QUERY,
+                        CQLTranslator.COLUMN_FAMILY, translator.ensureCase(new StringBuilder(), tableName, false)
+                                .toString()));
+                builder.append(CQLTranslator.ADD_WHERE_CLAUSE);
+                translator.ensureCase(builder, idColumn, false).append(CQLTranslator.EQ_CLAUSE).append("?");
+                deleteQuery = builder.toString();
+                statementCache.putStatement(metadata.getEntityClazz(), Operation.DELETE, tableName, deleteQuery);
+            }
+            List<ByteBuffer> values = new ArrayList<ByteBuffer>(1);
+            values.add(CassandraUtilities.toBytes(keyObject, metadata.getIdAttribute().getBindableJavaType()));
+            executePreparedQuery(deleteQuery, values);
+        }
+        else
+        {
+            executeCQLQuery(onDeleteQuery(metadata, tableName, metaModel, keyObject), isCql3Enabled(metadata));
+        }
+    }
+
+    /**
+     * Returns true if statements of entity can be prepared, i.e. a statement
+     * cache is available and entity has a simple id of bindable type.
+     * 
+     * @param metadata
+     *            the metadata
+     * @param metaModel
+     *            the meta model
+     * @return true, if statements can be prepared.
+     */
+    protected boolean isPreparable(EntityMetadata metadata, MetamodelImpl metaModel)
+    {
+        Class<?> idClazz = metadata.getIdAttribute().getBindableJavaType();
+        return getStatementCache() != null && isCql3Enabled(metadata) && !metaModel.isEmbeddable(idClazz)
+                && isBindable(idClazz);
+    }
+
+    /**
+     * Returns true if values of given type are bound via
+     * {@link CassandraUtilities#toBytes(Object, Class)} in the same form cql
+     * literals of the type are stored.
+     * 
+     * @param clazz
+     *            field class
+     * @return true, if bindable.
+     */
+    private boolean isBindable(Class<?> clazz)
+    {
+        return clazz.equals(String.class) || clazz.equals(int.class) || clazz.equals(Integer.class)
+                || clazz.equals(long.class) || clazz.equals(Long.class) || clazz.equals(boolean.class)
+                || clazz.equals(Boolean.class) || clazz.equals(double.class) || clazz.equals(Double.class)
+                || clazz.equals(float.class) || clazz.equals(Float.class) || clazz.equals(UUID.class)
+                || clazz.equals(Date.class);
+    }
+
     /**
      * On where clause.
      * 
@@ -1490,11 +1608,61 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
      * @see com.impetus.kundera.persistence.api.Batcher#executeBatch()
      */
     /**
-     * Execute batch.
+     * Execute batch. If batches are written asynchronously, hands pending
+     * nodes to flusher and waits for all batches in flight.
      * 
      * @return the int
      */
     public int executeBatch()
+    {
+        if (batchFlusher != null)
+        {
+            executeBatchAsync();
+            return batchFlusher.await();
+        }
+
+        try
+        {
+            return executeBatch(nodes);
+        }
+        finally
+        {
+            clear();
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.persistence.api.AsyncBatcher#executeBatchAsync()
+     */
+    public Future<Integer> executeBatchAsync()
+    {
+        if (batchFlusher == null)
+        {
+            throw new IllegalStateException("Asynchronous batching is not enabled, please set "
+                    + PersistenceProperties.KUNDERA_BATCH_ASYNC + ".");
+        }
+        final List<Node> batch = nodes;
+        nodes = new ArrayList<Node>();
+        return batchFlusher.submit(new Callable<Integer>()
+        {
+            @Override
+            public Integer call()
+            {
+                return executeBatch(batch);
+            }
+        });
+    }
+
+    /**
+     * Writes batch of nodes.
+     * 
+     * @param batch
+     *            nodes to be written.
+     * @return the int
+     */
+    private int executeBatch(List<Node> batch)
     {
         Cassandra.Client conn = null;
         Object pooledConnection = null;
@@ -1512,7 +1680,7 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
         try
         {
             boolean isCql3Enabled = false;
-            for (Node node : nodes)
+            for (Node node : batch)
             {
                 if (node.isDirty())
                 {
@@ -1594,7 +1762,7 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
 
             }
 
-            if (!nodes.isEmpty() && isCql3Enabled)
+            if (!batch.isEmpty() && isCql3Enabled)
             {
                 batchQueryBuilder.append(CQLTranslator.APPLY_BATCH);
                 executeCQLQuery(batchQueryBuilder.toString(), isCql3Enabled);
@@ -1607,7 +1775,6 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
         }
         finally
         {
-            clear();
             if (pooledConnection != null)
             {
                 releaseConnection(pooledConnection);
@@ -1749,8 +1916,15 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
     {
         if (batchSize > 0 && batchSize == nodes.size())
         {
-            executeBatch();
-            nodes.clear();
+            if (batchFlusher != null)
+            {
+                executeBatchAsync();
+            }
+            else
+            {
+                executeBatch();
+                nodes.clear();
+            }
         }
     }
 
@@ -1800,13 +1974,37 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
     }
 
     /**
-     * Return the generated value of id.
+     * Return the generated value of id. Ids are served from a block of
+     * <code>allocationSize</code> ids, reserved with a single counter
+     * increment and shared by all clients of this persistence unit.
      * 
      * @param descriptor
      * @param pu
      * @return
      */
-    public Long getGeneratedValue(TableGeneratorDiscriptor descriptor, String pu)
+    public Long getGeneratedValue(final TableGeneratorDiscriptor descriptor, final String pu)
+    {
+        IdBlockAllocator allocator = kunderaMetadata.getApplicationMetadata().getIdBlockAllocator(
+                pu + "." + descriptor.getSchema() + "." + descriptor.getTable() + "." + descriptor.getPkColumnValue());
+
+        return allocator.next(new IdBlockAllocator.BlockSource()
+        {
+            @Override
+            public IdBlock nextBlock()
+            {
+                return reserveIdBlock(descriptor, pu);
+            }
+        });
+    }
+
+    /**
+     * Reserves a block of ids by reading and incrementing counter column.
+     * 
+     * @param descriptor
+     * @param pu
+     * @return reserved id block.
+     */
+    private IdBlock reserveIdBlock(TableGeneratorDiscriptor descriptor, String pu)
     {
         Cassandra.Client conn = getRawClient(pu, descriptor.getSchema());
         try
@@ -1834,13 +2032,18 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
             conn.add(ByteBuffer.wrap(descriptor.getPkColumnValue().getBytes()), columnParent, counterColumn,
                     getConsistencyLevel());
 
+            // Counter value n owns ids [(n + 1) * allocationSize, (n + 2) *
+            // allocationSize), first block starts with initial value.
+            int allocationSize = Math.max(descriptor.getAllocationSize(), 1);
             if (latestCount == 0)
             {
-                return (long) descriptor.getInitialValue();
+                long low = descriptor.getInitialValue();
+                return new IdBlock(low, Math.max(low + 1, 2l * descriptor.getAllocationSize()));
             }
             else
             {
-                return (latestCount + 1) * descriptor.getAllocationSize();
+                long low = (latestCount + 1) * descriptor.getAllocationSize();
+                return new IdBlock(low, low + allocationSize);
             }
         }
         catch (UnavailableException e)
@@ -1905,6 +2108,44 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
         }
     }
 
+    /**
+     * Executes cql3 statement with bound values, using cached prepared
+     * statement of connection.
+     * 
+     * @param cqlQuery
+     *            statement with bind markers
+     * @param values
+     *            bound values
+     * @return cql result
+     */
+    protected CqlResult executePreparedQuery(String cqlQuery, List<ByteBuffer> values)
+    {
+        Cassandra.Client conn = null;
+        Object pooledConnection = null;
+        pooledConnection = getConnection();
+        conn = getConnection(pooledConnection);
+        try
+        {
+            if (log.isInfoEnabled())
+            {
+                log.info("Executing prepared query {}.", cqlQuery);
+            }
+            return getStatementCache().execute(conn, cqlQuery, values, consistencyLevel);
+        }
+        catch (Exception ex)
+        {
+            if (log.isErrorEnabled())
+            {
+                log.error("Error during executing query {}, Caused by: {} .", cqlQuery, ex);
+            }
+            throw new PersistenceException(ex);
+        }
+        finally
+        {
+            releaseConnection(pooledConnection);
+        }
+    }
+
     /**
      * Find List of objects based on value {@columnValue} of column
      * {@columnName}
@@ -1984,6 +2225,14 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
 
     protected abstract void releaseConnection(Object conn);
 
+    /**
+     * Returns cache of prepared cql3 statements, null if statements are not to
+     * be prepared.
+     * 
+     * @return statement cache.
+     */
+    protected abstract CQLStatementCache getStatementCache();
+
     /**
      * Use CqlClient class for crud when cql enable.
      * 
@@ -2017,6 +2266,10 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
             {
                 queries = createUpdateQueryForCounter(entityMetadata, entity, conn, rlHolders);
             }
+            else if (persistPrepared(entityMetadata, entity, conn, rlHolders, ttlColumns))
+            {
+                return;
+            }
             else
             {
                 queries = createInsertQuery(entityMetadata, entity, conn, rlHolders, ttlColumns);
@@ -2029,6 +2282,137 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
             }
         }
 
+        /**
+         * Inserts entity using cached prepared statements, one per table and
+         * set of non null columns. Returns false, without writing anything,
+         * if any column value can not be bound.
+         * 
+         * @param entityMetadata
+         * @param entity
+         * @param conn
+         * @param rlHolders
+         * @param ttlColumns
+         * @return true, if entity is inserted.
+         */
+        private boolean persistPrepared(EntityMetadata entityMetadata, Object entity, Cassandra.Client conn,
+                List<RelationHolder> rlHolders, Object ttlColumns) throws InvalidRequestException,
+                UnavailableException, TimedOutException, SchemaDisagreementException, TException
+        {
+            MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                    entityMetadata.getPersistenceUnit());
+            if (!isPreparable(entityMetadata, metaModel))
+            {
+                return false;
+            }
+            AbstractManagedType entityType = (AbstractManagedType) metaModel.entity(entityMetadata.getEntityClazz());
+            if (entityType.getDiscriminatorColumn() != null)
+            {
+                return false;
+            }
+
+            String idColumnName = ((AbstractAttribute) entityMetadata.getIdAttribute()).getJPAColumnName();
+            Map<String, List<String>> columnNames = new LinkedHashMap<String, List<String>>();
+            Map<String, List<ByteBuffer>> columnValues = new HashMap<String, List<ByteBuffer>>();
+            for (Object o : entityType.getAttributes())
+            {
+                AbstractAttribute attribute = (AbstractAttribute) o;
+                String tableName = attribute.getTableName() != null ? attribute.getTableName() : entityMetadata
+                        .getTableName();
+                if (!columnNames.containsKey(tableName))
+                {
+                    columnNames.put(tableName, new ArrayList<String>());
+                    columnValues.put(tableName, new ArrayList<ByteBuffer>());
+                }
+                Field field = (Field) attribute.getJavaMember();
+                if (attribute.equals(entityMetadata.getIdAttribute())
+                        || attribute.getJPAColumnName().equals(idColumnName) || ReflectUtils.isTransientOrStatic(field)
+                        || attribute.isAssociation())
+                {
+                    continue;
+                }
+                if (!isBindable(field.getType()))
+                {
+                    return false;
+                }
+                Object value = PropertyAccessorHelper.getObject(entity, field);
+                if (value != null)
+                {
+                    columnNames.get(tableName).add(attribute.getJPAColumnName());
+                    columnValues.get(tableName).add(CassandraUtilities.toBytes(value, field.getType()));
+                }
+            }
+            for (RelationHolder rl : rlHolders)
+            {
+                if (!isBindable(rl.getRelationValue().getClass()))
+                {
+                    return false;
+                }
+            }
+
+            Field idField = (Field) entityMetadata.getIdAttribute().getJavaMember();
+            ByteBuffer idValue = CassandraUtilities.toBytes(PropertyAccessorHelper.getObject(entity, idField),
+                    idField.getType());
+            int ttl = ttlColumns instanceof Integer ? ((Integer) ttlColumns).intValue() : 0;
+
+            for (String tableName : columnNames.keySet())
+            {
+                List<String> names = columnNames.get(tableName);
+                List<ByteBuffer> values = columnValues.get(tableName);
+                names.add(CassandraUtilities.getIdColumnName(kunderaMetadata, entityMetadata, getExternalProperties()));
+                values.add(idValue);
+                for (RelationHolder rl : rlHolders)
+                {
+                    names.add(rl.getRelationName());
+                    values.add(CassandraUtilities.toBytes(rl.getRelationValue(), rl.getRelationValue().getClass()));
+                }
+
+                String qualifier = tableName + names + ttl;
+                String insertQuery = getStatementCache().getStatement(entityMetadata.getEntityClazz(),
+                        Operation.INSERT, qualifier);
+                if (insertQuery == null)
+                {
+                    insertQuery = createPreparedInsertQuery(tableName, names, ttl);
+                    getStatementCache().putStatement(entityMetadata.getEntityClazz(), Operation.INSERT, qualifier,
+                            insertQuery);
+                }
+                getStatementCache().execute(conn, insertQuery, values, consistencyLevel);
+            }
+            return true;
+        }
+
+        /**
+         * Returns insert statement with a bind marker per column.
+         * 
+         * @param tableName
+         * @param columnNames
+         * @param ttl
+         * @return insert statement.
+         */
+        private String createPreparedInsertQuery(String tableName, List<String> columnNames, int ttl)
+        {
+            CQLTranslator translator = new CQLTranslator();
+            StringBuilder columnNameBuilder = new StringBuilder();
+            StringBuilder columnValueBuilder = new StringBuilder();
+            for (String columnName : columnNames)
+            {
+                translator.appendColumnName(columnNameBuilder, columnName);
+                columnNameBuilder.append(",");
+                columnValueBuilder.append("?,");
+            }
+            columnNameBuilder.deleteCharAt(columnNameBuilder.length() - 1);
+            columnValueBuilder.deleteCharAt(columnValueBuilder.length() - 1);
+
+            String insertQuery = StringUtils.replace(CQLTranslator.INSERT_QUERY, CQLTranslator.COLUMN_FAMILY,
+                    translator.ensureCase(new StringBuilder(), tableName, false).toString());
+            insertQuery = StringUtils.replace(insertQuery, CQLTranslator.COLUMN_VALUES, columnValueBuilder.toString());
+            insertQuery = StringUtils.replace(insertQuery, CQLTranslator.COLUMNS, columnNameBuilder.toString());
+            if (ttl != 0)
+            {
+                insertQuery = insertQuery + " USING TTL " + ttl;
+            }
+            return insertQuery;
+        }
+
         /**
          * Execute query and Return list of Objects.
          * 
@@ -2053,43 +2437,88 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
                     log.info("Executing query {}.", cqlQuery);
                 }
                 result = executeCQLQuery(cqlQuery, isCql3Enabled);
-                if (result != null && (result.getRows() != null || result.getRowsSize() > 0))
+                returnedEntities = populateEntities(result, entityMetadata, relationalField, dataHandler,
+                        isCql3Enabled, isNative);
+            }
+            catch (Exception e)
+            {
+                log.error("Error while executing native CQL query Caused by: .", e);
+                throw new PersistenceException(e);
+            }
+            return returnedEntities;
+        }
+
+        /**
+         * Executes prepared select statement with bound values and Return
+         * list of Objects.
+         * 
+         * @param entityMetadata
+         * @param relationalField
+         * @param cqlQuery
+         * @param values
+         * @return
+         */
+        private List executePreparedQuery(EntityMetadata entityMetadata, List<String> relationalField,
+                String cqlQuery, List<ByteBuffer> values)
+        {
+            CqlResult result = CassandraClientBase.this.executePreparedQuery(cqlQuery, values);
+            try
+            {
+                return populateEntities(result, entityMetadata, relationalField, getDataHandler(), true, false);
+            }
+            catch (Exception e)
+            {
+                log.error("Error while executing prepared CQL query Caused by: .", e);
+                throw new PersistenceException(e);
+            }
+        }
+
+        /**
+         * Populates entities from rows of cql result.
+         * 
+         * @param result
+         * @param entityMetadata
+         * @param relationalField
+         * @param dataHandler
+         * @param isCql3Enabled
+         * @param isNative
+         * @return
+         */
+        private List populateEntities(CqlResult result, EntityMetadata entityMetadata, List<String> relationalField,
+                CassandraDataHandler dataHandler, boolean isCql3Enabled, boolean isNative) throws Exception
+        {
+            List returnedEntities = new ArrayList();
+            if (result != null && (result.getRows() != null || result.getRowsSize() > 0))
+            {
+                returnedEntities = new ArrayList<Object>(result.getRowsSize());
+                Iterator<CqlRow> iter = result.getRowsIterator();
+                while (iter.hasNext())
                 {
-                    returnedEntities = new ArrayList<Object>(result.getRowsSize());
-                    Iterator<CqlRow> iter = result.getRowsIterator();
-                    while (iter.hasNext())
-                    {
-                        Object e = null;
+                    Object e = null;
 
-                        CqlRow row = iter.next();
-                        Object rowKey = null;
+                    CqlRow row = iter.next();
+                    Object rowKey = null;
 
-                        ThriftRow thriftRow = null;
-                        thriftRow = new ThriftRow(rowKey, entityMetadata.getTableName(), row.getColumns(),
-                                new ArrayList<SuperColumn>(0), new ArrayList<CounterColumn>(0),
-                                new ArrayList<CounterSuperColumn>(0));
+                    ThriftRow thriftRow = null;
+                    thriftRow = new ThriftRow(rowKey, entityMetadata.getTableName(), row.getColumns(),
+                            new ArrayList<SuperColumn>(0), new ArrayList<CounterColumn>(0),
+                            new ArrayList<CounterSuperColumn>(0));
 
-                        e = dataHandler.populateEntity(thriftRow, entityMetadata, CassandraUtilities.getEntity(e),
-                                relationalField, relationalField != null && !relationalField.isEmpty());
+                    e = dataHandler.populateEntity(thriftRow, entityMetadata, CassandraUtilities.getEntity(e),
+                            relationalField, relationalField != null && !relationalField.isEmpty());
 
-                        e = populateSecondaryTableData(relationalField, dataHandler, isCql3Enabled, entityMetadata, e);
+                    e = populateSecondaryTableData(relationalField, dataHandler, isCql3Enabled, entityMetadata, e);
 
-                        if (e != null)
-                        {
-                            returnedEntities.add(e);
-                        }
-                        else if (isNative)
-                        {
-                            returnedEntities.add(row.getColumns().get(0));
-                        }
+                    if (e != null)
+                    {
+                        returnedEntities.add(e);
+                    }
+                    else if (isNative)
+                    {
+                        returnedEntities.add(row.getColumns().get(0));
                     }
                 }
             }
-            catch (Exception e)
-            {
-                log.error("Error while executing native CQL query Caused by: .", e);
-                throw new PersistenceException(e);
-            }
             return returnedEntities;
         }
 
@@ -2170,6 +2599,16 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
         public List<Object> find(MetamodelImpl metaModel, EntityMetadata metadata, Object rowId,
                 List<String> relationNames)
         {
+            if (isPreparable(metadata, metaModel)
+                    && ((AbstractManagedType) metaModel.entity(metadata.getEntityClazz())).getSubManagedType()
+                            .isEmpty())
+            {
+                String idColumn = CassandraUtilities.getIdColumnName(kunderaMetadata, metadata,
+                        getExternalProperties());
+                return findPrepared(metadata, Operation.SELECT_BY_ID, idColumn, rowId, metadata.getIdAttribute()
+                        .getBindableJavaType(), relationNames);
+            }
+
             CQLTranslator translator = new CQLTranslator();
 
             String tableName = metadata.getTableName();
@@ -2196,6 +2635,14 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
         protected List<Object> findByRelationQuery(EntityMetadata m, String columnName, Object columnValue,
                 Class clazz, CassandraDataHandler dataHandler)
         {
+            MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                    m.getPersistenceUnit());
+            if (isPreparable(m, metaModel) && isBindable(columnValue.getClass()))
+            {
+                return findPrepared(m, Operation.SELECT_BY_RELATION, columnName, columnValue, columnValue.getClass(),
+                        m.getRelationNames());
+            }
+
             CQLTranslator translator = new CQLTranslator();
             String selectQuery = translator.SELECTALL_QUERY;
             selectQuery = StringUtils.replace(selectQuery, CQLTranslator.COLUMN_FAMILY,
@@ -2210,6 +2657,39 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
                     selectQueryBuilder.length());
             return executeQuery(clazz, m.getRelationNames(), dataHandler, true, false, selectQueryBuilder.toString());
         }
+
+        /**
+         * Finds entities whose {@columnName} equals {@columnValue}, using
+         * cached prepared select statement.
+         * 
+         * @param m
+         * @param operation
+         * @param columnName
+         * @param columnValue
+         * @param valueClazz
+         * @param relationNames
+         * @return
+         */
+        private List<Object> findPrepared(EntityMetadata m, Operation operation, String columnName,
+                Object columnValue, Class<?> valueClazz, List<String> relationNames)
+        {
+            CQLStatementCache statementCache = getStatementCache();
+            String selectQuery = statementCache.getStatement(m.getEntityClazz(), operation, columnName);
+            if (selectQuery == null)
+            {
+                CQLTranslator translator = new CQLTranslator();
+                StringBuilder builder = new StringBuilder(StringUtils.replace(CQLTranslator.SELECTALL_QUERY,
+                        CQLTranslator.COLUMN_FAMILY, translator.ensureCase(new StringBuilder(), m.getTableName(),
+                                false).toString()));
+                builder.append(CQLTranslator.ADD_WHERE_CLAUSE);
+                translator.ensureCase(builder, columnName, false).append(CQLTranslator.EQ_CLAUSE).append("?");
+                selectQuery = builder.toString();
+                statementCache.putStatement(m.getEntityClazz(), operation, columnName, selectQuery);
+            }
+            List<ByteBuffer> values = new ArrayList<ByteBuffer>(1);
+            values.add(CassandraUtilities.toBytes(columnValue, valueClazz));
+            return executePreparedQuery(m, relationNames, selectQuery, values);
+        }
     }
 
     /**
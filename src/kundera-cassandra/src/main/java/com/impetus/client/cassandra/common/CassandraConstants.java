@@ -78,6 +78,17 @@ public interface CassandraConstants
 
     public static final String CQL_VERSION = "cql.version";
 
+    // number of cql3 statements kept prepared per client factory.
+    public static final String STATEMENT_CACHE_SIZE = "statement.cache.size";
+
+    // fetch rows by keys via multiget_slice to owning replicas.
+    public static final String MULTIGET_ENABLED = "multiget.enabled";
+
+    // number of threads issuing parallel multiget_slice requests.
+    public static final String MULTIGET_THREADS = "multiget.threads";
+
+    public static final int DEFAULT_MULTIGET_THREADS = 8;
+
     /** Name of Row key column when stored using CQL insert statement */
     public static final String CQL_KEY = "key";
 
@@ -68,10 +68,15 @@ import com.impetus.kundera.metadata.model.Relation;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.property.FieldAccessor;
 import com.impetus.kundera.property.PropertyAccessException;
 import com.impetus.kundera.property.PropertyAccessor;
 import com.impetus.kundera.property.PropertyAccessorFactory;
 import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.impetus.kundera.property.accessor.BooleanAccessor;
+import com.impetus.kundera.property.accessor.DoubleAccessor;
+import com.impetus.kundera.property.accessor.FloatAccessor;
+import com.impetus.kundera.property.accessor.IntegerAccessor;
 import com.impetus.kundera.property.accessor.LongAccessor;
 
 /**
@@ -1131,20 +1136,24 @@ public abstract class CassandraDataHandlerBase
         {
             try
             {
+                FieldAccessor fieldAccessor = ((AbstractAttribute) attribute).getFieldAccessor();
                 if (thriftColumnValue.getClass().isAssignableFrom(String.class))
                 {
-                    PropertyAccessorHelper.set(entity, (Field) attribute.getJavaMember(), (String) thriftColumnValue);
+                    fieldAccessor.set(entity, (String) thriftColumnValue);
+                }
+                else if (isPrimitiveValue(thriftColumnValue, fieldAccessor))
+                {
+                    setPrimitiveValue(entity, (byte[]) thriftColumnValue, fieldAccessor);
                 }
                 else if (CassandraDataTranslator.isCassandraDataTypeClass(((AbstractAttribute) attribute)
                         .getBindableJavaType()))
                 {
-                    PropertyAccessorHelper
-                            .set(entity, (Field) attribute.getJavaMember(), CassandraDataTranslator.decompose(
-                                    ((AbstractAttribute) attribute).getBindableJavaType(), thriftColumnValue, false));
+                    fieldAccessor.set(entity, CassandraDataTranslator.decompose(
+                            ((AbstractAttribute) attribute).getBindableJavaType(), thriftColumnValue, false));
                 }
                 else
                 {
-                    PropertyAccessorHelper.set(entity, (Field) attribute.getJavaMember(), (byte[]) thriftColumnValue);
+                    fieldAccessor.set(entity, (byte[]) thriftColumnValue);
                 }
 
             }
@@ -1166,17 +1175,22 @@ public abstract class CassandraDataHandlerBase
                 {
                     setCollectionValue(entity, thriftColumnValue, attribute);
                 }
+                else if (isPrimitiveValue(thriftColumnValue, ((AbstractAttribute) attribute).getFieldAccessor()))
+                {
+                    setPrimitiveValue(entity, (byte[]) thriftColumnValue,
+                            ((AbstractAttribute) attribute).getFieldAccessor());
+                }
                 else if (CassandraDataTranslator.isCassandraDataTypeClass(((AbstractAttribute) attribute)
                         .getBindableJavaType()))
                 {
-                    PropertyAccessorHelper.set(entity, (Field) attribute.getJavaMember(), CassandraDataTranslator
+                    ((AbstractAttribute) attribute).getFieldAccessor().set(entity, CassandraDataTranslator
                             .decompose(((AbstractAttribute) attribute).getBindableJavaType(), thriftColumnValue, true));
 
                 }
 
                 else
                 {
-                    PropertyAccessorHelper.set(entity, (Field) attribute.getJavaMember(), (byte[]) thriftColumnValue);
+                    ((AbstractAttribute) attribute).getFieldAccessor().set(entity, (byte[]) thriftColumnValue);
                 }
             }
             catch (PropertyAccessException pae)
@@ -1186,6 +1200,54 @@ public abstract class CassandraDataHandlerBase
         }
     }
 
+    /**
+     * Checks if column value is bytes of a long, int, double, float or
+     * boolean field, of their encoded length.
+     */
+    private boolean isPrimitiveValue(Object thriftColumnValue, FieldAccessor fieldAccessor)
+    {
+        if (!(thriftColumnValue instanceof byte[]))
+        {
+            return false;
+        }
+        int length = ((byte[]) thriftColumnValue).length;
+        Class<?> type = fieldAccessor.getField().getType();
+        return ((type == long.class || type == double.class) && length == 8)
+                || ((type == int.class || type == float.class) && length == 4)
+                || (type == boolean.class && length == 1);
+    }
+
+    /**
+     * Sets value of a primitive field, decoded as by
+     * {@link CassandraDataTranslator} but without boxing it.
+     * 
+     * @see #isPrimitiveValue(Object, FieldAccessor)
+     */
+    private void setPrimitiveValue(Object entity, byte[] value, FieldAccessor fieldAccessor)
+    {
+        Class<?> type = fieldAccessor.getField().getType();
+        if (type == long.class)
+        {
+            fieldAccessor.setLong(entity, LongAccessor.readLong(value, 0));
+        }
+        else if (type == int.class)
+        {
+            fieldAccessor.setInt(entity, IntegerAccessor.readInt(value, 0));
+        }
+        else if (type == double.class)
+        {
+            fieldAccessor.setDouble(entity, DoubleAccessor.readDouble(value, 0));
+        }
+        else if (type == float.class)
+        {
+            fieldAccessor.setFloat(entity, FloatAccessor.readFloat(value, 0));
+        }
+        else
+        {
+            fieldAccessor.setBoolean(entity, BooleanAccessor.readBoolean(value, 0));
+        }
+    }
+
     private Object getFieldValueViaCQL(Object thriftColumnValue, Attribute attribute)
     {
         PropertyAccessor<?> accessor = PropertyAccessorFactory.getPropertyAccessor((Field) attribute.getJavaMember());
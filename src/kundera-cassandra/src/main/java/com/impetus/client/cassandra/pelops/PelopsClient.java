@@ -62,6 +62,7 @@ import com.impetus.client.cassandra.common.CassandraUtilities;
 import com.impetus.client.cassandra.datahandler.CassandraDataHandler;
 import com.impetus.client.cassandra.index.InvertedIndexHandler;
 import com.impetus.client.cassandra.query.CassQuery;
+import com.impetus.client.cassandra.thrift.CQLStatementCache;
 import com.impetus.client.cassandra.thrift.ThriftRow;
 import com.impetus.client.cassandra.thrift.ThriftClientFactory.Connection;
 import com.impetus.kundera.Constants;
@@ -73,6 +74,7 @@ import com.impetus.kundera.db.SearchResult;
 import com.impetus.kundera.generator.TableGenerator;
 import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.index.IndexManager;
+import com.impetus.kundera.index.IndexingException;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.EntityMetadata;
@@ -82,7 +84,7 @@ import com.impetus.kundera.metadata.model.annotation.DefaultEntityAnnotationProc
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
-import com.impetus.kundera.persistence.api.Batcher;
+import com.impetus.kundera.persistence.api.AsyncBatcher;
 import com.impetus.kundera.persistence.context.jointable.JoinTableData;
 import com.impetus.kundera.property.PropertyAccessor;
 import com.impetus.kundera.property.PropertyAccessorFactory;
@@ -94,7 +96,7 @@ import com.impetus.kundera.property.PropertyAccessorHelper;
  * @author animesh.kumar
  * @since 0.1
  */
-public class PelopsClient extends CassandraClientBase implements Client<CassQuery>, Batcher, TableGenerator
+public class PelopsClient extends CassandraClientBase implements Client<CassQuery>, AsyncBatcher, TableGenerator
 {
     /** log for this class. */
     private static Logger log = LoggerFactory.getLogger(PelopsClient.class);
@@ -209,8 +211,7 @@ public class PelopsClient extends CassandraClientBase implements Client<CassQuer
         {
             if (isCql3Enabled(metadata))
             {
-                String deleteQuery = onDeleteQuery(metadata, tableName, metaModel, pKey);
-                executeCQLQuery(deleteQuery, isCql3Enabled(metadata));
+                executeDeleteQuery(metadata, tableName, metaModel, pKey);
             }
             else
             {
@@ -249,7 +250,15 @@ public class PelopsClient extends CassandraClientBase implements Client<CassQuer
     @Override
     public final void close()
     {
-        this.indexManager.flush();
+        try
+        {
+            this.indexManager.flush();
+        }
+        catch (IndexingException ie)
+        {
+            // close goes on, failures are reported on flush and commit.
+            log.warn("Error while flushing indexes on close, Caused by: .", ie);
+        }
         this.dataHandler = null;
         this.invertedIndexHandler = null;
     }
@@ -955,6 +964,12 @@ public class PelopsClient extends CassandraClientBase implements Client<CassQuer
         clientFactory.releaseConnection((IPooledConnection) conn);
     }
 
+    @Override
+    protected CQLStatementCache getStatementCache()
+    {
+        return clientFactory.getStatementCache();
+    }
+
     @Override
     public Long generate(TableGeneratorDiscriptor discriptor)
     {
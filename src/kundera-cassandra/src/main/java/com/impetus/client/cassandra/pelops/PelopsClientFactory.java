@@ -39,12 +39,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.Lists;
+import com.impetus.client.cassandra.common.CassandraConstants;
 import com.impetus.client.cassandra.config.CassandraPropertyReader;
 import com.impetus.client.cassandra.query.CassandraEntityReader;
 import com.impetus.client.cassandra.schemamanager.CassandraSchemaManager;
 import com.impetus.client.cassandra.service.CassandraHost;
 import com.impetus.client.cassandra.service.CassandraHostConfiguration;
 import com.impetus.client.cassandra.service.CassandraRetryService;
+import com.impetus.client.cassandra.thrift.CQLStatementCache;
 import com.impetus.kundera.Constants;
 import com.impetus.kundera.KunderaException;
 import com.impetus.kundera.PersistenceProperties;
@@ -68,6 +70,8 @@ public class PelopsClientFactory extends GenericClientFactory
 
     private HostConfiguration configuration;
 
+    private CQLStatementCache statementCache;
+
     @Override
     public void initialize(Map<String, Object> externalProperty)
     {
@@ -80,6 +84,20 @@ public class PelopsClientFactory extends GenericClientFactory
         configuration = new CassandraHostConfiguration(externalProperties, CassandraPropertyReader.csmd,
                 getPersistenceUnit(), kunderaMetadata);
         hostRetryService = new CassandraRetryService(configuration, this);
+        String statementCacheSize = CassandraPropertyReader.csmd != null ? CassandraPropertyReader.csmd
+                .getConnectionProperties().getProperty(CassandraConstants.STATEMENT_CACHE_SIZE) : null;
+        statementCache = new CQLStatementCache(statementCacheSize != null ? Integer.parseInt(statementCacheSize)
+                : CQLStatementCache.DEFAULT_SIZE);
+    }
+
+    /**
+     * Returns prepared statement cache shared by clients of this factory.
+     * 
+     * @return statement cache.
+     */
+    public CQLStatementCache getStatementCache()
+    {
+        return statementCache;
     }
 
     @Override
@@ -167,6 +185,10 @@ public class PelopsClientFactory extends GenericClientFactory
             schemaManager.dropSchema();
         }
         schemaManager = null;
+        if (statementCache != null)
+        {
+            statementCache.clear();
+        }
         // Pelops.shutdown();
         // Pelops.removePool(PelopsUtils.generatePoolName(getPersistenceUnit(),
         // externalProperties));
@@ -20,6 +20,7 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -60,6 +61,8 @@ import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
 import com.impetus.kundera.persistence.PersistenceDelegator;
 import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.impetus.kundera.query.Aggregation;
+import com.impetus.kundera.query.Aggregation.Function;
 import com.impetus.kundera.query.KunderaQuery;
 import com.impetus.kundera.query.KunderaQuery.FilterClause;
 import com.impetus.kundera.query.KunderaQuery.SortOrdering;
@@ -283,6 +286,19 @@ public class CassQuery extends QueryImpl
         return 0;
     }
 
+    /**
+     * Token ordered pages of matching rows remain valid while they are
+     * updated/deleted, unless query is served through lucene.
+     * 
+     * @see com.impetus.kundera.query.QueryImpl#iterateForUpdateDelete()
+     */
+    @Override
+    protected Iterator iterateForUpdateDelete()
+    {
+        Client client = persistenceDelegeator.getClient(getEntityMetadata());
+        return MetadataUtils.useSecondryIndex(((ClientBase) client).getClientMetadata()) ? iterate() : null;
+    }
+
     /**
      * Checks whether a given JPA DML query is convertible to CQL
      * 
@@ -679,6 +695,67 @@ public class CassQuery extends QueryImpl
         // return result;
     }
 
+    /**
+     * Pushes query counting entities down as CQL3 <code>COUNT(*)</code>.
+     * Other aggregates are evaluated in memory.
+     * 
+     * @see com.impetus.kundera.query.QueryImpl#onAggregate(com.impetus.kundera.metadata.model.EntityMetadata,
+     *      com.impetus.kundera.client.Client)
+     */
+    @Override
+    protected List<Object[]> onAggregate(EntityMetadata m, Client client)
+    {
+        CassandraClientBase cassandraClient = (CassandraClientBase) client;
+        if (!kunderaQuery.getGroupBy().isEmpty() || !kunderaQuery.getHaving().isEmpty()
+                || getKunderaQuery().getOrdering() != null
+                || !cassandraClient.isCql3Enabled(m)
+                || !MetadataUtils.useSecondryIndex(((ClientBase) client).getClientMetadata()))
+        {
+            return null;
+        }
+        for (Aggregation aggregation : kunderaQuery.getAggregations())
+        {
+            if (aggregation.getFunction() != Function.COUNT || aggregation.getProperty() != null
+                    || aggregation.isDistinct())
+            {
+                return null;
+            }
+        }
+        externalProperties = cassandraClient.getExternalProperties();
+
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                m.getPersistenceUnit());
+        Class compoundKeyClass = m.getIdAttribute().getBindableJavaType();
+        EmbeddableType compoundKey = metaModel.isEmbeddable(compoundKeyClass) ? metaModel
+                .embeddable(compoundKeyClass) : null;
+        String idColumn = ((AbstractAttribute) m.getIdAttribute()).getJPAColumnName();
+
+        CQLTranslator translator = new CQLTranslator();
+        StringBuilder builder = new StringBuilder(StringUtils.replace(CQLTranslator.SELECT_COUNT_QUERY,
+                CQLTranslator.COLUMN_FAMILY, translator.ensureCase(new StringBuilder(), m.getTableName(), false)
+                        .toString()));
+        addWhereClause(builder);
+
+        // limit applies to counted rows, all of them must be counted.
+        int maxResult = this.maxResult;
+        boolean isSingleResult = this.isSingleResult;
+        this.maxResult = Integer.MAX_VALUE;
+        this.isSingleResult = false;
+        try
+        {
+            onCondition(m, metaModel, compoundKey, idColumn, builder, false, translator);
+        }
+        finally
+        {
+            this.maxResult = maxResult;
+            this.isSingleResult = isSingleResult;
+        }
+
+        Object[] row = new Object[kunderaQuery.getAggregations().size()];
+        Arrays.fill(row, cassandraClient.executeCountQuery(builder.toString()));
+        return Collections.singletonList(row);
+    }
+
     /**
      * Add provided max result limit.
      * 
@@ -862,9 +939,9 @@ public class CassQuery extends QueryImpl
                 getFetchSize() != null ? getFetchSize() : this.maxResult, kunderaMetadata);
     }
 
-    void setRelationalEntities(List enhanceEntities, Client client, EntityMetadata m)
+    List<Object> setRelationalEntities(List enhanceEntities, Client client, EntityMetadata m)
     {
-        super.setRelationEntities(enhanceEntities, client, m);
+        return super.setRelationEntities(enhanceEntities, client, m);
     }
 
     @Override
@@ -18,10 +18,17 @@ package com.impetus.client.cassandra.query;
 import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.persistence.PersistenceException;
 import javax.persistence.Query;
@@ -41,8 +48,8 @@ import com.impetus.client.cassandra.thrift.CQLTranslator;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.ClientBase;
 import com.impetus.kundera.client.EnhanceEntity;
+import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.MetadataUtils;
-import com.impetus.kundera.metadata.model.ApplicationMetadata;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
@@ -52,19 +59,28 @@ import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.query.IResultIterator;
 import com.impetus.kundera.query.KunderaQuery.FilterClause;
 import com.impetus.kundera.query.QueryImpl;
+import com.impetus.kundera.utils.KunderaThreadFactory;
+import com.impetus.kundera.utils.ReflectUtils;
 
 /**
  * @author vivek.mishra .
- * 
- *         Implementation of Cassandra result iteration.
- * 
- *         TODO::: Need to add support for relational entities and a junit for
- *         Composite key test
+ *
+ *         Implementation of Cassandra result iteration. Rows are fetched in
+ *         pages of {@link com.impetus.kundera.metadata.model.PersistenceUnitMetadata#getQueryPageSize()}
+ *         rows, scrolling by token of partition key (and by clustering columns
+ *         within a partition, for composite keys). Next page is fetched in
+ *         background while current one is drained, and relations are loaded
+ *         once per page. Rows of queries over inverted index are read at
+ *         once and served page by page.
  */
 class ResultIterator<E> implements IResultIterator<E>
 {
     private static Logger log = LoggerFactory.getLogger(ResultIterator.class);
 
+    /** Fetches next pages while callers drain current ones. */
+    private static final ExecutorService prefetcher = Executors.newCachedThreadPool(new KunderaThreadFactory(
+            ResultIterator.class.getSimpleName()));
+
     private CassQuery query;
 
     private EntityMetadata entityMetadata;
@@ -73,38 +89,51 @@ class ResultIterator<E> implements IResultIterator<E>
 
     private EntityReader reader;
 
-    private int maxResult = 1;
-
-    private List<E> results;
-
-    private byte[] start;
-
     private static final String MIN_ = "min";
 
     private static final String MAX_ = "max";
 
-    // private boolean isValidated;
+    /** Number of rows yet to be fetched, out of fetch size. */
+    private int remaining;
+
+    private final int pageSize;
+
+    /** Current page and position in it. */
+    private List<E> page = Collections.emptyList();
 
-    private int fetchSize;
+    private int pageIndex;
 
-    private int count;
+    /** Last fetched row, pages are scrolled after it. */
+    private Object last;
 
     private boolean scrollComplete;
 
-    private Map<String, Object> externalProperties;
+    /** Next page being fetched, and its size limit. */
+    private Future<List<Object>> nextPage;
+
+    private int nextPageLimit;
+
+    /**
+     * Rows of a query read at once (e.g. via inverted index), served page by
+     * page, and position in them.
+     */
+    private List<Object> buffered;
 
-    private E current;
+    private int bufferedIndex;
+
+    private Map<String, Object> externalProperties;
 
     private KunderaMetadata kunderaMetadata;
 
     /**
      * Constructor with parameters
-     * 
+     *
      * @param query
      * @param m
      * @param client
      * @param reader
      * @param fetchSize
+     *            maximum number of results to iterate over.
      */
     ResultIterator(final Query query, final EntityMetadata m, final Client client, final EntityReader reader,
             final int fetchSize, final KunderaMetadata kunderaMetadata)
@@ -114,47 +143,35 @@ class ResultIterator<E> implements IResultIterator<E>
         this.entityMetadata = m;
         this.reader = reader;
         this.scrollComplete = false;
-        this.fetchSize = fetchSize;
+        this.remaining = fetchSize;
         this.kunderaMetadata = kunderaMetadata;
+        this.externalProperties = ((CassandraClientBase) client).getExternalProperties();
+        this.pageSize = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata, m.getPersistenceUnit())
+                .getQueryPageSize();
     }
 
     @Override
     public boolean hasNext()
     {
-        if (checkOnFetchSize())
+        if (pageIndex < page.size())
         {
-            onCheckRelation();
-            if (!checkOnEmptyResult())
-            {
-                scrollComplete = true;
-                return false;
-            }
-
             return true;
         }
-
-        return false;
+        if (!scrollComplete && remaining > 0)
+        {
+            onNextPage();
+        }
+        return pageIndex < page.size();
     }
 
     @Override
     public E next()
     {
-        if (current != null && checkOnEmptyResult() && current.equals(results.get(results.size() - 1)))
-        {
-            hasNext();
-        }
-
-        if (scrollComplete)
+        if (!hasNext())
         {
             throw new NoSuchElementException("Nothing to scroll further for:" + entityMetadata.getEntityClazz());
         }
-
-        E lastFetchedEntity = getEntity(results.get(results.size() - 1));
-        start = lastFetchedEntity != null ? idValueInByteArr() : null;
-        current = getEntity(results.get(results.size() - 1));
-
-        return current;
-
+        return page.get(pageIndex++);
     }
 
     @Override
@@ -166,158 +183,332 @@ class ResultIterator<E> implements IResultIterator<E>
     @Override
     public List<E> next(int chunkSize)
     {
-        throw new UnsupportedOperationException("fetch in chunks is not yet supported");
+        List<E> chunk = new ArrayList<E>();
+        while (chunk.size() < chunkSize && hasNext())
+        {
+            int toIndex = Math.min(page.size(), pageIndex + chunkSize - chunk.size());
+            chunk.addAll(page.subList(pageIndex, toIndex));
+            pageIndex = toIndex;
+        }
+        return chunk;
     }
 
     /**
-     * Check on fetch size. returns true, if count on fetched rows is less than
-     * fetch size.
-     * 
-     * @return
+     * Takes next page, either prefetched or fetched now, and starts fetching
+     * the one after it.
      */
-    private boolean checkOnFetchSize()
+    private void onNextPage()
     {
-        if (count++ < fetchSize)
+        List<Object> rows;
+        int limit;
+        if (buffered != null)
         {
-            return true;
+            limit = Math.min(pageSize, remaining);
+            rows = nextBufferedPage(limit);
+        }
+        else if (nextPage != null)
+        {
+            limit = nextPageLimit;
+            rows = awaitPage(nextPage);
+            nextPage = null;
+        }
+        else
+        {
+            limit = Math.min(pageSize, remaining);
+            PageFetch fetch = preparePage(limit);
+            if (fetch != null && fetch.singlePage)
+            {
+                buffered = fetchPage(fetch);
+                rows = nextBufferedPage(limit);
+            }
+            else
+            {
+                rows = fetch != null ? fetchPage(fetch) : Collections.emptyList();
+                scrollComplete = fetch == null;
+            }
         }
-        count = 0;
-        scrollComplete = true;
-        return false;
-    }
 
-    /**
-     * on check relation event, invokes populate entities and set relational
-     * entities, in case relations are present.
-     */
-    private void onCheckRelation()
-    {
-        try
+        if (rows.size() > limit)
+        {
+            rows = rows.subList(0, limit);
+        }
+        remaining -= rows.size();
+        scrollComplete = scrollComplete || rows.size() < limit || remaining <= 0;
+        if (buffered != null)
+        {
+            // nothing is fetched after rows read at once.
+            scrollComplete = scrollComplete || bufferedIndex >= buffered.size();
+            if (scrollComplete)
+            {
+                buffered = null;
+            }
+            page = onCheckRelation(rows);
+            pageIndex = 0;
+            return;
+        }
+
+        if (!rows.isEmpty())
         {
-            results = populateEntities(entityMetadata, client);
+            last = getEntity(rows.get(rows.size() - 1));
+        }
 
-            if (entityMetadata.isRelationViaJoinTable()
-                    || (entityMetadata.getRelationNames() != null && !(entityMetadata.getRelationNames().isEmpty())))
+        if (!scrollComplete)
+        {
+            // next page starts after last row, so it never holds rows handed
+            // out already, which callers may be updating or deleting.
+            nextPageLimit = Math.min(pageSize, remaining);
+            PageFetch fetch = preparePage(nextPageLimit);
+            if (fetch != null)
             {
-                query.setRelationalEntities(results, client, entityMetadata);
+                scrollComplete = fetch.singlePage;
+                nextPage = prefetcher.submit(fetch);
+            }
+            else
+            {
+                scrollComplete = true;
             }
         }
+
+        page = onCheckRelation(rows);
+        pageIndex = 0;
+    }
+
+    private List<Object> nextBufferedPage(int limit)
+    {
+        int toIndex = Math.min(buffered.size(), bufferedIndex + limit);
+        List<Object> rows = new ArrayList<Object>(buffered.subList(bufferedIndex, toIndex));
+        bufferedIndex = toIndex;
+        return rows;
+    }
+
+    private List<Object> fetchPage(PageFetch fetch)
+    {
+        try
+        {
+            return fetch.call();
+        }
         catch (Exception e)
         {
-
             throw new PersistenceException("Error while scrolling over results, Caused by :.", e);
         }
+    }
 
+    private List<Object> awaitPage(Future<List<Object>> future)
+    {
+        try
+        {
+            return future.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new PersistenceException("Interrupted while scrolling over results.", e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new PersistenceException("Error while scrolling over results, Caused by :.", e.getCause());
+        }
     }
 
     /**
-     * Method parse provided JPQL query into: 1. CQL3 query, in case cql3 is
-     * enabled or is a native query. 2. list of index clause, if cql2 is
-     * enabled. Then executes query for given min & max values for scrolling
-     * over results.
-     * 
-     * @param m
-     *            entity metadata
-     * @param client
-     *            client
-     * @return list of database values wrapped into entities.
-     * @throws Exception
-     *             throws exception, in case of run time error.
+     * On check relation event, sets relational entities of whole page, in
+     * case relations are present, else unwraps fetched entities.
+     */
+    private List<E> onCheckRelation(List<Object> rows)
+    {
+        if (rows.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+        if (entityMetadata.isRelationViaJoinTable()
+                || (entityMetadata.getRelationNames() != null && !(entityMetadata.getRelationNames().isEmpty())))
+        {
+            return (List<E>) query.setRelationalEntities(rows, client, entityMetadata);
+        }
+
+        List<E> entities = new ArrayList<E>(rows.size());
+        for (Object row : rows)
+        {
+            entities.add(getEntity(row));
+        }
+        return entities;
+    }
+
+    /**
+     * Prepares fetch of page after last fetched row. Method parse provided
+     * JPQL query into: 1. CQL3 query(s), in case cql3 is enabled. 2. list of
+     * index clause, if cql2 is enabled. Queries are built by calling thread,
+     * only execution may run in background.
+     *
+     * @param limit
+     *            maximum number of rows in page.
+     * @return page fetch, null if there is nothing after last row.
      */
-    private List<E> populateEntities(EntityMetadata m, Client client) throws Exception
+    private PageFetch preparePage(final int limit)
     {
         if (log.isDebugEnabled())
         {
             log.debug("Populating entities for Cassandra query {}.", ((QueryImpl) query).getJPAQuery());
         }
-        List<E> result = new ArrayList<E>();
-        ApplicationMetadata appMetadata = kunderaMetadata.getApplicationMetadata();
-        externalProperties = ((CassandraClientBase) client).getExternalProperties();
-
-        // if id attribute is embeddable, it is meant for CQL translation.
-        // make it independent of embedded stuff and allow even to add non
-        // composite into where clause and let cassandra complain for it.
 
+        final EntityMetadata m = entityMetadata;
+        final CassandraClientBase cassandraClient = (CassandraClientBase) client;
         MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
                 m.getPersistenceUnit());
 
-        String queryString = appMetadata.getQuery(((QueryImpl) query).getJPAQuery());
-
-        boolean isNative = ((CassQuery) query).isNative();
-
-        if (((CassandraClientBase) client).isCql3Enabled(m))
+        if (cassandraClient.isCql3Enabled(m))
         {
-            String parsedQuery = query.onQueryOverCQL3(m, client, metaModel, null);
-
-            parsedQuery = appendWhereClauseWithScroll(parsedQuery);
-            results = parsedQuery != null ? ((CassandraClientBase) client).executeQuery(m.getEntityClazz(),
-                    m.getRelationNames(), isNative, parsedQuery) : null;
+            final List<String> cqlQueries = prepareCQLQueries(metaModel, limit);
+            if (cqlQueries.isEmpty())
+            {
+                return null;
+            }
+            return new PageFetch(limit, false)
+            {
+                @Override
+                List<Object> fetch()
+                {
+                    List<Object> rows = new ArrayList<Object>();
+                    for (String cqlQuery : cqlQueries)
+                    {
+                        List result = cassandraClient.executeQuery(m.getEntityClazz(), m.getRelationNames(), false,
+                                cqlQuery);
+                        if (result != null)
+                        {
+                            rows.addAll(result);
+                        }
+                        if (rows.size() >= limit)
+                        {
+                            break;
+                        }
+                    }
+                    return rows;
+                }
+            };
         }
-        else
+
+        // Index in Inverted Index table if applicable
+        boolean useInvertedIndex = CassandraIndexHelper.isInvertedIndexingApplicable(m,
+                MetadataUtils.useSecondryIndex(((ClientBase) client).getClientMetadata()));
+        final Map<Boolean, List<IndexClause>> ixClause = query.prepareIndexClause(m, useInvertedIndex);
+        if (useInvertedIndex && !((QueryImpl) query).getKunderaQuery().getFilterClauseQueue().isEmpty())
         {
-            // Index in Inverted Index table if applicable
-            boolean useInvertedIndex = CassandraIndexHelper.isInvertedIndexingApplicable(m,
-                    MetadataUtils.useSecondryIndex(((ClientBase) client).getClientMetadata()));
-            Map<Boolean, List<IndexClause>> ixClause = query.prepareIndexClause(m, useInvertedIndex);
-            if (useInvertedIndex && !((QueryImpl) query).getKunderaQuery().getFilterClauseQueue().isEmpty())
+            // inverted index is read at once.
+            if (last != null)
             {
-                result = (List) ((CassandraEntityReader) this.reader).readFromIndexTable(m, client, ixClause);
+                return null;
             }
-            else
+            return new PageFetch(limit, true)
             {
-                boolean isRowKeyQuery = ixClause.keySet().iterator().next();
+                @Override
+                List<Object> fetch() throws Exception
+                {
+                    return (List) ((CassandraEntityReader) reader).readFromIndexTable(m, client, ixClause);
+                }
+            };
+        }
 
-                List<IndexExpression> expressions = !ixClause.get(isRowKeyQuery).isEmpty() ? ixClause
-                        .get(isRowKeyQuery).get(0).getExpressions() : null;
+        boolean isRowKeyQuery = ixClause.keySet().iterator().next();
 
-                Map<String, byte[]> rowKeys = ((CassandraEntityReader) this.reader).getRowKeyValue(expressions,
-                        ((AbstractAttribute) m.getIdAttribute()).getJPAColumnName());
+        final List<IndexExpression> expressions = !ixClause.get(isRowKeyQuery).isEmpty() ? ixClause
+                .get(isRowKeyQuery).get(0).getExpressions() : null;
 
-                byte[] minValue = start == null ? rowKeys.get(MIN_) : start;
-                byte[] maxVal = rowKeys.get(MAX_);
+        Map<String, byte[]> rowKeys = ((CassandraEntityReader) this.reader).getRowKeyValue(expressions,
+                ((AbstractAttribute) m.getIdAttribute()).getJPAColumnName());
 
-                results = ((CassandraClientBase) client).findByRange(minValue, maxVal, m, m.getRelationNames() != null
-                        && !m.getRelationNames().isEmpty(), m.getRelationNames(),
-                        query.getColumnList(m, ((QueryImpl) query).getKunderaQuery().getResult(), null), expressions,
-                        maxResult);
+        // range is inclusive of start, which is last row of previous page.
+        final byte[] minValue = last == null ? rowKeys.get(MIN_) : idValueInByteArr(last);
+        final byte[] maxVal = rowKeys.get(MAX_);
+        final int maxResult = last == null ? limit : limit + 1;
+        final List<String> columns = query.getColumnList(m, ((QueryImpl) query).getKunderaQuery().getResult(), null);
 
-                if (maxResult == 1)
-                {
-                    maxResult++;
-                }
-                else if (maxResult > 1 && checkOnEmptyResult() && maxResult != results.size())
+        return new PageFetch(limit, false)
+        {
+            @Override
+            List<Object> fetch() throws Exception
+            {
+                List<Object> rows = new ArrayList<Object>(cassandraClient.findByRange(minValue, maxVal, m,
+                        m.getRelationNames() != null && !m.getRelationNames().isEmpty(), m.getRelationNames(),
+                        columns, expressions, maxResult));
+                if (maxResult > limit && !rows.isEmpty()
+                        && Arrays.equals(minValue, idValueInByteArr(getEntity(rows.get(0)))))
                 {
-                    // means iterating over last record only, so need for
-                    // database trip anymore!.
-                    results = null;
+                    rows.remove(0);
                 }
+                return rows;
             }
-        }
-        return results;
+        };
     }
 
     /**
-     * Appends where claues and prepare for next fetch. Method to be called in
-     * case cql3 enabled.
-     * 
-     * @param parsedQuery
-     *            parsed query.
-     * 
-     * @return cql3 query to be executed.
+     * Prepares CQL3 queries returning, in order, rows after last fetched row.
+     *
+     * @param metaModel
+     *            metamodel.
+     * @param limit
+     *            maximum number of rows.
+     * @return cql3 queries, empty if there are no rows after last one.
      */
-    private String appendWhereClauseWithScroll(String parsedQuery)
+    private List<String> prepareCQLQueries(MetamodelImpl metaModel, int limit)
     {
-
-        String queryWithoutLimit = parsedQuery.replaceAll(
-                parsedQuery.substring(parsedQuery.lastIndexOf(CQLTranslator.LIMIT), parsedQuery.length()), "");
+        String parsedQuery = query.onQueryOverCQL3(entityMetadata, client, metaModel, null);
+        String queryWithoutLimit = parsedQuery.substring(0, parsedQuery.lastIndexOf(CQLTranslator.LIMIT));
 
         CQLTranslator translator = new CQLTranslator();
+        List<String> cqlQueries = new ArrayList<String>();
+        if (last == null)
+        {
+            cqlQueries.add(appendWhereClauseWithScroll(queryWithoutLimit, null, limit));
+            return cqlQueries;
+        }
 
-        final String tokenCondition = prepareNext(translator, queryWithoutLimit);
+        String idName = ((AbstractAttribute) entityMetadata.getIdAttribute()).getJPAColumnName();
+        String condition = getConditionOnIdColumn(idName).get(true);
+        if (condition != null)
+        {
+            // means id clause present in query.
+            if (condition.equals("="))
+            {
+                // no need to fetch another record, as there will be only one
+                return cqlQueries;
+            }
+            else if (condition.endsWith(">") || condition.equals(">="))
+            {
+                cqlQueries.add(appendWhereClauseWithScroll(replaceAppliedToken(queryWithoutLimit), null, limit));
+                return cqlQueries;
+            }
+        }
+        else if (query.getKunderaQuery().getFilterClauseQueue().isEmpty())
+        {
+            // rest of last row's partition, if key is composite.
+            for (String clusteringCondition : prepareClusteringConditions(translator, metaModel))
+            {
+                cqlQueries.add(appendWhereClauseWithScroll(queryWithoutLimit, clusteringCondition, limit));
+            }
+        }
+
+        cqlQueries.add(appendWhereClauseWithScroll(queryWithoutLimit, prepareNext(translator, metaModel), limit));
+        return cqlQueries;
+    }
 
+    /**
+     * Appends scroll condition, limit and filtering clause. Method to be
+     * called in case cql3 enabled.
+     *
+     * @param queryWithoutLimit
+     *            parsed query.
+     * @param condition
+     *            scroll condition, may be null.
+     * @param limit
+     *            limit.
+     *
+     * @return cql3 query to be executed.
+     */
+    private String appendWhereClauseWithScroll(String queryWithoutLimit, String condition, int limit)
+    {
         StringBuilder builder = new StringBuilder(queryWithoutLimit);
 
-        if (tokenCondition != null)
+        if (condition != null)
         {
             if (query.getKunderaQuery().getFilterClauseQueue().isEmpty())
             {
@@ -327,123 +518,107 @@ class ResultIterator<E> implements IResultIterator<E>
             {
                 builder.append(CQLTranslator.AND_CLAUSE);
             }
-            builder.append(tokenCondition);
+            builder.append(condition);
         }
 
-        String replaceQuery = replaceAndAppendLimit(builder.toString());
-        builder.replace(0, builder.toString().length(), replaceQuery);
-        translator.buildFilteringClause(builder);
-
-        // in case of fetch by ID, token condition will be null and results will
-        // not be empty.
-        return checkOnEmptyResult() && tokenCondition == null ? null : builder.toString();
+        builder.append(CQLTranslator.LIMIT);
+        builder.append(limit);
+        new CQLTranslator().buildFilteringClause(builder);
+        return builder.toString();
     }
 
     /**
-     * Replace and append limit.
-     * 
-     * @param parsedQuery
-     *            parsed cql3 query.
-     * 
-     * @return cql3 query appended with limit clause.
+     * Parse and append cql3 token function for rows in partitions after the
+     * one of last row.
+     *
+     * @param translator
+     *            cql translator.
+     *
+     * @return token condition.
      */
-    private String replaceAndAppendLimit(String parsedQuery)
+    private String prepareNext(CQLTranslator translator, MetamodelImpl metaModel)
     {
-        // String queryWithoutLimit = parsedQuery.replaceAll(
-        // parsedQuery.substring(parsedQuery.lastIndexOf(CQLTranslator.LIMIT),
-        // parsedQuery.length()), "");
-        StringBuilder builder = new StringBuilder(parsedQuery);
-        onLimit(builder);
-        parsedQuery = builder.toString();
-        return parsedQuery;
-    }
+        Class idClazz = ((AbstractAttribute) entityMetadata.getIdAttribute()).getBindableJavaType();
+        Object id = PropertyAccessorHelper.getId(last, entityMetadata);
+        StringBuilder builder = new StringBuilder(CQLTranslator.TOKEN);
 
-    /**
-     * Append limit to sql3 query.
-     * 
-     * @param builder
-     *            builder instance.
-     */
-    private void onLimit(StringBuilder builder)
-    {
-        builder.append(CQLTranslator.LIMIT);
-        builder.append(this.maxResult);
+        String columnName;
+        if (metaModel.isEmbeddable(entityMetadata.getIdAttribute().getBindableJavaType()))
+        {
+            EmbeddableType keyObj = metaModel.embeddable(entityMetadata.getIdAttribute().getBindableJavaType());
+            Field embeddedField = entityMetadata.getIdAttribute().getBindableJavaType().getDeclaredFields()[0];
+            Attribute partitionKey = keyObj.getAttribute(embeddedField.getName());
+            Object partitionKeyValue = PropertyAccessorHelper.getObject(id, (Field) partitionKey.getJavaMember());
+            columnName = ((AbstractAttribute) partitionKey).getJPAColumnName();
+            id = partitionKeyValue;
+            idClazz = ((AbstractAttribute) partitionKey).getBindableJavaType();
+        }
+        else
+        {
+            columnName = CassandraUtilities.getIdColumnName(kunderaMetadata, entityMetadata, externalProperties);
+        }
+
+        translator.appendColumnName(builder, columnName);
+        builder.append(CQLTranslator.CLOSE_BRACKET);
+        builder.append(" > ");
+        builder.append(CQLTranslator.TOKEN);
+        translator.appendValue(builder, idClazz, id, false, false);
+        builder.append(CQLTranslator.CLOSE_BRACKET);
+        return builder.toString();
     }
 
     /**
-     * Parse and append cql3 token function for iter.next() call.
-     * 
+     * For composite key with a single partition key column, prepares
+     * conditions selecting rows of last row's partition which follow it in
+     * clustering order, i.e. for clustering columns c1..cn: (pk = p and c1 =
+     * v1 .. and cn > vn), .., (pk = p and c1 > v1).
+     *
      * @param translator
      *            cql translator.
-     * 
-     * @return parsed/append cql3 query.
+     * @return clustering conditions, empty if key is not composite.
      */
-    private String prepareNext(CQLTranslator translator, String query)
+    private List<String> prepareClusteringConditions(CQLTranslator translator, MetamodelImpl metaModel)
     {
-        if (checkOnEmptyResult())
+        List<String> conditions = new ArrayList<String>();
+        Class<?> idClazz = entityMetadata.getIdAttribute().getBindableJavaType();
+        if (!metaModel.isEmbeddable(idClazz))
         {
-            String idName = ((AbstractAttribute) entityMetadata.getIdAttribute()).getJPAColumnName();
-            Map<Boolean, String> filterOnId = getConditionOnIdColumn(idName);
+            return conditions;
+        }
 
-            if (filterOnId.get(true) != null)
+        EmbeddableType keyObj = metaModel.embeddable(idClazz);
+        List<AbstractAttribute> keyColumns = new ArrayList<AbstractAttribute>();
+        for (Field field : idClazz.getDeclaredFields())
+        {
+            if (!ReflectUtils.isTransientOrStatic(field))
             {
-                String condition = filterOnId.get(true);
-                // means id clause present in query.
-                // now if id attribute is embeddable then fetch partition key
-                // for token
-                // if condition is with equals then no need to go for another
-                // fetch.
-
-                if (condition.equals("="))
-                {
-                    // no need to fetch another record, as there will be only
-                    // one
-                    return null;
-                }
-                else if (condition.endsWith(">") || condition.equals(">="))
-                {
-                    query = replaceAppliedToken(query);
-                    return query;
-                }
+                keyColumns.add((AbstractAttribute) keyObj.getAttribute(field.getName()));
             }
+        }
+        if (keyColumns.size() < 2 || metaModel.isEmbeddable(keyColumns.get(0).getBindableJavaType()))
+        {
+            return conditions;
+        }
 
-            // Means there is an previous entity.
-            Object entity = results.get(results.size() - 1);
-            Class idClazz = ((AbstractAttribute) entityMetadata.getIdAttribute()).getBindableJavaType();
-            Object id = PropertyAccessorHelper.getId(entity, entityMetadata);
-            StringBuilder builder = new StringBuilder(CQLTranslator.TOKEN);
-            MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
-                    entityMetadata.getPersistenceUnit());
-
-            EmbeddableType keyObj = null;
-//            Bytes bytes = null;
-            String columnName;
-            if (metaModel.isEmbeddable(entityMetadata.getIdAttribute().getBindableJavaType()))
-            {
-                keyObj = metaModel.embeddable(entityMetadata.getIdAttribute().getBindableJavaType());
-                Field embeddedField = entityMetadata.getIdAttribute().getBindableJavaType().getDeclaredFields()[0];
-                Attribute partitionKey = keyObj.getAttribute(embeddedField.getName());
-                Object partitionKeyValue = PropertyAccessorHelper.getObject(id, (Field) partitionKey.getJavaMember());
-                columnName = ((AbstractAttribute) partitionKey).getJPAColumnName();
-                id = partitionKeyValue;
-                idClazz = ((AbstractAttribute) partitionKey).getBindableJavaType();
-
-            }
-            else
+        Object id = PropertyAccessorHelper.getId(last, entityMetadata);
+        for (int clustering = keyColumns.size() - 1; clustering > 0; clustering--)
+        {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i <= clustering; i++)
             {
-                columnName = CassandraUtilities.getIdColumnName(kunderaMetadata, entityMetadata, externalProperties);
+                AbstractAttribute keyColumn = keyColumns.get(i);
+                if (i > 0)
+                {
+                    builder.append(CQLTranslator.AND_CLAUSE);
+                }
+                translator.appendColumnName(builder, keyColumn.getJPAColumnName());
+                builder.append(i < clustering ? CQLTranslator.EQ_CLAUSE : " > ");
+                translator.appendValue(builder, keyColumn.getBindableJavaType(),
+                        PropertyAccessorHelper.getObject(id, (Field) keyColumn.getJavaMember()), false, false);
             }
-
-            translator.appendColumnName(builder, columnName);
-            builder.append(CQLTranslator.CLOSE_BRACKET);
-            builder.append(" > ");
-            builder.append(CQLTranslator.TOKEN);
-            translator.appendValue(builder, idClazz, id, false, false);
-            builder.append(CQLTranslator.CLOSE_BRACKET);
-            return builder.toString();
-
+            conditions.add(builder.toString());
         }
-        return null;
+        return conditions;
     }
 
     private Map<Boolean, String> getConditionOnIdColumn(String idColumn)
@@ -460,7 +635,6 @@ class ResultIterator<E> implements IResultIterator<E>
             keyObj = metaModel.embeddable(entityMetadata.getIdAttribute().getBindableJavaType());
         }
 
-        boolean isPresent = false;
         for (Object o : query.getKunderaQuery().getFilterClauseQueue())
         {
             if (o instanceof FilterClause)
@@ -468,7 +642,6 @@ class ResultIterator<E> implements IResultIterator<E>
                 FilterClause clause = ((FilterClause) o);
                 String fieldName = clause.getProperty();
                 String condition = clause.getCondition();
-                Object value = clause.getValue();
 
                 if (keyObj != null && fieldName.equals(idColumn)
                         || (keyObj != null && StringUtils.contains(fieldName, '.')) || (idColumn.equals(fieldName)))
@@ -482,12 +655,10 @@ class ResultIterator<E> implements IResultIterator<E>
         return filterIdResult;
     }
 
-    private byte[] idValueInByteArr()
+    private byte[] idValueInByteArr(Object entity)
     {
-        Object entity = results.get(results.size() - 1);
         Object id = PropertyAccessorHelper.getId(entity, entityMetadata);
         String idName = ((AbstractAttribute) entityMetadata.getIdAttribute()).getJPAColumnName();
-        Class idClazz = ((AbstractAttribute) entityMetadata.getIdAttribute()).getBindableJavaType();
         MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
                 entityMetadata.getPersistenceUnit());
 
@@ -512,24 +683,12 @@ class ResultIterator<E> implements IResultIterator<E>
 
     }
 
-    /**
-     * check if result list is null or empty. Returns true, if it is not empty
-     * or null.
-     * 
-     * @return boolean value (true/false).
-     * 
-     */
-    private boolean checkOnEmptyResult()
-    {
-        return results != null && !results.isEmpty();
-    }
-
     /**
      * Extract wrapped entity object from enhanced entity.
-     * 
+     *
      * @param entity
      *            enhanced entity.
-     * 
+     *
      * @return returns extracted instance of E.
      */
     private E getEntity(Object entity)
@@ -555,9 +714,8 @@ class ResultIterator<E> implements IResultIterator<E>
 
             String object = query.substring(query.lastIndexOf(pattern) + pattern.length(), closingIndex);
 
-            Object entity = results.get(results.size() - 1);
             Class idClazz = ((AbstractAttribute) entityMetadata.getIdAttribute()).getBindableJavaType();
-            Object id = PropertyAccessorHelper.getId(entity, entityMetadata);
+            Object id = PropertyAccessorHelper.getId(last, entityMetadata);
             StringBuilder builder = new StringBuilder();
 
             translator.appendValue(builder, idClazz, id, false, false);
@@ -568,4 +726,31 @@ class ResultIterator<E> implements IResultIterator<E>
 
         return query;
     }
+
+    /**
+     * Fetch of one page of raw (possibly enhanced) entities.
+     */
+    private abstract static class PageFetch implements Callable<List<Object>>
+    {
+        /** Maximum number of rows in page. */
+        final int limit;
+
+        /** Whether all rows are fetched at once. */
+        final boolean singlePage;
+
+        PageFetch(int limit, boolean singlePage)
+        {
+            this.limit = limit;
+            this.singlePage = singlePage;
+        }
+
+        abstract List<Object> fetch() throws Exception;
+
+        @Override
+        public List<Object> call() throws Exception
+        {
+            List<Object> rows = fetch();
+            return rows != null ? rows : Collections.emptyList();
+        }
+    }
 }
@@ -66,6 +66,7 @@ import com.impetus.client.cassandra.common.CassandraConstants;
 import com.impetus.client.cassandra.config.CassandraPropertyReader;
 import com.impetus.client.cassandra.config.CassandraPropertyReader.CassandraSchemaMetadata;
 import com.impetus.client.cassandra.index.CassandraIndexHelper;
+import com.impetus.client.cassandra.thrift.CQLStatementCache;
 import com.impetus.client.cassandra.thrift.CQLTranslator;
 import com.impetus.kundera.Constants;
 import com.impetus.kundera.configure.ClientProperties.DataStore.Schema;
@@ -119,6 +120,9 @@ public class CassandraSchemaManager extends AbstractSchemaManager implements Sch
     /** The tables. */
     private List<Table> tables;
 
+    /** Prepared statements of client factory, null if it keeps none. */
+    private CQLStatementCache statementCache;
+
     /**
      * Instantiates a new cassandra schema manager.
      * 
@@ -229,6 +233,30 @@ public class CassandraSchemaManager extends AbstractSchemaManager implements Sch
         KsDef ksDef = onCreateKeyspace(); // create keyspace event
         createColumnFamilies(tableInfos, ksDef); // create column family
                                                  // event.
+        invalidateStatements();
+    }
+
+    /**
+     * Sets statement cache to invalidate on schema change.
+     * 
+     * @param statementCache
+     *            statement cache of client factory.
+     */
+    public void setStatementCache(CQLStatementCache statementCache)
+    {
+        this.statementCache = statementCache;
+    }
+
+    /**
+     * Drops cached statements and prepared ids, as they may refer to columns
+     * or tables which changed.
+     */
+    private void invalidateStatements()
+    {
+        if (statementCache != null)
+        {
+            statementCache.clear();
+        }
     }
 
     private KsDef onCreateKeyspace() throws Exception
@@ -0,0 +1,275 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.cassandra.thrift;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.apache.cassandra.thrift.Cassandra;
+import org.apache.cassandra.thrift.Compression;
+import org.apache.cassandra.thrift.ConsistencyLevel;
+import org.apache.cassandra.thrift.CqlPreparedResult;
+import org.apache.cassandra.thrift.CqlResult;
+import org.apache.cassandra.thrift.InvalidRequestException;
+import org.apache.cassandra.thrift.SchemaDisagreementException;
+import org.apache.cassandra.thrift.TimedOutException;
+import org.apache.cassandra.thrift.UnavailableException;
+import org.apache.cassandra.utils.ByteBufferUtil;
+import org.apache.thrift.TException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded cache of parameterized CQL3 statements, shared by all clients of a
+ * client factory. Statement text is cached per entity class, operation and
+ * qualifier (table and bound columns). Server side statement ids are cached
+ * per connection, as cassandra keeps thrift prepared statements per
+ * connection.
+ */
+public final class CQLStatementCache
+{
+    /** the log used by this class. */
+    private static Logger log = LoggerFactory.getLogger(CQLStatementCache.class);
+
+    /** Default number of statements kept. */
+    public static final int DEFAULT_SIZE = 256;
+
+    /** Start of error message for execution of unknown prepared id. */
+    private static final String UNKNOWN_PREPARED_ID = "Prepared query with ID";
+
+    /**
+     * Operations for which statements are cached.
+     */
+    public enum Operation
+    {
+        INSERT, DELETE, SELECT_BY_ID, SELECT_BY_RELATION;
+    }
+
+    private final int maxSize;
+
+    private final Map<StatementKey, String> statements;
+
+    private final Map<Cassandra.Client, Map<String, Integer>> preparedIds = new WeakHashMap<Cassandra.Client, Map<String, Integer>>();
+
+    /**
+     * Instantiates a new statement cache.
+     *
+     * @param maxSize
+     *            maximum number of statements kept.
+     */
+    public CQLStatementCache(int maxSize)
+    {
+        if (maxSize <= 0)
+        {
+            throw new IllegalArgumentException("Statement cache size must be > 0.");
+        }
+        this.maxSize = maxSize;
+        this.statements = new BoundedMap<StatementKey, String>(maxSize);
+    }
+
+    /**
+     * Returns cached statement text or null.
+     *
+     * @param entityClazz
+     *            entity class.
+     * @param operation
+     *            operation.
+     * @param qualifier
+     *            table name and bound columns.
+     * @return cql statement.
+     */
+    public synchronized String getStatement(Class<?> entityClazz, Operation operation, String qualifier)
+    {
+        return statements.get(new StatementKey(entityClazz, operation, qualifier));
+    }
+
+    /**
+     * Caches statement text.
+     *
+     * @param entityClazz
+     *            entity class.
+     * @param operation
+     *            operation.
+     * @param qualifier
+     *            table name and bound columns.
+     * @param statement
+     *            cql statement with bind markers.
+     */
+    public synchronized void putStatement(Class<?> entityClazz, Operation operation, String qualifier,
+            String statement)
+    {
+        statements.put(new StatementKey(entityClazz, operation, qualifier), statement);
+    }
+
+    /**
+     * Executes statement with given values on connection, preparing it first
+     * if connection has not seen it yet. A statement whose prepared id is no
+     * longer known to server, e.g. after restart or eviction, is prepared
+     * again and executed once more. Other errors are thrown as is.
+     *
+     * @param conn
+     *            cassandra connection.
+     * @param statement
+     *            cql statement with bind markers.
+     * @param values
+     *            bound values.
+     * @param consistencyLevel
+     *            consistency level.
+     * @return cql result.
+     */
+    public CqlResult execute(Cassandra.Client conn, String statement, List<ByteBuffer> values,
+            ConsistencyLevel consistencyLevel) throws InvalidRequestException, UnavailableException,
+            TimedOutException, SchemaDisagreementException, TException
+    {
+        Integer itemId = getPreparedId(conn, statement);
+        try
+        {
+            return conn.execute_prepared_cql3_query(itemId, values, consistencyLevel);
+        }
+        catch (InvalidRequestException irex)
+        {
+            if (!isUnknownPreparedId(irex))
+            {
+                throw irex;
+            }
+            log.warn("Re-preparing statement {}, Caused by: {}.", statement, irex.getWhy());
+            removePreparedId(conn, statement);
+            itemId = getPreparedId(conn, statement);
+            return conn.execute_prepared_cql3_query(itemId, values, consistencyLevel);
+        }
+    }
+
+    /**
+     * Returns true if server rejected execution as prepared id is not known to
+     * it.
+     *
+     * @param irex
+     *            invalid request exception.
+     * @return true, if prepared id is unknown.
+     */
+    static boolean isUnknownPreparedId(InvalidRequestException irex)
+    {
+        return irex.getWhy() != null && irex.getWhy().startsWith(UNKNOWN_PREPARED_ID);
+    }
+
+    /**
+     * Drops all statements, e.g. on schema change.
+     */
+    public synchronized void clear()
+    {
+        statements.clear();
+        preparedIds.clear();
+    }
+
+    private Integer getPreparedId(Cassandra.Client conn, String statement) throws InvalidRequestException,
+            TException
+    {
+        synchronized (this)
+        {
+            Map<String, Integer> ids = preparedIds.get(conn);
+            Integer itemId = ids != null ? ids.get(statement) : null;
+            if (itemId != null)
+            {
+                return itemId;
+            }
+        }
+
+        CqlPreparedResult prepared = conn.prepare_cql3_query(ByteBufferUtil.bytes(statement), Compression.NONE);
+
+        synchronized (this)
+        {
+            Map<String, Integer> ids = preparedIds.get(conn);
+            if (ids == null)
+            {
+                ids = new BoundedMap<String, Integer>(maxSize);
+                preparedIds.put(conn, ids);
+            }
+            ids.put(statement, prepared.getItemId());
+        }
+        return prepared.getItemId();
+    }
+
+    private synchronized void removePreparedId(Cassandra.Client conn, String statement)
+    {
+        Map<String, Integer> ids = preparedIds.get(conn);
+        if (ids != null)
+        {
+            ids.remove(statement);
+        }
+    }
+
+    /**
+     * Access ordered map evicting least recently used entry past capacity.
+     */
+    private static final class BoundedMap<K, V> extends LinkedHashMap<K, V>
+    {
+        private final int capacity;
+
+        BoundedMap(int capacity)
+        {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest)
+        {
+            return size() > capacity;
+        }
+    }
+
+    /**
+     * Cache key of a statement.
+     */
+    private static final class StatementKey
+    {
+        private final Class<?> entityClazz;
+
+        private final Operation operation;
+
+        private final String qualifier;
+
+        StatementKey(Class<?> entityClazz, Operation operation, String qualifier)
+        {
+            this.entityClazz = entityClazz;
+            this.operation = operation;
+            this.qualifier = qualifier;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof StatementKey))
+            {
+                return false;
+            }
+            StatementKey other = (StatementKey) obj;
+            return entityClazz.equals(other.entityClazz) && operation == other.operation
+                    && qualifier.equals(other.qualifier);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            int result = entityClazz.hashCode();
+            result = 31 * result + operation.hashCode();
+            return 31 * result + qualifier.hashCode();
+        }
+    }
+}
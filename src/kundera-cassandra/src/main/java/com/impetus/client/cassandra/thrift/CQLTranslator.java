@@ -86,6 +86,8 @@ public final class CQLTranslator
 
     public static final String SELECT_QUERY = "SELECT $COLUMNS FROM $COLUMNFAMILY";
 
+    public static final String SELECT_COUNT_QUERY = "SELECT COUNT(*) FROM $COLUMNFAMILY";
+
     public static final String INSERT_QUERY = " INSERT INTO $COLUMNFAMILY($COLUMNS) VALUES($COLUMNVALUES) ";
 
     public static final String DELETE_QUERY = "DELETE FROM $COLUMNFAMILY";
@@ -19,10 +19,14 @@ import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javax.persistence.PersistenceException;
 import javax.persistence.metamodel.EntityType;
@@ -35,6 +39,7 @@ import org.apache.cassandra.thrift.Column;
 import org.apache.cassandra.thrift.ColumnOrSuperColumn;
 import org.apache.cassandra.thrift.ColumnParent;
 import org.apache.cassandra.thrift.ColumnPath;
+import org.apache.cassandra.thrift.ConsistencyLevel;
 import org.apache.cassandra.thrift.CounterColumn;
 import org.apache.cassandra.thrift.CounterSuperColumn;
 import org.apache.cassandra.thrift.IndexClause;
@@ -71,6 +76,7 @@ import com.impetus.kundera.db.SearchResult;
 import com.impetus.kundera.generator.TableGenerator;
 import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.index.IndexManager;
+import com.impetus.kundera.index.IndexingException;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.EntityMetadata;
@@ -81,7 +87,7 @@ import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
 import com.impetus.kundera.persistence.EntityReaderException;
-import com.impetus.kundera.persistence.api.Batcher;
+import com.impetus.kundera.persistence.api.AsyncBatcher;
 import com.impetus.kundera.persistence.context.jointable.JoinTableData;
 import com.impetus.kundera.property.PropertyAccessor;
 import com.impetus.kundera.property.PropertyAccessorFactory;
@@ -92,7 +98,7 @@ import com.impetus.kundera.property.PropertyAccessorHelper;
  * 
  * @author amresh.singh
  */
-public class ThriftClient extends CassandraClientBase implements Client<CassQuery>, Batcher, TableGenerator
+public class ThriftClient extends CassandraClientBase implements Client<CassQuery>, AsyncBatcher, TableGenerator
 {
 
     /** log for this class. */
@@ -719,8 +725,7 @@ public class ThriftClient extends CassandraClientBase implements Client<CassQuer
             {
                 if (isCql3Enabled(metadata))
                 {
-                    String deleteQuery = onDeleteQuery(metadata, tableName, metaModel, pKey);
-                    executeCQLQuery(deleteQuery, isCql3Enabled(metadata));
+                    executeDeleteQuery(metadata, tableName, metaModel, pKey);
                 }
                 else
                 {
@@ -852,7 +857,15 @@ public class ThriftClient extends CassandraClientBase implements Client<CassQuer
     @Override
     public void close()
     {
-        this.indexManager.flush();
+        try
+        {
+            this.indexManager.flush();
+        }
+        catch (IndexingException ie)
+        {
+            // close goes on, failures are reported on flush and commit.
+            log.warn("Error while flushing indexes on close, Caused by: .", ie);
+        }
         this.dataHandler = null;
         this.invertedIndexHandler = null;
         super.close();
@@ -1110,7 +1123,7 @@ public class ThriftClient extends CassandraClientBase implements Client<CassQuer
 
     protected Connection getConnection()
     {
-        Connection connection = clientFactory.getConnection(pool);
+        Connection connection = clientFactory.getConnection(clientFactory.selectPool(pool));
         return connection;
     }
 
@@ -1133,7 +1146,127 @@ public class ThriftClient extends CassandraClientBase implements Client<CassQuer
 
     protected void releaseConnection(Object conn)
     {
-        clientFactory.releaseConnection(((Connection) conn).getPool(), ((Connection) conn).getClient());
+        clientFactory.releaseConnection((Connection) conn);
+    }
+
+    @Override
+    protected CQLStatementCache getStatementCache()
+    {
+        return clientFactory.getStatementCache();
+    }
+
+    /**
+     * @return true, if rows are fetched by keys via multiget_slice.
+     */
+    boolean isMultigetEnabled()
+    {
+        return clientFactory.isMultigetEnabled();
+    }
+
+    /**
+     * Fetches slices of given rows of a column family. Keys are grouped by
+     * replica owning them, as per token ring of keyspace, and one
+     * multiget_slice per replica and find batch is issued in parallel.
+     * 
+     * @param keyspace
+     *            keyspace.
+     * @param tableName
+     *            column family.
+     * @param keys
+     *            row keys.
+     * @param predicate
+     *            slice predicate.
+     * @param consistencyLevel
+     *            consistency level.
+     * @return slices by row key.
+     * @throws Exception
+     */
+    Map<ByteBuffer, List<ColumnOrSuperColumn>> multigetSlice(String keyspace, final String tableName,
+            List<ByteBuffer> keys, final SlicePredicate predicate, final ConsistencyLevel consistencyLevel)
+            throws Exception
+    {
+        int batchSize = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata, getPersistenceUnit())
+                .getFindBatchSize();
+
+        List<Callable<Map<ByteBuffer, List<ColumnOrSuperColumn>>>> tasks = new ArrayList<Callable<Map<ByteBuffer, List<ColumnOrSuperColumn>>>>();
+        for (Map.Entry<ConnectionPool, List<ByteBuffer>> entry : groupByReplica(keyspace, keys).entrySet())
+        {
+            final ConnectionPool replicaPool = entry.getKey();
+            List<ByteBuffer> replicaKeys = entry.getValue();
+            for (int i = 0; i < replicaKeys.size(); i += batchSize)
+            {
+                final List<ByteBuffer> batch = replicaKeys.subList(i, Math.min(i + batchSize, replicaKeys.size()));
+                tasks.add(new Callable<Map<ByteBuffer, List<ColumnOrSuperColumn>>>()
+                {
+                    @Override
+                    public Map<ByteBuffer, List<ColumnOrSuperColumn>> call() throws Exception
+                    {
+                        Connection conn = clientFactory.getConnection(replicaPool);
+                        try
+                        {
+                            return conn.getClient().multiget_slice(batch, new ColumnParent(tableName), predicate,
+                                    consistencyLevel);
+                        }
+                        finally
+                        {
+                            releaseConnection(conn);
+                        }
+                    }
+                });
+            }
+        }
+
+        Map<ByteBuffer, List<ColumnOrSuperColumn>> results = new HashMap<ByteBuffer, List<ColumnOrSuperColumn>>();
+        if (tasks.size() == 1)
+        {
+            results.putAll(tasks.get(0).call());
+            return results;
+        }
+        try
+        {
+            for (Future<Map<ByteBuffer, List<ColumnOrSuperColumn>>> future : clientFactory.getMultigetExecutor()
+                    .invokeAll(tasks))
+            {
+                results.putAll(future.get());
+            }
+        }
+        catch (ExecutionException eex)
+        {
+            // ring may have changed, describe it again on next fetch.
+            clientFactory.resetTokenRing();
+            throw new KunderaException(eex.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * Groups row keys by connection pool of first live replica owning them.
+     * Keys without a known live replica go to pool of this client.
+     * 
+     * @param keyspace
+     *            keyspace.
+     * @param keys
+     *            row keys.
+     * @return row keys by pool.
+     */
+    private Map<ConnectionPool, List<ByteBuffer>> groupByReplica(String keyspace, List<ByteBuffer> keys)
+    {
+        TokenRing ring;
+        Connection conn = getConnection();
+        try
+        {
+            ring = clientFactory.getTokenRing(conn.getClient(), keyspace);
+        }
+        finally
+        {
+            releaseConnection(conn);
+        }
+
+        if (ring == null)
+        {
+            return Collections.singletonMap(pool, keys);
+        }
+        return ring.groupByReplica(keys, clientFactory.getEndpointPools(), pool);
     }
 
     @Override
@@ -15,13 +15,17 @@
  */
 package com.impetus.client.cassandra.thrift;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Random;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import net.dataforte.cassandra.pool.ConnectionPool;
 import net.dataforte.cassandra.pool.PoolConfiguration;
@@ -29,10 +33,13 @@ import net.dataforte.cassandra.pool.PoolProperties;
 
 import org.apache.cassandra.thrift.Cassandra;
 import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.Lists;
+import com.impetus.client.cassandra.common.CassandraConstants;
 import com.impetus.client.cassandra.config.CassandraPropertyReader;
 import com.impetus.client.cassandra.pelops.PelopsClientFactory;
 import com.impetus.client.cassandra.pelops.PelopsUtils;
@@ -49,10 +56,14 @@ import com.impetus.kundera.configure.schema.api.SchemaManager;
 import com.impetus.kundera.loader.GenericClientFactory;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
+import com.impetus.kundera.metrics.MetricsCollector;
+import com.impetus.kundera.metrics.MetricsConstants;
 import com.impetus.kundera.service.Host;
 import com.impetus.kundera.service.HostConfiguration;
+import com.impetus.kundera.service.policy.LatencyAwareBalancingPolicy;
 import com.impetus.kundera.service.policy.LeastActiveBalancingPolicy;
 import com.impetus.kundera.service.policy.RoundRobinBalancingPolicy;
+import com.impetus.kundera.utils.KunderaThreadFactory;
 
 /**
  * A factory of {@link ThriftClient} Currently it uses Pelops for Connection
@@ -68,14 +79,31 @@ public class ThriftClientFactory extends GenericClientFactory
 
     protected HostConfiguration configuration;
 
+    private CQLStatementCache statementCache;
+
+    private boolean multigetEnabled;
+
+    private ExecutorService multigetExecutor;
+
+    /** Token rings by keyspace. */
+    private final ConcurrentMap<String, TokenRing> tokenRings = new ConcurrentHashMap<String, TokenRing>();
+
+    /** Live pools by address of their host, resolved once on pool creation. */
+    private final ConcurrentMap<String, ConnectionPool> endpointPools = new ConcurrentHashMap<String, ConnectionPool>();
+
+    /** Timing clients by pooled client, for latency aware policy. */
+    private final Map<Cassandra.Client, Cassandra.Client> timedClients = new WeakHashMap<Cassandra.Client, Cassandra.Client>();
+
     @Override
     public SchemaManager getSchemaManager(Map<String, Object> externalProperty)
     {
         if (schemaManager == null)
         {
             initializePropertyReader();
-            schemaManager = new CassandraSchemaManager(ThriftClientFactory.class.getName(), externalProperties,
-                    kunderaMetadata);
+            CassandraSchemaManager cassandraSchemaManager = new CassandraSchemaManager(
+                    ThriftClientFactory.class.getName(), externalProperties, kunderaMetadata);
+            cassandraSchemaManager.setStatementCache(initializeStatementCache());
+            schemaManager = cassandraSchemaManager;
         }
         return schemaManager;
     }
@@ -105,6 +133,10 @@ public class ThriftClientFactory extends GenericClientFactory
             schemaManager.dropSchema();
         }
         schemaManager = null;
+        if (statementCache != null)
+        {
+            statementCache.clear();
+        }
         externalProperties = null;
 
         for (Object connectionPool : hostPools.values())
@@ -115,6 +147,12 @@ public class ThriftClientFactory extends GenericClientFactory
             }
         }
         ((CassandraRetryService) hostRetryService).shutdown();
+        if (multigetExecutor != null)
+        {
+            multigetExecutor.shutdown();
+        }
+        resetTokenRing();
+        endpointPools.clear();
     }
 
     @Override
@@ -129,6 +167,119 @@ public class ThriftClientFactory extends GenericClientFactory
         configuration = new CassandraHostConfiguration(externalProperties, CassandraPropertyReader.csmd,
                 getPersistenceUnit(), kunderaMetadata);
         hostRetryService = new CassandraRetryService(configuration, this);
+        initializeStatementCache();
+        initializeMultiget();
+    }
+
+    /**
+     * Creates statement cache on first call, shared by clients and schema
+     * manager of this factory.
+     * 
+     * @return statement cache.
+     */
+    private CQLStatementCache initializeStatementCache()
+    {
+        if (statementCache == null)
+        {
+            String statementCacheSize = CassandraPropertyReader.csmd != null ? CassandraPropertyReader.csmd
+                    .getConnectionProperties().getProperty(CassandraConstants.STATEMENT_CACHE_SIZE) : null;
+            statementCache = new CQLStatementCache(statementCacheSize != null ? Integer.parseInt(statementCacheSize)
+                    : CQLStatementCache.DEFAULT_SIZE);
+        }
+        return statementCache;
+    }
+
+    /**
+     * Initializes executor for parallel multiget, if opted via
+     * {@link CassandraConstants#MULTIGET_ENABLED}.
+     */
+    private void initializeMultiget()
+    {
+        Properties connectionProperties = CassandraPropertyReader.csmd != null ? CassandraPropertyReader.csmd
+                .getConnectionProperties() : null;
+        String enabled = connectionProperties != null ? connectionProperties
+                .getProperty(CassandraConstants.MULTIGET_ENABLED) : null;
+        multigetEnabled = Boolean.parseBoolean(enabled);
+        if (multigetEnabled)
+        {
+            String threads = connectionProperties.getProperty(CassandraConstants.MULTIGET_THREADS);
+            multigetExecutor = Executors.newFixedThreadPool(threads != null ? Integer.parseInt(threads)
+                    : CassandraConstants.DEFAULT_MULTIGET_THREADS, new KunderaThreadFactory(
+                    ThriftClientFactory.class.getName()));
+        }
+    }
+
+    /**
+     * Returns prepared statement cache shared by clients of this factory.
+     * 
+     * @return statement cache.
+     */
+    public CQLStatementCache getStatementCache()
+    {
+        return statementCache;
+    }
+
+    /**
+     * @return true, if rows are fetched by keys via multiget_slice.
+     */
+    boolean isMultigetEnabled()
+    {
+        return multigetEnabled;
+    }
+
+    /**
+     * @return bounded executor for parallel multiget requests.
+     */
+    ExecutorService getMultigetExecutor()
+    {
+        return multigetExecutor;
+    }
+
+    /**
+     * Returns token ring of keyspace, describing it through given connection
+     * on first use. Returns null if ring can not be described.
+     * 
+     * @param client
+     *            cassandra connection.
+     * @param keyspace
+     *            keyspace.
+     * @return token ring.
+     */
+    TokenRing getTokenRing(Cassandra.Client client, String keyspace)
+    {
+        TokenRing ring = tokenRings.get(keyspace);
+        if (ring == null)
+        {
+            try
+            {
+                ring = TokenRing.describe(client, keyspace);
+                tokenRings.put(keyspace, ring);
+            }
+            catch (Exception e)
+            {
+                logger.warn("Unable to describe ring of keyspace {}, Caused by {} .", keyspace, e.getMessage());
+            }
+        }
+        return ring;
+    }
+
+    /**
+     * Drops token rings of all keyspaces, to be described again on next use.
+     */
+    void resetTokenRing()
+    {
+        tokenRings.clear();
+    }
+
+    /**
+     * Returns live connection pools by address of their host, to route ring
+     * endpoints to.
+     * 
+     * @return connection pools by endpoint address.
+     */
+    Map<String, ConnectionPool> getEndpointPools()
+    {
+        return endpointPools;
     }
 
     @Override
@@ -162,6 +313,7 @@ public class ThriftClientFactory extends GenericClientFactory
             {
                 ConnectionPool pool = new ConnectionPool(prop);
                 hostPools.put(host, pool);
+                onPoolAdded(host, pool);
             }
             catch (TException e)
             {
@@ -191,7 +343,11 @@ public class ThriftClientFactory extends GenericClientFactory
     {
         if (!hostPools.isEmpty())
         {
-            return (ConnectionPool) loadBalancingPolicy.getPool(hostPools.values());
+            ConnectionPool pool = (ConnectionPool) loadBalancingPolicy.getPool(hostPools.values());
+            if (pool != null)
+            {
+                return pool;
+            }
         }
         throw new KunderaException("All hosts are down. please check servers manully.");
     }
@@ -211,7 +367,13 @@ public class ThriftClientFactory extends GenericClientFactory
     private ConnectionPool getNewPool(String host, int port)
     {
         CassandraHost cassandraHost = ((CassandraHostConfiguration) configuration).getCassandraHost(host, port);
-        hostPools.remove(cassandraHost);
+        if (loadBalancingPolicy instanceof LatencyAwareBalancingPolicy)
+        {
+            // host stays, its circuit breaker decides when to try it again.
+            ((LatencyAwareBalancingPolicy) loadBalancingPolicy).onFailure(hostPools.get(cassandraHost));
+            return claimPool(getPoolUsingPolicy());
+        }
+        endpointPools.values().remove(hostPools.remove(cassandraHost));
 
         if (cassandraHost.isRetryHost())
         {
@@ -235,24 +397,115 @@ public class ThriftClientFactory extends GenericClientFactory
             case LEASTACTIVE:
                 loadBalancingPolicy = new ThriftLeastActiveBalancingPolcy();
                 break;
+            case LATENCYAWARE:
+                loadBalancingPolicy = createLatencyAwarePolicy();
+                break;
             default:
                 loadBalancingPolicy = new RoundRobinBalancingPolicy();
                 break;
             }
         }
-        loadBalancingPolicy = new RoundRobinBalancingPolicy();
+        else
+        {
+            loadBalancingPolicy = new RoundRobinBalancingPolicy();
+        }
+    }
+
+    /**
+     * Creates latency aware policy, with circuit breaker thresholds read from
+     * connection properties.
+     * 
+     * @return latency aware policy.
+     */
+    private LatencyAwareBalancingPolicy createLatencyAwarePolicy()
+    {
+        Properties connectionProperties = CassandraPropertyReader.csmd.getConnectionProperties();
+        String failureThreshold = connectionProperties.getProperty(Constants.CIRCUIT_BREAKER_FAILURE_THRESHOLD);
+        String openTimeout = connectionProperties.getProperty(Constants.CIRCUIT_BREAKER_OPEN_TIMEOUT);
+        return new LatencyAwareBalancingPolicy(LatencyAwareBalancingPolicy.DEFAULT_ALPHA,
+                failureThreshold != null ? Integer.parseInt(failureThreshold)
+                        : LatencyAwareBalancingPolicy.DEFAULT_FAILURE_THRESHOLD,
+                openTimeout != null ? Long.parseLong(openTimeout)
+                        : LatencyAwareBalancingPolicy.DEFAULT_OPEN_TIMEOUT_MILLIS,
+                LatencyAwareBalancingPolicy.DEFAULT_DECAY_MILLIS);
+    }
+
+    private void onPoolAdded(Host host, ConnectionPool pool)
+    {
+        if (loadBalancingPolicy instanceof LatencyAwareBalancingPolicy)
+        {
+            ((LatencyAwareBalancingPolicy) loadBalancingPolicy).addPool(pool);
+        }
+
+        // ring describes endpoints by address.
+        try
+        {
+            endpointPools.put(InetAddress.getByName(host.getHost()).getHostAddress(), pool);
+        }
+        catch (UnknownHostException e)
+        {
+            logger.warn("Unable to resolve host {}, Caused by {} .", host.getHost(), e.getMessage());
+        }
+    }
+
+    /**
+     * Returns pool for next request of a client created on given pool. Latency
+     * aware policy picks pool per request, so that a client moves to the
+     * fastest healthy host. Other policies keep client on its pool.
+     * 
+     * @param clientPool
+     *            pool client was created on.
+     * @return pool to borrow connection from.
+     */
+    ConnectionPool selectPool(ConnectionPool clientPool)
+    {
+        return loadBalancingPolicy instanceof LatencyAwareBalancingPolicy ? getPoolUsingPolicy() : clientPool;
+    }
+
+    /**
+     * Returns given pool if its breaker lets request through, claiming
+     * recovery probe of host if due, else claims another selected pool.
+     * 
+     * @param pool
+     *            selected pool.
+     * @return pool to borrow connection from.
+     */
+    private ConnectionPool claimPool(ConnectionPool pool)
+    {
+        LatencyAwareBalancingPolicy policy = (LatencyAwareBalancingPolicy) loadBalancingPolicy;
+        ConnectionPool candidate = pool;
+        for (int i = 0; i <= hostPools.size(); i++)
+        {
+            if (policy.allowRequest(candidate))
+            {
+                return candidate;
+            }
+            // probe taken by another request meanwhile.
+            candidate = getPoolUsingPolicy();
+        }
+        throw new KunderaException("All hosts are down. please check servers manully.");
     }
 
     Connection getConnection(ConnectionPool pool)
     {
         ConnectionPool connectionPool = pool;
+        if (loadBalancingPolicy instanceof LatencyAwareBalancingPolicy)
+        {
+            // fail fast on a host with open breaker.
+            connectionPool = claimPool(connectionPool);
+        }
+        MetricsCollector metrics = kunderaMetadata.getApplicationMetadata().getMetricsCollector();
         boolean success = false;
         while (!success)
         {
+            String scope = metrics.isEnabled() ? connectionPool.getPoolProperties().getHost() + ":"
+                    + connectionPool.getPoolProperties().getPort() : null;
+            long start = metrics.startTimer();
             try
             {
                 success = true;
                 Cassandra.Client client = connectionPool.getConnection();
+                metrics.stopTimer(MetricsConstants.POOL_BORROW, scope, start);
 
                 if (logger.isDebugEnabled())
                 {
@@ -265,15 +518,58 @@ public class ThriftClientFactory extends GenericClientFactory
             catch (TException te)
             {
                 success = false;
-                logger.warn("{} :{}  host appears to be down, trying for next ", pool.getPoolProperties().getHost(),
-                        pool.getPoolProperties().getPort());
-                connectionPool = getNewPool(pool.getPoolProperties().getHost(), pool.getPoolProperties().getPort());
+                metrics.incrementCounter(MetricsConstants.POOL_BORROW_FAILURE, scope, 1);
+                logger.warn("{} :{}  host appears to be down, trying for next ", connectionPool.getPoolProperties()
+                        .getHost(), connectionPool.getPoolProperties().getPort());
+                connectionPool = getNewPool(connectionPool.getPoolProperties().getHost(), connectionPool
+                        .getPoolProperties().getPort());
             }
         }
 
         throw new KunderaException("All hosts are down. please check servers manully.");
     }
 
+    /**
+     * Releases connection to its pool.
+     * 
+     * @param conn
+     *            connection.
+     */
+    void releaseConnection(Connection conn)
+    {
+        releaseConnection(conn.getPool(), conn.pooledClient);
+    }
+
+    /**
+     * Returns client timing thrift calls of given pooled client, for latency
+     * aware policy. Timing client is kept for as long as pooled one, so that
+     * statements prepared per client stay valid across borrows.
+     * 
+     * @param client
+     *            pooled client.
+     * @param pool
+     *            pool of client.
+     * @return timing client, or given client for other policies.
+     */
+    private Cassandra.Client getTimedClient(Cassandra.Client client, ConnectionPool pool)
+    {
+        if (!(loadBalancingPolicy instanceof LatencyAwareBalancingPolicy))
+        {
+            return client;
+        }
+        synchronized (timedClients)
+        {
+            Cassandra.Client timedClient = timedClients.get(client);
+            if (timedClient == null)
+            {
+                timedClient = new Cassandra.Client(new TBinaryProtocol(new LatencyRecordingTransport(client
+                        .getOutputProtocol().getTransport(), (LatencyAwareBalancingPolicy) loadBalancingPolicy, pool)));
+                timedClients.put(client, timedClient);
+            }
+            return timedClient;
+        }
+    }
+
     void releaseConnection(ConnectionPool pool, Cassandra.Client conn)
     {
         if (pool != null && conn != null)
@@ -307,6 +603,7 @@ public class ThriftClientFactory extends GenericClientFactory
             }
             ConnectionPool pool = new ConnectionPool(prop);
             hostPools.put(cassandraHost, pool);
+            onPoolAdded(cassandraHost, pool);
             return true;
         }
         catch (TException e)
@@ -325,43 +622,40 @@ public class ThriftClientFactory extends GenericClientFactory
      */
     private class ThriftLeastActiveBalancingPolcy extends LeastActiveBalancingPolicy
     {
+        private final Random random = new Random();
 
         /**
          * 
          * @return pool object for host which has least active connections
-         *         determined by maxActive connection.
+         *         determined by maxActive connection, chosen at random among
+         *         pools tied on it.
          * 
          */
         @Override
         public Object getPool(Collection<Object> pools)
         {
-            List<Object> vals = Lists.newArrayList(pools);
-            Collections.shuffle(vals);
-            Collections.sort(vals, new ShufflingCompare());
-            Collections.reverse(vals);
-            Iterator<Object> iterator = vals.iterator();
-            Object concurrentConnectionPool = iterator.next();
-            return concurrentConnectionPool;
-        }
-
-        /**
-         * Compares two pool object on the basis of their maxActive connection.
-         * 
-         * @author Kuldeep Mishra
-         * 
-         */
-        private final class ShufflingCompare implements Comparator<Object>
-        {
-            public int compare(Object o1, Object o2)
+            // single pass instead of copying and sorting pools on every borrow,
+            // ties are broken by reservoir sampling so that idle hosts share
+            // load.
+            Object leastActive = null;
+            int maxAvailable = Integer.MIN_VALUE;
+            int ties = 0;
+            for (Object pool : pools)
             {
-                PoolConfiguration props1 = ((ConnectionPool) o1).getPoolProperties();
-                PoolConfiguration props2 = ((ConnectionPool) o2).getPoolProperties();
-
-                int activeConnections1 = ((ConnectionPool) o1).getActive();
-                int activeConnections2 = ((ConnectionPool) o2).getActive();
-
-                return (props1.getMaxActive() - activeConnections1) - (props2.getMaxActive() - activeConnections2);
+                ConnectionPool connectionPool = (ConnectionPool) pool;
+                int available = connectionPool.getPoolProperties().getMaxActive() - connectionPool.getActive();
+                if (available > maxAvailable)
+                {
+                    maxAvailable = available;
+                    leastActive = pool;
+                    ties = 1;
+                }
+                else if (available == maxAvailable && random.nextInt(++ties) == 0)
+                {
+                    leastActive = pool;
+                }
             }
+            return leastActive;
         }
     }
 
@@ -377,10 +671,14 @@ public class ThriftClientFactory extends GenericClientFactory
 
         private ConnectionPool pool;
 
+        /** Client to return to pool, differs from client when timed. */
+        private Cassandra.Client pooledClient;
+
         public Connection(org.apache.cassandra.thrift.Cassandra.Client client, ConnectionPool pool)
         {
-            this.client = client;
+            this.client = getTimedClient(client, pool);
             this.pool = pool;
+            this.pooledClient = client;
         }
 
         public Cassandra.Client getClient()
@@ -393,4 +691,95 @@ public class ThriftClientFactory extends GenericClientFactory
             return pool;
         }
     }
+
+    /**
+     * Transport recording time from sending a request until first byte of its
+     * response is read, as response time of host.
+     */
+    private static final class LatencyRecordingTransport extends TTransport
+    {
+        private final TTransport transport;
+
+        private final LatencyAwareBalancingPolicy policy;
+
+        private final ConnectionPool pool;
+
+        private long sentAt = -1;
+
+        private LatencyRecordingTransport(TTransport transport, LatencyAwareBalancingPolicy policy,
+                ConnectionPool pool)
+        {
+            this.transport = transport;
+            this.policy = policy;
+            this.pool = pool;
+        }
+
+        @Override
+        public boolean isOpen()
+        {
+            return transport.isOpen();
+        }
+
+        @Override
+        public void open() throws TTransportException
+        {
+            transport.open();
+        }
+
+        @Override
+        public void close()
+        {
+            transport.close();
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws TTransportException
+        {
+            int read = transport.read(buf, off, len);
+            if (sentAt != -1)
+            {
+                policy.onSuccess(pool, System.nanoTime() - sentAt);
+                sentAt = -1;
+            }
+            return read;
+        }
+
+        @Override
+        public void write(byte[] buf, int off, int len) throws TTransportException
+        {
+            transport.write(buf, off, len);
+        }
+
+        @Override
+        public void flush() throws TTransportException
+        {
+            transport.flush();
+            sentAt = System.nanoTime();
+        }
+
+        @Override
+        public byte[] getBuffer()
+        {
+            return transport.getBuffer();
+        }
+
+        @Override
+        public int getBufferPosition()
+        {
+            return transport.getBufferPosition();
+        }
+
+        @Override
+        public int getBytesRemainingInBuffer()
+        {
+            // response is read from transport first, before being buffered.
+            return sentAt != -1 ? -1 : transport.getBytesRemainingInBuffer();
+        }
+
+        @Override
+        public void consumeBuffer(int len)
+        {
+            transport.consumeBuffer(len);
+        }
+    }
 }
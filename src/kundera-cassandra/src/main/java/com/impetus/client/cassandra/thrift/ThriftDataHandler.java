@@ -17,7 +17,9 @@ package com.impetus.client.cassandra.thrift;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.CharacterCodingException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -112,6 +114,74 @@ public final class ThriftDataHandler extends CassandraDataHandlerBase implements
         }
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.client.cassandra.datahandler.CassandraDataHandlerBase#
+     * fromThriftRow(java.lang.Class,
+     * com.impetus.kundera.metadata.model.EntityMetadata, java.util.List,
+     * boolean, org.apache.cassandra.thrift.ConsistencyLevel,
+     * java.lang.Object[])
+     */
+    @Override
+    public List<Object> fromThriftRow(Class<?> clazz, EntityMetadata m, List<String> relationNames,
+            boolean isWrapReq, ConsistencyLevel consistencyLevel, Object... rowIds) throws Exception
+    {
+        if (!thriftClient.isMultigetEnabled() || rowIds == null || rowIds.length < 2)
+        {
+            return super.fromThriftRow(clazz, m, relationNames, isWrapReq, consistencyLevel, rowIds);
+        }
+
+        SlicePredicate predicate = new SlicePredicate();
+        predicate.setSlice_range(new SliceRange(ByteBufferUtil.EMPTY_BYTE_BUFFER, ByteBufferUtil.EMPTY_BYTE_BUFFER, true, 10000));
+
+        // row keys in requested order, mapped to entities populated so far.
+        Map<ByteBuffer, Object> entities = new LinkedHashMap<ByteBuffer, Object>();
+        for (Object rowKey : rowIds)
+        {
+            entities.put(ByteBuffer.wrap(PropertyAccessorHelper.toBytes(rowKey, m.getIdAttribute().getJavaType())),
+                    null);
+        }
+        List<ByteBuffer> keys = new ArrayList<ByteBuffer>(entities.keySet());
+
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                m.getPersistenceUnit());
+
+        AbstractManagedType managedType = (AbstractManagedType) metaModel.entity(m.getEntityClazz());
+
+        // For secondary tables.
+        List<String> secondaryTables = ((DefaultEntityAnnotationProcessor) managedType.getEntityAnnotation())
+                .getSecondaryTablesName();
+        secondaryTables.add(m.getTableName());
+
+        for (String tableName : secondaryTables)
+        {
+            Map<ByteBuffer, List<ColumnOrSuperColumn>> slices = thriftClient.multigetSlice(m.getSchema(), tableName,
+                    keys, predicate, consistencyLevel);
+            for (ByteBuffer key : keys)
+            {
+                List<ColumnOrSuperColumn> columnOrSuperColumns = slices.get(key);
+                if (columnOrSuperColumns != null && !columnOrSuperColumns.isEmpty())
+                {
+                    Map<ByteBuffer, List<ColumnOrSuperColumn>> thriftColumnOrSuperColumns = new HashMap<ByteBuffer, List<ColumnOrSuperColumn>>();
+                    thriftColumnOrSuperColumns.put(key, columnOrSuperColumns);
+                    entities.put(key, populateEntityFromSlice(m, relationNames, isWrapReq,
+                            CassandraUtilities.getEntity(entities.get(key)), thriftColumnOrSuperColumns));
+                }
+            }
+        }
+
+        List<Object> results = new ArrayList<Object>(entities.size());
+        for (Object e : entities.values())
+        {
+            if (e != null)
+            {
+                results.add(e);
+            }
+        }
+        return results;
+    }
+
     @Override
     public <E> E fromThriftRow(Class<E> clazz, EntityMetadata m, DataRow<SuperColumn> tr) throws Exception
     {
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.cassandra.thrift;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.cassandra.dht.IPartitioner;
+import org.apache.cassandra.dht.Token;
+import org.apache.cassandra.thrift.Cassandra;
+import org.apache.cassandra.thrift.TokenRange;
+import org.apache.cassandra.utils.FBUtilities;
+
+/**
+ * Snapshot of token ranges of a keyspace and their replica endpoints, as
+ * described by a cassandra node. Used to route row keys to a replica owning
+ * them.
+ */
+final class TokenRing
+{
+    private final IPartitioner partitioner;
+
+    /** Range end tokens in ring order. */
+    private final List<Token> endTokens;
+
+    /** Replica endpoints of range ending at token of same index. */
+    private final List<List<String>> endpoints;
+
+    TokenRing(IPartitioner partitioner, List<TokenRange> ranges)
+    {
+        this.partitioner = partitioner;
+        final Token.TokenFactory tokenFactory = partitioner.getTokenFactory();
+        List<TokenRange> sorted = new ArrayList<TokenRange>(ranges);
+        Collections.sort(sorted, new Comparator<TokenRange>()
+        {
+            @Override
+            public int compare(TokenRange r1, TokenRange r2)
+            {
+                return tokenFactory.fromString(r1.getEnd_token()).compareTo(
+                        tokenFactory.fromString(r2.getEnd_token()));
+            }
+        });
+        this.endTokens = new ArrayList<Token>(sorted.size());
+        this.endpoints = new ArrayList<List<String>>(sorted.size());
+        for (TokenRange range : sorted)
+        {
+            endTokens.add(tokenFactory.fromString(range.getEnd_token()));
+            endpoints.add(range.getEndpoints() != null ? range.getEndpoints() : Collections.<String> emptyList());
+        }
+    }
+
+    /**
+     * Describes ring of keyspace through given connection.
+     *
+     * @param client
+     *            cassandra connection.
+     * @param keyspace
+     *            keyspace.
+     * @return token ring.
+     * @throws Exception
+     *             if ring or partitioner can not be described.
+     */
+    static TokenRing describe(Cassandra.Client client, String keyspace) throws Exception
+    {
+        IPartitioner partitioner = FBUtilities.newPartitioner(client.describe_partitioner());
+        return new TokenRing(partitioner, client.describe_ring(keyspace));
+    }
+
+    /**
+     * Returns replica endpoints owning row key, empty if none is known.
+     *
+     * @param key
+     *            row key.
+     * @return replica endpoints.
+     */
+    List<String> getEndpoints(ByteBuffer key)
+    {
+        if (endTokens.isEmpty())
+        {
+            return Collections.<String> emptyList();
+        }
+
+        // ranges are (start, end], owner is first range ending at or after
+        // token, wrapping around to first range.
+        int index = Collections.binarySearch(endTokens, partitioner.getToken(key));
+        if (index < 0)
+        {
+            index = -index - 1;
+        }
+        return endpoints.get(index < endTokens.size() ? index : 0);
+    }
+
+    /**
+     * Groups row keys by pool of first replica owning them that has a pool.
+     * Keys without such replica go to default pool.
+     *
+     * @param keys
+     *            row keys.
+     * @param poolsByEndpoint
+     *            pools by endpoint address.
+     * @param defaultPool
+     *            pool for keys without known replica.
+     * @return row keys by pool.
+     */
+    <P> Map<P, List<ByteBuffer>> groupByReplica(List<ByteBuffer> keys, Map<String, P> poolsByEndpoint, P defaultPool)
+    {
+        Map<P, List<ByteBuffer>> keysByPool = new HashMap<P, List<ByteBuffer>>();
+        for (ByteBuffer key : keys)
+        {
+            P replicaPool = null;
+            for (String endpoint : getEndpoints(key))
+            {
+                replicaPool = poolsByEndpoint.get(endpoint);
+                if (replicaPool != null)
+                {
+                    break;
+                }
+            }
+            if (replicaPool == null)
+            {
+                replicaPool = defaultPool;
+            }
+            List<ByteBuffer> replicaKeys = keysByPool.get(replicaPool);
+            if (replicaKeys == null)
+            {
+                replicaKeys = new ArrayList<ByteBuffer>();
+                keysByPool.put(replicaPool, replicaKeys);
+            }
+            replicaKeys.add(key);
+        }
+        return keysByPool;
+    }
+}
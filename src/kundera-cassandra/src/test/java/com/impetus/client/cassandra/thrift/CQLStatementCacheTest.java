@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.cassandra.thrift;
+
+import junit.framework.Assert;
+
+import org.apache.cassandra.thrift.InvalidRequestException;
+import org.junit.Test;
+
+import com.impetus.client.cassandra.thrift.CQLStatementCache.Operation;
+
+/**
+ * Test case for {@link CQLStatementCache}.
+ */
+public class CQLStatementCacheTest
+{
+    @Test
+    public void testPutAndGet()
+    {
+        CQLStatementCache cache = new CQLStatementCache(10);
+        cache.putStatement(PersonIdentity.class, Operation.DELETE, "PERSON", "DELETE FROM \"PERSON\" WHERE \"key\"=?");
+
+        Assert.assertEquals("DELETE FROM \"PERSON\" WHERE \"key\"=?",
+                cache.getStatement(PersonIdentity.class, Operation.DELETE, "PERSON"));
+        Assert.assertNull(cache.getStatement(PersonIdentity.class, Operation.SELECT_BY_ID, "PERSON"));
+        Assert.assertNull(cache.getStatement(Phone.class, Operation.DELETE, "PERSON"));
+
+        cache.clear();
+        Assert.assertNull(cache.getStatement(PersonIdentity.class, Operation.DELETE, "PERSON"));
+    }
+
+    @Test
+    public void testEviction()
+    {
+        CQLStatementCache cache = new CQLStatementCache(2);
+        cache.putStatement(Phone.class, Operation.INSERT, "a", "a");
+        cache.putStatement(Phone.class, Operation.INSERT, "b", "b");
+
+        // touch "a", so "b" is least recently used.
+        Assert.assertEquals("a", cache.getStatement(Phone.class, Operation.INSERT, "a"));
+        cache.putStatement(Phone.class, Operation.INSERT, "c", "c");
+
+        Assert.assertEquals("a", cache.getStatement(Phone.class, Operation.INSERT, "a"));
+        Assert.assertNull(cache.getStatement(Phone.class, Operation.INSERT, "b"));
+        Assert.assertEquals("c", cache.getStatement(Phone.class, Operation.INSERT, "c"));
+    }
+
+    @Test
+    public void testUnknownPreparedId()
+    {
+        Assert.assertTrue(CQLStatementCache.isUnknownPreparedId(new InvalidRequestException(
+                "Prepared query with ID 12 not found (either the query was not prepared on this host (maybe the host "
+                        + "has been restarted?) or you have prepared too many queries and it has been evicted "
+                        + "from the internal cache)")));
+
+        // other rejections are not retried.
+        Assert.assertFalse(CQLStatementCache.isUnknownPreparedId(new InvalidRequestException(
+                "unconfigured columnfamily PERSON")));
+        Assert.assertFalse(CQLStatementCache.isUnknownPreparedId(new InvalidRequestException()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSize()
+    {
+        new CQLStatementCache(0);
+    }
+}
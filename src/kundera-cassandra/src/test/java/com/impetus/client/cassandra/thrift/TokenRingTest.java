@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.cassandra.thrift;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.Assert;
+
+import org.apache.cassandra.dht.OrderPreservingPartitioner;
+import org.apache.cassandra.thrift.TokenRange;
+import org.apache.cassandra.utils.ByteBufferUtil;
+import org.junit.Test;
+
+/**
+ * Test case for {@link TokenRing}, over a synthetic ring of order preserving
+ * partitioner, whose tokens are row keys themselves.
+ */
+public class TokenRingTest
+{
+    /** Ranges (z, g], (g, p] and (p, z], given out of ring order. */
+    private final TokenRing ring = new TokenRing(new OrderPreservingPartitioner(), Arrays.asList(
+            range("g", "p", "10.0.0.2", "10.0.0.3"), range("z", "g", "10.0.0.1", "10.0.0.2"),
+            range("p", "z", "10.0.0.3", "10.0.0.1")));
+
+    @Test
+    public void testGetEndpoints()
+    {
+        Assert.assertEquals(Arrays.asList("10.0.0.1", "10.0.0.2"), ring.getEndpoints(key("a")));
+        Assert.assertEquals(Arrays.asList("10.0.0.1", "10.0.0.2"), ring.getEndpoints(key("g")));
+        Assert.assertEquals(Arrays.asList("10.0.0.2", "10.0.0.3"), ring.getEndpoints(key("h")));
+        Assert.assertEquals(Arrays.asList("10.0.0.3", "10.0.0.1"), ring.getEndpoints(key("q")));
+
+        // past last range, wraps around to first one.
+        Assert.assertEquals(Arrays.asList("10.0.0.1", "10.0.0.2"), ring.getEndpoints(key("zz")));
+    }
+
+    @Test
+    public void testEmptyRing()
+    {
+        TokenRing empty = new TokenRing(new OrderPreservingPartitioner(), new ArrayList<TokenRange>());
+        Assert.assertTrue(empty.getEndpoints(key("a")).isEmpty());
+
+        Map<String, List<ByteBuffer>> groups = empty.groupByReplica(Arrays.asList(key("a"), key("h")),
+                new HashMap<String, String>(), "default");
+        Assert.assertEquals(1, groups.size());
+        Assert.assertEquals(2, groups.get("default").size());
+    }
+
+    @Test
+    public void testGroupByReplica()
+    {
+        Map<String, String> poolsByEndpoint = new HashMap<String, String>();
+        poolsByEndpoint.put("10.0.0.1", "pool1");
+        poolsByEndpoint.put("10.0.0.2", "pool2");
+
+        Map<String, List<ByteBuffer>> groups = ring.groupByReplica(
+                Arrays.asList(key("a"), key("h"), key("i"), key("q"), key("zz")), poolsByEndpoint, "default");
+
+        Assert.assertEquals(2, groups.size());
+        Assert.assertEquals(Arrays.asList(key("h"), key("i")), groups.get("pool2"));
+
+        // first replica of q has no pool, goes to next one.
+        Assert.assertEquals(Arrays.asList(key("a"), key("q"), key("zz")), groups.get("pool1"));
+
+        // no replica of q has a pool.
+        poolsByEndpoint.remove("10.0.0.1");
+        groups = ring.groupByReplica(Arrays.asList(key("q"), key("a")), poolsByEndpoint, "default");
+        Assert.assertEquals(Arrays.asList(key("q")), groups.get("default"));
+        Assert.assertEquals(Arrays.asList(key("a")), groups.get("pool2"));
+    }
+
+    private static TokenRange range(String start, String end, String... endpoints)
+    {
+        return new TokenRange(start, end, Arrays.asList(endpoints));
+    }
+
+    private static ByteBuffer key(String key)
+    {
+        return ByteBufferUtil.bytes(key);
+    }
+}
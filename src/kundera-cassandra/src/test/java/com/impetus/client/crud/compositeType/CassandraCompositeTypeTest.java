@@ -41,6 +41,7 @@ import com.impetus.client.cassandra.common.CassandraConstants;
 import com.impetus.client.crud.compositeType.CassandraPrimeUser.NickName;
 import com.impetus.client.persistence.CassandraCli;
 import com.impetus.kundera.client.Client;
+import com.impetus.kundera.persistence.EntityManagerImpl;
 
 /**
  * Junit test case for Compound/Composite key.
@@ -295,6 +296,42 @@ public class CassandraCompositeTypeTest
         deleteNamed();
     }
 
+    @Test
+    public void onFindByKeys()
+    {
+        emf = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT);
+        EntityManager em = emf.createEntityManager();
+        Map<String, Client> clients = (Map<String, Client>) em.getDelegate();
+        Client client = clients.get(PERSISTENCE_UNIT);
+        ((CassandraClientBase) client).setCqlVersion(CassandraConstants.CQL_VERSION_3_0);
+
+        UUID timeLineId = UUID.randomUUID();
+        CassandraCompoundKey[] keys = new CassandraCompoundKey[3];
+        for (int i = 0; i < keys.length; i++)
+        {
+            keys[i] = new CassandraCompoundKey("mevivs", i + 1, timeLineId);
+            CassandraPrimeUser user = new CassandraPrimeUser(keys[i]);
+            user.setTweetBody("tweet " + (i + 1));
+            user.setTweetDate(currentDate);
+            em.persist(user);
+        }
+        em.flush();
+        em.clear();
+
+        // embedded ids are found key by key.
+        List<CassandraPrimeUser> results = ((EntityManagerImpl) em).find(CassandraPrimeUser.class, keys[0], keys[2],
+                new CassandraCompoundKey("mevivs", 4, timeLineId));
+        Assert.assertEquals(2, results.size());
+        for (CassandraPrimeUser result : results)
+        {
+            Assert.assertEquals("tweet " + result.getKey().getTweetId(), result.getTweetBody());
+        }
+
+        Assert.assertTrue(client.findAll(CassandraPrimeUser.class, null,
+                new CassandraCompoundKey("mevivs", 5, timeLineId)).isEmpty());
+        em.close();
+    }
+
     @Test
     public void onLimit()
     {
@@ -35,6 +35,8 @@ import com.impetus.client.cassandra.common.CassandraConstants;
 import com.impetus.client.cassandra.thrift.ThriftClient;
 import com.impetus.client.persistence.CassandraCli;
 import com.impetus.kundera.client.Client;
+import com.impetus.kundera.persistence.EntityManagerImpl;
+import com.impetus.kundera.persistence.PersistenceDelegator;
 
 /**
  * Junit for abstract entity class's operation.
@@ -110,6 +112,56 @@ public class InheritenceDomainTest
                                                               // version to 2.0
     }
 
+    /**
+     * Test find by many keys over abstract entity and its sub classes.
+     */
+    @Test
+    public void testFindByKeys()
+    {
+        FacebookProfile fbprofile = new FacebookProfile();
+        fbprofile.setId(201l);
+        fbprofile.setFacebookId("fb1");
+        fbprofile.setFacebookUser("facebook");
+        fbprofile.setuserType("dumbo");
+        emThrift.persist(fbprofile);
+
+        for (long id = 202l; id <= 203l; id++)
+        {
+            TwitterProfile twprofile = new TwitterProfile();
+            twprofile.setTwitterId("tw" + id);
+            twprofile.setTwitterName("test" + id);
+            twprofile.setId(id);
+            twprofile.setuserType("dumbo");
+            emThrift.persist(twprofile);
+        }
+        emThrift.clear();
+
+        List<SocialProfile> profiles = ((EntityManagerImpl) emThrift).find(SocialProfile.class, 201l, 202l, 203l,
+                204l);
+        Assert.assertEquals(3, profiles.size());
+        int twitterProfiles = 0;
+        for (SocialProfile profile : profiles)
+        {
+            if (profile instanceof TwitterProfile)
+            {
+                twitterProfiles++;
+                Assert.assertEquals("test" + profile.getId(), ((TwitterProfile) profile).getTwitterName());
+            }
+            else
+            {
+                Assert.assertEquals(FacebookProfile.class, profile.getClass());
+            }
+        }
+        Assert.assertEquals(2, twitterProfiles);
+        emThrift.clear();
+
+        List<TwitterProfile> twitter = ((EntityManagerImpl) emThrift).find(TwitterProfile.class, 202l, 203l);
+        Assert.assertEquals(2, twitter.size());
+        emThrift.clear();
+
+        Assert.assertTrue(((EntityManagerImpl) emThrift).find(SocialProfile.class, 301l, 302l).isEmpty());
+    }
+
     // TODO:: enable once
     // https://github.com/impetus-opensource/Kundera/issues/456 is fixed!
     // @Test
@@ -17,8 +17,13 @@ package com.impetus.kundera.query;
 
 
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.UUID;
 
 import javax.persistence.EntityManager;
@@ -35,6 +40,7 @@ import org.slf4j.LoggerFactory;
 import com.impetus.client.crud.compositeType.CassandraCompoundKey;
 import com.impetus.client.crud.compositeType.CassandraPrimeUser;
 import com.impetus.client.persistence.CassandraCli;
+import com.impetus.kundera.PersistenceProperties;
 
 /**
  * @author chhavi.gangwal
@@ -82,6 +88,53 @@ public class ResultIteratorEmbeddableTest
         onScroll();
     }
 
+    /**
+     * Scrolls, in pages of 2, over several partitions, one of which holds
+     * more rows than a page, so that pages continue by clustering column
+     * within a partition.
+     */
+    @Test
+    public void testScrollOverPages() throws Exception
+    {
+        em.close();
+        emf.close();
+        Map<String, String> props = new HashMap<String, String>();
+        props.put(PersistenceProperties.KUNDERA_QUERY_PAGE_SIZE, "2");
+        emf = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT, props);
+        em = emf.createEntityManager();
+
+        for (int tweetId = 1; tweetId <= 5; tweetId++)
+        {
+            em.persist(prepareData("1", tweetId));
+        }
+        em.persist(prepareData("2", 1));
+        em.persist(prepareData("3", 1));
+        em.flush();
+        em.clear();
+
+        Query query = (Query) em.createQuery("Select p from CassandraPrimeUser p", CassandraPrimeUser.class);
+        query.setFetchSize(null);
+        Set<String> keys = new HashSet<String>();
+        Iterator<CassandraPrimeUser> users = query.iterate();
+        while (users.hasNext())
+        {
+            CassandraCompoundKey key = users.next().getKey();
+            Assert.assertTrue(keys.add(key.getUserId() + ":" + key.getTweetId()));
+        }
+        Assert.assertEquals(7, keys.size());
+
+        assertOnFetch(query, 4, 7);
+
+        query = (Query) em.createQuery("Select p from CassandraPrimeUser p where p.key.userId = 'mevivs1'",
+                CassandraPrimeUser.class);
+        query.setFetchSize(null);
+        IResultIterator<CassandraPrimeUser> chunks = (IResultIterator<CassandraPrimeUser>) query.iterate();
+        List<CassandraPrimeUser> chunk = chunks.next(3);
+        Assert.assertEquals(3, chunk.size());
+        Assert.assertEquals(2, chunks.next(3).size());
+        Assert.assertFalse(chunks.hasNext());
+    }
+
   
     private void onScroll()
     {
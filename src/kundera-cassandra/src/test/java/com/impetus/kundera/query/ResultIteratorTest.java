@@ -16,9 +16,12 @@
 package com.impetus.kundera.query;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
@@ -33,8 +36,12 @@ import com.impetus.client.crud.BaseTest;
 import com.impetus.client.crud.PersonCassandra;
 import com.impetus.client.crud.Token;
 import com.impetus.client.crud.TokenClient;
+import com.impetus.client.entity.PromoCode;
+import com.impetus.client.entity.Users;
 import com.impetus.client.persistence.CassandraCli;
+import com.impetus.kundera.CoreTestUtilities;
 import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.persistence.context.CacheBase;
 
 /**
  * @author vivek.mishra
@@ -59,12 +66,24 @@ public class ResultIteratorTest extends BaseTest
      */
     public void setUp(final String persistenceUnit,final String keyspace, final String cqlVersion) throws Exception
     {
-        
+        setUp(persistenceUnit, keyspace, cqlVersion, null);
+    }
+
+    /**
+     * Sets up with given query page size, or default one if null.
+     */
+    public void setUp(final String persistenceUnit, final String keyspace, final String cqlVersion,
+            final Integer pageSize) throws Exception
+    {
         CassandraCli.cassandraSetUp();
         CassandraCli.createKeySpace(keyspace);
         Map propertyMap = new HashMap();
         propertyMap.put(PersistenceProperties.KUNDERA_DDL_AUTO_PREPARE, "create");
         propertyMap.put(CassandraConstants.CQL_VERSION, cqlVersion);
+        if (pageSize != null)
+        {
+            propertyMap.put(PersistenceProperties.KUNDERA_QUERY_PAGE_SIZE, pageSize.toString());
+        }
 
         emf = Persistence.createEntityManagerFactory(persistenceUnit, propertyMap);
         em = emf.createEntityManager();
@@ -106,6 +125,77 @@ public class ResultIteratorTest extends BaseTest
    
    
 
+    @Test
+    public void testScrollOverPagesViaCQL3() throws Exception
+    {
+        setUp(SEC_IDX_CASSANDRA_TEST, "KunderaExamples", CassandraConstants.CQL_VERSION_3_0, 2);
+        onScrollOverPages();
+        tearDown("KunderaExamples");
+    }
+
+    @Test
+    public void testScrollOverPagesViaCQL2() throws Exception
+    {
+        setUp(SEC_IDX_CASSANDRA_TEST, "KunderaExamples", CassandraConstants.CQL_VERSION_2_0, 2);
+        onScrollOverPages();
+        tearDown("KunderaExamples");
+    }
+
+    @Test
+    public void testUpdateDeleteOverPagesViaCQL3() throws Exception
+    {
+        setUp(SEC_IDX_CASSANDRA_TEST, "KunderaExamples", CassandraConstants.CQL_VERSION_3_0, 2);
+        onUpdateDeleteOverPages();
+        tearDown("KunderaExamples");
+    }
+
+    @Test
+    public void testUpdateDeleteOverPagesViaCQL2() throws Exception
+    {
+        setUp(SEC_IDX_CASSANDRA_TEST, "KunderaExamples", CassandraConstants.CQL_VERSION_2_0, 2);
+        onUpdateDeleteOverPages();
+        tearDown("KunderaExamples");
+    }
+
+    @Test
+    public void testScrollOverInvertedIndex() throws Exception
+    {
+        setUp(SEC_IDX_CASSANDRA_TEST, "KunderaExamples", CassandraConstants.CQL_VERSION_2_0, 2);
+        for (int i = 1; i <= 5; i++)
+        {
+            Users user = new Users();
+            user.setUserId(i + "_u");
+            user.setFirstName("firstname");
+            PromoCode promoCode = new PromoCode();
+            promoCode.setPromoCodeId(i + "_p");
+            promoCode.setPromoCodeName("promoname");
+            user.getPromoCodes().add(promoCode);
+            em.persist(user);
+        }
+        em.clear();
+
+        Query query = (Query) em.createQuery("Select u from Users u where u.promoCodes.promoCodeName = :name",
+                Users.class);
+        query.setParameter("name", "promoname");
+
+        // index result is read at once, but must be served beyond first page.
+        query.setFetchSize(10);
+        Set<String> ids = new HashSet<String>();
+        Iterator<Users> users = query.iterate();
+        while (users.hasNext())
+        {
+            ids.add(users.next().getUserId());
+        }
+        Assert.assertEquals(5, ids.size());
+
+        query.setFetchSize(3);
+        IResultIterator<Users> chunks = (IResultIterator<Users>) query.iterate();
+        Assert.assertEquals(2, chunks.next(2).size());
+        Assert.assertEquals(1, chunks.next(2).size());
+        Assert.assertFalse(chunks.hasNext());
+        tearDown("KunderaExamples");
+    }
+
     @Test
     public void testCQL3ScrollAssociation() throws Exception 
     {
@@ -187,6 +277,89 @@ public class ResultIteratorTest extends BaseTest
      }
     
     
+    /**
+     * Scrolls over more rows than fit in a page of 2.
+     */
+    private void onScrollOverPages()
+    {
+        for (int i = 1; i <= 7; i++)
+        {
+            em.persist(prepareData(i + "", 10 + i));
+        }
+        em.flush();
+        em.clear();
+
+        Query query = (Query) em.createQuery("Select p from PersonCassandra p", PersonCassandra.class);
+        query.setFetchSize(null);
+        Set<String> ids = new HashSet<String>();
+        Iterator<PersonCassandra> persons = query.iterate();
+        while (persons.hasNext())
+        {
+            // pages must neither repeat nor skip rows.
+            Assert.assertTrue(ids.add(persons.next().getPersonId()));
+        }
+        Assert.assertEquals(7, ids.size());
+
+        assertOnFetch(query, 5, 7);
+
+        query = (Query) em.createQuery("Select p from PersonCassandra p where p.personName = vivek",
+                PersonCassandra.class);
+        query.setFetchSize(null);
+        IResultIterator<PersonCassandra> chunks = (IResultIterator<PersonCassandra>) query.iterate();
+        ids.clear();
+        List<PersonCassandra> chunk = chunks.next(3);
+        Assert.assertEquals(3, chunk.size());
+        for (PersonCassandra p : chunk)
+        {
+            ids.add(p.getPersonId());
+        }
+        chunk = chunks.next(3);
+        Assert.assertEquals(3, chunk.size());
+        for (PersonCassandra p : chunk)
+        {
+            ids.add(p.getPersonId());
+        }
+        Assert.assertEquals(1, chunks.next(3).size());
+        Assert.assertTrue(chunks.next(3).isEmpty());
+        Assert.assertEquals(6, ids.size());
+    }
+
+    /**
+     * Updates and deletes rows not selected by key, which are processed in
+     * chunks of a page of 2, next page being fetched while current one is
+     * flushed.
+     */
+    private void onUpdateDeleteOverPages() throws Exception
+    {
+        for (int i = 1; i <= 7; i++)
+        {
+            em.persist(prepareData(i + "", 10 + i));
+        }
+        em.flush();
+        em.clear();
+
+        CacheBase mainCache = CoreTestUtilities.getDelegator(em).getPersistenceCache().getMainCache();
+
+        Assert.assertEquals(7, em.createQuery("Update PersonCassandra p set p.personName = 'kuldeep'")
+                .executeUpdate());
+        // outside transaction, chunks are dropped from persistence context.
+        Assert.assertEquals(0, mainCache.size());
+
+        List<PersonCassandra> persons = em.createQuery("Select p from PersonCassandra p").getResultList();
+        Assert.assertEquals(7, persons.size());
+        for (PersonCassandra person : persons)
+        {
+            Assert.assertEquals("kuldeep", person.getPersonName());
+        }
+        em.clear();
+
+        // rows deleted in a chunk precede those of next page, every row is
+        // deleted exactly once.
+        Assert.assertEquals(7, em.createQuery("Delete from PersonCassandra p").executeUpdate());
+        Assert.assertEquals(0, mainCache.size());
+        Assert.assertTrue(em.createQuery("Select p from PersonCassandra p").getResultList().isEmpty());
+    }
+
     private void onScroll()
     {
         
@@ -24,7 +24,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javax.persistence.PersistenceException;
 import javax.persistence.metamodel.Attribute;
@@ -33,21 +35,32 @@ import javax.persistence.metamodel.SingularAttribute;
 
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
 import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.count.CountResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.deletebyquery.DeleteByQueryRequestBuilder;
 import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.MultiGetItemResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
+import org.elasticsearch.action.get.MultiGetRequestBuilder;
+import org.elasticsearch.action.get.MultiGetResponse;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.client.transport.TransportClient;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.get.GetField;
 import org.elasticsearch.index.query.FilterBuilder;
 import org.elasticsearch.index.query.FilterBuilders;
+import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.query.TermFilterBuilder;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHitField;
 import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.facet.FacetBuilders;
+import org.elasticsearch.search.sort.SortBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -67,7 +80,8 @@ import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
-import com.impetus.kundera.persistence.api.Batcher;
+import com.impetus.kundera.persistence.api.AsyncBatcher;
+import com.impetus.kundera.persistence.api.BatchFlusher;
 import com.impetus.kundera.persistence.context.jointable.JoinTableData;
 import com.impetus.kundera.property.PropertyAccessorFactory;
 import com.impetus.kundera.property.PropertyAccessorHelper;
@@ -78,7 +92,7 @@ import com.impetus.kundera.utils.KunderaCoreUtils;
  * @author vivek.mishra Elastic search client implementation on {@link Client}
  * 
  */
-public class ESClient extends ClientBase implements Client<ESQuery>, Batcher, ClientPropertiesSetter
+public class ESClient extends ClientBase implements Client<ESQuery>, AsyncBatcher, ClientPropertiesSetter
 {
 
     private ESClientFactory factory;
@@ -96,6 +110,9 @@ public class ESClient extends ClientBase implements Client<ESQuery>, Batcher, Cl
     /** batch size. */
     private int batchSize;
 
+    /** flusher of full batches, if batches are written asynchronously. */
+    private BatchFlusher batchFlusher;
+
     private Map clientProperties;
     
     private static final String KEY_SEPERATOR = "\001";
@@ -109,6 +126,12 @@ public class ESClient extends ClientBase implements Client<ESQuery>, Batcher, Cl
         this.txClient = client;
         this.reader = new ESEntityReader(kunderaMetadata);
         setBatchSize(getPersistenceUnit(), externalProperties);
+        if (batchSize > 0)
+        {
+            batchFlusher = BatchFlusher.getInstance(ESClient.class.getSimpleName(),
+                    KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata, getPersistenceUnit()),
+                    externalProperties);
+        }
     }
 
     @Override
@@ -247,33 +270,171 @@ public class ESClient extends ClientBase implements Client<ESQuery>, Batcher, Cl
         return result;
     }
 
-    List executeQuery(FilterBuilder filter, final EntityMetadata entityMetadata)
+    /**
+     * Searches documents of entity's type matching filter, in given order, and
+     * maps at most maxResults hits to entities. Hits are fetched page by page
+     * through a scroll, if more than one page is needed.
+     * 
+     * @param filter
+     *            filter, or null to match all documents
+     * @param entityMetadata
+     *            entity metadata
+     * @param sorts
+     *            sorts, or null to sort by score
+     * @param maxResults
+     *            maximum number of entities to return.
+     * @return entities, wrapped in {@link EnhanceEntity} if they hold
+     *         relations.
+     */
+    List executeQuery(FilterBuilder filter, final EntityMetadata entityMetadata, List<SortBuilder> sorts,
+            int maxResults)
     {
+        List results = new ArrayList();
+        ResultIterator iterator = new ResultIterator(this, entityMetadata, filter, sorts, null, maxResults);
+        while (iterator.hasNext())
+        {
+            results.add(iterator.next());
+        }
+        return results;
+    }
 
-        
-        Class clazz = entityMetadata.getEntityClazz();
+    /**
+     * Searches documents of entity's type matching filter, in given order.
+     * 
+     * @param filter
+     *            filter, or null to match all documents
+     * @param entityMetadata
+     *            entity metadata
+     * @param sorts
+     *            sorts, or null to sort by score
+     * @param size
+     *            number of hits to return, per page if scrolling
+     * @param scroll
+     *            true, to open a scroll over all hits
+     * @return search response.
+     */
+    SearchResponse search(FilterBuilder filter, final EntityMetadata entityMetadata, List<SortBuilder> sorts,
+            int size, boolean scroll)
+    {
+        SearchRequestBuilder builder = txClient.prepareSearch(entityMetadata.getSchema().toLowerCase())
+                .setTypes(entityMetadata.getTableName()).setQuery(getQuery(filter)).setSize(size);
+        if (sorts != null)
+        {
+            for (SortBuilder sort : sorts)
+            {
+                builder.addSort(sort);
+            }
+        }
+        if (scroll)
+        {
+            builder.setScroll(TimeValue.timeValueMillis(factory.getScrollKeepAlive()));
+        }
+        return builder.execute().actionGet();
+    }
+
+    /**
+     * Fetches next page of an open scroll, keeping it alive.
+     * 
+     * @param scrollId
+     *            scroll id of previous page.
+     * @return search response, with no hits if scroll is exhausted.
+     */
+    SearchResponse scroll(String scrollId)
+    {
+        return txClient.prepareSearchScroll(scrollId)
+                .setScroll(TimeValue.timeValueMillis(factory.getScrollKeepAlive())).execute().actionGet();
+    }
+
+    /**
+     * @return number of hits fetched per page while scrolling.
+     */
+    int getScrollPageSize()
+    {
+        return factory.getScrollPageSize();
+    }
 
+    EntityType getEntityType(final EntityMetadata entityMetadata)
+    {
         MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
                 entityMetadata.getPersistenceUnit());
+        return metaModel.entity(entityMetadata.getEntityClazz());
+    }
 
-        EntityType entityType = metaModel.entity(clazz);
-
-        List results = new ArrayList();
+    /**
+     * Maps source of search hit to a new entity.
+     * 
+     * @param hit
+     *            search hit
+     * @param entityMetadata
+     *            entity metadata
+     * @param entityType
+     *            entity type
+     * @return entity, wrapped in {@link EnhanceEntity} if it holds relations.
+     */
+    Object toEntity(SearchHit hit, final EntityMetadata entityMetadata, EntityType entityType)
+    {
+        Object entity = getInstance(entityMetadata.getEntityClazz(), null);
+        return wrap(hit.sourceAsMap(), entityType, entity, entityMetadata, false);
+    }
 
-        SearchResponse response = txClient.prepareSearch(entityMetadata.getSchema().toLowerCase())
-                .setTypes(entityMetadata.getTableName()).setFilter(filter).execute().actionGet();
-        SearchHits hits = response.getHits();
+    /**
+     * Deletes all documents of entity's type matching filter. Delete by query
+     * does not report deleted documents, so matching ones are counted first,
+     * after a refresh of index. Count is approximate, as documents written
+     * concurrently between count and delete are not accounted for.
+     * 
+     * @param filter
+     *            filter, or null to delete all documents
+     * @param entityMetadata
+     *            entity metadata
+     * @return number of documents matching filter just before delete.
+     */
+    int deleteByQuery(FilterBuilder filter, final EntityMetadata entityMetadata)
+    {
+        String index = entityMetadata.getSchema().toLowerCase();
+        QueryBuilder query = getQuery(filter);
 
-        Object entity = null;
+        // count documents indexed but not yet visible to search as well.
+        txClient.admin().indices().prepareRefresh(index).execute().actionGet();
+        CountResponse count = txClient.prepareCount(index).setTypes(entityMetadata.getTableName()).setQuery(query)
+                .execute().actionGet();
+        txClient.prepareDeleteByQuery(index).setTypes(entityMetadata.getTableName()).setQuery(query).execute()
+                .actionGet();
+        return (int) count.getCount();
+    }
 
-        for (SearchHit hit : hits.getHits())
+    /**
+     * Searches documents of entity's type matching filter, computing a
+     * statistical facet, named after column, for each of given numeric
+     * columns. No hit is returned, only their total.
+     * 
+     * @param filter
+     *            filter, or null to match all documents
+     * @param entityMetadata
+     *            entity metadata
+     * @param columns
+     *            numeric columns, null is ignored
+     * @return search response.
+     */
+    SearchResponse executeStatisticalQuery(FilterBuilder filter, final EntityMetadata entityMetadata,
+            Set<String> columns)
+    {
+        SearchRequestBuilder builder = txClient.prepareSearch(entityMetadata.getSchema().toLowerCase())
+                .setTypes(entityMetadata.getTableName()).setQuery(getQuery(filter)).setSize(0);
+        for (String column : columns)
         {
-            entity = getInstance(clazz, entity);
-            Map<String, Object> hitResult = hit.sourceAsMap();
-            results.add(wrap(hitResult, entityType, entity,entityMetadata, false));
+            if (column != null)
+            {
+                builder.addFacet(FacetBuilders.statisticalFacet(column).field(column));
+            }
         }
+        return builder.execute().actionGet();
+    }
 
-        return results;
+    private QueryBuilder getQuery(FilterBuilder filter)
+    {
+        return filter != null ? QueryBuilders.filteredQuery(QueryBuilders.matchAllQuery(), filter) : QueryBuilders
+                .matchAllQuery();
     }
 
     private Object wrap(Map<String, Object> results, EntityType entityType, Object result, EntityMetadata metadata, boolean isIdSet)
@@ -316,10 +477,78 @@ public class ESClient extends ClientBase implements Client<ESQuery>, Batcher, Cl
         return relations.isEmpty() ? result : new EnhanceEntity(result, key, relations);
     }
 
+    /**
+     * Fetches documents of given keys via multi get requests, of at most
+     * {@link ESConstants#MULTIGET_BATCH_SIZE} documents each. Only given
+     * columns are fetched, if any. Keys with no document are skipped.
+     */
     @Override
     public <E> List<E> findAll(Class<E> entityClass, String[] columnsToSelect, Object... keys)
     {
-        return null;
+        List results = new ArrayList();
+        if (keys == null || keys.length == 0)
+        {
+            return results;
+        }
+
+        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                metadata.getPersistenceUnit());
+        EntityType entityType = metaModel.entity(metadata.getEntityClazz());
+
+        String index = metadata.getSchema().toLowerCase();
+        boolean projected = columnsToSelect != null && columnsToSelect.length > 0;
+        int batchSize = factory.getMultigetBatchSize();
+
+        Map<String, Object> keysById = new HashMap<String, Object>(keys.length);
+        for (int start = 0; start < keys.length; start += batchSize)
+        {
+            MultiGetRequestBuilder request = txClient.prepareMultiGet();
+            for (int i = start; i < Math.min(start + batchSize, keys.length); i++)
+            {
+                String keyAsString = getKeyAsString(keys[i], metadata, metaModel);
+                keysById.put(keyAsString, keys[i]);
+                MultiGetRequest.Item item = new MultiGetRequest.Item(index, metadata.getTableName(), keyAsString);
+                if (projected)
+                {
+                    item.fields(columnsToSelect);
+                }
+                request.add(item);
+            }
+
+            MultiGetResponse response = request.execute().actionGet();
+            for (MultiGetItemResponse itemResponse : response)
+            {
+                if (itemResponse.isFailed())
+                {
+                    log.error("Error while find record of {}, Caused by :{}.", entityClass.getSimpleName(),
+                            itemResponse.getFailure().getMessage());
+                    throw new PersistenceException(itemResponse.getFailure().getMessage());
+                }
+
+                GetResponse get = itemResponse.getResponse();
+                if (get.isExists())
+                {
+                    Object result = getInstance(entityClass, null);
+                    PropertyAccessorHelper.setId(result, metadata, keysById.get(get.getId()));
+                    results.add(wrap(projected ? getFields(get) : get.getSource(), entityType, result, metadata,
+                            true));
+                }
+            }
+            keysById.clear();
+        }
+
+        return results;
+    }
+
+    private Map<String, Object> getFields(GetResponse get)
+    {
+        Map<String, Object> fields = new HashMap<String, Object>();
+        for (GetField field : get.getFields().values())
+        {
+            fields.put(field.getName(), field.getValue());
+        }
+        return fields;
     }
 
     @Override
@@ -331,6 +560,10 @@ public class ESClient extends ClientBase implements Client<ESQuery>, Batcher, Cl
     @Override
     public void close()
     {
+        if (batchFlusher != null)
+        {
+            batchFlusher.shutdown();
+        }
         clear();
         reader = null;
     }
@@ -579,19 +812,68 @@ public class ESClient extends ClientBase implements Client<ESQuery>, Batcher, Cl
     {
         if (batchSize > 0 && batchSize == nodes.size())
         {
-            executeBatch();
-            nodes.clear();
+            if (batchFlusher != null)
+            {
+                executeBatchAsync();
+            }
+            else
+            {
+                executeBatch();
+                nodes.clear();
+            }
         }
     }
 
     @Override
     public int executeBatch()
+    {
+        if (batchFlusher != null)
+        {
+            executeBatchAsync();
+            return batchFlusher.await();
+        }
+        return executeBatch(nodes);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.persistence.api.AsyncBatcher#executeBatchAsync()
+     */
+    @Override
+    public Future<Integer> executeBatchAsync()
+    {
+        if (batchFlusher == null)
+        {
+            throw new IllegalStateException("Asynchronous batching is not enabled, please set "
+                    + PersistenceProperties.KUNDERA_BATCH_ASYNC + ".");
+        }
+        final List<Node> batch = nodes;
+        nodes = new ArrayList<Node>();
+        return batchFlusher.submit(new Callable<Integer>()
+        {
+            @Override
+            public Integer call()
+            {
+                return executeBatch(batch);
+            }
+        });
+    }
+
+    /**
+     * Writes batch of nodes as a single bulk request.
+     * 
+     * @param batch
+     *            nodes to be written.
+     * @return number of bulk items executed.
+     */
+    private int executeBatch(List<Node> batch)
     {
         BulkRequestBuilder bulkRequest = txClient.prepareBulk();
 
         try
         {
-            for (Node node : nodes)
+            for (Node node : batch)
             {
                 if (node.isDirty())
                 {
@@ -646,7 +928,7 @@ public class ESClient extends ClientBase implements Client<ESQuery>, Batcher, Cl
             }
 
             BulkResponse response = null;
-            if (nodes != null && !nodes.isEmpty())
+            if (batch != null && !batch.isEmpty())
             {
                 // bulkRequest.setRefresh(true);
                 response = bulkRequest.execute().actionGet();
@@ -655,7 +937,7 @@ public class ESClient extends ClientBase implements Client<ESQuery>, Batcher, Cl
         }
         finally
         {
-            clear();
+            batch.clear();
         }
 
     }
@@ -752,7 +1034,7 @@ public class ESClient extends ClientBase implements Client<ESQuery>, Batcher, Cl
 
     private Object onEnum(Attribute attribute, Object fieldValue)
     {
-        if (((Field) attribute.getJavaMember()).getType().isEnum())
+        if (fieldValue != null && ((Field) attribute.getJavaMember()).getType().isEnum())
         {
             EnumAccessor accessor = new EnumAccessor();
             fieldValue = accessor.fromString(((AbstractAttribute) attribute).getBindableJavaType(),
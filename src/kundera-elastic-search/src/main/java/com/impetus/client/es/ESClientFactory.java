@@ -35,6 +35,11 @@ import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
  */
 public class ESClientFactory extends GenericClientFactory
 {
+    private int multigetBatchSize = ESConstants.DEFAULT_MULTIGET_BATCH_SIZE;
+
+    private int scrollPageSize = ESConstants.DEFAULT_SCROLL_PAGE_SIZE;
+
+    private int scrollKeepAlive = ESConstants.DEFAULT_SCROLL_KEEP_ALIVE;
 
     /*
      * (non-Javadoc)
@@ -82,7 +87,50 @@ public class ESClientFactory extends GenericClientFactory
         this.propertyReader = new ESClientPropertyReader(externalProperties, kunderaMetadata.getApplicationMetadata()
                 .getPersistenceUnitMetadata(getPersistenceUnit()));
         propertyReader.read(getPersistenceUnit());
-        
+
+        Properties properties = ((ESClientPropertyReader) propertyReader).getConnectionProperties();
+        multigetBatchSize = getPositiveInt(properties, ESConstants.MULTIGET_BATCH_SIZE, multigetBatchSize);
+        scrollPageSize = getPositiveInt(properties, ESConstants.SCROLL_PAGE_SIZE, scrollPageSize);
+        scrollKeepAlive = getPositiveInt(properties, ESConstants.SCROLL_KEEP_ALIVE, scrollKeepAlive);
+    }
+
+    private int getPositiveInt(Properties properties, String name, int defaultValue)
+    {
+        String value = properties != null ? properties.getProperty(name) : null;
+        if (value == null)
+        {
+            return defaultValue;
+        }
+        int intValue = Integer.parseInt(value);
+        if (intValue <= 0)
+        {
+            throw new IllegalArgumentException(name + " property must be numeric and > 0.");
+        }
+        return intValue;
+    }
+
+    /**
+     * @return maximum number of documents fetched by one multi get request.
+     */
+    int getMultigetBatchSize()
+    {
+        return multigetBatchSize;
+    }
+
+    /**
+     * @return number of hits fetched per page while scrolling.
+     */
+    int getScrollPageSize()
+    {
+        return scrollPageSize;
+    }
+
+    /**
+     * @return time in milliseconds for which scroll is kept alive.
+     */
+    int getScrollKeepAlive()
+    {
+        return scrollKeepAlive;
     }
 
     /*
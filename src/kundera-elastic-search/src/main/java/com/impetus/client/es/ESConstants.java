@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.es;
+
+/**
+ * Holds constants for kundera-elastic-search module, read from connection
+ * properties of client configuration. Bulk settings of
+ * {@link com.impetus.client.es.index.ESIndexer} are read from properties of
+ * esindexer.xml instead.
+ */
+public interface ESConstants
+{
+    // maximum number of documents fetched by one multi get request.
+    public static final String MULTIGET_BATCH_SIZE = "multiget.batch.size";
+
+    public static final int DEFAULT_MULTIGET_BATCH_SIZE = 1000;
+
+    // number of hits fetched per page while scrolling through search results.
+    public static final String SCROLL_PAGE_SIZE = "scroll.page.size";
+
+    public static final int DEFAULT_SCROLL_PAGE_SIZE = 500;
+
+    // time in milliseconds for which scroll is kept alive between two pages.
+    public static final String SCROLL_KEEP_ALIVE = "scroll.keep.alive";
+
+    public static final int DEFAULT_SCROLL_KEEP_ALIVE = 60000;
+
+    // number of index and delete requests after which indexer sends a bulk.
+    public static final String BULK_ACTIONS = "bulk.actions";
+
+    public static final int DEFAULT_BULK_ACTIONS = 1000;
+
+    // maximum number of bulk requests in flight.
+    public static final String BULK_CONCURRENT_REQUESTS = "bulk.concurrent.requests";
+
+    public static final int DEFAULT_BULK_CONCURRENT_REQUESTS = 1;
+
+    // time in milliseconds after which buffered requests are sent anyway, 0
+    // to disable.
+    public static final String BULK_FLUSH_INTERVAL = "bulk.flush.interval";
+
+    public static final long DEFAULT_BULK_FLUSH_INTERVAL = 1000;
+}
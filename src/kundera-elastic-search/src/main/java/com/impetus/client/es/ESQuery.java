@@ -15,26 +15,43 @@
  ******************************************************************************/
 package com.impetus.client.es;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 
 import javax.persistence.Query;
+import javax.persistence.metamodel.Attribute;
 import javax.persistence.metamodel.EntityType;
 
+import org.apache.commons.lang.ClassUtils;
+import org.elasticsearch.action.search.SearchResponse;
+
 import org.elasticsearch.index.query.AndFilterBuilder;
 import org.elasticsearch.index.query.FilterBuilder;
 import org.elasticsearch.index.query.OrFilterBuilder;
 import org.elasticsearch.index.query.RangeFilterBuilder;
 import org.elasticsearch.index.query.TermFilterBuilder;
+import org.elasticsearch.search.facet.statistical.StatisticalFacet;
+import org.elasticsearch.search.sort.SortBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
 
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
+import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
 import com.impetus.kundera.persistence.PersistenceDelegator;
+import com.impetus.kundera.query.Aggregation;
 import com.impetus.kundera.query.KunderaQuery;
 import com.impetus.kundera.query.KunderaQuery.FilterClause;
+import com.impetus.kundera.query.KunderaQuery.SortOrdering;
 import com.impetus.kundera.query.QueryImpl;
 
 /**
@@ -60,11 +77,67 @@ public class ESQuery<E> extends QueryImpl
     @Override
     protected List<Object> populateEntities(EntityMetadata m, Client client)
     {
+        return ((ESClient) client).executeQuery(getFilter(m), m, getSorts(m), maxResult);
+    }
+
+    /**
+     * Builds sorts from order by clause of query.
+     * 
+     * @param m
+     *            entity metadata
+     * @return sorts, or null if query has no order by clause.
+     */
+    private List<SortBuilder> getSorts(EntityMetadata m)
+    {
+        List<SortOrdering> orders = getKunderaQuery().getOrdering();
+        if (orders == null || orders.isEmpty())
+        {
+            return null;
+        }
 
         MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
                 m.getPersistenceUnit());
         EntityType entity = metaModel.entity(m.getEntityClazz());
 
+        List<SortBuilder> sorts = new ArrayList<SortBuilder>(orders.size());
+        for (SortOrdering order : orders)
+        {
+            sorts.add(SortBuilders.fieldSort(getColumnName(order.getColumnName(), entity)).order(
+                    order.getOrder() == KunderaQuery.SortOrder.DESC ? SortOrder.DESC : SortOrder.ASC));
+        }
+        return sorts;
+    }
+
+    /**
+     * Returns column name of an ordering, which may be given as alias
+     * qualified field name.
+     */
+    private String getColumnName(String name, EntityType entity)
+    {
+        String fieldName = name.indexOf('.') > 0 ? name.substring(name.indexOf('.') + 1) : name;
+        for (Object attribute : entity.getAttributes())
+        {
+            if (((Attribute) attribute).getName().equals(fieldName))
+            {
+                return ((AbstractAttribute) attribute).getJPAColumnName();
+            }
+        }
+        return fieldName;
+    }
+
+    /**
+     * Builds filter from filter clauses of query.
+     * 
+     * @param m
+     *            entity metadata
+     * @return filter, or null if query has no filter clause.
+     */
+    private FilterBuilder getFilter(EntityMetadata m)
+    {
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                m.getPersistenceUnit());
+        EntityType entity = metaModel.entity(m.getEntityClazz());
+
         FilterBuilder preIntraFilter = null;
         FilterBuilder preInterFilter = null;
         String interFilter = null;
@@ -98,9 +171,7 @@ public class ESQuery<E> extends QueryImpl
             }
         }
 
-        return ((ESClient) client).executeQuery(preInterFilter != null ? preInterFilter : preIntraFilter, m);
-
-        // return null;
+        return preInterFilter != null ? preInterFilter : preIntraFilter;
     }
 
     /*
@@ -141,16 +212,146 @@ public class ESQuery<E> extends QueryImpl
         return onUpdateDeleteEvent();
     }
 
+    /**
+     * Pushes delete down as delete by query. Updates are not pushed down, as
+     * documents would need to be re-indexed one by one anyway.
+     * 
+     * @see com.impetus.kundera.query.QueryImpl#onBulkUpdateDelete(com.impetus.kundera.metadata.model.EntityMetadata,
+     *      com.impetus.kundera.client.Client)
+     */
+    @Override
+    protected int onBulkUpdateDelete(EntityMetadata m, Client client)
+    {
+        if (kunderaQuery.isUpdateClause())
+        {
+            return -1;
+        }
+
+        return isFilterSupported(m) ? ((ESClient) client).deleteByQuery(getFilter(m), m) : -1;
+    }
+
+    /**
+     * Pushes aggregate query down as statistical facets over numeric
+     * attributes, counting entities through total hits. Not applicable to
+     * GROUP BY and DISTINCT.
+     * 
+     * @see com.impetus.kundera.query.QueryImpl#onAggregate(com.impetus.kundera.metadata.model.EntityMetadata,
+     *      com.impetus.kundera.client.Client)
+     */
+    @Override
+    protected List<Object[]> onAggregate(EntityMetadata m, Client client)
+    {
+        if (!kunderaQuery.getGroupBy().isEmpty() || !kunderaQuery.getHaving().isEmpty() || !isFilterSupported(m))
+        {
+            return null;
+        }
+
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                m.getPersistenceUnit());
+        EntityType entity = metaModel.entity(m.getEntityClazz());
+
+        List<Aggregation> aggregations = kunderaQuery.getAggregations();
+        String[] columns = new String[aggregations.size()];
+        Class[] types = new Class[aggregations.size()];
+        for (int i = 0; i < columns.length; i++)
+        {
+            Aggregation aggregation = aggregations.get(i);
+            if (aggregation.isDistinct())
+            {
+                return null;
+            }
+            if (aggregation.getProperty() != null)
+            {
+                Attribute attribute = entity.getAttribute(aggregation.getProperty());
+                Class type = attribute.getJavaType();
+                type = type.isPrimitive() ? ClassUtils.primitiveToWrapper(type) : type;
+                if (!Number.class.isAssignableFrom(type) || type.equals(BigDecimal.class)
+                        || type.equals(BigInteger.class))
+                {
+                    return null;
+                }
+                columns[i] = ((AbstractAttribute) attribute).getJPAColumnName();
+                types[i] = type;
+            }
+        }
+
+        SearchResponse response = ((ESClient) client).executeStatisticalQuery(getFilter(m), m,
+                new HashSet<String>(Arrays.asList(columns)));
+
+        Object[] row = new Object[aggregations.size()];
+        for (int i = 0; i < row.length; i++)
+        {
+            Aggregation aggregation = aggregations.get(i);
+            Object value;
+            if (columns[i] == null)
+            {
+                value = response.getHits().getTotalHits();
+            }
+            else
+            {
+                StatisticalFacet facet = response.getFacets().facet(columns[i]);
+                switch (aggregation.getFunction())
+                {
+                case COUNT:
+                    value = facet.getCount();
+                    break;
+                case SUM:
+                    value = facet.getTotal();
+                    break;
+                case MIN:
+                    value = facet.getMin();
+                    break;
+                case MAX:
+                    value = facet.getMax();
+                    break;
+                default:
+                    value = facet.getMean();
+                    break;
+                }
+                if (facet.getCount() == 0)
+                {
+                    value = null;
+                }
+            }
+            row[i] = aggregation.toResultType(value, types[i]);
+        }
+        return Collections.singletonList(row);
+    }
+
+    /**
+     * Returns true, if every condition of query can be expressed as filter.
+     */
+    private boolean isFilterSupported(EntityMetadata m)
+    {
+        for (Object o : getKunderaQuery().getFilterClauseQueue())
+        {
+            if (o instanceof FilterClause && getFilter((FilterClause) o, m, null) == null)
+            {
+                // condition not supported by filters, e.g. like.
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public void close()
     {
 
     }
 
+    /**
+     * Returns iterator over matching entities, pulling pages of
+     * {@link ESConstants#SCROLL_PAGE_SIZE} hits lazily, up to fetch size if
+     * set, else max results.
+     */
     @Override
     public Iterator<E> iterate()
     {
-        return null;
+        EntityMetadata m = getEntityMetadata();
+        ESClient client = (ESClient) persistenceDelegeator.getClient(m);
+        return new ResultIterator<E>(client, m, getFilter(m), getSorts(m), persistenceDelegeator,
+                getFetchSize() != null ? getFetchSize() : maxResult);
     }
 
     private FilterBuilder getFilter(FilterClause clause, final EntityMetadata metadata, final EntityType entityType)
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.es;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.persistence.metamodel.EntityType;
+
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.index.query.FilterBuilder;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.sort.SortBuilder;
+
+import com.impetus.kundera.client.EnhanceEntity;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.persistence.PersistenceDelegator;
+import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.impetus.kundera.query.IResultIterator;
+
+/**
+ * Iterates over search hits of an entity's type, mapping them to entities
+ * lazily. If more hits than one page of {@link ESConstants#SCROLL_PAGE_SIZE}
+ * are asked for, pages are pulled through a scroll, which expires on its own
+ * {@link ESConstants#SCROLL_KEEP_ALIVE} after last page is fetched. Only one
+ * page of hits is held at a time.
+ *
+ * @param <E>
+ */
+class ResultIterator<E> implements IResultIterator<E>
+{
+    private final ESClient client;
+
+    private final EntityMetadata m;
+
+    private final EntityType entityType;
+
+    private final PersistenceDelegator persistenceDelegator;
+
+    /** Number of hits still to be returned. */
+    private int remaining;
+
+    private String scrollId;
+
+    private SearchHit[] hits;
+
+    private int current;
+
+    /**
+     * @param client
+     *            elastic search client
+     * @param m
+     *            entity metadata
+     * @param filter
+     *            filter, or null to match all documents
+     * @param sorts
+     *            sorts, or null to sort by score
+     * @param pd
+     *            persistence delegator to resolve relations through, or null
+     *            to return entities with relations wrapped in
+     *            {@link EnhanceEntity}
+     * @param maxResults
+     *            maximum number of entities to return.
+     */
+    ResultIterator(ESClient client, EntityMetadata m, FilterBuilder filter, List<SortBuilder> sorts,
+            PersistenceDelegator pd, int maxResults)
+    {
+        this.client = client;
+        this.m = m;
+        this.persistenceDelegator = pd;
+        this.remaining = maxResults;
+        this.entityType = client.getEntityType(m);
+
+        if (maxResults > 0)
+        {
+            int pageSize = client.getScrollPageSize();
+            boolean scroll = maxResults > pageSize;
+            SearchResponse response = client.search(filter, m, sorts, scroll ? pageSize : maxResults, scroll);
+            scrollId = scroll ? response.getScrollId() : null;
+            hits = response.getHits().getHits();
+        }
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if (remaining <= 0 || hits == null)
+        {
+            return false;
+        }
+        if (current == hits.length)
+        {
+            if (scrollId == null || hits.length == 0)
+            {
+                return false;
+            }
+            SearchResponse response = client.scroll(scrollId);
+            scrollId = response.getScrollId();
+            hits = response.getHits().getHits();
+            current = 0;
+        }
+        return current < hits.length;
+    }
+
+    @Override
+    public E next()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException("Nothing to scroll further for:" + m.getEntityClazz());
+        }
+        Object entity = nextEntity();
+        if (persistenceDelegator == null || !hasRelations())
+        {
+            return (E) entity;
+        }
+        EnhanceEntity ee = toEnhanceEntity(entity);
+        return (E) client.getReader().recursivelyFindEntities(ee.getEntity(), ee.getRelations(), m,
+                persistenceDelegator, false);
+    }
+
+    /**
+     * Returns next chunk of entities, resolving relations of whole chunk
+     * together.
+     */
+    @Override
+    public List<E> next(int chunkSize)
+    {
+        List entities = new ArrayList(Math.min(chunkSize, Math.max(remaining, 0)));
+        while (entities.size() < chunkSize && hasNext())
+        {
+            entities.add(nextEntity());
+        }
+        if (persistenceDelegator == null || !hasRelations() || entities.isEmpty())
+        {
+            return entities;
+        }
+        List<EnhanceEntity> ees = new ArrayList<EnhanceEntity>(entities.size());
+        for (Object entity : entities)
+        {
+            ees.add(toEnhanceEntity(entity));
+        }
+        return (List<E>) client.getReader().recursivelyFindEntities(ees, m, persistenceDelegator, false);
+    }
+
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException("Remove method is not supported over pagination");
+    }
+
+    private Object nextEntity()
+    {
+        remaining--;
+        SearchHit hit = hits[current];
+        // release hit as soon as it is mapped.
+        hits[current++] = null;
+        return client.toEntity(hit, m, entityType);
+    }
+
+    private boolean hasRelations()
+    {
+        return m.isRelationViaJoinTable() || (m.getRelationNames() != null && !m.getRelationNames().isEmpty());
+    }
+
+    private EnhanceEntity toEnhanceEntity(Object entity)
+    {
+        return entity instanceof EnhanceEntity ? (EnhanceEntity) entity : new EnhanceEntity(entity,
+                PropertyAccessorHelper.getId(entity, m), null);
+    }
+}
@@ -0,0 +1,304 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.es.index;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.Client;
+
+import com.impetus.kundera.index.IndexingException;
+import com.impetus.kundera.utils.KunderaThreadFactory;
+
+/**
+ * Buffers index and delete requests of {@link ESIndexer} and sends them as
+ * bulk requests. A bulk is sent asynchronously once it holds given number of
+ * requests, or when flush interval elapses. At most given number of bulks are
+ * in flight, callers adding requests beyond that wait for one to complete.
+ * With a single bulk in flight, requests are applied in order they were added.
+ * <p>
+ * Failed items are logged, and reported by next {@link #flush()} of thread
+ * which added them. Indexer is shared by all clients of a persistence unit, so
+ * a flush does not report failures of requests added by other threads.
+ */
+class BulkIndexer
+{
+    /** the log used by this class. */
+    private static Log log = LogFactory.getLog(BulkIndexer.class);
+
+    /** Maximum number of failures kept for reporting, per thread. */
+    private static final int MAX_FAILURES = 100;
+
+    private final Client client;
+
+    private final int bulkActions;
+
+    private final int concurrentRequests;
+
+    private final Semaphore inFlight;
+
+    private final ScheduledExecutorService scheduler;
+
+    /** Failures of requests added by each thread, since its last flush. */
+    private final ThreadLocal<Queue<String>> failures = new ThreadLocal<Queue<String>>()
+    {
+        @Override
+        protected Queue<String> initialValue()
+        {
+            return new ConcurrentLinkedQueue<String>();
+        }
+    };
+
+    /** Requests not sent yet, guarded by this. */
+    private BulkRequestBuilder bulk;
+
+    /** Failures of adding thread, for each request in bulk, guarded by this. */
+    private List<Queue<String>> bulkFailures;
+
+    /**
+     * @param client
+     *            elastic search client
+     * @param bulkActions
+     *            number of requests after which a bulk is sent.
+     * @param concurrentRequests
+     *            maximum number of bulks in flight.
+     * @param flushIntervalMillis
+     *            interval after which buffered requests are sent anyway, 0 to
+     *            send on size and explicit flush only.
+     */
+    BulkIndexer(Client client, int bulkActions, int concurrentRequests, long flushIntervalMillis)
+    {
+        this.client = client;
+        this.bulkActions = bulkActions;
+        this.concurrentRequests = concurrentRequests;
+        this.inFlight = new Semaphore(concurrentRequests);
+        if (flushIntervalMillis > 0)
+        {
+            scheduler = Executors.newSingleThreadScheduledExecutor(new KunderaThreadFactory(BulkIndexer.class
+                    .getName()));
+            scheduler.scheduleWithFixedDelay(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        send();
+                    }
+                    catch (RuntimeException e)
+                    {
+                        log.error("Error while sending bulk index request", e);
+                    }
+                }
+            }, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        else
+        {
+            scheduler = null;
+        }
+    }
+
+    synchronized void add(IndexRequest request)
+    {
+        getBulk().add(request);
+        bulkFailures.add(failures.get());
+        sendIfFull();
+    }
+
+    synchronized void add(DeleteRequest request)
+    {
+        getBulk().add(request);
+        bulkFailures.add(failures.get());
+        sendIfFull();
+    }
+
+    /**
+     * Sends buffered requests and waits for bulks in flight to complete.
+     */
+    void awaitPending()
+    {
+        send();
+        acquire(concurrentRequests);
+        inFlight.release(concurrentRequests);
+    }
+
+    /**
+     * Sends buffered requests and waits for bulks in flight to complete.
+     * 
+     * @throws IndexingException
+     *             if any request added by calling thread failed since its
+     *             last flush.
+     */
+    void flush()
+    {
+        awaitPending();
+        Queue<String> threadFailures = failures.get();
+        if (!threadFailures.isEmpty())
+        {
+            StringBuilder message = new StringBuilder("Bulk index requests failed:");
+            String failure;
+            while ((failure = threadFailures.poll()) != null)
+            {
+                message.append(" [").append(failure).append("]");
+            }
+            throw new IndexingException(message.toString());
+        }
+    }
+
+    /**
+     * Stops scheduled flushes and sends buffered requests, failures are only
+     * logged.
+     */
+    void close()
+    {
+        if (scheduler != null)
+        {
+            scheduler.shutdown();
+        }
+        awaitPending();
+    }
+
+    private BulkRequestBuilder getBulk()
+    {
+        if (bulk == null)
+        {
+            bulk = client.prepareBulk();
+            bulkFailures = new ArrayList<Queue<String>>();
+        }
+        return bulk;
+    }
+
+    private void sendIfFull()
+    {
+        if (bulk.numberOfActions() >= bulkActions)
+        {
+            send();
+        }
+    }
+
+    /**
+     * Sends buffered requests, if any. Lock is held while waiting for a bulk
+     * in flight, so that bulks are sent in order requests were added.
+     */
+    private synchronized void send()
+    {
+        if (bulk == null || bulk.numberOfActions() == 0)
+        {
+            return;
+        }
+        final BulkRequestBuilder request = bulk;
+        final List<Queue<String>> requestFailures = bulkFailures;
+        bulk = null;
+        bulkFailures = null;
+
+        acquire(1);
+        try
+        {
+            request.execute(new ActionListener<BulkResponse>()
+            {
+                @Override
+                public void onResponse(BulkResponse response)
+                {
+                    try
+                    {
+                        if (response.hasFailures())
+                        {
+                            for (BulkItemResponse item : response)
+                            {
+                                if (item.isFailed())
+                                {
+                                    onFailedItem(requestFailures.get(item.getItemId()), item.getIndex() + "/"
+                                            + item.getType() + "/" + item.getId() + ": " + item.getFailureMessage());
+                                }
+                            }
+                        }
+                    }
+                    finally
+                    {
+                        inFlight.release();
+                    }
+                }
+
+                @Override
+                public void onFailure(Throwable e)
+                {
+                    try
+                    {
+                        log.error("Error while executing bulk index request", e);
+                        // reported once to each thread with requests in bulk.
+                        Map<Queue<String>, Integer> threads = new IdentityHashMap<Queue<String>, Integer>();
+                        for (Queue<String> threadFailures : requestFailures)
+                        {
+                            Integer count = threads.get(threadFailures);
+                            threads.put(threadFailures, count == null ? 1 : count + 1);
+                        }
+                        for (Map.Entry<Queue<String>, Integer> thread : threads.entrySet())
+                        {
+                            onFailedItem(thread.getKey(), thread.getValue() + " requests: " + e.getMessage());
+                        }
+                    }
+                    finally
+                    {
+                        inFlight.release();
+                    }
+                }
+            });
+        }
+        catch (RuntimeException e)
+        {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void onFailedItem(Queue<String> threadFailures, String failure)
+    {
+        log.error("Error while indexing " + failure);
+        if (threadFailures.size() < MAX_FAILURES)
+        {
+            threadFailures.add(failure);
+        }
+    }
+
+    private void acquire(int permits)
+    {
+        try
+        {
+            inFlight.acquire(permits);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IndexingException("Interrupted while waiting for bulk index requests in flight", e);
+        }
+    }
+}
@@ -10,19 +10,19 @@ import java.util.Properties;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.elasticsearch.action.ListenableActionFuture;
-import org.elasticsearch.action.delete.DeleteResponse;
-import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.Client;
 import org.elasticsearch.client.transport.TransportClient;
 import org.elasticsearch.common.transport.InetSocketTransportAddress;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.SearchHit;
 
 import com.fasterxml.jackson.core.JsonGenerationException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.impetus.client.es.ESConstants;
 import com.impetus.kundera.KunderaException;
 import com.impetus.kundera.index.Indexer;
 import com.impetus.kundera.index.IndexerProperties;
@@ -54,6 +54,17 @@ public class ESIndexer implements Indexer
     /** the log used by this class. */
     private static Log log = LogFactory.getLog(ESIndexer.class);
 
+    /** Thread safe once configured, shared by all indexers. */
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private BulkIndexer bulkIndexer;
+
+    private int bulkActions = ESConstants.DEFAULT_BULK_ACTIONS;
+
+    private int bulkConcurrentRequests = ESConstants.DEFAULT_BULK_CONCURRENT_REQUESTS;
+
+    private long bulkFlushInterval = ESConstants.DEFAULT_BULK_FLUSH_INTERVAL;
+
     public ESIndexer()
     {
         init();
@@ -65,14 +76,22 @@ public class ESIndexer implements Indexer
      */
     public void setClient(Client client)
     {
+        if (bulkIndexer != null)
+        {
+            bulkIndexer.close();
+        }
         this.client = client;
+        this.bulkIndexer = new BulkIndexer(client, bulkActions, bulkConcurrentRequests, bulkFlushInterval);
     }
 
+    /**
+     * Adds index request for given values to current bulk, which is sent
+     * asynchronously.
+     */
     @Override
     public void index(Class entityClazz, EntityMetadata metadata, Map<String, Object> values, Object parentId,
             Class parentClazz)
     {
-        ObjectMapper mapper = new ObjectMapper();
         try
         {
             values.put("entity.class", metadata.getEntityClazz().getCanonicalName().toLowerCase());
@@ -89,10 +108,9 @@ public class ESIndexer implements Indexer
             Object id = PropertyAccessorHelper.fromSourceToTargetClass(String.class,
                     ((AbstractAttribute) metadata.getIdAttribute()).getBindableJavaType(), values.get(idColumnName));
 
-            ListenableActionFuture<IndexResponse> listenableActionFuture = client
+            bulkIndexer.add(client
                     .prepareIndex(metadata.getSchema().toLowerCase(), entityClazz.getSimpleName(), id.toString())
-                    .setSource(json).execute();
-            IndexResponse response = listenableActionFuture.actionGet();
+                    .setSource(json).request());
         }
         catch (JsonGenerationException e)
         {
@@ -116,6 +134,13 @@ public class ESIndexer implements Indexer
         }
     }
 
+    /**
+     * Returns ids of documents matching query, skipping start hits and
+     * returning at most count, or all if count is negative. Only ids are
+     * fetched, and if more than one page is needed, pages of
+     * {@link ESConstants#DEFAULT_SCROLL_PAGE_SIZE} hits are pulled through a
+     * scroll.
+     */
     @Override
     public Map<String, Object> search(Class<?> clazz, EntityMetadata m, String luceneQuery, int start, int count)
     {
@@ -124,17 +149,39 @@ public class ESIndexer implements Indexer
             log.info("Executing lucene query " + luceneQuery);
         }
 
-        ListenableActionFuture<SearchResponse> listenableActionFuture = client
-                .prepareSearch(m.getSchema().toLowerCase()).setQuery(QueryBuilders.queryString(luceneQuery))
-                .setSize(40000).execute();
-        SearchResponse response = listenableActionFuture.actionGet();
+        // pending index requests must be visible to query.
+        bulkIndexer.awaitPending();
+
+        int pageSize = ESConstants.DEFAULT_SCROLL_PAGE_SIZE;
+        boolean scroll = count < 0 || count > pageSize;
+        TimeValue keepAlive = TimeValue.timeValueMillis(ESConstants.DEFAULT_SCROLL_KEEP_ALIVE);
 
+        SearchRequestBuilder builder = client.prepareSearch(m.getSchema().toLowerCase())
+                .setQuery(QueryBuilders.queryString(luceneQuery)).setNoFields().setFrom(Math.max(start, 0))
+                .setSize(scroll ? pageSize : count);
+        if (scroll)
+        {
+            builder.setScroll(keepAlive);
+        }
+        SearchResponse response = builder.execute().actionGet();
+
+        Class idClazz = ((AbstractAttribute) m.getIdAttribute()).getBindableJavaType();
+        int remaining = count < 0 ? Integer.MAX_VALUE : count;
         Map<String, Object> results = new HashMap<String, Object>();
-        for (SearchHit hit : response.getHits())
+        while (true)
         {
-            Object id = PropertyAccessorHelper.fromSourceToTargetClass(
-                    ((AbstractAttribute) m.getIdAttribute()).getBindableJavaType(), String.class, hit.getId());
-            results.put(hit.getId(), id);
+            SearchHit[] hits = response.getHits().getHits();
+            for (int i = 0; i < hits.length && remaining > 0; i++, remaining--)
+            {
+                Object id = PropertyAccessorHelper.fromSourceToTargetClass(idClazz, String.class, hits[i].getId());
+                results.put(hits[i].getId(), id);
+            }
+            if (!scroll || hits.length == 0 || remaining <= 0)
+            {
+                break;
+            }
+            response = client.prepareSearchScroll(response.getScrollId()).setScroll(keepAlive).execute()
+                    .actionGet();
         }
         return results;
     }
@@ -143,17 +190,39 @@ public class ESIndexer implements Indexer
     public void unIndex(Class entityClazz, Object entity, EntityMetadata metadata, MetamodelImpl metamodelImpl)
     {
         Object id = PropertyAccessorHelper.getId(entity, metadata);
-        DeleteResponse response = client
-                .prepareDelete(metadata.getSchema().toLowerCase(), entityClazz.getSimpleName(), id.toString())
-                .execute().actionGet();
+        bulkIndexer.add(client.prepareDelete(metadata.getSchema().toLowerCase(), entityClazz.getSimpleName(),
+                id.toString()).request());
+    }
+
+    /**
+     * Sends pending index requests and waits for them to complete.
+     * 
+     * @throws IndexingException
+     *             if any request added by calling thread failed since its
+     *             last flush.
+     */
+    @Override
+    public void flush()
+    {
+        bulkIndexer.flush();
     }
 
     @Override
     public void close()
     {
-        if (client != null)
+        try
+        {
+            if (bulkIndexer != null)
+            {
+                bulkIndexer.close();
+            }
+        }
+        finally
         {
-            client.close();
+            if (client != null)
+            {
+                client.close();
+            }
         }
     }
 
@@ -174,6 +243,23 @@ public class ESIndexer implements Indexer
         {
             Object o = xStream.fromXML(inStream);
             IndexerProperties indexerProperties = (IndexerProperties) o;
+            Properties bulkProperties = indexerProperties.getProperties();
+            if (bulkProperties != null)
+            {
+                bulkActions = getPositiveInt(bulkProperties, ESConstants.BULK_ACTIONS, bulkActions);
+                bulkConcurrentRequests = getPositiveInt(bulkProperties, ESConstants.BULK_CONCURRENT_REQUESTS,
+                        bulkConcurrentRequests);
+                String flushInterval = bulkProperties.getProperty(ESConstants.BULK_FLUSH_INTERVAL);
+                if (flushInterval != null)
+                {
+                    bulkFlushInterval = Long.parseLong(flushInterval);
+                    if (bulkFlushInterval < 0)
+                    {
+                        throw new IllegalArgumentException(ESConstants.BULK_FLUSH_INTERVAL
+                                + " property must be numeric and >= 0.");
+                    }
+                }
+            }
             List<Node> nodes = indexerProperties.getNodes();
 
             if (nodes == null || (nodes != null && nodes.isEmpty()))
@@ -204,6 +290,7 @@ public class ESIndexer implements Indexer
                                 .getProperty("host"), Integer.parseInt(properties.getProperty("port"))));
                     }
                 }
+                bulkIndexer = new BulkIndexer(client, bulkActions, bulkConcurrentRequests, bulkFlushInterval);
             }
         }
         else
@@ -214,6 +301,21 @@ public class ESIndexer implements Indexer
         }
     }
 
+    private int getPositiveInt(Properties properties, String name, int defaultValue)
+    {
+        String value = properties.getProperty(name);
+        if (value == null)
+        {
+            return defaultValue;
+        }
+        int intValue = Integer.parseInt(value);
+        if (intValue <= 0)
+        {
+            throw new IllegalArgumentException(name + " property must be numeric and > 0.");
+        }
+        return intValue;
+    }
+
     /**
      * get XStream Object.
      * 
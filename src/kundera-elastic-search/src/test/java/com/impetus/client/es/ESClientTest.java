@@ -22,6 +22,7 @@ import java.lang.reflect.Method;
 import java.net.Socket;
 import java.net.UnknownHostException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.persistence.EntityManagerFactory;
@@ -109,6 +110,23 @@ public class ESClientTest
         PersonES invalidResult = (PersonES) client.find(PersonES.class, "2_p");
         Assert.assertNull(invalidResult);
 
+        PersonES second = new PersonES();
+        second.setAge(32);
+        second.setDay(Day.MONDAY);
+        second.setPersonId("2");
+        second.setPersonName("amresh");
+        client.onPersist(metadata, second, "2", null);
+
+        List<PersonES> results = client.findAll(PersonES.class, null, "1", "2", "2_p");
+        Assert.assertEquals(2, results.size());
+
+        results = client.findAll(PersonES.class, new String[] { "PERSON_NAME" }, "2");
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals("2", results.get(0).getPersonId());
+        Assert.assertEquals("amresh", results.get(0).getPersonName());
+        Assert.assertNull(results.get(0).getAge());
+        client.delete(second, "2");
+
         client.delete(result, "1");
         result = (PersonES) client.find(PersonES.class, "1");
         Assert.assertNull(result);
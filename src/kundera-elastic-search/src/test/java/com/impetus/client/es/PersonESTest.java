@@ -16,6 +16,7 @@
 package com.impetus.client.es;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -244,6 +245,81 @@ public class PersonESTest
         // TODO: >,<,>=,<=
     }
 
+    @Test
+    public void testOrderByMaxResultsAndIterate() throws InterruptedException
+    {
+        for (int i = 1; i <= 5; i++)
+        {
+            PersonES person = new PersonES();
+            person.setAge(i);
+            person.setDay(Day.FRIDAY);
+            person.setPersonId(i + "");
+            person.setPersonName("vivek" + i);
+            em.persist(person);
+        }
+        waitThread();
+
+        Query query = em.createQuery("Select p from PersonES p ORDER BY p.age DESC");
+        query.setMaxResults(3);
+        List<PersonES> persons = query.getResultList();
+        Assert.assertEquals(3, persons.size());
+        Assert.assertEquals(5, persons.get(0).getAge().intValue());
+        Assert.assertEquals(3, persons.get(2).getAge().intValue());
+
+        query = em.createQuery("Select p from PersonES p ORDER BY p.age ASC");
+        Iterator<PersonES> iterator = ((com.impetus.kundera.query.Query) query).iterate();
+        int age = 0;
+        while (iterator.hasNext())
+        {
+            PersonES person = iterator.next();
+            Assert.assertEquals(++age, person.getAge().intValue());
+        }
+        Assert.assertEquals(5, age);
+
+        for (int i = 1; i <= 5; i++)
+        {
+            em.remove(em.find(PersonES.class, i + ""));
+        }
+        waitThread();
+    }
+
+    @Test
+    public void testDeleteByQuery() throws InterruptedException
+    {
+        for (int i = 1; i <= 5; i++)
+        {
+            PersonES person = new PersonES();
+            person.setAge(i);
+            person.setDay(Day.FRIDAY);
+            person.setPersonId(i + "");
+            person.setPersonName("vivek" + i);
+            em.persist(person);
+        }
+        waitThread();
+
+        PersonES managed = em.find(PersonES.class, "5");
+        Assert.assertNotNull(managed);
+
+        Query query = em.createQuery("Delete from PersonES p where p.age >= 4");
+        Assert.assertEquals(2, query.executeUpdate());
+
+        // pushed down as delete by query, bypassing persistence context.
+        Assert.assertTrue(em.contains(managed));
+        waitThread();
+
+        em.clear();
+        List<PersonES> persons = em.createQuery("Select p from PersonES p").getResultList();
+        Assert.assertEquals(3, persons.size());
+        for (PersonES person : persons)
+        {
+            Assert.assertTrue(person.getAge() < 4);
+        }
+
+        Assert.assertEquals(3, em.createQuery("Delete from PersonES p").executeUpdate());
+        waitThread();
+        Assert.assertTrue(em.createQuery("Select p from PersonES p").getResultList().isEmpty());
+    }
+
     @AfterClass
     public static void tearDownAfterClass() throws Exception
     {
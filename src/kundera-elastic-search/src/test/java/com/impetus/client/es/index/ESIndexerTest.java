@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.es.index;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.elasticsearch.common.settings.ImmutableSettings;
+import org.elasticsearch.node.Node;
+import org.elasticsearch.node.NodeBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.client.es.PersonES;
+import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+
+/**
+ * Junit for bulk indexing of {@link ESIndexer}.
+ */
+public class ESIndexerTest
+{
+    private Node node = null;
+
+    private EntityManagerFactory emf;
+
+    private ESIndexer indexer;
+
+    @Before
+    public void setup() throws Exception
+    {
+        if (!checkIfServerRunning())
+        {
+            ImmutableSettings.Builder builder = ImmutableSettings.settingsBuilder();
+            builder.put("path.data", "target/data");
+            node = new NodeBuilder().settings(builder).node();
+        }
+        emf = Persistence.createEntityManagerFactory("es-pu");
+        indexer = new ESIndexer();
+    }
+
+    @Test
+    public void testBulkIndexAndUnIndex() throws InterruptedException
+    {
+        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(
+                ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance(), PersonES.class);
+
+        for (int i = 1; i <= 5; i++)
+        {
+            Map<String, Object> values = new HashMap<String, Object>();
+            values.put("PERSON_ID", i + "");
+            values.put("PERSON_NAME", "vivek");
+            indexer.index(PersonES.class, metadata, values, null, PersonES.class);
+        }
+        indexer.flush();
+        Thread.sleep(2000);
+
+        Map<String, Object> results = indexer.search(PersonES.class, metadata, "PERSON_NAME:vivek", 0, -1);
+        Assert.assertEquals(5, results.size());
+        results = indexer.search(PersonES.class, metadata, "PERSON_NAME:vivek", 0, 2);
+        Assert.assertEquals(2, results.size());
+
+        PersonES person = new PersonES();
+        person.setPersonId("5");
+        indexer.unIndex(PersonES.class, person, metadata, null);
+        indexer.flush();
+        Thread.sleep(2000);
+
+        results = indexer.search(PersonES.class, metadata, "PERSON_NAME:vivek", 0, -1);
+        Assert.assertEquals(4, results.size());
+        Assert.assertFalse(results.containsKey("5"));
+
+        for (int i = 1; i <= 4; i++)
+        {
+            person.setPersonId(i + "");
+            indexer.unIndex(PersonES.class, person, metadata, null);
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        indexer.close();
+        emf.close();
+        if (node != null)
+        {
+            node.close();
+        }
+    }
+
+    /**
+     * Check if server running.
+     * 
+     * @return true, if successful
+     */
+    private static boolean checkIfServerRunning()
+    {
+        try
+        {
+            Socket socket = new Socket("127.0.0.1", 9300);
+            return socket.getInetAddress() != null;
+        }
+        catch (UnknownHostException e)
+        {
+            return false;
+        }
+        catch (IOException e)
+        {
+            return false;
+        }
+    }
+}
@@ -24,6 +24,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 import javax.persistence.PersistenceException;
 import javax.persistence.metamodel.Attribute;
@@ -52,6 +54,8 @@ import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.ClientBase;
 import com.impetus.kundera.client.ClientPropertiesSetter;
 import com.impetus.kundera.db.RelationHolder;
+import com.impetus.kundera.generator.IdBlock;
+import com.impetus.kundera.generator.IdBlockAllocator;
 import com.impetus.kundera.generator.TableGenerator;
 import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.index.IndexManager;
@@ -68,7 +72,8 @@ import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
-import com.impetus.kundera.persistence.api.Batcher;
+import com.impetus.kundera.persistence.api.AsyncBatcher;
+import com.impetus.kundera.persistence.api.BatchFlusher;
 import com.impetus.kundera.persistence.context.jointable.JoinTableData;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 
@@ -77,7 +82,7 @@ import com.impetus.kundera.property.PropertyAccessorHelper;
  * 
  * @author impetus
  */
-public class HBaseClient extends ClientBase implements Client<HBaseQuery>, Batcher, ClientPropertiesSetter,
+public class HBaseClient extends ClientBase implements Client<HBaseQuery>, AsyncBatcher, ClientPropertiesSetter,
         TableGenerator
 {
     /** the log used by this class. */
@@ -93,6 +98,9 @@ public class HBaseClient extends ClientBase implements Client<HBaseQuery>, Batch
 
     private int batchSize;
 
+    /** flusher of full batches, if batches are written asynchronously. */
+    private BatchFlusher batchFlusher;
+
     private Map<String, Object> puProperties;
 
     /**
@@ -123,6 +131,11 @@ public class HBaseClient extends ClientBase implements Client<HBaseQuery>, Batch
         this.clientMetadata = clientMetadata;
 
         getBatchSize(persistenceUnit, this.puProperties);
+        if (batchSize > 0)
+        {
+            batchFlusher = BatchFlusher.getInstance(HBaseClient.class.getSimpleName(),
+                    KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata, persistenceUnit), puProperties);
+        }
     }
 
     /*
@@ -173,11 +186,11 @@ public class HBaseClient extends ClientBase implements Client<HBaseQuery>, Batch
     public <E> List<E> findAll(Class<E> entityClass, String[] columnsToSelect, Object... rowIds)
     {
         EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
+        List results = new ArrayList<E>();
         if (rowIds == null)
         {
-            return null;
+            return results;
         }
-        List results = new ArrayList<E>();
 
         MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
                 entityMetadata.getPersistenceUnit());
@@ -432,6 +445,10 @@ public class HBaseClient extends ClientBase implements Client<HBaseQuery>, Batch
     @Override
     public void close()
     {
+        if (batchFlusher != null)
+        {
+            batchFlusher.shutdown();
+        }
         handler.shutdown();
         puProperties = null;
     }
@@ -750,12 +767,54 @@ public class HBaseClient extends ClientBase implements Client<HBaseQuery>, Batch
      */
     @Override
     public int executeBatch()
+    {
+        if (batchFlusher != null)
+        {
+            executeBatchAsync();
+            return batchFlusher.await();
+        }
+        return executeBatch(nodes);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.persistence.api.AsyncBatcher#executeBatchAsync()
+     */
+    @Override
+    public Future<Integer> executeBatchAsync()
+    {
+        if (batchFlusher == null)
+        {
+            throw new IllegalStateException("Asynchronous batching is not enabled, please set "
+                    + PersistenceProperties.KUNDERA_BATCH_ASYNC + ".");
+        }
+        final List<Node> batch = nodes;
+        nodes = new ArrayList<Node>();
+        return batchFlusher.submit(new Callable<Integer>()
+        {
+            @Override
+            public Integer call()
+            {
+                return executeBatch(batch);
+            }
+        });
+    }
+
+    /**
+     * Writes batch of nodes.
+     * 
+     * @param batch
+     *            nodes to be written.
+     * @return number of tables written.
+     */
+    private int executeBatch(List<Node> batch)
     {
         Map<HTableInterface, List<HBaseDataWrapper>> data = new HashMap<HTableInterface, List<HBaseDataWrapper>>();
 
         try
         {
-            for (Node node : nodes)
+            for (Node node : batch)
             {
                 if (node.isDirty())
                 {
@@ -845,8 +904,15 @@ public class HBaseClient extends ClientBase implements Client<HBaseQuery>, Batch
     {
         if (batchSize > 0 && batchSize == nodes.size())
         {
-            executeBatch();
-            nodes.clear();
+            if (batchFlusher != null)
+            {
+                executeBatchAsync();
+            }
+            else
+            {
+                executeBatch();
+                nodes.clear();
+            }
         }
     }
 
@@ -881,20 +947,49 @@ public class HBaseClient extends ClientBase implements Client<HBaseQuery>, Batch
     }
 
     @Override
-    public Long generate(TableGeneratorDiscriptor discriptor)
+    public Long generate(final TableGeneratorDiscriptor discriptor)
+    {
+        IdBlockAllocator allocator = kunderaMetadata.getApplicationMetadata().getIdBlockAllocator(
+                getPersistenceUnit() + "." + discriptor.getSchema() + "." + discriptor.getTable() + "."
+                        + discriptor.getPkColumnValue());
+
+        return allocator.next(new IdBlockAllocator.BlockSource()
+        {
+            @Override
+            public IdBlock nextBlock()
+            {
+                return reserveIdBlock(discriptor);
+            }
+        });
+    }
+
+    /**
+     * Reserves a block of <code>allocationSize</code> ids by incrementing
+     * counter column once.
+     * 
+     * @param discriptor
+     *            table generator descriptor.
+     * @return reserved id block.
+     */
+    private IdBlock reserveIdBlock(TableGeneratorDiscriptor discriptor)
     {
         try
         {
             HTableInterface hTable = ((HBaseDataHandler) handler).gethTable(discriptor.getSchema());
             Long latestCount = hTable.incrementColumnValue(discriptor.getPkColumnValue().getBytes(), discriptor
                     .getTable().getBytes(), discriptor.getValueColumnName().getBytes(), 1);
+
+            // Counter value n owns ids [(n - 1) * allocationSize, n *
+            // allocationSize), first block starts with initial value.
             if (latestCount == 1)
             {
-                return (long) discriptor.getInitialValue();
+                long low = discriptor.getInitialValue();
+                return new IdBlock(low, Math.max(low + 1, discriptor.getAllocationSize()));
             }
             else
             {
-                return (latestCount - 1) * discriptor.getAllocationSize();
+                long low = (latestCount - 1) * discriptor.getAllocationSize();
+                return new IdBlock(low, low + Math.max(discriptor.getAllocationSize(), 1));
             }
         }
         catch (IOException ioex)
@@ -66,6 +66,7 @@ import com.impetus.kundera.metadata.model.annotation.DefaultEntityAnnotationProc
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.property.FieldAccessor;
 import com.impetus.kundera.property.PropertyAccessException;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 
@@ -851,8 +852,15 @@ public class HBaseDataHandler implements DataHandler
                      * columnValue.length != 0)
                      */
                     {
-                        PropertyAccessorHelper.set(entity, columnField,
-                                HBaseUtils.fromBytes(columnValue, columnField.getType()));
+                        FieldAccessor fieldAccessor = ((AbstractAttribute) attribute).getFieldAccessor();
+                        if (columnField.getType().isPrimitive())
+                        {
+                            HBaseUtils.setPrimitive(entity, fieldAccessor, columnValue);
+                        }
+                        else
+                        {
+                            fieldAccessor.set(entity, HBaseUtils.fromBytes(columnValue, columnField.getType()));
+                        }
                     }/*
                       * else {
                       * 
@@ -1334,7 +1342,7 @@ public class HBaseDataHandler implements DataHandler
 
                                     embeddableColumnWrapper.addColumn(columnName, attribute);
                                     embeddableColumnWrapper.addValue(columnName,
-                                            PropertyAccessorHelper.getObject(obj, (Field) attribute.getJavaMember()));
+                                            ((AbstractAttribute) attribute).getFieldAccessor().get(obj));
                                 }
                                 // addColumnFamilyToTable(tableName,
                                 // dynamicCFName);
@@ -1469,7 +1477,7 @@ public class HBaseDataHandler implements DataHandler
 
                 columnWrapper.addColumn(((AbstractAttribute) column).getJPAColumnName(), column);
                 columnWrapper.addValue(((AbstractAttribute) column).getJPAColumnName(),
-                        PropertyAccessorHelper.getObject(entity, (Field) column.getJavaMember()));
+                        ((AbstractAttribute) column).getFieldAccessor().get(entity));
             }
         }
 
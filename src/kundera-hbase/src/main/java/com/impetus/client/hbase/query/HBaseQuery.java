@@ -133,6 +133,19 @@ public class HBaseQuery extends QueryImpl
         return onUpdateDeleteEvent();
     }
 
+    /**
+     * Scanner over matching rows remains valid while they are
+     * updated/deleted, unless query is served through lucene.
+     * 
+     * @see com.impetus.kundera.query.QueryImpl#iterateForUpdateDelete()
+     */
+    @Override
+    protected Iterator iterateForUpdateDelete()
+    {
+        Client client = persistenceDelegeator.getClient(getEntityMetadata());
+        return MetadataUtils.useSecondryIndex(((ClientBase) client).getClientMetadata()) ? iterate() : null;
+    }
+
     /**
      * Parses and translates query into HBase filter and invokes client's method
      * to return list of entities.
@@ -16,7 +16,6 @@
 package com.impetus.client.hbase.service;
 
 import java.io.IOException;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +25,7 @@ import javax.persistence.PersistenceException;
 import javax.persistence.metamodel.Attribute;
 import javax.persistence.metamodel.SingularAttribute;
 
+import org.apache.hadoop.hbase.KeyValue;
 import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.HTableInterface;
@@ -42,6 +42,7 @@ import com.impetus.kundera.Constants;
 import com.impetus.kundera.db.RelationHolder;
 import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
+import com.impetus.kundera.property.FieldAccessor;
 import com.impetus.kundera.property.PropertyAccessException;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 
@@ -105,6 +106,12 @@ public class HBaseWriter implements Writer
             String columnFamilyName) throws IOException
     {
         Put p = new Put(HBaseUtils.getBytes(rowKey));
+        byte[] row = p.getRow();
+        byte[] family = columnFamilyName.getBytes();
+
+        // numeric values are encoded here, Put copies them into its key
+        // values.
+        byte[] scratch = new byte[HBaseUtils.MAX_FIXED_LENGTH];
 
         boolean present = false;
         for (String columnName : columns.keySet())
@@ -116,11 +123,25 @@ public class HBaseWriter implements Writer
                 try
                 {
                     byte[] qualValInBytes = Bytes.toBytes(qualifier);
-                    Object value = PropertyAccessorHelper.getObject(entity, (Field) column.getJavaMember());
-                    if (value != null)
+                    FieldAccessor fieldAccessor = ((AbstractAttribute) column).getFieldAccessor();
+                    // primitive values are encoded without boxing.
+                    int length = HBaseUtils.writeTo(fieldAccessor, entity, scratch, 0);
+                    Object value = null;
+                    if (length < 0)
+                    {
+                        value = fieldAccessor.get(entity);
+                        length = value != null ? HBaseUtils.writeTo(value, scratch, 0) : -1;
+                    }
+                    if (length > 0)
+                    {
+                        p.add(new KeyValue(row, 0, row.length, family, 0, family.length, qualValInBytes, 0,
+                                qualValInBytes.length, System.currentTimeMillis(), KeyValue.Type.Put, scratch, 0,
+                                length));
+                        present = true;
+                    }
+                    else if (value != null)
                     {
-                        p.add(columnFamilyName.getBytes(), qualValInBytes, System.currentTimeMillis(),
-                                HBaseUtils.getBytes(value));
+                        p.add(family, qualValInBytes, System.currentTimeMillis(), HBaseUtils.getBytes(value));
                         present = true;
                     }
                 }
@@ -6,10 +6,131 @@ import org.apache.hadoop.hbase.filter.CompareFilter.CompareOp;
 import org.apache.hadoop.hbase.util.Bytes;
 
 import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.property.FieldAccessor;
+import com.impetus.kundera.property.FixedLengthAccessor;
+import com.impetus.kundera.property.PropertyAccessor;
 import com.impetus.kundera.property.PropertyAccessorFactory;
+import com.impetus.kundera.property.accessor.DoubleAccessor;
+import com.impetus.kundera.property.accessor.FloatAccessor;
+import com.impetus.kundera.property.accessor.IntegerAccessor;
+import com.impetus.kundera.property.accessor.LongAccessor;
+import com.impetus.kundera.property.accessor.ShortAccessor;
 
 public final class HBaseUtils
 {
+    /** Maximum number of bytes written by {@link #writeTo(Object, byte[], int)}. */
+    public static final int MAX_FIXED_LENGTH = 8;
+
+    /**
+     * Encodes fixed length numeric value into given array, the same way
+     * {@link Bytes} does, without allocating a new one.
+     * 
+     * @param value
+     *            the value
+     * @param dest
+     *            destination array
+     * @param offset
+     *            offset in destination
+     * @return number of bytes written, -1 if value has no fixed length
+     *         encoding and must be converted by {@link #getBytes(Object)}.
+     */
+    public static int writeTo(Object value, byte[] dest, int offset)
+    {
+        // booleans are not encoded as by kundera accessors.
+        if (value == null || value instanceof Boolean)
+        {
+            return -1;
+        }
+        PropertyAccessor<?> accessor = PropertyAccessorFactory.getPropertyAccessor(value.getClass());
+        return accessor instanceof FixedLengthAccessor ? ((FixedLengthAccessor<?>) accessor).writeTo(value, dest,
+                offset) : -1;
+    }
+
+    /**
+     * Encodes value of a long, int, short, double or float field into given
+     * array, the same way {@link Bytes} does, without boxing it.
+     * 
+     * @param fieldAccessor
+     *            accessor of field
+     * @param entity
+     *            the entity
+     * @param dest
+     *            destination array
+     * @param offset
+     *            offset in destination
+     * @return number of bytes written, -1 if field is not of these types and
+     *         its value must be written as object.
+     */
+    public static int writeTo(FieldAccessor fieldAccessor, Object entity, byte[] dest, int offset)
+    {
+        Class<?> type = fieldAccessor.getField().getType();
+        if (type == long.class)
+        {
+            return LongAccessor.writeLong(fieldAccessor.getLong(entity), dest, offset);
+        }
+        else if (type == int.class)
+        {
+            return IntegerAccessor.writeInt(fieldAccessor.getInt(entity), dest, offset);
+        }
+        else if (type == short.class)
+        {
+            return ShortAccessor.writeShort(fieldAccessor.getShort(entity), dest, offset);
+        }
+        else if (type == double.class)
+        {
+            return DoubleAccessor.writeDouble(fieldAccessor.getDouble(entity), dest, offset);
+        }
+        else if (type == float.class)
+        {
+            return FloatAccessor.writeFloat(fieldAccessor.getFloat(entity), dest, offset);
+        }
+        return -1;
+    }
+
+    /**
+     * Sets value of a primitive field from its bytes, decoded the same way as
+     * by {@link #fromBytes(byte[], Class)} but without boxing it.
+     * 
+     * @param entity
+     *            the entity
+     * @param fieldAccessor
+     *            accessor of primitive field
+     * @param b
+     *            the bytes
+     */
+    public static void setPrimitive(Object entity, FieldAccessor fieldAccessor, byte[] b)
+    {
+        Class<?> type = fieldAccessor.getField().getType();
+        if (type == long.class)
+        {
+            fieldAccessor.setLong(entity, Bytes.toLong(b));
+        }
+        else if (type == int.class)
+        {
+            fieldAccessor.setInt(entity, Bytes.toInt(b));
+        }
+        else if (type == short.class)
+        {
+            fieldAccessor.setShort(entity, Bytes.toShort(b));
+        }
+        else if (type == double.class)
+        {
+            fieldAccessor.setDouble(entity, Bytes.toDouble(b));
+        }
+        else if (type == float.class)
+        {
+            fieldAccessor.setFloat(entity, Bytes.toFloat(b));
+        }
+        else if (type == boolean.class)
+        {
+            fieldAccessor.setBoolean(entity, Bytes.toBoolean(b));
+        }
+        else
+        {
+            fieldAccessor.set(entity, fromBytes(b, type));
+        }
+    }
+
     /**
      * @param value
      * @param clazz
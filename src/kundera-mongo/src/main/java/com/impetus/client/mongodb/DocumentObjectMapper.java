@@ -15,7 +15,6 @@
  ******************************************************************************/
 package com.impetus.client.mongodb;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -39,8 +38,8 @@ import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.attributes.AttributeType;
 import com.impetus.kundera.persistence.EntityReaderException;
+import com.impetus.kundera.property.FieldAccessor;
 import com.impetus.kundera.property.PropertyAccessException;
-import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.property.accessor.EnumAccessor;
 import com.mongodb.BasicDBList;
 import com.mongodb.BasicDBObject;
@@ -194,22 +193,20 @@ public class DocumentObjectMapper
         if (value != null)
         {
             Class javaType = column.getJavaType();
+            FieldAccessor fieldAccessor = ((AbstractAttribute) column).getFieldAccessor();
             try
             {
                 switch (AttributeType.getType(javaType))
                 {
                 case MAP:
-                    PropertyAccessorHelper.set(entityObject, (Field) column.getJavaMember(),
-                            ((BasicDBObject) value).toMap());
+                    fieldAccessor.set(entityObject, ((BasicDBObject) value).toMap());
                     break;
                 case SET:
                     List collectionValues = Arrays.asList(((BasicDBList) value).toArray());
-                    PropertyAccessorHelper.set(entityObject, (Field) column.getJavaMember(), new HashSet(
-                            collectionValues));
+                    fieldAccessor.set(entityObject, new HashSet(collectionValues));
                     break;
                 case LIST:
-                    PropertyAccessorHelper.set(entityObject, (Field) column.getJavaMember(),
-                            Arrays.asList(((BasicDBList) value).toArray()));
+                    fieldAccessor.set(entityObject, Arrays.asList(((BasicDBList) value).toArray()));
                     break;
                 case POINT:
 
@@ -226,7 +223,7 @@ public class DocumentObjectMapper
                             double y = Double.parseDouble(yObj.toString());
 
                             Point point = new Point(x, y);
-                            PropertyAccessorHelper.set(entityObject, (Field) column.getJavaMember(), point);
+                            fieldAccessor.set(entityObject, point);
                         }
                         catch (NumberFormatException e)
                         {
@@ -241,12 +238,19 @@ public class DocumentObjectMapper
                 case ENUM:
                     EnumAccessor accessor = new EnumAccessor();
                     value = accessor.fromString(javaType, value.toString());
-                    PropertyAccessorHelper.set(entityObject, (Field) column.getJavaMember(), value);
+                    fieldAccessor.set(entityObject, value);
                     break;
                 case PRIMITIVE:
                     value = MongoDBUtils.populateValue(value, value.getClass());
                     value = MongoDBUtils.getTranslatedObject(value, value.getClass(), javaType);
-                    PropertyAccessorHelper.set(entityObject, (Field) column.getJavaMember(), value);
+                    if (javaType.isPrimitive())
+                    {
+                        setPrimitiveValue(entityObject, value, fieldAccessor);
+                    }
+                    else
+                    {
+                        fieldAccessor.set(entityObject, value);
+                    }
                     break;
                 }
             }
@@ -259,6 +263,51 @@ public class DocumentObjectMapper
         }
     }
 
+    /**
+     * Sets translated value of a primitive field through its typed setter,
+     * unboxing it once.
+     * 
+     * @param entityObject
+     *            the entity
+     * @param value
+     *            translated value
+     * @param fieldAccessor
+     *            accessor of primitive field
+     */
+    private static void setPrimitiveValue(Object entityObject, Object value, FieldAccessor fieldAccessor)
+    {
+        Class<?> type = fieldAccessor.getField().getType();
+        if (type == long.class && value instanceof Long)
+        {
+            fieldAccessor.setLong(entityObject, (Long) value);
+        }
+        else if (type == int.class && value instanceof Integer)
+        {
+            fieldAccessor.setInt(entityObject, (Integer) value);
+        }
+        else if (type == short.class && value instanceof Short)
+        {
+            fieldAccessor.setShort(entityObject, (Short) value);
+        }
+        else if (type == double.class && value instanceof Double)
+        {
+            fieldAccessor.setDouble(entityObject, (Double) value);
+        }
+        else if (type == float.class && value instanceof Float)
+        {
+            fieldAccessor.setFloat(entityObject, (Float) value);
+        }
+        else if (type == boolean.class && value instanceof Boolean)
+        {
+            fieldAccessor.setBoolean(entityObject, (Boolean) value);
+        }
+        else
+        {
+            // char and byte fields, or values of other types.
+            fieldAccessor.set(entityObject, value);
+        }
+    }
+
     /**
      * Extract entity field.
      * 
@@ -275,7 +324,7 @@ public class DocumentObjectMapper
     {
         try
         {
-            Object valueObject = PropertyAccessorHelper.getObject(entity, (Field) column.getJavaMember());
+            Object valueObject = ((AbstractAttribute) column).getFieldAccessor().get(entity);
 
             if (valueObject != null)
             {
@@ -21,6 +21,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 import javax.persistence.metamodel.EntityType;
 
@@ -40,6 +42,7 @@ import com.impetus.kundera.db.RelationHolder;
 import com.impetus.kundera.generator.AutoGenerator;
 import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.index.IndexManager;
+import com.impetus.kundera.index.IndexingException;
 import com.impetus.kundera.lifecycle.states.RemovedState;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.ClientMetadata;
@@ -50,9 +53,11 @@ import com.impetus.kundera.metadata.model.annotation.DefaultEntityAnnotationProc
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
-import com.impetus.kundera.persistence.api.Batcher;
+import com.impetus.kundera.persistence.api.AsyncBatcher;
+import com.impetus.kundera.persistence.api.BatchFlusher;
 import com.impetus.kundera.persistence.context.jointable.JoinTableData;
 import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.mongodb.AggregationOutput;
 import com.mongodb.BasicDBObject;
 import com.mongodb.DB;
 import com.mongodb.DBCollection;
@@ -67,7 +72,7 @@ import com.mongodb.WriteConcern;
  * 
  * @author impetusopensource
  */
-public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, Batcher, ClientPropertiesSetter,
+public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, AsyncBatcher, ClientPropertiesSetter,
         AutoGenerator
 {
     /** The mongo db. */
@@ -86,6 +91,9 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
 
     private int batchSize;
 
+    /** flusher of full batches, if batches are written asynchronously. */
+    private BatchFlusher batchFlusher;
+
     private WriteConcern writeConcern = null;
 
     private DBEncoder encoder = DefaultDBEncoder.FACTORY.create();
@@ -118,7 +126,11 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
         this.clientMetadata = clientMetadata;
 
         populateBatchSize(persistenceUnit, this.puProperties);
-
+        if (batchSize > 0)
+        {
+            batchFlusher = BatchFlusher.getInstance(MongoDBClient.class.getSimpleName(),
+                    KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata, persistenceUnit), puProperties);
+        }
     }
 
     @Override
@@ -509,9 +521,21 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
     {
         // TODO Once pool is implemented this code should not be there.
         // Workaround for pool
-        this.indexManager.flush();
+        try
+        {
+            this.indexManager.flush();
+        }
+        catch (IndexingException ie)
+        {
+            // close goes on, failures are reported on flush and commit.
+            log.warn("Error while flushing indexes on close, Caused by: .", ie);
+        }
         puProperties = null;
         clear();
+        if (batchFlusher != null)
+        {
+            batchFlusher.shutdown();
+        }
     }
 
     /**
@@ -620,6 +644,83 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
         dbCollection.remove(query, getWriteConcern(), encoder);
     }
 
+    /**
+     * Counts documents of collection matching query.
+     * 
+     * @param collectionName
+     *            collection name
+     * @param query
+     *            query
+     * @return number of documents.
+     */
+    public long count(String collectionName, BasicDBObject query)
+    {
+        DBCollection dbCollection = mongoDb.getCollection(collectionName);
+        return dbCollection.count(query);
+    }
+
+    /**
+     * Runs aggregation pipeline over collection.
+     * 
+     * @param collectionName
+     *            collection name
+     * @param firstOp
+     *            first pipeline operator
+     * @param additionalOps
+     *            subsequent pipeline operators
+     * @return resulting documents.
+     */
+    public Iterable<DBObject> aggregate(String collectionName, DBObject firstOp, DBObject... additionalOps)
+    {
+        DBCollection dbCollection = mongoDb.getCollection(collectionName);
+        AggregationOutput output = dbCollection.aggregate(firstOp, additionalOps);
+        output.getCommandResult().throwOnError();
+        return output.results();
+    }
+
+    /**
+     * Removes all documents of collection matching query.
+     * 
+     * @param collectionName
+     *            collection name
+     * @param query
+     *            query
+     * @return number of removed documents.
+     */
+    public int remove(String collectionName, BasicDBObject query)
+    {
+        DBCollection dbCollection = mongoDb.getCollection(collectionName);
+        return dbCollection.remove(query, getAcknowledgedWriteConcern(), encoder).getN();
+    }
+
+    /**
+     * Applies update to all documents of collection matching query.
+     * 
+     * @param collectionName
+     *            collection name
+     * @param query
+     *            query
+     * @param update
+     *            update operators
+     * @return number of updated documents.
+     */
+    public int update(String collectionName, BasicDBObject query, BasicDBObject update)
+    {
+        DBCollection dbCollection = mongoDb.getCollection(collectionName);
+        return dbCollection.update(query, update, false, true, getAcknowledgedWriteConcern(), encoder).getN();
+    }
+
+    /**
+     * Returns write concern, upgraded to {@link WriteConcern#SAFE} if it does
+     * not wait for acknowledgement, as number of affected documents is only
+     * reported once acknowledged.
+     */
+    private WriteConcern getAcknowledgedWriteConcern()
+    {
+        WriteConcern concern = getWriteConcern();
+        return concern.callGetLastError() ? concern : WriteConcern.SAFE;
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -688,9 +789,51 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
      */
     @Override
     public int executeBatch()
+    {
+        if (batchFlusher != null)
+        {
+            executeBatchAsync();
+            return batchFlusher.await();
+        }
+        return executeBatch(nodes);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.persistence.api.AsyncBatcher#executeBatchAsync()
+     */
+    @Override
+    public Future<Integer> executeBatchAsync()
+    {
+        if (batchFlusher == null)
+        {
+            throw new IllegalStateException("Asynchronous batching is not enabled, please set "
+                    + PersistenceProperties.KUNDERA_BATCH_ASYNC + ".");
+        }
+        final List<Node> batch = nodes;
+        nodes = new ArrayList<Node>();
+        return batchFlusher.submit(new Callable<Integer>()
+        {
+            @Override
+            public Integer call()
+            {
+                return executeBatch(batch);
+            }
+        });
+    }
+
+    /**
+     * Writes batch of nodes.
+     * 
+     * @param batch
+     *            nodes to be written.
+     * @return number of collections written.
+     */
+    private int executeBatch(List<Node> batch)
     {
         Map<String, List<DBObject>> collections = new HashMap<String, List<DBObject>>();
-        for (Node node : nodes)
+        for (Node node : batch)
         {
             if (node.isDirty())
             {
@@ -818,8 +961,15 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
     {
         if (batchSize > 0 && batchSize == nodes.size())
         {
-            executeBatch();
-            nodes.clear();
+            if (batchFlusher != null)
+            {
+                executeBatchAsync();
+            }
+            else
+            {
+                executeBatch();
+                nodes.clear();
+            }
         }
     }
 
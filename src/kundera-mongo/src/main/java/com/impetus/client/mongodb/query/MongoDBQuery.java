@@ -16,7 +16,12 @@
 package com.impetus.client.mongodb.query;
 
 import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Queue;
@@ -24,9 +29,11 @@ import java.util.StringTokenizer;
 
 import javax.persistence.Query;
 import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.Attribute.PersistentAttributeType;
 import javax.persistence.metamodel.EmbeddableType;
 import javax.persistence.metamodel.EntityType;
 
+import org.apache.commons.lang.ClassUtils;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,22 +46,29 @@ import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.EnhanceEntity;
 import com.impetus.kundera.gis.geometry.Point;
 import com.impetus.kundera.gis.query.GeospatialQuery;
+import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.ApplicationMetadata;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
+import com.impetus.kundera.metadata.model.annotation.DefaultEntityAnnotationProcessor;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
+import com.impetus.kundera.metadata.model.attributes.AttributeType;
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
 import com.impetus.kundera.persistence.PersistenceDelegator;
 import com.impetus.kundera.property.PropertyAccessorFactory;
+import com.impetus.kundera.query.Aggregation;
+import com.impetus.kundera.query.Aggregation.Function;
 import com.impetus.kundera.query.KunderaQuery;
 import com.impetus.kundera.query.KunderaQuery.FilterClause;
 import com.impetus.kundera.query.KunderaQuery.SortOrder;
 import com.impetus.kundera.query.KunderaQuery.SortOrdering;
+import com.impetus.kundera.query.KunderaQuery.UpdateClause;
 import com.impetus.kundera.query.QueryHandlerException;
 import com.impetus.kundera.query.QueryImpl;
 import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
 
 /**
  * Query class for MongoDB data store.
@@ -474,6 +488,232 @@ public class MongoDBQuery extends QueryImpl
         return onUpdateDeleteEvent();
     }
 
+    /**
+     * Pushes update/delete down as a single multi document update/remove on
+     * entity's collection. Not applicable to entities with secondary tables
+     * or lucene indexes, and to updates of non basic attributes.
+     * 
+     * @see com.impetus.kundera.query.QueryImpl#onBulkUpdateDelete(com.impetus.kundera.metadata.model.EntityMetadata,
+     *      com.impetus.kundera.client.Client)
+     */
+    @Override
+    protected int onBulkUpdateDelete(EntityMetadata m, Client client)
+    {
+        MongoDBClient mongoClient = (MongoDBClient) client;
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                m.getPersistenceUnit());
+        AbstractManagedType entity = (AbstractManagedType) metaModel.entity(m.getEntityClazz());
+
+        if (!MetadataUtils.useSecondryIndex(mongoClient.getClientMetadata())
+                || !((DefaultEntityAnnotationProcessor) entity.getEntityAnnotation()).getSecondaryTablesName()
+                        .isEmpty())
+        {
+            return -1;
+        }
+
+        BasicDBObject query = createMongoQuery(m, getKunderaQuery().getFilterClauseQueue());
+        if (!kunderaQuery.isUpdateClause())
+        {
+            return mongoClient.remove(m.getTableName(), query);
+        }
+
+        BasicDBObject set = new BasicDBObject();
+        BasicDBObject unset = new BasicDBObject();
+        for (UpdateClause clause : kunderaQuery.getUpdateClauseQueue())
+        {
+            Attribute attribute;
+            try
+            {
+                attribute = entity.getAttribute(clause.getProperty());
+            }
+            catch (IllegalArgumentException iaex)
+            {
+                return -1;
+            }
+
+            Class javaType = attribute.getJavaType();
+            AttributeType type = AttributeType.getType(javaType);
+            if (attribute.getPersistentAttributeType() != PersistentAttributeType.BASIC
+                    || attribute.getName().equals(m.getIdAttribute().getName())
+                    || (type != AttributeType.PRIMITIVE && type != AttributeType.ENUM))
+            {
+                return -1;
+            }
+
+            String columnName = ((AbstractAttribute) attribute).getJPAColumnName();
+            Object value = clause.getValue();
+            if (value == null)
+            {
+                unset.put(columnName, 1);
+                continue;
+            }
+            if (value instanceof String && type == AttributeType.PRIMITIVE && !javaType.equals(String.class))
+            {
+                value = PropertyAccessorFactory.getPropertyAccessor((Field) attribute.getJavaMember()).fromString(
+                        javaType, value.toString());
+            }
+            set.put(columnName, MongoDBUtils.populateValue(value, javaType));
+        }
+
+        BasicDBObject update = new BasicDBObject();
+        if (!set.isEmpty())
+        {
+            update.put("$set", set);
+        }
+        if (!unset.isEmpty())
+        {
+            update.put("$unset", unset);
+        }
+        return mongoClient.update(m.getTableName(), query, update);
+    }
+
+    /**
+     * Pushes aggregate query down as count, or as $group stage of aggregation
+     * pipeline. Not applicable to HAVING clauses, entities with secondary
+     * tables, DISTINCT aggregates, COUNT of attributes and to attributes whose stored form
+     * differs from java type (e.g. enums, big numbers).
+     * 
+     * @see com.impetus.kundera.query.QueryImpl#onAggregate(com.impetus.kundera.metadata.model.EntityMetadata,
+     *      com.impetus.kundera.client.Client)
+     */
+    @Override
+    protected List<Object[]> onAggregate(EntityMetadata m, Client client)
+    {
+        MongoDBClient mongoClient = (MongoDBClient) client;
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                m.getPersistenceUnit());
+        AbstractManagedType entity = (AbstractManagedType) metaModel.entity(m.getEntityClazz());
+
+        if (!kunderaQuery.getHaving().isEmpty()
+                || !((DefaultEntityAnnotationProcessor) entity.getEntityAnnotation()).getSecondaryTablesName()
+                        .isEmpty())
+        {
+            return null;
+        }
+
+        List<Aggregation> aggregations = kunderaQuery.getAggregations();
+        List<String> groupBy = kunderaQuery.getGroupBy();
+        BasicDBObject query = createMongoQuery(m, getKunderaQuery().getFilterClauseQueue());
+
+        boolean isCountOnly = groupBy.isEmpty();
+        for (Aggregation aggregation : aggregations)
+        {
+            isCountOnly &= aggregation.getFunction() == Function.COUNT && aggregation.getProperty() == null
+                    && !aggregation.isDistinct();
+        }
+        if (isCountOnly)
+        {
+            Object[] row = new Object[aggregations.size()];
+            Arrays.fill(row, mongoClient.count(m.getTableName(), query));
+            return Collections.singletonList(row);
+        }
+
+        Class[] types = new Class[aggregations.size()];
+        BasicDBObject id = new BasicDBObject();
+        for (int i = 0; i < groupBy.size(); i++)
+        {
+            Attribute attribute = entity.getAttribute(groupBy.get(i));
+            if (!isNativelyAggregatable(attribute, m, true))
+            {
+                return null;
+            }
+            id.put("g" + i, "$" + ((AbstractAttribute) attribute).getJPAColumnName());
+        }
+
+        BasicDBObject group = new BasicDBObject("_id", groupBy.isEmpty() ? null : id);
+        for (int i = 0; i < aggregations.size(); i++)
+        {
+            Aggregation aggregation = aggregations.get(i);
+            if (aggregation.getProperty() != null)
+            {
+                types[i] = entity.getAttribute(aggregation.getProperty()).getJavaType();
+            }
+            if (!aggregation.isAggregate())
+            {
+                continue;
+            }
+            if (aggregation.isDistinct())
+            {
+                return null;
+            }
+            if (aggregation.getFunction() == Function.COUNT)
+            {
+                if (aggregation.getProperty() != null)
+                {
+                    return null;
+                }
+                group.put("a" + i, new BasicDBObject("$sum", 1));
+            }
+            else
+            {
+                Attribute attribute = entity.getAttribute(aggregation.getProperty());
+                if (!isNativelyAggregatable(attribute, m, false))
+                {
+                    return null;
+                }
+                group.put("a" + i, new BasicDBObject("$" + aggregation.getFunction().name().toLowerCase(), "$"
+                        + ((AbstractAttribute) attribute).getJPAColumnName()));
+            }
+        }
+
+        List<Object[]> rows = new ArrayList<Object[]>();
+        for (DBObject result : mongoClient.aggregate(m.getTableName(), new BasicDBObject("$match", query),
+                new BasicDBObject("$group", group)))
+        {
+            Object[] row = new Object[aggregations.size()];
+            for (int i = 0; i < row.length; i++)
+            {
+                Aggregation aggregation = aggregations.get(i);
+                Object value = aggregation.isAggregate() ? result.get("a" + i) : ((DBObject) result.get("_id"))
+                        .get("g" + groupBy.indexOf(aggregation.getProperty()));
+                row[i] = aggregation.toResultType(value, types[i]);
+            }
+            rows.add(row);
+        }
+
+        if (rows.isEmpty() && groupBy.isEmpty())
+        {
+            Object[] row = new Object[aggregations.size()];
+            for (int i = 0; i < row.length; i++)
+            {
+                row[i] = aggregations.get(i).getEmptyResult();
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Returns true, if attribute is stored as is, so that aggregation
+     * pipeline computes same values as java would.
+     */
+    private boolean isNativelyAggregatable(Attribute attribute, EntityMetadata m, boolean isGroupBy)
+    {
+        if (attribute.getPersistentAttributeType() != PersistentAttributeType.BASIC
+                || attribute.getName().equals(m.getIdAttribute().getName()))
+        {
+            return false;
+        }
+        Class type = attribute.getJavaType();
+        type = type.isPrimitive() ? ClassUtils.primitiveToWrapper(type) : type;
+        boolean isNumber = Number.class.isAssignableFrom(type) && !type.equals(BigDecimal.class)
+                && !type.equals(BigInteger.class);
+        return isNumber
+                || (isGroupBy && (type.equals(String.class) || type.equals(Boolean.class) || type.equals(Date.class)));
+    }
+
+    /**
+     * Cursor over matching documents remains valid while they are
+     * updated/deleted.
+     * 
+     * @see com.impetus.kundera.query.QueryImpl#iterateForUpdateDelete()
+     */
+    @Override
+    protected Iterator iterateForUpdateDelete()
+    {
+        return iterate();
+    }
+
     @Override
     public void close()
     {
@@ -287,6 +287,60 @@ public class PersonMongoTest extends BaseTest
         assertOnMerge(em, "PersonMongo", PersonMongo.class, "vivek", "newvivek", "personName");
     }
 
+    /**
+     * On bulk update and delete, pushed down as multi document update and
+     * remove.
+     */
+    @Test
+    public void onBulkUpdateDelete() throws Exception
+    {
+        em.persist(prepareMongoInstance("1", 10));
+        em.persist(prepareMongoInstance("2", 20));
+        em.persist(prepareMongoInstance("3", 15));
+        em.clear();
+
+        PersonMongo managed = findById(PersonMongo.class, "2", em);
+        Assert.assertNotNull(managed);
+
+        // $set, with value converted to attribute type.
+        Query query = em.createQuery("Update PersonMongo p set p.personName = 'kuldeep', p.age = 30 where p.age > 10");
+        Assert.assertEquals(2, query.executeUpdate());
+
+        // persistence context is bypassed.
+        Assert.assertTrue(em.contains(managed));
+        Assert.assertEquals("vivek", managed.getPersonName());
+
+        em.clear();
+        PersonMongo p = findById(PersonMongo.class, "2", em);
+        Assert.assertEquals("kuldeep", p.getPersonName());
+        Assert.assertEquals(30, p.getAge().intValue());
+        Assert.assertEquals(Month.JAN, p.getMonth());
+        p = findById(PersonMongo.class, "1", em);
+        Assert.assertEquals("vivek", p.getPersonName());
+        Assert.assertEquals(10, p.getAge().intValue());
+
+        // $unset.
+        query = em.createQuery("Update PersonMongo p set p.month = :month where p.personName = 'kuldeep'");
+        query.setParameter("month", null);
+        Assert.assertEquals(2, query.executeUpdate());
+        em.clear();
+        Assert.assertNull(findById(PersonMongo.class, "3", em).getMonth());
+        Assert.assertEquals(Month.JAN, findById(PersonMongo.class, "1", em).getMonth());
+
+        // remove.
+        em.clear();
+        query = em.createQuery("Delete from PersonMongo p where p.age = 30");
+        Assert.assertEquals(2, query.executeUpdate());
+        em.clear();
+        Assert.assertNull(findById(PersonMongo.class, "2", em));
+        Assert.assertNull(findById(PersonMongo.class, "3", em));
+        Assert.assertNotNull(findById(PersonMongo.class, "1", em));
+
+        Assert.assertEquals(1, em.createQuery("Delete from PersonMongo p").executeUpdate());
+        em.clear();
+        Assert.assertNull(findById(PersonMongo.class, "1", em));
+    }
+
     /**
      * Tear down.
      * 
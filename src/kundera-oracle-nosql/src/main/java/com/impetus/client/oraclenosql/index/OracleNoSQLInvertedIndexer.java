@@ -267,6 +267,11 @@ public class OracleNoSQLInvertedIndexer implements Indexer
 
     }
 
+    @Override
+    public void flush()
+    {
+    }
+
     @Override
     public void close()
     {
@@ -53,6 +53,7 @@ import com.impetus.kundera.client.ClientBase;
 import com.impetus.kundera.client.EnhanceEntity;
 import com.impetus.kundera.db.RelationHolder;
 import com.impetus.kundera.index.IndexManager;
+import com.impetus.kundera.index.IndexingException;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.ClientMetadata;
@@ -126,7 +127,15 @@ public class HibernateClient extends ClientBase implements Client<RDBMSQuery>
     @Override
     public void close()
     {
-        this.indexManager.flush();
+        try
+        {
+            this.indexManager.flush();
+        }
+        catch (IndexingException ie)
+        {
+            // close goes on, failures are reported on flush and commit.
+            log.warn("Error while flushing indexes on close, Caused by: .", ie);
+        }
         if (s != null)
         {
             s.close();
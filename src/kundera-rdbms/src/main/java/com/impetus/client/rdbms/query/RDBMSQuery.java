@@ -167,6 +167,30 @@ public class RDBMSQuery extends QueryImpl
         return ((HibernateClient) client).onExecuteUpdate(getJPAQuery(), getParamaters());
     }
 
+    /**
+     * Aggregate JPQL is evaluated by hibernate as is, unless query is served
+     * through lucene.
+     * 
+     * @see com.impetus.kundera.query.QueryImpl#onAggregate(com.impetus.kundera.metadata.model.EntityMetadata,
+     *      com.impetus.kundera.client.Client)
+     */
+    @Override
+    protected List<Object[]> onAggregate(EntityMetadata m, Client client)
+    {
+        if (!MetadataUtils.useSecondryIndex(((ClientBase) client).getClientMetadata()))
+        {
+            return null;
+        }
+
+        List results = ((HibernateClient) client).findByQuery(getJPAQuery(), getParamaters());
+        List<Object[]> rows = new ArrayList<Object[]>(results.size());
+        for (Object result : results)
+        {
+            rows.add(result instanceof Object[] ? (Object[]) result : new Object[] { result });
+        }
+        return rows;
+    }
+
     /**
      * Initializes reader with conditions and filter in case for JPA/Named query
      * only!
@@ -50,6 +50,8 @@ import com.impetus.kundera.client.ClientBase;
 import com.impetus.kundera.client.ClientPropertiesSetter;
 import com.impetus.kundera.client.EnhanceEntity;
 import com.impetus.kundera.db.RelationHolder;
+import com.impetus.kundera.generator.IdBlock;
+import com.impetus.kundera.generator.IdBlockAllocator;
 import com.impetus.kundera.generator.SequenceGenerator;
 import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.index.Indexer;
@@ -1333,7 +1335,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
                     }
                     else
                     {
-                        PropertyAccessorHelper.set(entity, (Field) attribute.getJavaMember(), value);
+                        ((AbstractAttribute) attribute).getFieldAccessor().set(entity, value);
                     }
                 }
                 else
@@ -1367,7 +1369,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
                                         .getJavaMember(), embeddedObject);
                             }
 
-                            PropertyAccessorHelper.set(embeddedObject, (Field) attrib.getJavaMember(), value);
+                            ((AbstractAttribute) attrib).getFieldAccessor().set(embeddedObject, value);
                             // PropertyAccessorHelper.
 
                         }
@@ -1877,18 +1879,52 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
     }
 
     @Override
-    public Object generate(SequenceGeneratorDiscriptor discriptor)
+    public Object generate(final SequenceGeneratorDiscriptor discriptor)
     {
-        Jedis jedis = factory.getConnection();
+        IdBlockAllocator allocator = kunderaMetadata.getApplicationMetadata().getIdBlockAllocator(
+                persistenceUnit + "." + discriptor.getSchemaName() + "." + discriptor.getSequenceName());
+
+        return allocator.next(new IdBlockAllocator.BlockSource()
+        {
+            @Override
+            public IdBlock nextBlock()
+            {
+                return reserveIdBlock(discriptor);
+            }
+        });
+    }
 
-        Long latestCount = jedis.incr(getEncodedBytes(discriptor.getSequenceName()));
-        if (latestCount == 1)
+    /**
+     * Reserves a block of <code>allocationSize</code> ids by incrementing
+     * sequence once.
+     * 
+     * @param discriptor
+     *            sequence generator descriptor.
+     * @return reserved id block.
+     */
+    private IdBlock reserveIdBlock(SequenceGeneratorDiscriptor discriptor)
+    {
+        Jedis jedis = factory.getConnection();
+        try
         {
-            return discriptor.getInitialValue();
+            Long latestCount = jedis.incr(getEncodedBytes(discriptor.getSequenceName()));
+
+            // Sequence value n owns ids [(n - 1) * allocationSize, n *
+            // allocationSize), first block starts with initial value.
+            if (latestCount == 1)
+            {
+                long low = discriptor.getInitialValue();
+                return new IdBlock(low, Math.max(low + 1, discriptor.getAllocationSize()));
+            }
+            else
+            {
+                long low = (latestCount - 1) * discriptor.getAllocationSize();
+                return new IdBlock(low, low + Math.max(discriptor.getAllocationSize(), 1));
+            }
         }
-        else
+        finally
         {
-            return (latestCount - 1) * discriptor.getAllocationSize();
+            factory.releaseConnection(jedis);
         }
     }
 
@@ -113,6 +113,17 @@ public class RedisIndexer implements Indexer
         throw new UnsupportedOperationException("Removing index is implicitly managed by RedisClient's unindex method");
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.index.Indexer#flush()
+     */
+    @Override
+    public void flush()
+    {
+        // index is written along with entity, nothing is buffered.
+    }
+
     /*
      * (non-Javadoc)
      * 
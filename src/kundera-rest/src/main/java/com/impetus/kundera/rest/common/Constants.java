@@ -53,4 +53,15 @@ public interface Constants
 
     public static final String NAMED_QUERY_ALL = "all";
 
+    /** Bulk requests */
+    public static final String BULK_PATH = "/bulk";
+
+    public static final String BULK_ID_PARAM = "id";
+
+    /**
+     * Number of entities after which bulk requests flush and clear entity
+     * manager, outside of transactions.
+     */
+    public static final int BULK_FLUSH_SIZE = 1000;
+
 }
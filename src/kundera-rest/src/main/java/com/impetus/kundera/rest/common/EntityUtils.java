@@ -16,6 +16,7 @@
 package com.impetus.kundera.rest.common;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
@@ -27,9 +28,13 @@ import javax.ws.rs.HttpMethod;
 
 import org.apache.commons.lang.StringUtils;
 
+import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
+import com.impetus.kundera.persistence.EntityManagerImpl;
+import com.impetus.kundera.property.PropertyAccessException;
 import com.impetus.kundera.property.PropertyAccessor;
 import com.impetus.kundera.property.PropertyAccessorFactory;
+import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.query.KunderaQuery;
 import com.impetus.kundera.query.QueryImpl;
 
@@ -64,6 +69,63 @@ public class EntityUtils
         return entityClass;
     }
 
+    /**
+     * Finds entities for given ids in one batched lookup, see
+     * {@link com.impetus.kundera.persistence.PersistenceDelegator#find(Class, Object...)}
+     * . Ids which are not found, or can't be converted into id type of
+     * entity, are absent from returned map.
+     * 
+     * @param em
+     * @param entityClass
+     * @param ids
+     * @return found entities keyed by id as passed in request
+     */
+    public static Map<String, Object> findByIds(EntityManager em, Class<?> entityClass, List<String> ids)
+    {
+        MetamodelImpl metamodel = (MetamodelImpl) em.getEntityManagerFactory().getMetamodel();
+        EntityMetadata m = metamodel.getEntityMetadata(entityClass);
+        Class<?> idClass = m.getIdAttribute().getBindableJavaType();
+        Map<String, Object> entities = new HashMap<String, Object>();
+
+        if (metamodel.isEmbeddable(idClass))
+        {
+            // Embedded ids are not converted from string, find them as before.
+            for (String id : ids)
+            {
+                Object entity = em.find(entityClass, id);
+                if (entity != null)
+                {
+                    entities.put(id, entity);
+                }
+            }
+            return entities;
+        }
+
+        PropertyAccessor accessor = PropertyAccessorFactory.getPropertyAccessor(idClass);
+        Map<Object, String> requestIds = new HashMap<Object, String>();
+        for (String id : ids)
+        {
+            try
+            {
+                requestIds.put(accessor.fromString(idClass, id), id);
+            }
+            catch (PropertyAccessException e)
+            {
+                // not a valid id of this entity, hence can't be found.
+            }
+        }
+
+        if (!requestIds.isEmpty())
+        {
+            List<?> found = ((EntityManagerImpl) em).find(entityClass, requestIds.keySet().toArray());
+            for (Object entity : found)
+            {
+                entities.put(requestIds.get(PropertyAccessorHelper.getId(entity, m)), entity);
+            }
+        }
+        return entities;
+    }
+
     public static String getQueryPart(String fullQueryString)
     {
         if (fullQueryString.contains("?"))
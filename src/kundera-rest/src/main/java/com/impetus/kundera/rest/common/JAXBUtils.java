@@ -17,6 +17,9 @@ package com.impetus.kundera.rest.common;
 
 import java.io.InputStream;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.ws.rs.core.MediaType;
 import javax.xml.bind.JAXBContext;
@@ -32,7 +35,10 @@ import com.sun.jersey.api.json.JSONJAXBContext;
 import com.sun.jersey.api.json.JSONUnmarshaller;
 
 /**
- * Utility for converting objects into XML and vice versa
+ * Utility for converting objects into XML and vice versa. Contexts are
+ * expensive to create and thread safe, so they are created once per class and
+ * cached; marshallers and unmarshallers are not thread safe and are created
+ * per call.
  * 
  * @author amresh.singh
  */
@@ -40,6 +46,10 @@ public class JAXBUtils
 {
     private static Logger log = LoggerFactory.getLogger(JAXBUtils.class);
 
+    private static final ConcurrentMap<Class<?>, JAXBContext> xmlContexts = new ConcurrentHashMap<Class<?>, JAXBContext>();
+
+    private static final ConcurrentMap<Class<?>, JSONJAXBContext> jsonContexts = new ConcurrentHashMap<Class<?>, JSONJAXBContext>();
+
     /**
      * Converts <code>InputStream</code> to Object using JAXB
      * 
@@ -57,7 +67,7 @@ public class JAXBUtils
 
             if (MediaType.APPLICATION_XML.equals(mediaType))
             {
-                JAXBContext jaxbContext = JAXBContext.newInstance(objectClass);
+                JAXBContext jaxbContext = getJAXBContext(objectClass);
 
                 Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
 
@@ -66,7 +76,7 @@ public class JAXBUtils
             else if (MediaType.APPLICATION_JSON.equals(mediaType))
             {
 
-                JSONJAXBContext context = new JSONJAXBContext(JSONConfiguration.mappedJettison().build(), objectClass);
+                JSONJAXBContext context = getJSONJAXBContext(objectClass);
                 JSONUnmarshaller jsonUnmarshaller = context.createJSONUnmarshaller();
 
                 output = jsonUnmarshaller.unmarshalFromJSON(is, objectClass);
@@ -97,8 +107,7 @@ public class JAXBUtils
         {
             if (MediaType.APPLICATION_XML.equals(mediaType))
             {
-                JAXBContext jaxbContext = JAXBContext.newInstance(objectClass);
-                Marshaller jaxbMarshaller = jaxbContext.createMarshaller();
+                Marshaller jaxbMarshaller = getJAXBContext(objectClass).createMarshaller();
 
                 StringWriter writer = new StringWriter();
 
@@ -122,4 +131,62 @@ public class JAXBUtils
         }
     }
 
+    /**
+     * Writes XML of object to writer, without XML declaration, so that
+     * several objects can be written into one document.
+     * 
+     * @param objectClass
+     * @param object
+     * @param writer
+     * @throws JAXBException
+     */
+    public static void toXMLFragment(Class<?> objectClass, Object object, Writer writer) throws JAXBException
+    {
+        Marshaller jaxbMarshaller = getJAXBContext(objectClass).createMarshaller();
+        jaxbMarshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+        jaxbMarshaller.marshal(object, writer);
+    }
+
+    /**
+     * Returns a new XML unmarshaller for objectClass, e.g. to read several
+     * objects from one stream. Unmarshaller must not be shared across threads.
+     * 
+     * @param objectClass
+     * @return
+     * @throws JAXBException
+     */
+    public static Unmarshaller createUnmarshaller(Class<?> objectClass) throws JAXBException
+    {
+        return getJAXBContext(objectClass).createUnmarshaller();
+    }
+
+    private static JAXBContext getJAXBContext(Class<?> objectClass) throws JAXBException
+    {
+        JAXBContext context = xmlContexts.get(objectClass);
+        if (context == null)
+        {
+            context = JAXBContext.newInstance(objectClass);
+            JAXBContext existing = xmlContexts.putIfAbsent(objectClass, context);
+            if (existing != null)
+            {
+                context = existing;
+            }
+        }
+        return context;
+    }
+
+    private static JSONJAXBContext getJSONJAXBContext(Class<?> objectClass) throws JAXBException
+    {
+        JSONJAXBContext context = jsonContexts.get(objectClass);
+        if (context == null)
+        {
+            context = new JSONJAXBContext(JSONConfiguration.mappedJettison().build(), objectClass);
+            JSONJAXBContext existing = jsonContexts.putIfAbsent(objectClass, context);
+            if (existing != null)
+            {
+                context = existing;
+            }
+        }
+        return context;
+    }
 }
@@ -15,9 +15,14 @@
  ******************************************************************************/
 package com.impetus.kundera.rest.converters;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Collection;
+import java.util.Iterator;
 
 import javax.ws.rs.core.MediaType;
+import javax.xml.bind.JAXBException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,27 +53,60 @@ public class CollectionConverter
     {
         if (MediaType.APPLICATION_XML.equals(mediaType))
         {
-            StringBuilder sb = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>")
-                    .append("<").append(genericClass.getSimpleName().toLowerCase()).append("s>");
-            for (Object obj : input)
+            StringWriter writer = new StringWriter();
+            try
             {
+                write(input.iterator(), genericClass, mediaType, writer);
+            }
+            catch (IOException e)
+            {
+                log.error("Error during translation, Caused by:" + e.getMessage() + ", returning null");
+                return null;
+            }
+            return writer.toString();
+        }
+        else
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Writes representation of <code>genericClass</code> objects to writer, as
+     * they are read from iterator. Only XML is supported, nothing is written
+     * for other media types.
+     * 
+     * @param input
+     * @param genericClass
+     * @param mediaType
+     * @param writer
+     * @throws IOException
+     *             if writer or conversion of an object fails
+     */
+    public static void write(Iterator<?> input, Class<?> genericClass, String mediaType, Writer writer)
+            throws IOException
+    {
+        if (MediaType.APPLICATION_XML.equals(mediaType))
+        {
+            String collectionTag = "<" + genericClass.getSimpleName().toLowerCase() + "s>";
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>");
+            writer.write(collectionTag);
+            while (input.hasNext())
+            {
+                Object obj = input.next();
                 if (obj != null)
                 {
-                    String s = JAXBUtils.toString(genericClass, obj, mediaType);
-
-                    if (s.startsWith("<?xml"))
+                    try
+                    {
+                        JAXBUtils.toXMLFragment(genericClass, obj, writer);
+                    }
+                    catch (JAXBException e)
                     {
-                        s = s.substring(s.indexOf(">") + 1, s.length());
+                        throw new IOException("Error while converting " + obj + " to XML", e);
                     }
-                    sb.append(s);
                 }
             }
-            sb.append("<").append(genericClass.getSimpleName().toLowerCase()).append("s>");
-            return sb.toString();
-        }
-        else
-        {
-            return null;
+            writer.write(collectionTag);
         }
     }
 
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.rest.converters;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.ws.rs.core.MediaType;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.impetus.kundera.rest.common.JAXBUtils;
+import com.impetus.kundera.rest.common.StreamUtils;
+
+/**
+ * Reads <code>genericClass</code> objects from request body one at a time, so
+ * that a bulk request is never held in memory as a whole. XML body is a
+ * collection as written by {@link CollectionConverter}, JSON body is newline
+ * delimited, one object per line.
+ * <p>
+ * {@link #next()} throws {@link IllegalArgumentException} if an item can't be
+ * converted. For JSON, reading continues with next line; for XML, position in
+ * stream is lost and iteration ends.
+ */
+public class StreamingCollectionInput implements Iterator<Object>
+{
+    private static final XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+
+    private final Class<?> genericClass;
+
+    private XMLStreamReader xmlReader;
+
+    private Unmarshaller unmarshaller;
+
+    private String collectionTag;
+
+    private BufferedReader jsonReader;
+
+    private String nextLine;
+
+    private boolean done;
+
+    /**
+     * @param in
+     *            request body
+     * @param genericClass
+     *            class of objects
+     * @param mediaType
+     *            XML or JSON
+     * @throws IOException
+     *             if start of collection can't be read
+     */
+    public StreamingCollectionInput(InputStream in, Class<?> genericClass, String mediaType) throws IOException
+    {
+        this.genericClass = genericClass;
+        if (MediaType.APPLICATION_XML.equals(mediaType))
+        {
+            try
+            {
+                xmlReader = xmlInputFactory.createXMLStreamReader(in);
+                unmarshaller = JAXBUtils.createUnmarshaller(genericClass);
+                xmlReader.nextTag();
+                collectionTag = xmlReader.getLocalName();
+                // move past start of collection.
+                xmlReader.next();
+            }
+            catch (XMLStreamException e)
+            {
+                throw new IOException("Error while reading collection of " + genericClass.getSimpleName(), e);
+            }
+            catch (JAXBException e)
+            {
+                throw new IOException("Error while reading collection of " + genericClass.getSimpleName(), e);
+            }
+        }
+        else if (MediaType.APPLICATION_JSON.equals(mediaType))
+        {
+            jsonReader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+        }
+        else
+        {
+            throw new IllegalArgumentException("Unsupported media type " + mediaType + " for bulk request");
+        }
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if (done)
+        {
+            return false;
+        }
+        try
+        {
+            done = xmlReader != null ? !hasNextElement() : !hasNextLine();
+        }
+        catch (XMLStreamException e)
+        {
+            done = true;
+            throw new IllegalArgumentException("Error while reading collection of " + genericClass.getSimpleName(), e);
+        }
+        catch (IOException e)
+        {
+            done = true;
+            throw new IllegalArgumentException("Error while reading collection of " + genericClass.getSimpleName(), e);
+        }
+        return !done;
+    }
+
+    @Override
+    public Object next()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException("No more items of " + genericClass.getSimpleName());
+        }
+        if (xmlReader != null)
+        {
+            try
+            {
+                return unmarshaller.unmarshal(xmlReader, genericClass).getValue();
+            }
+            catch (JAXBException e)
+            {
+                done = true;
+                throw new IllegalArgumentException("Error while converting XML to " + genericClass.getSimpleName(), e);
+            }
+        }
+
+        String line = nextLine;
+        nextLine = null;
+        Object output = JAXBUtils.toObject(StreamUtils.toInputStream(line), genericClass, MediaType.APPLICATION_JSON);
+        if (output == null)
+        {
+            throw new IllegalArgumentException("Error while converting JSON to " + genericClass.getSimpleName());
+        }
+        return output;
+    }
+
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException("Remove is not supported over request body");
+    }
+
+    /**
+     * Moves to start of next item, if any. Collection ends with its end tag,
+     * or with a repeated start tag as written by
+     * {@link CollectionConverter#toString(java.util.Collection, Class, String)}
+     * .
+     */
+    private boolean hasNextElement() throws XMLStreamException
+    {
+        int event = xmlReader.getEventType();
+        while (event != XMLStreamConstants.START_ELEMENT && event != XMLStreamConstants.END_ELEMENT
+                && event != XMLStreamConstants.END_DOCUMENT)
+        {
+            event = xmlReader.next();
+        }
+        return event == XMLStreamConstants.START_ELEMENT && !collectionTag.equals(xmlReader.getLocalName());
+    }
+
+    private boolean hasNextLine() throws IOException
+    {
+        while (nextLine == null)
+        {
+            String line = jsonReader.readLine();
+            if (line == null)
+            {
+                return false;
+            }
+            if (line.trim().length() > 0)
+            {
+                nextLine = line;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.rest.converters;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Iterator;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * Writes a collection of <code>genericClass</code> objects to response as they
+ * are read from an iterator, e.g. query results, so that they are never held in
+ * memory all at once. Length of response is unknown up front, so it is sent
+ * with chunked transfer encoding.
+ */
+public class StreamingCollectionOutput implements StreamingOutput
+{
+    private final Iterator<?> input;
+
+    private final Class<?> genericClass;
+
+    private final String mediaType;
+
+    public StreamingCollectionOutput(Iterator<?> input, Class<?> genericClass, String mediaType)
+    {
+        this.input = input;
+        this.genericClass = genericClass;
+        this.mediaType = mediaType;
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException, WebApplicationException
+    {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, "UTF-8"));
+        CollectionConverter.write(input, genericClass, mediaType, writer);
+        writer.flush();
+    }
+}
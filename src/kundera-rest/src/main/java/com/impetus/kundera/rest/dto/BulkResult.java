@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.rest.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Result of a bulk request, holding status of each item in order items were
+ * sent. Status is given as HTTP status code.
+ */
+@XmlRootElement
+public class BulkResult
+{
+    private int succeeded;
+
+    private int failed;
+
+    private List<ItemStatus> items;
+
+    /**
+     * Adds status of next item.
+     * 
+     * @param id
+     *            id of item, if known
+     * @param status
+     *            HTTP status code
+     * @param message
+     *            error message, if item failed
+     */
+    public void add(String id, int status, String message)
+    {
+        getItems().add(new ItemStatus(getItems().size(), id, status, message));
+        if (status < 400)
+        {
+            succeeded++;
+        }
+        else
+        {
+            failed++;
+        }
+    }
+
+    /**
+     * Marks items from given index onwards, which had succeeded, as failed.
+     * 
+     * @param from
+     *            index of first item
+     * @param status
+     *            HTTP status code
+     * @param message
+     *            error message
+     */
+    public void fail(int from, int status, String message)
+    {
+        for (ItemStatus item : getItems().subList(from, getItems().size()))
+        {
+            if (item.getStatus() < 400)
+            {
+                item.setStatus(status);
+                item.setMessage(message);
+                succeeded--;
+                failed++;
+            }
+        }
+    }
+
+    public int size()
+    {
+        return getItems().size();
+    }
+
+    public int getSucceeded()
+    {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded)
+    {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed()
+    {
+        return failed;
+    }
+
+    public void setFailed(int failed)
+    {
+        this.failed = failed;
+    }
+
+    /**
+     * @return the items
+     */
+    public List<ItemStatus> getItems()
+    {
+        if (items == null)
+        {
+            items = new ArrayList<ItemStatus>();
+        }
+        return items;
+    }
+
+    /**
+     * @param items
+     *            the items to set
+     */
+    public void setItems(List<ItemStatus> items)
+    {
+        this.items = items;
+    }
+
+    /**
+     * Status of a single item of bulk request.
+     */
+    @XmlRootElement
+    public static class ItemStatus
+    {
+        private int index;
+
+        private String id;
+
+        private int status;
+
+        private String message;
+
+        public ItemStatus()
+        {
+        }
+
+        public ItemStatus(int index, String id, int status, String message)
+        {
+            this.index = index;
+            this.id = id;
+            this.status = status;
+            this.message = message;
+        }
+
+        public int getIndex()
+        {
+            return index;
+        }
+
+        public void setIndex(int index)
+        {
+            this.index = index;
+        }
+
+        public String getId()
+        {
+            return id;
+        }
+
+        public void setId(String id)
+        {
+            this.id = id;
+        }
+
+        public int getStatus()
+        {
+            return status;
+        }
+
+        public void setStatus(int status)
+        {
+            this.status = status;
+        }
+
+        public String getMessage()
+        {
+            return message;
+        }
+
+        public void setMessage(String message)
+        {
+            this.message = message;
+        }
+    }
+}
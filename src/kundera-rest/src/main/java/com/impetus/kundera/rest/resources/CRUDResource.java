@@ -17,6 +17,10 @@ package com.impetus.kundera.rest.resources;
 
 import java.io.InputStream;
 import java.net.URI;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 import javax.persistence.EntityManager;
 import javax.ws.rs.Consumes;
@@ -28,10 +32,12 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 
 import org.slf4j.Logger;
@@ -40,6 +46,9 @@ import org.slf4j.LoggerFactory;
 import com.impetus.kundera.rest.common.Constants;
 import com.impetus.kundera.rest.common.EntityUtils;
 import com.impetus.kundera.rest.common.JAXBUtils;
+import com.impetus.kundera.rest.converters.StreamingCollectionInput;
+import com.impetus.kundera.rest.converters.StreamingCollectionOutput;
+import com.impetus.kundera.rest.dto.BulkResult;
 import com.impetus.kundera.rest.repository.EMRepository;
 
 /**
@@ -235,4 +244,284 @@ public class CRUDResource
 
     }
 
+    /**
+     * Handler for POST method bulk requests for this resource. Inserts
+     * entities read one at a time from request body, which is an XML
+     * collection or newline delimited JSON, and returns status of each.
+     * Entities go through batching of persistence unit, if
+     * kundera.batch.size is set.
+     * 
+     * @param sessionToken
+     * @param entityClassName
+     * @param in
+     * @return
+     */
+    @POST
+    @Path(Constants.BULK_PATH)
+    @Consumes({ MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON })
+    public Response bulkInsert(@HeaderParam(Constants.SESSION_TOKEN_HEADER_NAME) String sessionToken,
+            @PathParam("entityClass") String entityClassName, @Context HttpHeaders headers, InputStream in)
+    {
+        log.debug("POST bulk: sessionToken:" + sessionToken);
+        log.debug("POST bulk: entityClass:" + entityClassName);
+
+        return bulkWrite(sessionToken, entityClassName, headers, in, false);
+    }
+
+    /**
+     * Handler for PUT method bulk requests for this resource. Updates entities
+     * read one at a time from request body, see
+     * {@link #bulkInsert(String, String, HttpHeaders, InputStream)}.
+     * 
+     * @param sessionToken
+     * @param entityClassName
+     * @param in
+     * @return
+     */
+    @PUT
+    @Path(Constants.BULK_PATH)
+    @Consumes({ MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON })
+    public Response bulkUpdate(@HeaderParam(Constants.SESSION_TOKEN_HEADER_NAME) String sessionToken,
+            @PathParam("entityClass") String entityClassName, @Context HttpHeaders headers, InputStream in)
+    {
+        log.debug("PUT bulk: sessionToken:" + sessionToken);
+        log.debug("PUT bulk: entityClass:" + entityClassName);
+
+        return bulkWrite(sessionToken, entityClassName, headers, in, true);
+    }
+
+    /**
+     * Handler for GET method bulk requests for this resource. Finds entities
+     * for given ids, {@link Constants#BULK_FLUSH_SIZE} ids per batched lookup,
+     * and streams them as they are found, skipping ids which are not found.
+     * 
+     * @param sessionToken
+     * @param entityClassName
+     * @param ids
+     * @return
+     */
+    @GET
+    @Path(Constants.BULK_PATH)
+    @Produces(MediaType.APPLICATION_XML)
+    public Response bulkFind(@HeaderParam(Constants.SESSION_TOKEN_HEADER_NAME) String sessionToken,
+            @PathParam("entityClass") String entityClassName, @QueryParam(Constants.BULK_ID_PARAM) List<String> ids)
+    {
+        log.debug("GET bulk: sessionToken:" + sessionToken);
+        log.debug("GET bulk: entityClass:" + entityClassName);
+        log.debug("GET bulk: IDs:" + ids);
+
+        try
+        {
+            final EntityManager em = EMRepository.INSTANCE.getEM(sessionToken);
+            final Class<?> entityClass = EntityUtils.getEntityClass(entityClassName, em);
+            final List<String> requestIds = ids;
+
+            // entities are found a chunk at a time as they are written,
+            // missing ones are skipped by converter.
+            Iterator<Object> entities = new Iterator<Object>()
+            {
+                private int index;
+
+                private int chunkEnd;
+
+                private Map<String, Object> chunk = Collections.emptyMap();
+
+                @Override
+                public boolean hasNext()
+                {
+                    return index < requestIds.size();
+                }
+
+                @Override
+                public Object next()
+                {
+                    if (index == chunkEnd)
+                    {
+                        chunkEnd = Math.min(index + Constants.BULK_FLUSH_SIZE, requestIds.size());
+                        chunk = EntityUtils.findByIds(em, entityClass, requestIds.subList(index, chunkEnd));
+                    }
+                    return chunk.get(requestIds.get(index++));
+                }
+
+                @Override
+                public void remove()
+                {
+                    throw new UnsupportedOperationException();
+                }
+            };
+            return Response.ok(new StreamingCollectionOutput(entities, entityClass, MediaType.APPLICATION_XML))
+                    .build();
+        }
+        catch (Exception e)
+        {
+            log.error(e.getMessage());
+            return Response.serverError().build();
+        }
+    }
+
+    /**
+     * Handler for DELETE method bulk requests for this resource. Deletes
+     * entities for given ids and returns status of each.
+     * 
+     * @param sessionToken
+     * @param entityClassName
+     * @param ids
+     * @return
+     */
+    @DELETE
+    @Path(Constants.BULK_PATH)
+    @Produces({ MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON })
+    public Response bulkDelete(@HeaderParam(Constants.SESSION_TOKEN_HEADER_NAME) String sessionToken,
+            @PathParam("entityClass") String entityClassName, @QueryParam(Constants.BULK_ID_PARAM) List<String> ids)
+    {
+        log.debug("DELETE bulk: sessionToken:" + sessionToken);
+        log.debug("DELETE bulk: entityClass:" + entityClassName);
+        log.debug("DELETE bulk: IDs:" + ids);
+
+        BulkResult result = new BulkResult();
+        try
+        {
+            EntityManager em = EMRepository.INSTANCE.getEM(sessionToken);
+            Class<?> entityClass = EntityUtils.getEntityClass(entityClassName, em);
+            boolean flushInChunks = !em.getTransaction().isActive();
+
+            for (int chunkStart = 0; chunkStart < ids.size(); chunkStart += Constants.BULK_FLUSH_SIZE)
+            {
+                List<String> chunkIds = ids.subList(chunkStart,
+                        Math.min(chunkStart + Constants.BULK_FLUSH_SIZE, ids.size()));
+                Map<String, Object> found;
+                try
+                {
+                    found = EntityUtils.findByIds(em, entityClass, chunkIds);
+                }
+                catch (Exception e)
+                {
+                    log.error(e.getMessage());
+                    for (String id : chunkIds)
+                    {
+                        result.add(id, Status.INTERNAL_SERVER_ERROR.getStatusCode(), e.getMessage());
+                    }
+                    continue;
+                }
+
+                for (String id : chunkIds)
+                {
+                    try
+                    {
+                        Object entity = found.get(id);
+                        if (entity == null)
+                        {
+                            result.add(id, Status.NOT_FOUND.getStatusCode(), "Entity not found");
+                        }
+                        else
+                        {
+                            em.remove(entity);
+                            result.add(id, Status.OK.getStatusCode(), null);
+                        }
+                    }
+                    catch (Exception e)
+                    {
+                        log.error(e.getMessage());
+                        result.add(id, Status.INTERNAL_SERVER_ERROR.getStatusCode(), e.getMessage());
+                    }
+                }
+                if (flushInChunks)
+                {
+                    flush(em, result, chunkStart);
+                }
+            }
+        }
+        catch (Exception e)
+        {
+            log.error(e.getMessage());
+            return Response.serverError().build();
+        }
+        return Response.ok(result).build();
+    }
+
+    /**
+     * Persists or merges entities read from request body. Outside of a
+     * transaction, entity manager is flushed and cleared every
+     * {@link Constants#BULK_FLUSH_SIZE} entities, so memory use does not grow
+     * with size of request; entities are detached afterwards.
+     */
+    private Response bulkWrite(String sessionToken, String entityClassName, HttpHeaders headers, InputStream in,
+            boolean merge)
+    {
+        BulkResult result = new BulkResult();
+        try
+        {
+            EntityManager em = EMRepository.INSTANCE.getEM(sessionToken);
+            Class<?> entityClass = EntityUtils.getEntityClass(entityClassName, em);
+            String mediaType = headers.getRequestHeader("content-type").get(0);
+            log.debug("Bulk: entityClass: " + entityClass + ", Media Type:" + mediaType);
+
+            Iterator<Object> entities = new StreamingCollectionInput(in, entityClass, mediaType);
+            boolean flushInChunks = !em.getTransaction().isActive();
+            int chunkStart = 0;
+            while (true)
+            {
+                try
+                {
+                    if (!entities.hasNext())
+                    {
+                        break;
+                    }
+                    Object entity = entities.next();
+                    if (merge)
+                    {
+                        em.merge(entity);
+                    }
+                    else
+                    {
+                        em.persist(entity);
+                    }
+                    result.add(null, merge ? Status.OK.getStatusCode() : Status.CREATED.getStatusCode(), null);
+                }
+                catch (Exception e)
+                {
+                    log.error(e.getMessage());
+                    result.add(null, Status.INTERNAL_SERVER_ERROR.getStatusCode(), e.getMessage());
+                }
+                if (flushInChunks && result.size() - chunkStart >= Constants.BULK_FLUSH_SIZE)
+                {
+                    flush(em, result, chunkStart);
+                    chunkStart = result.size();
+                }
+            }
+            if (flushInChunks)
+            {
+                flush(em, result, chunkStart);
+            }
+        }
+        catch (Exception e)
+        {
+            log.error(e.getMessage());
+            return Response.serverError().build();
+        }
+        return Response.ok(result).build();
+    }
+
+    /**
+     * Flushes pending batch and clears entity manager. If flush fails, items
+     * of current chunk which had succeeded are marked failed.
+     */
+    private void flush(EntityManager em, BulkResult result, int chunkStart)
+    {
+        try
+        {
+            em.flush();
+        }
+        catch (Exception e)
+        {
+            log.error(e.getMessage());
+            result.fail(chunkStart, Status.INTERNAL_SERVER_ERROR.getStatusCode(), e.getMessage());
+        }
+        finally
+        {
+            em.clear();
+        }
+    }
 }
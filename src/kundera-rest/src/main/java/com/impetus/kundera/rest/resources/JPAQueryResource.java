@@ -15,6 +15,7 @@
  ******************************************************************************/
 package com.impetus.kundera.rest.resources;
 
+import java.util.Iterator;
 import java.util.List;
 
 import javax.persistence.EntityManager;
@@ -39,6 +40,7 @@ import com.impetus.kundera.query.QueryImpl;
 import com.impetus.kundera.rest.common.Constants;
 import com.impetus.kundera.rest.common.EntityUtils;
 import com.impetus.kundera.rest.converters.CollectionConverter;
+import com.impetus.kundera.rest.converters.StreamingCollectionOutput;
 import com.impetus.kundera.rest.repository.EMRepository;
 
 /**
@@ -97,6 +99,10 @@ public class JPAQueryResource
                         .append(entityClassName).append(" ").append(alias);
 
                 Query q = em.createQuery(sb.toString());
+                if (MediaType.APPLICATION_XML.equals(mediaType))
+                {
+                    return Response.ok(new StreamingCollectionOutput(iterate(q), entityClass, mediaType)).build();
+                }
                 result = q.getResultList();
             }
             else
@@ -119,6 +125,10 @@ public class JPAQueryResource
 
                 EntityUtils.setQueryParameters(queryPart, paramPart, q);
 
+                if (MediaType.APPLICATION_XML.equals(mediaType))
+                {
+                    return Response.ok(new StreamingCollectionOutput(iterate(q), entityClass, mediaType)).build();
+                }
                 result = q.getResultList();
             }
 
@@ -226,6 +236,11 @@ public class JPAQueryResource
 
             EntityUtils.setQueryParameters(queryPart, paramPart, q);
 
+            if (MediaType.APPLICATION_XML.equals(mediaType))
+            {
+                Class<?> genericClass = ((QueryImpl) q).getKunderaQuery().getEntityClass();
+                return Response.ok(new StreamingCollectionOutput(iterate(q), genericClass, mediaType)).build();
+            }
             result = q.getResultList();
         }
         catch (Exception e)
@@ -326,6 +341,31 @@ public class JPAQueryResource
         return Response.ok(result).build();
     }
 
+    /**
+     * Returns iterator over results of select query, which reads them from
+     * datastore lazily if query supports it, else iterator over result list.
+     * 
+     * @param q
+     * @return
+     */
+    private Iterator<?> iterate(Query q)
+    {
+        try
+        {
+            Iterator<?> results = ((com.impetus.kundera.query.Query) q).iterate();
+            if (results != null)
+            {
+                return results;
+            }
+        }
+        catch (UnsupportedOperationException e)
+        {
+            if (log.isDebugEnabled())
+                log.debug("Iteration not supported, reading whole result list, Caused by:" + e.getMessage());
+        }
+        return q.getResultList().iterator();
+    }
+
     private int executeWrite(String jpaQuery, String sessionToken)
     {
         int result = -1;
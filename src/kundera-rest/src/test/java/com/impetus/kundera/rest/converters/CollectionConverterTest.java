@@ -15,6 +15,7 @@
  ******************************************************************************/
 package com.impetus.kundera.rest.converters;
 
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -79,6 +80,30 @@ public class CollectionConverterTest
         Assert.assertNotNull(s);
     }
 
+    @Test
+    public void testStreamingOutput() throws Exception
+    {
+        List books = new ArrayList();
+        for (int i = 0; i < 3; i++)
+        {
+            Book book = new Book();
+            book.setIsbn("isbn" + i);
+            book.setAuthor("Amresh");
+            book.setPublication("AAA");
+            books.add(book);
+        }
+        books.add(null);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new StreamingCollectionOutput(books.iterator(), Book.class, MediaType.APPLICATION_XML).write(out);
+        String s = out.toString("UTF-8");
+
+        Assert.assertEquals(CollectionConverter.toString(books, Book.class, MediaType.APPLICATION_XML), s);
+        Collection c = CollectionConverter.toCollection(s, ArrayList.class, Book.class, MediaType.APPLICATION_XML);
+        Assert.assertEquals(3, c.size());
+        Assert.assertEquals("isbn2", ((Book) new ArrayList(c).get(2)).getIsbn());
+    }
+
     @Test
     public void testToCollection()
     {
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.rest.converters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.ws.rs.core.MediaType;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import com.impetus.kundera.rest.common.Book;
+import com.impetus.kundera.rest.common.StreamUtils;
+
+/**
+ * Junit for {@link StreamingCollectionInput}.
+ */
+public class StreamingCollectionInputTest
+{
+    @Test
+    public void testXMLCollection() throws Exception
+    {
+        List books = new ArrayList();
+        for (int i = 0; i < 3; i++)
+        {
+            Book book = new Book();
+            book.setIsbn("isbn" + i);
+            book.setAuthor("Amresh");
+            book.setPublication("AAA");
+            books.add(book);
+        }
+
+        // as written by collection converter.
+        String xml = CollectionConverter.toString(books, Book.class, MediaType.APPLICATION_XML);
+        assertIsbns(new StreamingCollectionInput(StreamUtils.toInputStream(xml), Book.class,
+                MediaType.APPLICATION_XML), "isbn0", "isbn1", "isbn2");
+
+        xml = "<books>\n  <book><isbn>1111</isbn></book>\n  <book><isbn>2222</isbn></book>\n</books>";
+        assertIsbns(new StreamingCollectionInput(StreamUtils.toInputStream(xml), Book.class,
+                MediaType.APPLICATION_XML), "1111", "2222");
+
+        xml = "<books></books>";
+        assertIsbns(new StreamingCollectionInput(StreamUtils.toInputStream(xml), Book.class,
+                MediaType.APPLICATION_XML));
+    }
+
+    @Test
+    public void testNewlineDelimitedJSON() throws Exception
+    {
+        String json = "{book:{\"isbn\":\"1111\",\"author\":\"Kuldeep\"}}\n\n{book:{\"isbn\":\"2222\",\"author\":\"Vivek\"}}\n";
+        assertIsbns(new StreamingCollectionInput(StreamUtils.toInputStream(json), Book.class,
+                MediaType.APPLICATION_JSON), "1111", "2222");
+
+        json = "{book:{\"isbn\":\"1111\"}}\nnot json\n{book:{\"isbn\":\"2222\"}}";
+        StreamingCollectionInput input = new StreamingCollectionInput(StreamUtils.toInputStream(json), Book.class,
+                MediaType.APPLICATION_JSON);
+        Assert.assertEquals("1111", ((Book) input.next()).getIsbn());
+        try
+        {
+            input.next();
+            Assert.fail("Invalid line should fail");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // expected, reading continues with next line.
+        }
+        Assert.assertEquals("2222", ((Book) input.next()).getIsbn());
+        Assert.assertFalse(input.hasNext());
+    }
+
+    private void assertIsbns(StreamingCollectionInput input, String... isbns)
+    {
+        for (String isbn : isbns)
+        {
+            Assert.assertTrue(input.hasNext());
+            Assert.assertEquals(isbn, ((Book) input.next()).getIsbn());
+        }
+        Assert.assertFalse(input.hasNext());
+    }
+}